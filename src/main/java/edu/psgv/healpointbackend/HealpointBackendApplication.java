@@ -6,6 +6,7 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -17,6 +18,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * @author Mahfuzur Rahman
  */
 @SpringBootApplication
+@EnableScheduling
 public class HealpointBackendApplication {
     public static String additionalAllowedOrigin = "";
     public static final Logger LOGGER = LogManager.getLogger();
@@ -0,0 +1,188 @@
+package edu.psgv.healpointbackend.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Admission control for appointment bookings.
+ * <p>
+ * Booking requests for the same doctor and day are serialized through a bounded, fair (FIFO) lane,
+ * while requests for other doctors or days proceed independently. When a lane is full, or a request
+ * waits longer than the configured limit, the request is rejected immediately instead of piling up
+ * on the database. Queue length, wait time and rejections are exposed as Micrometer metrics.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Component
+public class BookingAdmissionQueue {
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final boolean enabled;
+    private final int capacity;
+    private final long maxWaitMillis;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructs a BookingAdmissionQueue and registers its metrics.
+     *
+     * @param meterRegistry the registry used to publish queue metrics
+     */
+    public BookingAdmissionQueue(MeterRegistry meterRegistry) {
+        this.enabled = Boolean.parseBoolean(CONFIG_READER.get("bookingAdmissionEnabled"));
+        this.capacity = Integer.parseInt(CONFIG_READER.get("bookingQueueCapacity"));
+        this.maxWaitMillis = Long.parseLong(CONFIG_READER.get("bookingQueueMaxWaitMillis"));
+
+        Gauge.builder("healpoint.booking.queue.length", waiting, AtomicInteger::get)
+                .description("Booking requests currently waiting for admission")
+                .register(meterRegistry);
+        Gauge.builder("healpoint.booking.queue.lanes", lanes, ConcurrentHashMap::size)
+                .description("Doctor-day lanes with at least one active booking request")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("healpoint.booking.queue.wait")
+                .description("Time spent waiting for admission to a doctor-day lane")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("healpoint.booking.queue.rejected")
+                .description("Booking requests rejected because a lane was full or timed out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the given booking action once admitted to the lane of the given doctor and day.
+     *
+     * @param doctorId the ID of the doctor being booked
+     * @param date     the appointment date being booked
+     * @param action   the booking action to run while holding the lane
+     * @throws RejectedExecutionException if the lane is full or the wait limit is exceeded
+     */
+    public void admit(int doctorId, LocalDate date, Runnable action) {
+        admit(doctorId, date, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given booking action once admitted to the lane of the given doctor and day.
+     *
+     * @param doctorId the ID of the doctor being booked
+     * @param date     the appointment date being booked
+     * @param action   the booking action to run while holding the lane
+     * @param <T>      the result type of the action
+     * @return the result of the action
+     * @throws RejectedExecutionException if the lane is full or the wait limit is exceeded
+     */
+    public <T> T admit(int doctorId, LocalDate date, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        String key = doctorId + "@" + date;
+        Lane lane = join(key);
+        if (lane == null) {
+            rejectedCounter.increment();
+            LOGGER.warn("Booking lane {} is full ({} waiting). Rejecting request.", key, capacity);
+            throw new RejectedExecutionException("Too many booking requests for this doctor and date. Please try again shortly.");
+        }
+
+        try {
+            acquire(key, lane);
+            try {
+                return action.get();
+            } finally {
+                lane.lock.unlock();
+            }
+        } finally {
+            leave(key);
+        }
+    }
+
+    /**
+     * Waits for the lane lock, recording the wait time.
+     *
+     * @param key  the lane key
+     * @param lane the lane to acquire
+     * @throws RejectedExecutionException if the lock is not acquired within the wait limit
+     */
+    private void acquire(String key, Lane lane) {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired = false;
+        try {
+            acquired = lane.lock.tryLock(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            LOGGER.warn("Booking request timed out after {} ms waiting for lane {}", maxWaitMillis, key);
+            throw new RejectedExecutionException("The booking system is busy for this doctor and date. Please try again shortly.");
+        }
+    }
+
+    /**
+     * Reserves a place in the lane for the given key, creating the lane if needed.
+     *
+     * @param key the lane key
+     * @return the joined lane, or null if the lane is already at capacity
+     */
+    private Lane join(String key) {
+        Lane[] joined = new Lane[1];
+        lanes.compute(key, (k, lane) -> {
+            Lane current = lane == null ? new Lane() : lane;
+            // One occupant may be running; the remaining ones are queued
+            if (current.occupants <= capacity) {
+                current.occupants++;
+                joined[0] = current;
+            }
+            return current;
+        });
+        return joined[0];
+    }
+
+    /**
+     * Releases a place in the lane for the given key, dropping the lane once it is empty.
+     *
+     * @param key the lane key
+     */
+    private void leave(String key) {
+        lanes.computeIfPresent(key, (k, lane) -> --lane.occupants == 0 ? null : lane);
+    }
+
+    /**
+     * Returns the number of requests currently waiting for admission across all lanes.
+     *
+     * @return the number of waiting requests
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * A per doctor-day lane. Occupants are only mutated inside {@link ConcurrentHashMap#compute}.
+     */
+    private static final class Lane {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int occupants;
+    }
+}
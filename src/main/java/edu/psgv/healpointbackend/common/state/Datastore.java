@@ -82,6 +82,23 @@ public class Datastore {
         return null;
     }
 
+    /**
+     * Checks whether a user with the given ID is online.
+     *
+     * @param userId the ID of the user
+     * @return true if the user is in the list of online users
+     */
+    public boolean isOnline(Integer userId) {
+        if (userId != null) {
+            for (User user : onlineUsers) {
+                if (userId.equals(user.getId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Retrieves a user by their authentication token.
      *
@@ -0,0 +1,255 @@
+package edu.psgv.healpointbackend.common.state;
+
+import edu.psgv.healpointbackend.model.DoctorProfile;
+import edu.psgv.healpointbackend.utilities.IoHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+
+/**
+ * In-memory inverted index over the doctor directory.
+ * <p>
+ * Every indexed doctor is assigned a dense position. Normalized specialty entries, languages and first/last
+ * names map to {@link BitSet}s of positions, so a filtered search is a handful of bitset intersections.
+ * Name lookups are prefix matches served by a sorted map. Only active doctors are returned by searches.
+ * Re-indexing a doctor leaves its old position as a tombstone; once tombstones outnumber the indexed doctors,
+ * the positions are compacted. The index is rebuilt in full at startup and kept current by events published
+ * after the registration, profile update and account status changes commit.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Component
+public class DoctorDirectoryIndex {
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<DoctorProfile> profiles = new ArrayList<>();
+    private final Map<Integer, Integer> positions = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet active = new BitSet();
+    private final Map<String, BitSet> specialties = new HashMap<>();
+    private final Map<String, BitSet> languages = new HashMap<>();
+    private final NavigableMap<String, BitSet> names = new TreeMap<>();
+
+    /**
+     * Replaces the whole index with the given doctor profiles.
+     *
+     * @param doctorProfiles all doctor profiles in the system
+     */
+    public void rebuild(Collection<DoctorProfile> doctorProfiles) {
+        lock.writeLock().lock();
+        try {
+            reset(doctorProfiles);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a doctor to the index, or re-indexes it if it is already present.
+     *
+     * @param profile the doctor profile to index
+     */
+    public void upsert(DoctorProfile profile) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(profile.getId());
+            if (position != null) {
+                unlink(position);
+            }
+            insert(profile);
+            int tombstones = profiles.size() - live.cardinality();
+            if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > live.cardinality()) {
+                reset(profiles.stream().filter(Objects::nonNull).toList());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the account status of an indexed doctor, hiding an inactive doctor from searches.
+     * Does nothing if the doctor is not indexed.
+     *
+     * @param doctorId the ID of the doctor
+     * @param isActive the new account status
+     */
+    public void updateStatus(int doctorId, boolean isActive) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(doctorId);
+            if (position != null) {
+                profiles.get(position).setIsActive(isActive);
+                active.set(position, isActive);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the active doctors of the directory. Every filter is optional; omitted filters match all doctors.
+     *
+     * @param specialty  a specialty the doctor must have, matched against whole entries
+     * @param language   a language the doctor must speak
+     * @param namePrefix one or more words, each of which must prefix the doctor's first or last name
+     * @return the matching doctor profiles ordered by last and first name
+     */
+    public List<DoctorProfile> search(String specialty, String language, String namePrefix) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) active.clone();
+            if (!IoHelper.isNullOrEmpty(specialty)) {
+                matches.and(specialties.getOrDefault(normalize(specialty), new BitSet()));
+            }
+            if (!IoHelper.isNullOrEmpty(language)) {
+                matches.and(languages.getOrDefault(normalize(language), new BitSet()));
+            }
+            if (!IoHelper.isNullOrEmpty(namePrefix)) {
+                for (String word : normalize(namePrefix).split("\\s+")) {
+                    matches.and(prefixMatches(word));
+                }
+            }
+
+            List<DoctorProfile> result = new ArrayList<>(matches.cardinality());
+            for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+                result.add(profiles.get(position));
+            }
+            result.sort((a, b) -> {
+                int byLastName = a.getLastName().compareToIgnoreCase(b.getLastName());
+                return byLastName != 0 ? byLastName : a.getFirstName().compareToIgnoreCase(b.getFirstName());
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed doctors.
+     *
+     * @return the number of doctors in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given profiles. Caller must hold the write lock.
+     *
+     * @param doctorProfiles the doctor profiles to index
+     */
+    private void reset(Collection<DoctorProfile> doctorProfiles) {
+        profiles.clear();
+        positions.clear();
+        live.clear();
+        active.clear();
+        specialties.clear();
+        languages.clear();
+        names.clear();
+        doctorProfiles.forEach(this::insert);
+    }
+
+    /**
+     * Appends a profile at a new position and links it into every index. Caller must hold the write lock.
+     *
+     * @param profile the doctor profile to insert
+     */
+    private void insert(DoctorProfile profile) {
+        int position = profiles.size();
+        profiles.add(profile);
+        positions.put(profile.getId(), position);
+        live.set(position);
+        active.set(position, Boolean.TRUE.equals(profile.getIsActive()));
+
+        forEachEntry(profile.getSpecialty(), entry -> specialties.computeIfAbsent(entry, key -> new BitSet()).set(position));
+        forEachEntry(profile.getLanguages(), entry -> languages.computeIfAbsent(entry, key -> new BitSet()).set(position));
+        for (String name : new String[]{profile.getFirstName(), profile.getLastName()}) {
+            if (!IoHelper.isNullOrEmpty(name)) {
+                names.computeIfAbsent(normalize(name), key -> new BitSet()).set(position);
+            }
+        }
+    }
+
+    /**
+     * Clears a position from every index. The slot in the profile list is left as a tombstone
+     * and reclaimed on the next compaction or rebuild. Caller must hold the write lock.
+     *
+     * @param position the position to unlink
+     */
+    private void unlink(int position) {
+        DoctorProfile profile = profiles.set(position, null);
+        live.clear(position);
+        active.clear(position);
+        forEachEntry(profile.getSpecialty(), entry -> clear(specialties, entry, position));
+        forEachEntry(profile.getLanguages(), entry -> clear(languages, entry, position));
+        for (String name : new String[]{profile.getFirstName(), profile.getLastName()}) {
+            if (!IoHelper.isNullOrEmpty(name)) {
+                clear(names, normalize(name), position);
+            }
+        }
+    }
+
+    /**
+     * Clears a position from one posting list, dropping the list once it is empty.
+     *
+     * @param index    the index holding the posting list
+     * @param term     the indexed term
+     * @param position the position to clear
+     */
+    private static void clear(Map<String, BitSet> index, String term, int position) {
+        BitSet bits = index.get(term);
+        if (bits != null) {
+            bits.clear(position);
+            if (bits.isEmpty()) {
+                index.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Collects the positions of all names starting with the given prefix.
+     *
+     * @param prefix the normalized name prefix
+     * @return the union of the matching name bitsets
+     */
+    private BitSet prefixMatches(String prefix) {
+        BitSet union = new BitSet();
+        names.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(union::or);
+        return union;
+    }
+
+    private static void forEachEntry(String commaSeparated, Consumer<String> action) {
+        if (IoHelper.isNullOrEmpty(commaSeparated)) {
+            return;
+        }
+        for (String entry : commaSeparated.split(",")) {
+            if (!IoHelper.isNullOrEmpty(entry)) {
+                action.accept(normalize(entry));
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
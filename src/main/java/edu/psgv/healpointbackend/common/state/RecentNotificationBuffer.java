@@ -0,0 +1,98 @@
+package edu.psgv.healpointbackend.common.state;
+
+import edu.psgv.healpointbackend.model.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Fixed-size, lock-free ring buffer holding the most recently added notifications.
+ * <p>
+ * Writers claim a sequence number and publish into the slot it maps to, so adding never blocks and never allocates
+ * beyond the slot itself. Each slot remembers the sequence it was written for; a reader that finds a slot not yet
+ * published or already overwritten by a writer lapping the ring gets no snapshot rather than a torn one.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class RecentNotificationBuffer {
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Constructs an empty RecentNotificationBuffer.
+     *
+     * @param capacity the number of notifications kept
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public RecentNotificationBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Adds a notification, overwriting the oldest one once the buffer is full.
+     *
+     * @param notification the notification to add
+     */
+    public void add(Notification notification) {
+        long sequence = head.getAndIncrement();
+        int index = (int) (sequence % capacity);
+        Slot next = new Slot(sequence, notification);
+        Slot current;
+        do {
+            current = slots.get(index);
+            // A writer that stalled after claiming its sequence must not overwrite a newer lap
+            if (current != null && current.sequence() > sequence) {
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, next));
+    }
+
+    /**
+     * Returns the notifications currently held, most recently added first.
+     *
+     * @return the notifications, or null if a concurrent add left the buffer momentarily inconsistent
+     */
+    public List<Notification> snapshot() {
+        long end = head.get();
+        long start = Math.max(0, end - capacity);
+        List<Notification> notifications = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            Slot slot = slots.get((int) (sequence % capacity));
+            if (slot == null || slot.sequence() != sequence) {
+                return null;
+            }
+            notifications.add(slot.notification());
+        }
+        return notifications;
+    }
+
+    /**
+     * Returns the number of notifications added since the buffer was created, including overwritten ones.
+     *
+     * @return the number of notifications added
+     */
+    public long getAddedCount() {
+        return head.get();
+    }
+
+    /**
+     * Returns the number of notifications the buffer keeps.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private record Slot(long sequence, Notification notification) {
+    }
+}
@@ -2,8 +2,10 @@ package edu.psgv.healpointbackend.controller;
 
 import edu.psgv.healpointbackend.dto.AvailableAppointmentDatesDto;
 import edu.psgv.healpointbackend.dto.AvailableAppointmentSlotsDto;
+import edu.psgv.healpointbackend.dto.SlotSearchResultDto;
 import edu.psgv.healpointbackend.service.AccessManager;
 import edu.psgv.healpointbackend.service.AppointmentAvailabilityService;
+import edu.psgv.healpointbackend.service.SlotSearchService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
@@ -24,16 +27,20 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 @RestController
 public class AppointmentAvailabilityController {
     private final AppointmentAvailabilityService appointmentAvailabilityService;
+    private final SlotSearchService slotSearchService;
     private final AccessManager accessManager;
 
     /**
      * Constructs a new AppointmentAvailabilityController with required services.
      *
      * @param appointmentAvailabilityService the service for appointment availability operations
+     * @param slotSearchService              the service for searching the earliest open slots
      * @param accessManager                  the service for access control
      */
-    public AppointmentAvailabilityController(AppointmentAvailabilityService appointmentAvailabilityService, AccessManager accessManager) {
+    public AppointmentAvailabilityController(AppointmentAvailabilityService appointmentAvailabilityService,
+                                             SlotSearchService slotSearchService, AccessManager accessManager) {
         this.appointmentAvailabilityService = appointmentAvailabilityService;
+        this.slotSearchService = slotSearchService;
         this.accessManager = accessManager;
     }
 
@@ -82,4 +89,39 @@ public class AppointmentAvailabilityController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    /**
+     * Endpoint to search the earliest open appointment slots across doctors.
+     *
+     * @param token     the authentication token
+     * @param specialty optional specialty the doctor must have
+     * @param language  optional language the doctor must speak
+     * @param fromDate  optional first date to search
+     * @param toDate    optional last date to search
+     * @param fromTime  optional earliest slot start time
+     * @param toTime    optional latest slot end time
+     * @param limit     optional maximum number of slots to return
+     * @return a ResponseEntity containing the open slots in chronological order or an error message
+     */
+    @GetMapping("/api/search-available-slots")
+    public ResponseEntity<Object> searchAvailableSlots(@Valid @RequestParam String token,
+                                                       @RequestParam(required = false) String specialty,
+                                                       @RequestParam(required = false) String language,
+                                                       @RequestParam(required = false) LocalDate fromDate,
+                                                       @RequestParam(required = false) LocalDate toDate,
+                                                       @RequestParam(required = false) LocalTime fromTime,
+                                                       @RequestParam(required = false) LocalTime toTime,
+                                                       @RequestParam(required = false) Integer limit) {
+        try {
+            accessManager.enforceOwnershipBasedAccess(token);
+            List<SlotSearchResultDto> slots = slotSearchService.searchEarliestSlots(specialty, language, fromDate, toDate, fromTime, toTime, limit);
+            return ResponseEntity.ok(slots);
+        } catch (SecurityException e) {
+            LOGGER.error("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Error searching available slots.", e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
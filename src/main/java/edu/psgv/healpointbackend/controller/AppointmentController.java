@@ -1,17 +1,29 @@
 package edu.psgv.healpointbackend.controller;
 
+import edu.psgv.healpointbackend.dto.AppointmentPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSearchPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.dto.BulkCancelAppointmentsDto;
+import edu.psgv.healpointbackend.dto.BulkCancelResultDto;
+import edu.psgv.healpointbackend.dto.DoctorAgendaDto;
 import edu.psgv.healpointbackend.dto.ScheduleAppointmentDto;
+import edu.psgv.healpointbackend.dto.ScheduleFirstAvailableDto;
 import edu.psgv.healpointbackend.dto.UpdateAppointmentDto;
 import edu.psgv.healpointbackend.model.Appointment;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.AppointmentSearchService;
 import edu.psgv.healpointbackend.service.AppointmentService;
+import edu.psgv.healpointbackend.service.DoctorAgendaService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 
@@ -24,16 +36,23 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 @RestController
 public class AppointmentController {
     private final AppointmentService appointmentService;
+    private final DoctorAgendaService doctorAgendaService;
+    private final AppointmentSearchService appointmentSearchService;
     private final AccessManager accessManager;
 
     /**
      * Constructs a new AppointmentController with required services.
      *
-     * @param appointmentService the service for appointment operations
-     * @param accessManager      the service for access control
+     * @param appointmentService       the service for appointment operations
+     * @param doctorAgendaService      the service for building doctor agendas
+     * @param appointmentSearchService the service for staff appointment searches
+     * @param accessManager            the service for access control
      */
-    public AppointmentController(AppointmentService appointmentService, AccessManager accessManager) {
+    public AppointmentController(AppointmentService appointmentService, DoctorAgendaService doctorAgendaService,
+                                 AppointmentSearchService appointmentSearchService, AccessManager accessManager) {
         this.appointmentService = appointmentService;
+        this.doctorAgendaService = doctorAgendaService;
+        this.appointmentSearchService = appointmentSearchService;
         this.accessManager = accessManager;
     }
 
@@ -49,7 +68,7 @@ public class AppointmentController {
             User requestor = accessManager.enforceOwnershipBasedAccess(token);
             LOGGER.info("Fetching appointments for user ID: {}, role: {}", requestor.getId(), requestor.getRole().getDescription());
 
-            List<Appointment> appointments = appointmentService.getAllAppointmentsByUser(requestor);
+            List<AppointmentSummaryDto> appointments = appointmentService.getAllAppointmentsByUser(requestor);
             LOGGER.info("Successfully retrieved {} appointments for user ID: {}", appointments.size(), requestor.getId());
             return ResponseEntity.ok(appointments);
         } catch (SecurityException e) {
@@ -61,6 +80,107 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Retrieves one page of the authenticated user's appointments using keyset pagination.
+     *
+     * @param token  the authentication token
+     * @param scope  optional listing scope: upcoming, past or all (default)
+     * @param cursor optional cursor returned with the previous page
+     * @param size   optional page size
+     * @return ResponseEntity containing the appointment page or an error message
+     */
+    @GetMapping("/api/get-my-appointments-page")
+    public ResponseEntity<Object> getMyAppointmentsPage(@Valid @RequestParam String token,
+                                                        @RequestParam(required = false) String scope,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(token);
+            AppointmentPageDto page = appointmentService.getAppointmentPageByUser(requestor, scope, cursor, size);
+            LOGGER.info("Successfully retrieved {} appointments for user ID: {}", page.getAppointments().size(), requestor.getId());
+            return ResponseEntity.ok(page);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid appointment page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error retrieving appointment page: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
+    /**
+     * Retrieves the authenticated doctor's agenda for a day: the appointments together with
+     * each patient's demographics and current prescription.
+     *
+     * @param token the authentication token
+     * @param date  optional agenda date; defaults to today
+     * @return ResponseEntity containing the agenda or an error message
+     */
+    @GetMapping("/api/get-my-agenda")
+    public ResponseEntity<Object> getMyAgenda(@Valid @RequestParam String token, @RequestParam(required = false) LocalDate date) {
+        try {
+            User requestor = accessManager.enforceRoleBasedAccess(accessManager.getDoctorOnlyGroup(), token);
+            DoctorAgendaDto agenda = doctorAgendaService.getAgenda(requestor.getId(), date);
+            LOGGER.info("Successfully retrieved agenda with {} appointments for doctor ID: {}", agenda.getEntries().size(), requestor.getId());
+            return ResponseEntity.ok(agenda);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error retrieving agenda: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
+    /**
+     * Searches all appointments by doctor, patient, status, date range and reason for administrators and support staff.
+     *
+     * @param token     the authentication token
+     * @param doctorId  optional ID of the doctor
+     * @param patientId optional ID of the patient
+     * @param status    optional appointment status
+     * @param fromDate  optional first appointment date
+     * @param toDate    optional last appointment date
+     * @param reason    optional text the reason must contain
+     * @param sort      optional sort key: date, status, doctor or patient
+     * @param direction optional sort direction: asc or desc
+     * @param page      optional zero-based page number
+     * @param size      optional page size
+     * @return ResponseEntity containing the page of matching appointments or an error message
+     */
+    @GetMapping("/api/search-appointments")
+    public ResponseEntity<Object> searchAppointments(@Valid @RequestParam String token,
+                                                     @RequestParam(required = false) Integer doctorId,
+                                                     @RequestParam(required = false) Integer patientId,
+                                                     @RequestParam(required = false) String status,
+                                                     @RequestParam(required = false) LocalDate fromDate,
+                                                     @RequestParam(required = false) LocalDate toDate,
+                                                     @RequestParam(required = false) String reason,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(required = false) String direction,
+                                                     @RequestParam(required = false) Integer page,
+                                                     @RequestParam(required = false) Integer size) {
+        try {
+            accessManager.enforceRoleBasedAccess(accessManager.getSaGroup(), token);
+            AppointmentSearchPageDto result = appointmentSearchService.search(doctorId, patientId, status, fromDate, toDate,
+                    reason, sort, direction, page, size);
+            LOGGER.info("Appointment search returned {} of {} matching appointments", result.getAppointments().size(), result.getTotalElements());
+            return ResponseEntity.ok(result);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid appointment search request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error searching appointments: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
     /**
      * Schedules a new appointment based on the provided details.
      *
@@ -88,12 +208,51 @@ public class AppointmentController {
         } catch (IllegalArgumentException e) {
             LOGGER.error("Error scheduling appointment: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Booking request rejected by admission control: {}", e.getMessage());
+            return ResponseEntity.status(429).body(e.getMessage());
         } catch (Exception e) {
             LOGGER.error("Unexpected error scheduling appointment: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body("An unexpected error occurred.");
         }
     }
 
+    /**
+     * Books the least-loaded doctor of the requested specialty.
+     *
+     * @param dto the first-available booking details
+     * @return ResponseEntity containing the booked appointment or an error message
+     */
+    @PostMapping("/api/schedule-first-available-appointment")
+    public ResponseEntity<Object> scheduleFirstAvailableAppointment(@Valid @RequestBody ScheduleFirstAvailableDto dto) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(dto.getToken());
+            String role = requestor.getRole().getDescription().toUpperCase();
+
+            if (role.equals(Roles.PATIENT)) {
+                dto.setPatientId(requestor.getId());
+            } else if (role.equals(Roles.DOCTOR)) {
+                dto.setDoctorId(requestor.getId());
+            }
+
+            Appointment appointment = appointmentService.scheduleFirstAvailableAppointment(dto);
+            LOGGER.info("First available appointment scheduled successfully with doctor ID: {}", appointment.getDoctor().getId());
+            return ResponseEntity.ok(appointment);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", dto.getToken(), e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Error scheduling first available appointment: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("First available booking rejected by admission control: {}", e.getMessage());
+            return ResponseEntity.status(429).body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error scheduling first available appointment: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
     /**
      * Updates an existing appointment based on the provided details.
      *
@@ -114,9 +273,42 @@ public class AppointmentController {
         } catch (IllegalArgumentException e) {
             LOGGER.error("Error updating appointment: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Reschedule request rejected by admission control: {}", e.getMessage());
+            return ResponseEntity.status(429).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            LOGGER.warn("Conflicting update of appointment ID {}: {}", dto.getAppointmentId(), e.getMessage());
+            return ResponseEntity.status(409).body("The appointment was modified by someone else. Please reload and try again.");
         } catch (Exception e) {
             LOGGER.error("Unexpected error updating appointment: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body("An unexpected error occurred.");
         }
     }
+
+    /**
+     * Cancels all scheduled appointments of a doctor within a date range and notifies the affected patients.
+     * Restricted to administrators and support staff.
+     *
+     * @param dto the bulk cancellation details
+     * @return ResponseEntity containing the outcome of the cancellation or an error message
+     */
+    @PostMapping("/api/cancel-doctor-appointments")
+    public ResponseEntity<Object> cancelDoctorAppointments(@Valid @RequestBody BulkCancelAppointmentsDto dto) {
+        try {
+            User requestor = accessManager.enforceRoleBasedAccess(accessManager.getSaGroup(), dto.getToken());
+            LOGGER.info("User ID: {} requested cancellation of doctor ID: {} appointments from {} to {}",
+                    requestor.getId(), dto.getDoctorId(), dto.getFromDate(), dto.getToDate());
+            BulkCancelResultDto result = appointmentService.cancelDoctorAppointments(dto);
+            return ResponseEntity.ok(result);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token {}: {}", dto.getToken(), e.getMessage(), e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid bulk cancellation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error canceling appointments: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package edu.psgv.healpointbackend.controller;
+
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.CalendarFeedService;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * REST controller for the iCalendar feed of a user's appointments.
+ *
+ * @author Mahfuzur Rahman
+ */
+@RestController
+public class CalendarController {
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+    private final AccessManager accessManager;
+
+    /**
+     * Constructs a new CalendarController with required services.
+     *
+     * @param calendarFeedService the service for calendar feed operations
+     * @param accessManager       the service for access control
+     */
+    public CalendarController(CalendarFeedService calendarFeedService, AccessManager accessManager) {
+        this.calendarFeedService = calendarFeedService;
+        this.accessManager = accessManager;
+    }
+
+    /**
+     * Streams the authenticated user's appointments as an iCalendar feed.
+     * <p>
+     * Supports conditional GET: when the client's If-None-Match or If-Modified-Since still matches
+     * the latest appointment change, 304 Not Modified is returned without reading the appointments.
+     * </p>
+     *
+     * @param token   the authentication token
+     * @param request the current request, used to evaluate conditional headers
+     * @return ResponseEntity streaming the calendar, a 304 response, or an error message
+     */
+    @GetMapping("/api/my-calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getMyCalendar(@Valid @RequestParam String token, WebRequest request) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(token);
+            long lastModified = calendarFeedService.getLastModified(requestor);
+            String eTag = calendarFeedService.getETag(requestor, lastModified);
+
+            // Also writes the ETag and Last-Modified headers to the response
+            if (request.checkNotModified(eTag, lastModified)) {
+                LOGGER.info("Calendar of user ID: {} not modified", requestor.getId());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            LOGGER.info("Streaming calendar for user ID: {}", requestor.getId());
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CALENDAR)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(output -> calendarFeedService.writeFeed(requestor, output));
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return textResponse(HttpStatus.UNAUTHORIZED, e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error building calendar feed: {}", e.getMessage(), e);
+            return textResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.");
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> textResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(output -> output.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+}
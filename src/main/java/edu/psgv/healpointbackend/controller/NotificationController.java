@@ -1,14 +1,27 @@
 package edu.psgv.healpointbackend.controller;
 
+import edu.psgv.healpointbackend.dto.MarkAllNotificationsReadDto;
+import edu.psgv.healpointbackend.dto.MarkNotificationReadDto;
+import edu.psgv.healpointbackend.dto.NotificationPageDto;
+import edu.psgv.healpointbackend.dto.UnreadCountDto;
 import edu.psgv.healpointbackend.model.Notification;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.NotificationPushService;
+import edu.psgv.healpointbackend.service.NotificationReadService;
 import edu.psgv.healpointbackend.service.NotificationService;
+import edu.psgv.healpointbackend.service.UnreadCountService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,16 +36,27 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 @RestController
 public class NotificationController {
     private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
+    private final NotificationReadService notificationReadService;
+    private final UnreadCountService unreadCountService;
     private final AccessManager accessManager;
 
     /**
      * Constructs a new NotificationController with required services.
      *
-     * @param notificationService the service for notification operations
-     * @param accessManager       the service for access control
+     * @param notificationService     the service for notification operations
+     * @param notificationPushService the service for pushing notifications to connected clients
+     * @param notificationReadService the service tracking which notifications users have read
+     * @param unreadCountService      the service for cached unread counts
+     * @param accessManager           the service for access control
      */
-    public NotificationController(NotificationService notificationService, AccessManager accessManager) {
+    public NotificationController(NotificationService notificationService, NotificationPushService notificationPushService,
+                                  NotificationReadService notificationReadService, UnreadCountService unreadCountService,
+                                  AccessManager accessManager) {
         this.notificationService = notificationService;
+        this.notificationPushService = notificationPushService;
+        this.notificationReadService = notificationReadService;
+        this.unreadCountService = unreadCountService;
         this.accessManager = accessManager;
     }
 
@@ -59,4 +83,130 @@ public class NotificationController {
             return ResponseEntity.status(500).body("An unexpected error occurred.");
         }
     }
+
+    /**
+     * Retrieves one page of the authenticated user's notifications using keyset pagination.
+     *
+     * @param token  the authentication token
+     * @param cursor optional cursor returned with the previous page
+     * @param size   optional page size
+     * @return ResponseEntity containing the notification page or an error message
+     */
+    @GetMapping("/api/get-my-notifications-page")
+    public ResponseEntity<Object> getMyNotificationsPage(@Valid @RequestParam String token,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(token);
+            NotificationPageDto page = notificationService.getNotificationPageByUser(requestor, cursor, size);
+            LOGGER.info("Successfully retrieved {} notifications for user ID: {}", page.getNotifications().size(), requestor.getId());
+            return ResponseEntity.ok(page);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid notification page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error retrieving notification page: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
+    /**
+     * Opens a Server-Sent Events stream pushing the authenticated user's new notifications as they are created.
+     * <p>
+     * Each pushed event is named {@code notification} and carries the notification as JSON. Clients should load
+     * the inbox once when the stream opens, and again after reconnecting, instead of polling.
+     * </p>
+     *
+     * @param token the authentication token
+     * @return ResponseEntity holding the event stream, or an empty error response
+     */
+    @GetMapping(value = "/api/notifications-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMyNotifications(@Valid @RequestParam String token) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(token);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(notificationPushService.subscribe(requestor));
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).build();
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error opening notification stream: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Marks one of the authenticated user's notifications as read. Group notifications are marked
+     * for the requesting user only.
+     *
+     * @param dto the request containing the token and the notification ID
+     * @return ResponseEntity indicating success or failure of the operation
+     */
+    @PostMapping("/api/mark-notification-read")
+    public ResponseEntity<Object> markNotificationRead(@Valid @RequestBody MarkNotificationReadDto dto) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(dto.getToken());
+            notificationReadService.markRead(requestor, dto.getNotificationId());
+            return ResponseEntity.ok("Notification marked as read.");
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", dto.getToken(), e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid mark-read request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            LOGGER.warn("Conflicting read state update for notification ID {}: {}", dto.getNotificationId(), e.getMessage());
+            return ResponseEntity.status(409).body("The read state was modified concurrently. Please try again.");
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error marking notification as read: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
+    /**
+     * Marks all notifications of the authenticated user as read, optionally only up to a given notification ID.
+     *
+     * @param dto the request containing the authentication token and the optional upper bound
+     * @return ResponseEntity containing a success message or an error message
+     */
+    @PostMapping("/api/mark-all-notifications-read")
+    public ResponseEntity<Object> markAllNotificationsRead(@Valid @RequestBody MarkAllNotificationsReadDto dto) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(dto.getToken());
+            notificationReadService.markAllRead(requestor, dto.getUpToNotificationId());
+            return ResponseEntity.ok("Notifications marked as read.");
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", dto.getToken(), e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            LOGGER.warn("Conflicting read state update while marking all notifications as read: {}", e.getMessage());
+            return ResponseEntity.status(409).body("The read state was modified concurrently. Please try again.");
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error marking all notifications as read: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+
+    /**
+     * Retrieves the number of unread notifications of the authenticated user, for example for a badge.
+     * The count is served from memory and is cheap enough to refresh every few seconds.
+     *
+     * @param token the authentication token
+     * @return ResponseEntity containing the unread count or an error message
+     */
+    @GetMapping("/api/get-my-unread-notification-count")
+    public ResponseEntity<Object> getMyUnreadNotificationCount(@Valid @RequestParam String token) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(token);
+            return ResponseEntity.ok(new UnreadCountDto(unreadCountService.getUnreadCount(requestor)));
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error retrieving unread notification count: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
 }
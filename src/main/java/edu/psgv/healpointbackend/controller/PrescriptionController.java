@@ -7,6 +7,7 @@ import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.service.AccessManager;
 import edu.psgv.healpointbackend.service.PrescriptionService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -96,6 +97,9 @@ public class PrescriptionController {
         } catch (SecurityException e) {
             LOGGER.warn("Unauthorized attempt to create/update prescription for patientId={}. Reason: {}", patientId, e.getMessage());
             return ResponseEntity.status(401).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            LOGGER.warn("Conflicting create/update of prescription for patientId={}: {}", patientId, e.getMessage());
+            return ResponseEntity.status(409).body("The prescription was modified by someone else. Please reload and try again.");
         } catch (Exception e) {
             LOGGER.error("Error during create/update prescription for patientId={}: {}", patientId, e.getMessage(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -0,0 +1,62 @@
+package edu.psgv.healpointbackend.controller;
+
+import edu.psgv.healpointbackend.dto.SyncChangesDto;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.SyncService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * REST controller for delta synchronization of appointments and notifications.
+ *
+ * @author Mahfuzur Rahman
+ */
+@RestController
+public class SyncController {
+    private final SyncService syncService;
+    private final AccessManager accessManager;
+
+    /**
+     * Constructs a new SyncController with required services.
+     *
+     * @param syncService   the service for delta synchronization
+     * @param accessManager the service for access control
+     */
+    public SyncController(SyncService syncService, AccessManager accessManager) {
+        this.syncService = syncService;
+        this.accessManager = accessManager;
+    }
+
+    /**
+     * Retrieves the authenticated user's appointments and notifications changed since the given watermark.
+     *
+     * @param token the authentication token
+     * @param since optional watermark returned by the previous sync; omitted for a full sync
+     * @return ResponseEntity containing the changes and the next watermark or an error message
+     */
+    @GetMapping("/api/sync-my-changes")
+    public ResponseEntity<Object> syncMyChanges(@Valid @RequestParam String token,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        try {
+            User requestor = accessManager.enforceOwnershipBasedAccess(token);
+            SyncChangesDto changes = syncService.getChangesSince(requestor, since);
+            return ResponseEntity.ok(changes);
+        } catch (SecurityException e) {
+            LOGGER.warn("Unauthorized access attempt with token: {}", token, e);
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error synchronizing changes: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("An unexpected error occurred.");
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 
@@ -78,6 +79,28 @@ public class UserLookupController {
         }
     }
 
+    /**
+     * Endpoint to search the doctor directory. Every filter is optional.
+     *
+     * @param specialty a specialty the doctor must have
+     * @param language  a language the doctor must speak
+     * @param name      one or more name prefixes, each matching the doctor's first or last name
+     * @return ResponseEntity with the matching doctor profiles or error message
+     */
+    @GetMapping("/api/search-doctors")
+    public ResponseEntity<Object> searchDoctors(@RequestParam(required = false) String specialty,
+                                                @RequestParam(required = false) String language,
+                                                @RequestParam(required = false) String name) {
+        LOGGER.info("Received request to search doctors specialty={} language={} name={}", specialty, language, name);
+        try {
+            List<DoctorProfile> profiles = profileGetService.searchDoctors(specialty, language, name);
+            return ResponseEntity.ok(profiles);
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error searching doctors: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Endpoint to retrieve a patient's profile by email.
      * Access is restricted to users with employee roles.
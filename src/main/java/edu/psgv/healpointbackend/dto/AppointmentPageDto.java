@@ -0,0 +1,26 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated appointment listing.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class AppointmentPageDto {
+    @JsonProperty("appointments")
+    private List<AppointmentSummaryDto> appointments;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+}
@@ -0,0 +1,32 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for one page of a staff appointment search.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class AppointmentSearchPageDto {
+    @JsonProperty("appointments")
+    private List<AppointmentSummaryDto> appointments;
+
+    @JsonProperty("page")
+    private int page;
+
+    @JsonProperty("size")
+    private int size;
+
+    @JsonProperty("totalElements")
+    private long totalElements;
+
+    @JsonProperty("totalPages")
+    private int totalPages;
+}
@@ -0,0 +1,89 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+
+/**
+ * Data Transfer Object for an appointment in list views.
+ * <p>
+ * Populated directly by JPQL constructor expressions, so only the columns shown in a listing are selected
+ * and no Doctor or Patient entities are hydrated. The JSON keeps the shape of the Appointment entity
+ * (nested doctor and patient objects) for the fields it carries.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+public class AppointmentSummaryDto {
+    private final Integer id;
+    private final LocalDate appointmentDate;
+    @JsonFormat(pattern = "HH:mm")
+    private final LocalTime startTime;
+    @JsonFormat(pattern = "HH:mm")
+    private final LocalTime endTime;
+    private final String status;
+    private final String reason;
+    private final Long version;
+    private final DoctorSummary doctor;
+    private final PatientSummary patient;
+
+    /**
+     * Constructs an AppointmentSummaryDto from the selected appointment, doctor and patient columns.
+     *
+     * @param id               the ID of the appointment
+     * @param appointmentDate  the date of the appointment
+     * @param startTime        the start time of the appointment
+     * @param endTime          the end time of the appointment
+     * @param status           the status of the appointment
+     * @param reason           the reason for the appointment
+     * @param version          the optimistic lock version of the appointment
+     * @param doctorId         the ID of the doctor
+     * @param doctorFirstName  the first name of the doctor
+     * @param doctorLastName   the last name of the doctor
+     * @param doctorSpecialty  the specialty of the doctor
+     * @param patientId        the ID of the patient
+     * @param patientFirstName the first name of the patient
+     * @param patientLastName  the last name of the patient
+     */
+    public AppointmentSummaryDto(Integer id, LocalDate appointmentDate, LocalTime startTime, LocalTime endTime, String status,
+                                 String reason, Long version, Integer doctorId, String doctorFirstName, String doctorLastName,
+                                 String doctorSpecialty, Integer patientId, String patientFirstName, String patientLastName) {
+        this.id = id;
+        this.appointmentDate = appointmentDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.reason = reason;
+        this.version = version;
+        this.doctor = new DoctorSummary(doctorId, doctorFirstName, doctorLastName, doctorSpecialty);
+        this.patient = new PatientSummary(patientId, patientFirstName, patientLastName);
+    }
+
+    /**
+     * The doctor fields shown in appointment listings.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class DoctorSummary {
+        private final Integer id;
+        private final String firstName;
+        private final String lastName;
+        private final String specialty;
+    }
+
+    /**
+     * The patient fields shown in appointment listings.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class PatientSummary {
+        private final Integer id;
+        private final String firstName;
+        private final String lastName;
+    }
+}
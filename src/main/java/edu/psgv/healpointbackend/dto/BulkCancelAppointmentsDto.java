@@ -0,0 +1,27 @@
+package edu.psgv.healpointbackend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+
+/**
+ * Data Transfer Object for canceling all appointments of a doctor within a date range.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Setter
+public class BulkCancelAppointmentsDto extends TokenDto {
+    private int doctorId;
+
+    @NotNull
+    private LocalDate fromDate;
+
+    @NotNull
+    private LocalDate toDate;
+
+    private String reason;
+}
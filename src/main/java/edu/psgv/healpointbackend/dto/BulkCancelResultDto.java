@@ -0,0 +1,30 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for the outcome of a bulk appointment cancellation.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class BulkCancelResultDto {
+    @JsonProperty("canceledCount")
+    private int canceledCount;
+
+    @JsonProperty("notifiedPatientCount")
+    private int notifiedPatientCount;
+
+    @JsonProperty("affectedDates")
+    private List<LocalDate> affectedDates;
+
+    @JsonProperty("appointmentIds")
+    private List<Integer> appointmentIds;
+}
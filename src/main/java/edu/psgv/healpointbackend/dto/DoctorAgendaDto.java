@@ -0,0 +1,115 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import edu.psgv.healpointbackend.model.Appointment;
+import edu.psgv.healpointbackend.model.Patient;
+import edu.psgv.healpointbackend.model.Prescription;
+import edu.psgv.healpointbackend.model.PrescriptionItem;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for a doctor's agenda of one day.
+ * <p>
+ * Each entry combines an appointment with the patient's demographics and current prescription,
+ * carrying only the fields shown in the agenda view.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+public class DoctorAgendaDto {
+    private final LocalDate date;
+    private final List<Entry> entries;
+
+    /**
+     * Constructs a DoctorAgendaDto for the given date.
+     *
+     * @param date    the agenda date
+     * @param entries the agenda entries ordered by start time
+     */
+    public DoctorAgendaDto(LocalDate date, List<Entry> entries) {
+        this.date = date;
+        this.entries = entries;
+    }
+
+    /**
+     * One appointment of the agenda with its patient and prescription.
+     */
+    @Getter
+    public static class Entry {
+        private final Integer appointmentId;
+        @JsonFormat(pattern = "HH:mm")
+        private final LocalTime startTime;
+        @JsonFormat(pattern = "HH:mm")
+        private final LocalTime endTime;
+        private final String status;
+        private final String reason;
+        private final Long version;
+        private final PatientDemographics patient;
+        private final PrescriptionSummary prescription;
+
+        /**
+         * Constructs an agenda entry.
+         *
+         * @param appointment  the appointment
+         * @param prescription the patient's current prescription, or null if there is none
+         */
+        public Entry(Appointment appointment, Prescription prescription) {
+            this.appointmentId = appointment.getId();
+            this.startTime = appointment.getStartTime();
+            this.endTime = appointment.getEndTime();
+            this.status = appointment.getStatus();
+            this.reason = appointment.getReason();
+            this.version = appointment.getVersion();
+            this.patient = new PatientDemographics(appointment.getPatient());
+            this.prescription = prescription == null ? null : new PrescriptionSummary(prescription);
+        }
+    }
+
+    /**
+     * The patient demographics shown in the agenda.
+     */
+    @Getter
+    public static class PatientDemographics {
+        private final Integer id;
+        private final String firstName;
+        private final String lastName;
+        private final LocalDate dateOfBirth;
+        private final String gender;
+        private final String phone;
+        private final String insuranceProvider;
+
+        private PatientDemographics(Patient patient) {
+            this.id = patient.getId();
+            this.firstName = patient.getFirstName();
+            this.lastName = patient.getLastName();
+            this.dateOfBirth = patient.getDateOfBirth();
+            this.gender = patient.getGender();
+            this.phone = patient.getPhone();
+            this.insuranceProvider = patient.getInsuranceProvider();
+        }
+    }
+
+    /**
+     * The prescription fields shown in the agenda.
+     */
+    @Getter
+    public static class PrescriptionSummary {
+        private final Integer id;
+        private final Long version;
+        private final String instruction;
+        private final List<PrescriptionItem> items;
+
+        private PrescriptionSummary(Prescription prescription) {
+            this.id = prescription.getId();
+            this.version = prescription.getVersion();
+            this.instruction = prescription.getInstruction();
+            this.items = prescription.getPrescriptionItems();
+        }
+    }
+}
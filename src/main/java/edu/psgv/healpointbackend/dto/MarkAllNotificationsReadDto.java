@@ -0,0 +1,17 @@
+package edu.psgv.healpointbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * Data Transfer Object for marking all notifications as read.
+ * The optional upper bound keeps notifications that arrived after the client rendered its list unread.
+ *
+ * @author Mahfuzur Rahman
+ */
+public class MarkAllNotificationsReadDto extends TokenDto {
+    @Getter
+    @Setter
+    private Integer upToNotificationId;
+}
@@ -0,0 +1,18 @@
+package edu.psgv.healpointbackend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * Data Transfer Object for marking a notification as read.
+ *
+ * @author Mahfuzur Rahman
+ */
+public class MarkNotificationReadDto extends TokenDto {
+    @Getter
+    @Setter
+    @NotNull
+    private Integer notificationId;
+}
@@ -0,0 +1,27 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.psgv.healpointbackend.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated notification inbox.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class NotificationPageDto {
+    @JsonProperty("notifications")
+    private List<Notification> notifications;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+}
@@ -30,4 +30,7 @@ public class PrescriptionDto {
     private String instruction;
 
     private List<PrescriptionItem> prescriptionItems;
+
+    // Version of the prescription the doctor edited; null skips the stale-edit check
+    private Long version;
 }
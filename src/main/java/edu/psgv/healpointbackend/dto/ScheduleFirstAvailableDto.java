@@ -0,0 +1,36 @@
+package edu.psgv.healpointbackend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+
+/**
+ * Data Transfer Object for booking the first available doctor in a specialty.
+ * The appointment time is optional; when omitted, the earliest free slot of the assigned doctor is booked.
+ * The doctor ID is optional as well; when set, only that doctor is considered.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Setter
+public class ScheduleFirstAvailableDto extends TokenDto {
+    private int patientId;
+
+    private Integer doctorId;
+
+    @NotBlank
+    private String specialty;
+
+    @NotNull
+    private LocalDate appointmentDate;
+
+    private LocalTime appointmentTime;
+
+    @NotBlank
+    private String reason;
+}
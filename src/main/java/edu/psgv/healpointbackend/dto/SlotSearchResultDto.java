@@ -0,0 +1,28 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.psgv.healpointbackend.model.Doctor;
+import edu.psgv.healpointbackend.model.Slot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+
+/**
+ * Data Transfer Object for a single open slot returned by the earliest-available slot search.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class SlotSearchResultDto {
+    @JsonProperty("doctor")
+    private Doctor doctor;
+
+    @JsonProperty("appointmentDate")
+    private LocalDate appointmentDate;
+
+    @JsonProperty("slot")
+    private Slot slot;
+}
@@ -0,0 +1,34 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.psgv.healpointbackend.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for the changes returned by a delta sync.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class SyncChangesDto {
+    @JsonProperty("watermark")
+    private LocalDateTime watermark;
+
+    @JsonProperty("fullSync")
+    private boolean fullSync;
+
+    @JsonProperty("appointments")
+    private List<AppointmentSummaryDto> appointments;
+
+    @JsonProperty("canceledAppointmentIds")
+    private List<Integer> canceledAppointmentIds;
+
+    @JsonProperty("notifications")
+    private List<Notification> notifications;
+}
@@ -0,0 +1,18 @@
+package edu.psgv.healpointbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+/**
+ * Data Transfer Object for the number of unread notifications of a user.
+ *
+ * @author Mahfuzur Rahman
+ */
+@AllArgsConstructor
+@Getter
+public class UnreadCountDto {
+    @JsonProperty("unreadCount")
+    private long unreadCount;
+}
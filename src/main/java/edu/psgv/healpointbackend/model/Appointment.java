@@ -19,7 +19,14 @@ import java.time.LocalTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "Appointment", schema = "dbo")
+@Table(name = "Appointment", schema = "dbo",
+        indexes = {
+                @Index(name = "IX_Appointment_Patient_Date_Time", columnList = "PatientID, AppointmentDate, StartTime, AppointmentID"),
+                @Index(name = "IX_Appointment_Doctor_Date_Time", columnList = "DoctorID, AppointmentDate, StartTime, AppointmentID"),
+                @Index(name = "IX_Appointment_Patient_Updated", columnList = "PatientID, UpdatedAt"),
+                @Index(name = "IX_Appointment_Doctor_Updated", columnList = "DoctorID, UpdatedAt"),
+                @Index(name = "IX_Appointment_Status_Date", columnList = "Status, AppointmentDate")
+        })
 public class Appointment {
     // Required by JPA
     protected Appointment() {
@@ -67,15 +74,21 @@ public class Appointment {
     @Column(name = "Status", nullable = false, length = 20)
     private String status;
 
+    @Version
+    @Column(name = "Version", nullable = false)
+    private Long version;
+
     @Column(name = "CreatedAt", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "UpdatedAt")
     private LocalDateTime updatedAt;
 
+    // UpdatedAt doubles as the delta sync watermark, so it is stamped on insert as well
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
 
     @PreUpdate
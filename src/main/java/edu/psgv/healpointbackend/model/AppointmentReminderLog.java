@@ -0,0 +1,47 @@
+package edu.psgv.healpointbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Entity recording that one reminder of an appointment was sent.
+ * <p>
+ * Every application instance keeps its own reminder wheel, so the same reminder can fall due on several nodes.
+ * The unique key on the appointment, lead time and appointment start lets exactly one node claim it; a
+ * rescheduled appointment has a new start and is reminded again. Rows are written only by
+ * {@link edu.psgv.healpointbackend.repository.AppointmentReminderClaimRepository#claimAll}.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Entity
+@Table(name = "AppointmentReminderLog", schema = "dbo",
+        uniqueConstraints = @UniqueConstraint(name = "UQ_AppointmentReminderLog_Reminder",
+                columnNames = {"AppointmentID", "LeadMinutes", "AppointmentStart"}))
+public class AppointmentReminderLog {
+
+    // Required by JPA
+    protected AppointmentReminderLog() {
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ReminderLogID")
+    private Integer id;
+
+    @Column(name = "AppointmentID", nullable = false)
+    private Integer appointmentId;
+
+    @Column(name = "LeadMinutes", nullable = false)
+    private Integer leadMinutes;
+
+    @Column(name = "AppointmentStart", nullable = false)
+    private LocalDateTime appointmentStart;
+
+    @Column(name = "SentAt", nullable = false)
+    private LocalDateTime sentAt;
+}
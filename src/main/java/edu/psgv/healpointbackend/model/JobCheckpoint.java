@@ -0,0 +1,54 @@
+package edu.psgv.healpointbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Entity representing the progress and lease of a background job.
+ * <p>
+ * A job resumes from the last processed ID after an interruption. The lease owner and expiry ensure that only
+ * one node runs a job at a time; an expired lease can be taken over by any node.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "JobCheckpoint", schema = "dbo")
+public class JobCheckpoint {
+
+    // Required by JPA
+    protected JobCheckpoint() {
+    }
+
+    // Custom constructors
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+        this.lastProcessedId = 0;
+        this.rowsProcessed = 0L;
+    }
+
+    @Id
+    @Column(name = "JobName", length = 100)
+    private String jobName;
+
+    @Column(name = "LastProcessedID", nullable = false)
+    private Integer lastProcessedId;
+
+    @Column(name = "RowsProcessed", nullable = false)
+    private Long rowsProcessed;
+
+    @Column(name = "LeaseOwner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "LeaseExpiresAt")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "LastCompletedAt")
+    private LocalDateTime lastCompletedAt;
+}
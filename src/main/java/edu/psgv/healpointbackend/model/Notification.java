@@ -1,6 +1,7 @@
 package edu.psgv.healpointbackend.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -20,7 +21,15 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "Notifications", schema = "dbo")
+@Table(name = "Notifications", schema = "dbo",
+        indexes = {
+                @Index(name = "IX_Notifications_Recipient_Updated", columnList = "RecipientID, UpdatedAt"),
+                @Index(name = "IX_Notifications_Group_Updated", columnList = "RecipientGroup, UpdatedAt"),
+                @Index(name = "IX_Notifications_Recipient_Created", columnList = "RecipientID, CreatedAt, NotificationID"),
+                @Index(name = "IX_Notifications_Group_Created", columnList = "RecipientGroup, CreatedAt, NotificationID"),
+                @Index(name = "IX_Notifications_Group_ID", columnList = "RecipientGroup, NotificationID"),
+                @Index(name = "IX_Notifications_Recipient_Read", columnList = "RecipientID, IsRead")
+        })
 public class Notification {
 
     // Required by JPA
@@ -63,9 +72,35 @@ public class Notification {
     @Column(name = "UpdatedAt")
     private LocalDateTime updatedAt;
 
+    // Read state of a group notification for the user viewing it; never persisted
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Boolean viewerRead;
+
+    /**
+     * Returns whether the notification is read, as seen by the viewing user when a per-user state was applied.
+     *
+     * @return true if the notification is read
+     */
+    public Boolean getIsRead() {
+        return viewerRead != null ? viewerRead : isRead;
+    }
+
+    /**
+     * Applies the read state of the viewing user to a group notification without changing the stored flag.
+     *
+     * @param read true if the viewing user has read the notification
+     */
+    public void applyViewerReadState(boolean read) {
+        this.viewerRead = read;
+    }
+
+    // UpdatedAt doubles as the delta sync watermark, so it is stamped on insert as well
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
 
     @PreUpdate
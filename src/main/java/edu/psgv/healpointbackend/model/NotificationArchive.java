@@ -0,0 +1,54 @@
+package edu.psgv.healpointbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Entity representing a notification moved out of the live Notifications table by the retention job.
+ * <p>
+ * Rows keep the ID and contents of the original notification and are written only by
+ * {@link edu.psgv.healpointbackend.repository.NotificationArchiveRepository#archiveRange}.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Entity
+@Table(name = "NotificationArchive", schema = "dbo")
+public class NotificationArchive {
+
+    // Required by JPA
+    protected NotificationArchive() {
+    }
+
+    @Id
+    @Column(name = "NotificationID")
+    private Integer id;
+
+    @Column(name = "UserID")
+    private Integer userId;
+
+    @Column(name = "RecipientID")
+    private Integer recipientId;
+
+    @Column(name = "RecipientGroup", length = 100)
+    private String recipientGroup;
+
+    @Column(name = "Message", nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "IsRead", nullable = false)
+    private Boolean isRead;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "UpdatedAt")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "ArchivedAt", nullable = false)
+    private LocalDateTime archivedAt;
+}
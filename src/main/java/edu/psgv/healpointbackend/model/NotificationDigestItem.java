@@ -0,0 +1,76 @@
+package edu.psgv.healpointbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * Entity representing a submission waiting to be coalesced into a group notification digest.
+ * <p>
+ * Items are inserted in the transaction of the change that produced them and deleted in the transaction that
+ * hands their digest to the notification outbox, so a submission is neither lost nor sent twice.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Entity
+@Table(name = "NotificationDigestItem", schema = "dbo")
+public class NotificationDigestItem {
+    private static final String ITEM_SEPARATOR = "\n";
+
+    // Required by JPA
+    protected NotificationDigestItem() {
+    }
+
+    // Custom constructors
+    public NotificationDigestItem(String recipientGroup, String mergeKey, Integer userId, String summary, Collection<String> items) {
+        this.recipientGroup = recipientGroup;
+        this.mergeKey = mergeKey;
+        this.userId = userId;
+        this.summary = summary;
+        this.items = items.stream().map(item -> item.replace(ITEM_SEPARATOR, " ").trim()).collect(Collectors.joining(ITEM_SEPARATOR));
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "DigestItemID")
+    private Integer id;
+
+    @Column(name = "RecipientGroup", nullable = false, length = 100)
+    private String recipientGroup;
+
+    @Column(name = "MergeKey", nullable = false, length = 100)
+    private String mergeKey;
+
+    @Column(name = "UserID")
+    private Integer userId;
+
+    @Column(name = "Summary", nullable = false, length = 500)
+    private String summary;
+
+    @Column(name = "Items", nullable = false, length = 2000)
+    private String items;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Returns the items of the submission.
+     *
+     * @return the items in submission order
+     */
+    public List<String> getItemList() {
+        return items.isEmpty() ? List.of() : List.of(items.split(ITEM_SEPARATOR));
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,68 @@
+package edu.psgv.healpointbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Entity representing a notification waiting in the outbox to be written to the Notifications table.
+ * <p>
+ * Entries are inserted in the transaction of the change that produced them and deleted in the transaction that
+ * writes the notification, so a notification is neither lost nor written twice.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Entity
+@Table(name = "NotificationOutbox", schema = "dbo")
+public class NotificationOutboxEntry {
+
+    // Required by JPA
+    protected NotificationOutboxEntry() {
+    }
+
+    // Custom constructors
+    public NotificationOutboxEntry(Notification notification) {
+        this.userId = notification.getUserId();
+        this.recipientId = notification.getRecipientId();
+        this.recipientGroup = notification.getRecipientGroup();
+        this.message = notification.getMessage();
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "OutboxID")
+    private Integer id;
+
+    @Column(name = "UserID")
+    private Integer userId;
+
+    @Column(name = "RecipientID")
+    private Integer recipientId;
+
+    @Column(name = "RecipientGroup", length = 100)
+    private String recipientGroup;
+
+    @Column(name = "Message", nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Creates the notification this entry stands for.
+     *
+     * @return a new, unsaved notification
+     */
+    public Notification toNotification() {
+        return Notification.builder().userId(userId).recipientId(recipientId).recipientGroup(recipientGroup).message(message).build();
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
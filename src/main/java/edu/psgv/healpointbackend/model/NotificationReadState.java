@@ -0,0 +1,67 @@
+package edu.psgv.healpointbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Entity representing what one user has read of a group notification channel.
+ * <p>
+ * Group notifications are stored once for the whole group, so their shared IsRead flag cannot say which members
+ * read them. Instead each member keeps a watermark below which every notification of the group is read, plus a
+ * small bitmap of notifications read above it (see {@link edu.psgv.healpointbackend.utilities.ReadWatermark}).
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "NotificationReadState", schema = "dbo",
+        uniqueConstraints = @UniqueConstraint(name = "UQ_NotificationReadState_User_Channel", columnNames = {"UserID", "Channel"}))
+public class NotificationReadState {
+
+    // Required by JPA
+    protected NotificationReadState() {
+    }
+
+    // Custom constructors
+    public NotificationReadState(Integer userId, String channel) {
+        this.userId = userId;
+        this.channel = channel;
+        this.readUpTo = 0;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ReadStateID")
+    private Integer id;
+
+    @Column(name = "UserID", nullable = false)
+    private Integer userId;
+
+    @Column(name = "Channel", nullable = false, length = 100)
+    private String channel;
+
+    @Column(name = "ReadUpTo", nullable = false)
+    private Integer readUpTo;
+
+    @Column(name = "Exceptions", length = 1024)
+    private byte[] exceptions;
+
+    @Version
+    @Column(name = "Version", nullable = false)
+    private Long version;
+
+    @Column(name = "UpdatedAt")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
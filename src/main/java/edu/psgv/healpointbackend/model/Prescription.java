@@ -3,6 +3,7 @@ package edu.psgv.healpointbackend.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,14 +40,27 @@ public class Prescription {
     @Setter
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     @JoinColumn(name = "prescriptionId", nullable = false)
+    @BatchSize(size = 50)
     private List<PrescriptionItem> prescriptionItems = new ArrayList<>();
 
+    @Version
+    @Column(name = "Version", nullable = false)
+    private Long version;
+
     @Column(name = "CreatedAt", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "UpdatedAt")
     private LocalDateTime updatedAt;
 
+    /**
+     * Marks the prescription as modified when only its items changed, so saving it increments the version and
+     * concurrent edits of the items conflict.
+     */
+    public void markItemsChanged() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
  */
 @Getter
 @Entity
-@Table(name = "Users", schema = "dbo")
+@Table(name = "Users", schema = "dbo",
+        indexes = @Index(name = "IX_Users_Role_Active", columnList = "RoleID, IsActive"))
 public class User {
 
     // Required by JPA
@@ -0,0 +1,31 @@
+package edu.psgv.healpointbackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Repository fragment for claiming appointment reminders across application instances.
+ *
+ * @author Mahfuzur Rahman
+ */
+public interface AppointmentReminderClaimRepository {
+    /**
+     * Records reminders as sent unless another node already did, as one batched statement. The claims take effect
+     * with the surrounding transaction, so they are released if the reminders are not sent.
+     *
+     * @param claims the reminders to claim
+     * @return for each reminder, in order, true if it was claimed by this call, false if it had been claimed before
+     */
+    boolean[] claimAll(List<Claim> claims);
+
+    /**
+     * One reminder of an appointment, identified by its lead time and the appointment start it was scheduled for.
+     *
+     * @param appointmentId    the ID of the appointment
+     * @param leadMinutes      the lead time of the reminder
+     * @param appointmentStart the start of the appointment the reminder was scheduled for
+     */
+    record Claim(int appointmentId, int leadMinutes, LocalDateTime appointmentStart) {
+    }
+}
@@ -0,0 +1,55 @@
+package edu.psgv.healpointbackend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * JDBC implementation of {@link AppointmentReminderClaimRepository}.
+ * <p>
+ * The claims of a tick are one JDBC batch of INSERTs that skip rows already present; nodes racing past that check
+ * are decided by the unique key, and the loser sees a duplicate key for the whole batch.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class AppointmentReminderClaimRepositoryImpl implements AppointmentReminderClaimRepository {
+    private static final String CLAIM_SQL = """
+            INSERT INTO dbo.AppointmentReminderLog (AppointmentID, LeadMinutes, AppointmentStart, SentAt)
+            SELECT ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM dbo.AppointmentReminderLog
+                              WHERE AppointmentID = ? AND LeadMinutes = ? AND AppointmentStart = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new AppointmentReminderClaimRepositoryImpl.
+     *
+     * @param jdbcTemplate the template used to run the claims
+     */
+    public AppointmentReminderClaimRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean[] claimAll(List<Claim> claims) {
+        boolean[] claimed = new boolean[claims.size()];
+        if (claims.isEmpty()) {
+            return claimed;
+        }
+        Timestamp sentAt = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, claims.stream().map(claim -> {
+            Timestamp start = Timestamp.valueOf(claim.appointmentStart());
+            return new Object[]{claim.appointmentId(), claim.leadMinutes(), start, sentAt,
+                    claim.appointmentId(), claim.leadMinutes(), start};
+        }).toList());
+        for (int i = 0; i < claimed.length; i++) {
+            claimed[i] = counts[i] == 1;
+        }
+        return claimed;
+    }
+}
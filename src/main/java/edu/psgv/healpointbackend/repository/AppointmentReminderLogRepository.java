@@ -0,0 +1,32 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.AppointmentReminderLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Repository interface for AppointmentReminderLog entity.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Repository
+public interface AppointmentReminderLogRepository extends JpaRepository<AppointmentReminderLog, Integer>, AppointmentReminderClaimRepository {
+    /**
+     * Deletes the records of reminders for appointments that started before the given time.
+     *
+     * @param before the exclusive upper bound of the appointment start
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AppointmentReminderLog r WHERE r.appointmentStart < :before")
+    int deleteStartedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,12 +1,27 @@
 package edu.psgv.healpointbackend.repository;
 
 import edu.psgv.healpointbackend.dto.AppointmentCountDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
 import edu.psgv.healpointbackend.model.Appointment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 /**
@@ -15,7 +30,7 @@ import java.util.List;
  *
  * @author Mahfuzur Rahman
  */
-public interface AppointmentRepository extends JpaRepository<Appointment, Integer> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Integer>, JpaSpecificationExecutor<Appointment> {
     /**
      * Retrieves appointment counts grouped by doctor and appointment date.
      *
@@ -42,6 +57,35 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Intege
      */
     List<Appointment> findByDoctorIdAndAppointmentDate(Integer doctorId, LocalDate appointmentDate);
 
+    /**
+     * Finds a doctor's non-canceled appointments on a specific date ordered by start time,
+     * fetching the patients in the same query.
+     *
+     * @param doctorId        the ID of the doctor
+     * @param appointmentDate the date of the appointments
+     * @return the doctor's agenda appointments for the date
+     */
+    @Query("""
+                SELECT a FROM Appointment a
+                JOIN FETCH a.doctor
+                JOIN FETCH a.patient
+                WHERE a.doctor.id = :doctorId
+                  AND a.appointmentDate = :appointmentDate
+                  AND a.status <> 'CANCELED'
+                ORDER BY a.startTime, a.id
+            """)
+    List<Appointment> findAgendaByDoctorIdAndAppointmentDate(@Param("doctorId") Integer doctorId,
+                                                             @Param("appointmentDate") LocalDate appointmentDate);
+
+    /**
+     * Finds appointments of the given doctors on a specific date.
+     *
+     * @param appointmentDate the date of the appointments
+     * @param doctorIds       the IDs of the doctors
+     * @return a list of Appointment entities matching the criteria
+     */
+    List<Appointment> findByAppointmentDateAndDoctorIdIn(LocalDate appointmentDate, Collection<Integer> doctorIds);
+
     /**
      * Finds appointments by doctor ID.
      *
@@ -57,4 +101,445 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Intege
      * @return a list of Appointment entities for the specified patient
      */
     List<Appointment> findByPatientId(Integer patientId);
+
+    /**
+     * Retrieves the listing columns of a patient's appointments in (date, start time, ID) order.
+     *
+     * @param patientId the ID of the patient
+     * @return the appointment summaries of the patient
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE p.id = :patientId
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findSummariesByPatientId(@Param("patientId") Integer patientId);
+
+    /**
+     * Retrieves the listing columns of a doctor's appointments in (date, start time, ID) order.
+     *
+     * @param doctorId the ID of the doctor
+     * @return the appointment summaries of the doctor
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE d.id = :doctorId
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findSummariesByDoctorId(@Param("doctorId") Integer doctorId);
+
+    /**
+     * Streams the listing columns of a patient's appointments in (date, start time, ID) order.
+     * Rows are projected rather than managed, so the persistence context does not grow while streaming.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param patientId the ID of the patient
+     * @return a stream of the patient's appointment summaries
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE p.id = :patientId
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    Stream<AppointmentSummaryDto> streamSummariesByPatientId(@Param("patientId") Integer patientId);
+
+    /**
+     * Streams the listing columns of a doctor's appointments in (date, start time, ID) order.
+     * Rows are projected rather than managed, so the persistence context does not grow while streaming.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param doctorId the ID of the doctor
+     * @return a stream of the doctor's appointment summaries
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE d.id = :doctorId
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    Stream<AppointmentSummaryDto> streamSummariesByDoctorId(@Param("doctorId") Integer doctorId);
+
+    /**
+     * Finds the latest modification time of a patient's appointments, served by the patient/updated index.
+     *
+     * @param patientId the ID of the patient
+     * @return the latest UpdatedAt, or null if the patient has no appointments
+     */
+    @Query("SELECT MAX(a.updatedAt) FROM Appointment a WHERE a.patient.id = :patientId")
+    LocalDateTime findLastUpdatedAtByPatientId(@Param("patientId") Integer patientId);
+
+    /**
+     * Finds the latest modification time of a doctor's appointments, served by the doctor/updated index.
+     *
+     * @param doctorId the ID of the doctor
+     * @return the latest UpdatedAt, or null if the doctor has no appointments
+     */
+    @Query("SELECT MAX(a.updatedAt) FROM Appointment a WHERE a.doctor.id = :doctorId")
+    LocalDateTime findLastUpdatedAtByDoctorId(@Param("doctorId") Integer doctorId);
+
+    /**
+     * Retrieves the listing columns of a patient's appointments created or modified after the given time.
+     * Served by the patient/updated index, so the cost follows the number of changes rather than the history size.
+     *
+     * @param patientId the ID of the patient
+     * @param since     the exclusive lower bound of the modification time
+     * @return the changed appointment summaries of the patient
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE p.id = :patientId
+                  AND a.updatedAt > :since
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findChangedSummariesByPatientId(@Param("patientId") Integer patientId,
+                                                                @Param("since") LocalDateTime since);
+
+    /**
+     * Retrieves the listing columns of a doctor's appointments created or modified after the given time.
+     * Served by the doctor/updated index, so the cost follows the number of changes rather than the history size.
+     *
+     * @param doctorId the ID of the doctor
+     * @param since    the exclusive lower bound of the modification time
+     * @return the changed appointment summaries of the doctor
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE d.id = :doctorId
+                  AND a.updatedAt > :since
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findChangedSummariesByDoctorId(@Param("doctorId") Integer doctorId,
+                                                               @Param("since") LocalDateTime since);
+
+    /**
+     * Checks whether the patient already has a scheduled appointment overlapping the given time range.
+     * Bounded to a single day so it is served by the patient/date index rather than the patient's full history.
+     *
+     * @param patientId            the ID of the patient
+     * @param appointmentDate      the date of the appointment
+     * @param startTime            the start time of the range
+     * @param endTime              the end time of the range
+     * @param excludeAppointmentId the ID of an appointment to ignore (the one being rescheduled), or null
+     * @return true if an overlapping appointment exists, false otherwise
+     */
+    @Query("""
+                SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END
+                FROM Appointment a
+                WHERE a.patient.id = :patientId
+                  AND a.appointmentDate = :appointmentDate
+                  AND a.status = 'SCHEDULED'
+                  AND a.startTime < :endTime
+                  AND a.endTime > :startTime
+                  AND (:excludeAppointmentId IS NULL OR a.id <> :excludeAppointmentId)
+            """)
+    boolean existsOverlappingPatientAppointment(@Param("patientId") Integer patientId,
+                                                @Param("appointmentDate") LocalDate appointmentDate,
+                                                @Param("startTime") LocalTime startTime,
+                                                @Param("endTime") LocalTime endTime,
+                                                @Param("excludeAppointmentId") Integer excludeAppointmentId);
+
+    /**
+     * Retrieves the next page of a patient's appointments in ascending (date, start time, ID) order.
+     * Served by the patient/date/time index and projected onto the listing columns.
+     *
+     * @param patientId  the ID of the patient
+     * @param fromDate   the earliest appointment date to include, or null for no lower bound
+     * @param cursorDate the date of the last appointment on the previous page, or null for the first page
+     * @param cursorTime the start time of the last appointment on the previous page
+     * @param cursorId   the ID of the last appointment on the previous page
+     * @param limit      the maximum number of appointments to return
+     * @return the appointment summaries following the cursor
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE a.patient.id = :patientId
+                  AND (:fromDate IS NULL OR a.appointmentDate >= :fromDate)
+                  AND (:cursorDate IS NULL
+                       OR a.appointmentDate > :cursorDate
+                       OR (a.appointmentDate = :cursorDate AND (a.startTime > :cursorTime
+                           OR (a.startTime = :cursorTime AND a.id > :cursorId))))
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findPatientPageAscending(@Param("patientId") Integer patientId,
+                                                         @Param("fromDate") LocalDate fromDate,
+                                                         @Param("cursorDate") LocalDate cursorDate,
+                                                         @Param("cursorTime") LocalTime cursorTime,
+                                                         @Param("cursorId") Integer cursorId,
+                                                         Limit limit);
+
+    /**
+     * Retrieves the next page of a patient's past appointments in descending (date, start time, ID) order.
+     *
+     * @param patientId  the ID of the patient
+     * @param beforeDate the exclusive upper bound of the appointment date
+     * @param cursorDate the date of the last appointment on the previous page, or null for the first page
+     * @param cursorTime the start time of the last appointment on the previous page
+     * @param cursorId   the ID of the last appointment on the previous page
+     * @param limit      the maximum number of appointments to return
+     * @return the appointment summaries following the cursor
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE a.patient.id = :patientId
+                  AND a.appointmentDate < :beforeDate
+                  AND (:cursorDate IS NULL
+                       OR a.appointmentDate < :cursorDate
+                       OR (a.appointmentDate = :cursorDate AND (a.startTime < :cursorTime
+                           OR (a.startTime = :cursorTime AND a.id < :cursorId))))
+                ORDER BY a.appointmentDate DESC, a.startTime DESC, a.id DESC
+            """)
+    List<AppointmentSummaryDto> findPatientPageDescending(@Param("patientId") Integer patientId,
+                                                          @Param("beforeDate") LocalDate beforeDate,
+                                                          @Param("cursorDate") LocalDate cursorDate,
+                                                          @Param("cursorTime") LocalTime cursorTime,
+                                                          @Param("cursorId") Integer cursorId,
+                                                          Limit limit);
+
+    /**
+     * Retrieves the next page of a doctor's appointments in ascending (date, start time, ID) order.
+     * Served by the doctor/date/time index and projected onto the listing columns.
+     *
+     * @param doctorId   the ID of the doctor
+     * @param fromDate   the earliest appointment date to include, or null for no lower bound
+     * @param cursorDate the date of the last appointment on the previous page, or null for the first page
+     * @param cursorTime the start time of the last appointment on the previous page
+     * @param cursorId   the ID of the last appointment on the previous page
+     * @param limit      the maximum number of appointments to return
+     * @return the appointment summaries following the cursor
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE a.doctor.id = :doctorId
+                  AND (:fromDate IS NULL OR a.appointmentDate >= :fromDate)
+                  AND (:cursorDate IS NULL
+                       OR a.appointmentDate > :cursorDate
+                       OR (a.appointmentDate = :cursorDate AND (a.startTime > :cursorTime
+                           OR (a.startTime = :cursorTime AND a.id > :cursorId))))
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findDoctorPageAscending(@Param("doctorId") Integer doctorId,
+                                                        @Param("fromDate") LocalDate fromDate,
+                                                        @Param("cursorDate") LocalDate cursorDate,
+                                                        @Param("cursorTime") LocalTime cursorTime,
+                                                        @Param("cursorId") Integer cursorId,
+                                                        Limit limit);
+
+    /**
+     * Retrieves the next page of a doctor's past appointments in descending (date, start time, ID) order.
+     *
+     * @param doctorId   the ID of the doctor
+     * @param beforeDate the exclusive upper bound of the appointment date
+     * @param cursorDate the date of the last appointment on the previous page, or null for the first page
+     * @param cursorTime the start time of the last appointment on the previous page
+     * @param cursorId   the ID of the last appointment on the previous page
+     * @param limit      the maximum number of appointments to return
+     * @return the appointment summaries following the cursor
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE a.doctor.id = :doctorId
+                  AND a.appointmentDate < :beforeDate
+                  AND (:cursorDate IS NULL
+                       OR a.appointmentDate < :cursorDate
+                       OR (a.appointmentDate = :cursorDate AND (a.startTime < :cursorTime
+                           OR (a.startTime = :cursorTime AND a.id < :cursorId))))
+                ORDER BY a.appointmentDate DESC, a.startTime DESC, a.id DESC
+            """)
+    List<AppointmentSummaryDto> findDoctorPageDescending(@Param("doctorId") Integer doctorId,
+                                                         @Param("beforeDate") LocalDate beforeDate,
+                                                         @Param("cursorDate") LocalDate cursorDate,
+                                                         @Param("cursorTime") LocalTime cursorTime,
+                                                         @Param("cursorId") Integer cursorId,
+                                                         Limit limit);
+
+    /**
+     * Retrieves the IDs of appointments still in the given status whose end lies before the cutoff,
+     * following the given ID in ascending order.
+     *
+     * @param status     the status of the appointments to find
+     * @param cutoffDate the date of the cutoff
+     * @param cutoffTime the time of the cutoff
+     * @param afterId    the ID to continue after
+     * @param limit      the maximum number of IDs to return
+     * @return the matching appointment IDs in ascending order
+     */
+    @Query("""
+                SELECT a.id
+                FROM Appointment a
+                WHERE a.status = :status
+                  AND a.id > :afterId
+                  AND (a.appointmentDate < :cutoffDate OR (a.appointmentDate = :cutoffDate AND a.endTime <= :cutoffTime))
+                ORDER BY a.id
+            """)
+    List<Integer> findOverdueIds(@Param("status") String status,
+                                 @Param("cutoffDate") LocalDate cutoffDate,
+                                 @Param("cutoffTime") LocalTime cutoffTime,
+                                 @Param("afterId") Integer afterId,
+                                 Limit limit);
+
+    /**
+     * Moves overdue appointments in an ID range from one status to another in a single statement.
+     * The status and cutoff are re-checked, so rows changed since they were selected are left alone.
+     *
+     * @param fromStatus the current status of the appointments
+     * @param toStatus   the new status of the appointments
+     * @param afterId    the exclusive lower bound of the ID range
+     * @param upToId     the inclusive upper bound of the ID range
+     * @param cutoffDate the date of the cutoff
+     * @param cutoffTime the time of the cutoff
+     * @param updatedAt  the modification time to record
+     * @return the number of appointments updated
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE Appointment a
+                SET a.status = :toStatus, a.updatedAt = :updatedAt, a.version = a.version + 1
+                WHERE a.status = :fromStatus
+                  AND a.id > :afterId AND a.id <= :upToId
+                  AND (a.appointmentDate < :cutoffDate OR (a.appointmentDate = :cutoffDate AND a.endTime <= :cutoffTime))
+            """)
+    int transitionOverdue(@Param("fromStatus") String fromStatus,
+                          @Param("toStatus") String toStatus,
+                          @Param("afterId") Integer afterId,
+                          @Param("upToId") Integer upToId,
+                          @Param("cutoffDate") LocalDate cutoffDate,
+                          @Param("cutoffTime") LocalTime cutoffTime,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Retrieves summaries of the appointments in the given status within a date range, ordered by date and start time.
+     *
+     * @param status   the status of the appointments
+     * @param fromDate the first appointment date, inclusive
+     * @param toDate   the last appointment date, inclusive
+     * @return the matching appointment summaries
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE a.status = :status
+                  AND a.appointmentDate BETWEEN :fromDate AND :toDate
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<AppointmentSummaryDto> findSummariesByStatusAndDateRange(@Param("status") String status,
+                                                                  @Param("fromDate") LocalDate fromDate,
+                                                                  @Param("toDate") LocalDate toDate);
+
+    /**
+     * Retrieves summaries of the appointments with the given IDs.
+     *
+     * @param ids the IDs of the appointments
+     * @return the appointment summaries, in no particular order
+     */
+    @Query("""
+                SELECT new edu.psgv.healpointbackend.dto.AppointmentSummaryDto(
+                    a.id, a.appointmentDate, a.startTime, a.endTime, a.status, a.reason, a.version,
+                    d.id, d.firstName, d.lastName, d.specialty, p.id, p.firstName, p.lastName)
+                FROM Appointment a
+                JOIN a.doctor d
+                JOIN a.patient p
+                WHERE a.id IN :ids
+            """)
+    List<AppointmentSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Locks the appointments of a doctor in a date range that have the given status and returns their IDs.
+     * The locks are held until the surrounding transaction ends, so the rows cannot change status in between.
+     *
+     * @param doctorId the ID of the doctor
+     * @param fromDate the first appointment date, inclusive
+     * @param toDate   the last appointment date, inclusive
+     * @param status   the status of the appointments
+     * @return the IDs of the locked appointments ordered by date and start time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+                SELECT a.id
+                FROM Appointment a
+                WHERE a.doctor.id = :doctorId
+                  AND a.appointmentDate BETWEEN :fromDate AND :toDate
+                  AND a.status = :status
+                ORDER BY a.appointmentDate, a.startTime, a.id
+            """)
+    List<Integer> lockIdsByDoctorIdAndDateRange(@Param("doctorId") Integer doctorId,
+                                                @Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate,
+                                                @Param("status") String status);
+
+    /**
+     * Moves the appointments with the given IDs from one status to another in a single statement.
+     *
+     * @param ids        the IDs of the appointments
+     * @param fromStatus the current status of the appointments
+     * @param toStatus   the new status of the appointments
+     * @param updatedAt  the modification time to record
+     * @return the number of appointments updated
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE Appointment a
+                SET a.status = :toStatus, a.updatedAt = :updatedAt, a.version = a.version + 1
+                WHERE a.id IN :ids AND a.status = :fromStatus
+            """)
+    int transitionByIdIn(@Param("ids") Collection<Integer> ids,
+                         @Param("fromStatus") String fromStatus,
+                         @Param("toStatus") String toStatus,
+                         @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,104 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.Appointment;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+
+/**
+ * Reusable JPA Specifications for filtering appointments.
+ * <p>
+ * Each specification maps to one indexed column where possible, so combinations translate into
+ * index seeks on the doctor/date, patient/date or status/date indexes.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class AppointmentSpecifications {
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private AppointmentSpecifications() {
+    }
+
+    /**
+     * Matches appointments of the given doctor.
+     *
+     * @param doctorId the ID of the doctor
+     * @return the specification
+     */
+    public static Specification<Appointment> hasDoctor(int doctorId) {
+        return (root, query, cb) -> cb.equal(root.get("doctor").get("id"), doctorId);
+    }
+
+    /**
+     * Matches appointments of the given patient.
+     *
+     * @param patientId the ID of the patient
+     * @return the specification
+     */
+    public static Specification<Appointment> hasPatient(int patientId) {
+        return (root, query, cb) -> cb.equal(root.get("patient").get("id"), patientId);
+    }
+
+    /**
+     * Matches appointments with the given status.
+     *
+     * @param status the appointment status
+     * @return the specification
+     */
+    public static Specification<Appointment> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Matches appointments on or after the given date.
+     *
+     * @param date the inclusive lower bound
+     * @return the specification
+     */
+    public static Specification<Appointment> onOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("appointmentDate"), date);
+    }
+
+    /**
+     * Matches appointments on or before the given date.
+     *
+     * @param date the inclusive upper bound
+     * @return the specification
+     */
+    public static Specification<Appointment> onOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("appointmentDate"), date);
+    }
+
+    /**
+     * Matches appointments whose reason contains the given text, ignoring case.
+     * This is a residual filter applied to the rows selected by the indexed criteria.
+     *
+     * @param text the text to look for
+     * @return the specification
+     */
+    public static Specification<Appointment> reasonContains(String text) {
+        String pattern = "%" + text.trim().toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("reason")), pattern, '\\');
+    }
+
+    /**
+     * Fetches the doctor and patient with the appointments, so a page of results is loaded in one query.
+     * Count queries are left untouched.
+     *
+     * @return the specification
+     */
+    public static Specification<Appointment> fetchParticipants() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                root.fetch("doctor", JoinType.INNER);
+                root.fetch("patient", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+}
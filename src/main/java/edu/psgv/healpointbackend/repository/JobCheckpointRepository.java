@@ -0,0 +1,95 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Repository interface for managing JobCheckpoint entities.
+ * <p>
+ * Lease changes are conditional updates, so concurrent nodes race on the database row and exactly one wins.
+ * Every update other than the claim requires the caller to still hold the lease.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+    /**
+     * Claims the lease of a job if it is free, expired or already held by the owner.
+     *
+     * @param jobName   the name of the job
+     * @param owner     the identifier of the claiming node
+     * @param now       the current time
+     * @param expiresAt the time the claimed lease expires
+     * @return 1 if the lease was claimed, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE JobCheckpoint j
+                SET j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt
+                WHERE j.jobName = :jobName
+                  AND (j.leaseOwner IS NULL OR j.leaseExpiresAt < :now OR j.leaseOwner = :owner)
+            """)
+    int claimLease(@Param("jobName") String jobName, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Records a processed chunk and extends the lease.
+     *
+     * @param jobName         the name of the job
+     * @param owner           the identifier of the node holding the lease
+     * @param lastProcessedId the highest ID covered by the chunk
+     * @param rows            the number of rows changed by the chunk
+     * @param expiresAt       the new lease expiry
+     * @return 1 if the checkpoint was advanced, 0 if the lease is no longer held
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE JobCheckpoint j
+                SET j.lastProcessedId = :lastProcessedId, j.rowsProcessed = j.rowsProcessed + :rows, j.leaseExpiresAt = :expiresAt
+                WHERE j.jobName = :jobName AND j.leaseOwner = :owner
+            """)
+    int advance(@Param("jobName") String jobName, @Param("owner") String owner, @Param("lastProcessedId") int lastProcessedId,
+                @Param("rows") long rows, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Marks a run as complete, rewinding the checkpoint for the next run and releasing the lease.
+     *
+     * @param jobName     the name of the job
+     * @param owner       the identifier of the node holding the lease
+     * @param completedAt the completion time
+     * @return 1 if the run was completed, 0 if the lease is no longer held
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE JobCheckpoint j
+                SET j.lastProcessedId = 0, j.lastCompletedAt = :completedAt, j.leaseOwner = NULL, j.leaseExpiresAt = NULL
+                WHERE j.jobName = :jobName AND j.leaseOwner = :owner
+            """)
+    int complete(@Param("jobName") String jobName, @Param("owner") String owner, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Releases the lease without touching the checkpoint, so the next run resumes where this one stopped.
+     *
+     * @param jobName the name of the job
+     * @param owner   the identifier of the node holding the lease
+     * @return 1 if the lease was released, 0 if it was not held
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE JobCheckpoint j
+                SET j.leaseOwner = NULL, j.leaseExpiresAt = NULL
+                WHERE j.jobName = :jobName AND j.leaseOwner = :owner
+            """)
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+}
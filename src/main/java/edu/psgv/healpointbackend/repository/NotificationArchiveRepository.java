@@ -0,0 +1,47 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.NotificationArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Repository interface for NotificationArchive entity.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Repository
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Integer> {
+    /**
+     * Copies the archivable notifications of an ID range into the archive in a single statement, using the same
+     * conditions as {@link NotificationRepository#findArchivableIds}.
+     * Must run in the same transaction as {@link NotificationRepository#deleteArchived(Integer, Integer)}.
+     *
+     * @param afterId    the exclusive lower bound of the ID
+     * @param upToId     the inclusive upper bound of the ID
+     * @param cutoff     the exclusive upper bound of the creation time
+     * @param archivedAt the archive time to record
+     * @return the number of notifications copied
+     */
+    @Modifying
+    @Query("""
+                INSERT INTO NotificationArchive (id, userId, recipientId, recipientGroup, message, isRead, createdAt, updatedAt, archivedAt)
+                SELECT n.id, n.userId, n.recipientId, n.recipientGroup, n.message, n.isRead, n.createdAt, n.updatedAt, :archivedAt
+                FROM Notification n
+                WHERE n.id > :afterId AND n.id <= :upToId AND n.createdAt < :cutoff
+                  AND (n.isRead = true OR (n.recipientGroup IS NOT NULL AND NOT EXISTS (
+                      SELECT u.id FROM User u
+                      WHERE u.role.id = (SELECT r.id FROM Role r WHERE r.description = n.recipientGroup) AND u.isActive = true
+                        AND NOT EXISTS (
+                            SELECT s.id FROM NotificationReadState s
+                            WHERE s.userId = u.id AND s.channel = n.recipientGroup AND s.readUpTo >= n.id))))
+            """)
+    int archiveRange(@Param("afterId") Integer afterId, @Param("upToId") Integer upToId,
+                     @Param("cutoff") LocalDateTime cutoff, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,21 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.Notification;
+
+import java.util.List;
+
+
+/**
+ * Repository fragment for inserting notifications in JDBC batches.
+ *
+ * @author Mahfuzur Rahman
+ */
+public interface NotificationBatchRepository {
+    /**
+     * Inserts the given notifications using batched statements and sets their generated IDs.
+     *
+     * @param notifications the notifications to insert
+     * @return the number of notifications inserted
+     */
+    int insertAll(List<Notification> notifications);
+}
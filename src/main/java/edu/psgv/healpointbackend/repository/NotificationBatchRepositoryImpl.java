@@ -0,0 +1,152 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.Notification;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * JDBC implementation of {@link NotificationBatchRepository}.
+ * <p>
+ * Notification IDs are database identities, which keeps Hibernate from batching inserts, so the rows are
+ * written with a plain JDBC batch instead. Timestamps are set here, on the rows and the given entities, the same
+ * way the entity callbacks set them.
+ * </p>
+ * <p>
+ * The generated IDs are read back and set on the given entities. SQL Server does not return the keys of a JDBC
+ * batch, so there each chunk is inserted by one MERGE whose OUTPUT clause pairs every new ID with the position of
+ * its source row; other databases return the keys of the batch in insertion order.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class NotificationBatchRepositoryImpl implements NotificationBatchRepository {
+    private static final int BATCH_SIZE = 100;
+    private static final String SQL_SERVER = "Microsoft SQL Server";
+    private static final String INSERT_SQL = """
+            INSERT INTO dbo.Notifications (UserID, RecipientID, RecipientGroup, Message, IsRead, CreatedAt, UpdatedAt)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String MERGE_SQL = """
+            MERGE INTO dbo.Notifications AS target
+            USING (VALUES %s) AS source (RowNo, UserID, RecipientID, RecipientGroup, Message, IsRead)
+            ON 1 = 0
+            WHEN NOT MATCHED THEN
+                INSERT (UserID, RecipientID, RecipientGroup, Message, IsRead, CreatedAt, UpdatedAt)
+                VALUES (source.UserID, source.RecipientID, source.RecipientGroup, source.Message, source.IsRead, ?, ?)
+            OUTPUT source.RowNo, INSERTED.NotificationID;
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean sqlServer;
+
+    /**
+     * Constructs a new NotificationBatchRepositoryImpl.
+     *
+     * @param jdbcTemplate the template used to run the batches
+     */
+    public NotificationBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(createdAt);
+        notifications.forEach(notification -> {
+            notification.setCreatedAt(createdAt);
+            notification.setUpdatedAt(createdAt);
+        });
+        for (int from = 0; from < notifications.size(); from += BATCH_SIZE) {
+            List<Notification> chunk = notifications.subList(from, Math.min(from + BATCH_SIZE, notifications.size()));
+            if (isSqlServer()) {
+                mergeChunk(chunk, now);
+            } else {
+                insertChunk(chunk, now);
+            }
+        }
+        return notifications.size();
+    }
+
+    /**
+     * Inserts a chunk with one MERGE statement and sets the IDs returned by its OUTPUT clause.
+     */
+    private void mergeChunk(List<Notification> chunk, Timestamp now) {
+        String sql = String.format(MERGE_SQL, String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?)")));
+        jdbcTemplate.query(sql, statement -> {
+            int index = 1;
+            for (int row = 0; row < chunk.size(); row++) {
+                statement.setInt(index++, row);
+                index = setColumns(statement, index, chunk.get(row));
+            }
+            statement.setTimestamp(index++, now);
+            statement.setTimestamp(index, now);
+        }, (RowCallbackHandler) resultSet -> chunk.get(resultSet.getInt(1)).setId(resultSet.getInt(2)));
+    }
+
+    /**
+     * Inserts a chunk as a JDBC batch and sets the generated keys, which are returned in insertion order.
+     */
+    private void insertChunk(List<Notification> chunk, Timestamp now) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"NotificationID"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int row) throws SQLException {
+                        int index = setColumns(statement, 1, chunk.get(row));
+                        statement.setTimestamp(index++, now);
+                        statement.setTimestamp(index, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int row = 0; row < chunk.size() && row < keys.size(); row++) {
+            Object key = keys.get(row).values().iterator().next();
+            chunk.get(row).setId(((Number) key).intValue());
+        }
+    }
+
+    /**
+     * Binds the content columns of a notification starting at the given parameter index.
+     *
+     * @return the index of the next parameter
+     */
+    private static int setColumns(PreparedStatement statement, int index, Notification notification) throws SQLException {
+        statement.setObject(index++, notification.getUserId(), Types.INTEGER);
+        statement.setObject(index++, notification.getRecipientId(), Types.INTEGER);
+        statement.setString(index++, notification.getRecipientGroup());
+        statement.setString(index++, notification.getMessage());
+        statement.setBoolean(index++, Boolean.TRUE.equals(notification.getIsRead()));
+        return index;
+    }
+
+    private boolean isSqlServer() {
+        Boolean result = sqlServer;
+        if (result == null) {
+            result = SQL_SERVER.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            sqlServer = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.NotificationDigestItem;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Repository interface for NotificationDigestItem entity.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Repository
+public interface NotificationDigestItemRepository extends JpaRepository<NotificationDigestItem, Integer> {
+    /**
+     * Finds the recipient groups whose oldest pending item was submitted at or before the given time.
+     *
+     * @param openedBefore the inclusive upper bound of the oldest submission time
+     * @return the recipient groups
+     */
+    @Query("""
+                SELECT i.recipientGroup
+                FROM NotificationDigestItem i
+                GROUP BY i.recipientGroup
+                HAVING MIN(i.createdAt) <= :openedBefore
+            """)
+    List<String> findGroupsOpenedBefore(@Param("openedBefore") LocalDateTime openedBefore);
+
+    /**
+     * Locks the pending items of a recipient group and returns them. The locks are held until the surrounding
+     * transaction ends, so a concurrent flush on another node waits and then no longer sees the items once they
+     * are deleted.
+     *
+     * @param recipientGroup the recipient group
+     * @return the items in submission order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM NotificationDigestItem i WHERE i.recipientGroup = :recipientGroup ORDER BY i.id")
+    List<NotificationDigestItem> lockByRecipientGroup(@Param("recipientGroup") String recipientGroup);
+}
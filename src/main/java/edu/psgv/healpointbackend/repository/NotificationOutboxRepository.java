@@ -0,0 +1,32 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.NotificationOutboxEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+/**
+ * Repository interface for NotificationOutboxEntry entity.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Integer> {
+    /**
+     * Locks the oldest outbox entries and returns them. The locks are held until the surrounding transaction
+     * ends, so a concurrent drain on another node waits and then no longer sees the entries once they are deleted.
+     *
+     * @param limit the maximum number of entries to return
+     * @return the entries in insertion order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM NotificationOutboxEntry e ORDER BY e.id")
+    List<NotificationOutboxEntry> lockOldest(Limit limit);
+}
@@ -0,0 +1,26 @@
+package edu.psgv.healpointbackend.repository;
+
+import edu.psgv.healpointbackend.model.NotificationReadState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+
+/**
+ * Repository interface for NotificationReadState entity.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ *
+ * @author Mahfuzur Rahman
+ */
+@Repository
+public interface NotificationReadStateRepository extends JpaRepository<NotificationReadState, Integer> {
+    /**
+     * Finds the read state of a user in a notification channel.
+     *
+     * @param userId  the ID of the user
+     * @param channel the channel name
+     * @return an Optional containing the read state if one exists
+     */
+    Optional<NotificationReadState> findByUserIdAndChannel(Integer userId, String channel);
+}
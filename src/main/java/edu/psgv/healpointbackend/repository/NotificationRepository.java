@@ -1,9 +1,15 @@
 package edu.psgv.healpointbackend.repository;
 
 import edu.psgv.healpointbackend.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -14,20 +20,165 @@ import java.util.List;
  * @author Mahfuzur Rahman
  */
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+public interface NotificationRepository extends JpaRepository<Notification, Integer>, NotificationBatchRepository {
     /**
-     * Finds notifications by recipient ID.
+     * Retrieves the inbox of a user: the notifications addressed to the user or to the user's group,
+     * newest first, following the given cursor.
+     *
+     * @param recipientId     the ID of the user
+     * @param recipientGroup  the group of the user, or null if group notifications do not apply
+     * @param cursorCreatedAt the creation time of the last notification already returned, or null for the first page
+     * @param cursorId        the ID of the last notification already returned
+     * @param limit           the maximum number of notifications to return
+     * @return the notifications following the cursor
+     */
+    @Query("""
+                SELECT n
+                FROM Notification n
+                WHERE (n.recipientId = :recipientId OR n.recipientGroup = :recipientGroup)
+                  AND (:cursorCreatedAt IS NULL
+                       OR n.createdAt < :cursorCreatedAt
+                       OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId))
+                ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findInbox(@Param("recipientId") Integer recipientId,
+                                 @Param("recipientGroup") String recipientGroup,
+                                 @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                 @Param("cursorId") Integer cursorId,
+                                 Limit limit);
+
+    /**
+     * Finds the notifications of a user's inbox that changed after the given time, newest first.
+     * <p>
+     * A notification changed if it was created or modified after the given time. Group notifications also
+     * changed for the user when the user's read state of the group was modified after that time, since their
+     * read flag is derived from it.
+     * </p>
+     *
+     * @param recipientId    the ID of the user
+     * @param recipientGroup the group of the user, or null if group notifications do not apply
+     * @param since          the exclusive lower bound of the modification time
+     * @return the changed notifications
+     */
+    @Query("""
+                SELECT n
+                FROM Notification n
+                WHERE (n.recipientId = :recipientId OR n.recipientGroup = :recipientGroup)
+                  AND (n.updatedAt > :since
+                       OR EXISTS (SELECT s.id
+                                  FROM NotificationReadState s
+                                  WHERE s.userId = :recipientId AND s.channel = n.recipientGroup AND s.updatedAt > :since))
+                ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findChangedSince(@Param("recipientId") Integer recipientId,
+                                        @Param("recipientGroup") String recipientGroup,
+                                        @Param("since") LocalDateTime since);
+
+    /**
+     * Finds the IDs of a recipient group's notifications within an ID range.
+     *
+     * @param recipientGroup the group of recipients
+     * @param afterId        the exclusive lower bound of the ID
+     * @param upToId         the inclusive upper bound of the ID
+     * @return the notification IDs in ascending order
+     */
+    @Query("""
+                SELECT n.id
+                FROM Notification n
+                WHERE n.recipientGroup = :recipientGroup AND n.id > :afterId AND n.id <= :upToId
+                ORDER BY n.id
+            """)
+    List<Integer> findGroupIdsInRange(@Param("recipientGroup") String recipientGroup,
+                                      @Param("afterId") Integer afterId,
+                                      @Param("upToId") Integer upToId);
+
+    /**
+     * Counts the notifications of a recipient group.
+     *
+     * @param recipientGroup the group of recipients
+     * @return the number of notifications
+     */
+    long countByRecipientGroup(String recipientGroup);
+
+    /**
+     * Counts the notifications of a recipient group with an ID above the given one.
+     *
+     * @param recipientGroup the group of recipients
+     * @param afterId        the exclusive lower bound of the ID
+     * @return the number of notifications
+     */
+    long countByRecipientGroupAndIdGreaterThan(String recipientGroup, Integer afterId);
+
+    /**
+     * Counts the unread notifications addressed directly to a recipient.
      *
      * @param recipientId the ID of the recipient
-     * @return a list of notifications associated with the recipient
+     * @return the number of unread notifications
      */
-    List<Notification> findByRecipientId(Integer recipientId);
+    long countByRecipientIdAndIsReadFalse(Integer recipientId);
 
     /**
-     * Finds notifications by recipient group.
+     * Finds the ID of the newest notification of a recipient group up to the given ID.
      *
      * @param recipientGroup the group of recipients
-     * @return a list of notifications associated with the recipient group
+     * @param upToId         the inclusive upper bound of the ID
+     * @return the highest notification ID, or null if there is none
+     */
+    @Query("SELECT MAX(n.id) FROM Notification n WHERE n.recipientGroup = :recipientGroup AND n.id <= :upToId")
+    Integer findMaxGroupId(@Param("recipientGroup") String recipientGroup, @Param("upToId") Integer upToId);
+
+    /**
+     * Marks the unread notifications addressed directly to a recipient as read, up to the given ID.
+     *
+     * @param recipientId the ID of the recipient
+     * @param upToId      the inclusive upper bound of the ID
+     * @param updatedAt   the modification time to record
+     * @return the number of notifications marked
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+                UPDATE Notification n
+                SET n.isRead = true, n.updatedAt = :updatedAt
+                WHERE n.recipientId = :recipientId AND n.isRead = false AND n.id <= :upToId
+            """)
+    int markDirectReadUpTo(@Param("recipientId") Integer recipientId, @Param("upToId") Integer upToId,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Finds the IDs of notifications created before the cutoff that may be archived: read direct notifications,
+     * and group notifications below the read watermark of every active member of the group.
+     *
+     * @param cutoff  the exclusive upper bound of the creation time
+     * @param afterId the exclusive lower bound of the ID
+     * @param limit   the maximum number of IDs to return
+     * @return the notification IDs in ascending order
+     */
+    @Query("""
+                SELECT n.id
+                FROM Notification n
+                WHERE n.createdAt < :cutoff AND n.id > :afterId
+                  AND (n.isRead = true OR (n.recipientGroup IS NOT NULL AND NOT EXISTS (
+                      SELECT u.id FROM User u
+                      WHERE u.role.id = (SELECT r.id FROM Role r WHERE r.description = n.recipientGroup) AND u.isActive = true
+                        AND NOT EXISTS (
+                            SELECT s.id FROM NotificationReadState s
+                            WHERE s.userId = u.id AND s.channel = n.recipientGroup AND s.readUpTo >= n.id))))
+                ORDER BY n.id
+            """)
+    List<Integer> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Integer afterId, Limit limit);
+
+    /**
+     * Deletes the notifications of an ID range that were copied to the archive.
+     *
+     * @param afterId the exclusive lower bound of the ID
+     * @param upToId  the inclusive upper bound of the ID
+     * @return the number of notifications deleted
      */
-    List<Notification> findByRecipientGroup(String recipientGroup);
-}
\ No newline at end of file
+    @Modifying
+    @Query("""
+                DELETE FROM Notification n
+                WHERE n.id IN (SELECT a.id FROM NotificationArchive a WHERE a.id > :afterId AND a.id <= :upToId)
+            """)
+    int deleteArchived(@Param("afterId") Integer afterId, @Param("upToId") Integer upToId);
+}
@@ -1,7 +1,11 @@
 package edu.psgv.healpointbackend.repository;
 
 import edu.psgv.healpointbackend.model.Patient;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -20,5 +24,16 @@ public interface PatientRepository extends JpaRepository<Patient, Integer> {
      * @return an Optional containing the found patient or empty if not found
      */
     Optional<Patient> findById(Integer id);
+
+    /**
+     * Locks a patient row for the rest of the surrounding transaction, serializing bookings of the patient
+     * across doctors and application instances.
+     *
+     * @param id the ID of the patient
+     * @return an Optional containing the locked patient or empty if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Patient p WHERE p.id = :id")
+    Optional<Patient> lockById(@Param("id") Integer id);
 }
 
@@ -2,7 +2,11 @@ package edu.psgv.healpointbackend.repository;
 
 import edu.psgv.healpointbackend.model.Prescription;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -20,4 +24,14 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Inte
      * @return an Optional containing the found Prescription, or empty if not found
      */
     Optional<Prescription> findByPatientId(Integer patientId);
+
+    /**
+     * Finds the prescriptions of the given patients in a single query. The patients are fetched in the same query
+     * and the prescription items are batch-loaded with one IN query.
+     *
+     * @param patientIds the IDs of the patients
+     * @return the prescriptions of the patients that have one
+     */
+    @Query("SELECT p FROM Prescription p JOIN FETCH p.patient WHERE p.patient.id IN :patientIds")
+    List<Prescription> findByPatientIdIn(@Param("patientIds") Collection<Integer> patientIds);
 }
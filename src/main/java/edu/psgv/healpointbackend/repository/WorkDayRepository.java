@@ -3,6 +3,7 @@ package edu.psgv.healpointbackend.repository;
 import edu.psgv.healpointbackend.model.WorkDay;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,14 @@ public interface WorkDayRepository extends JpaRepository<WorkDay, Integer> {
      */
     List<WorkDay> findByDoctorId(Integer doctorId);
 
+    /**
+     * Finds all WorkDay entries for the given doctors.
+     *
+     * @param doctorIds the IDs of the doctors
+     * @return a list of WorkDay entries for the specified doctors
+     */
+    List<WorkDay> findByDoctorIdIn(Collection<Integer> doctorIds);
+
     /**
      * Finds a WorkDay entry for a specific doctor by their ID and day name.
      *
@@ -30,4 +39,13 @@ public interface WorkDayRepository extends JpaRepository<WorkDay, Integer> {
      * @return an Optional containing the WorkDay entry if found, or empty if not found
      */
     Optional<WorkDay> findByDoctorIdAndDayName(Integer doctorId, String dayName);
+
+    /**
+     * Finds all WorkDay entries on the given day for doctors whose specialty contains the given text.
+     *
+     * @param dayName   the name of the day (e.g., "Mon", "Tue")
+     * @param specialty the specialty text to match, case-insensitively
+     * @return a list of matching WorkDay entries
+     */
+    List<WorkDay> findByDayNameAndDoctorSpecialtyContainingIgnoreCase(String dayName, String specialty);
 }
@@ -0,0 +1,12 @@
+package edu.psgv.healpointbackend.service;
+
+
+/**
+ * Application event published by {@link AdminService} whenever an account is activated or deactivated.
+ *
+ * @param userId   the ID of the user whose account changed
+ * @param isActive the new account status
+ * @author Mahfuzur Rahman
+ */
+public record AccountStatusChangedEvent(int userId, boolean isActive) {
+}
@@ -4,6 +4,7 @@ import edu.psgv.healpointbackend.dto.UserDto;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -26,16 +27,19 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 public class AdminService {
     private final UserRepository userRepository;
     private final ProfileGetService profileGetService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new AdminService with required repositories and services.
      *
      * @param userRepository    the repository for user operations
      * @param profileGetService the service for fetching profile information
+     * @param eventPublisher    the publisher announcing account status changes
      */
-    public AdminService(UserRepository userRepository, ProfileGetService profileGetService) {
+    public AdminService(UserRepository userRepository, ProfileGetService profileGetService, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.profileGetService = profileGetService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -87,6 +91,7 @@ public class AdminService {
 
         user.setIsActive(isActive);
         userRepository.save(user);
+        eventPublisher.publishEvent(new AccountStatusChangedEvent(userId, isActive));
         LOGGER.info("User (ID: {}) account is {}.", userId, isActive ? "activated" : "deactivated");
     }
 }
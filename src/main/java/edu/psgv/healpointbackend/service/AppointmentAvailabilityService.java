@@ -8,16 +8,21 @@ import edu.psgv.healpointbackend.model.*;
 import edu.psgv.healpointbackend.repository.AppointmentRepository;
 import edu.psgv.healpointbackend.repository.DoctorRepository;
 import edu.psgv.healpointbackend.repository.WorkDayRepository;
+import edu.psgv.healpointbackend.utilities.IoHelper;
 import edu.psgv.healpointbackend.utilities.SlotGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -34,7 +39,7 @@ import java.util.stream.IntStream;
 public class AppointmentAvailabilityService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AppointmentAvailabilityService.class);
-    private static final int MAX_APPOINTMENT_DAYS = 90;
+    public static final int MAX_APPOINTMENT_DAYS = 90;
 
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
@@ -94,29 +99,99 @@ public class AppointmentAvailabilityService {
      * @throws JsonProcessingException if there is an error processing JSON data
      */
     public AvailableAppointmentSlotsDto createAvailableSlotsDto(LocalDate selectedDate, Integer doctorId) {
-        try {
-            LocalDate minDate = LocalDate.now().plusDays(1);
-            if (selectedDate.isBefore(minDate)) return null;
+        LocalDate minDate = LocalDate.now().plusDays(1);
+        if (selectedDate.isBefore(minDate)) return null;
 
-            String selectedDayName = selectedDate.getDayOfWeek().name().substring(0, 3);
-            Doctor doctor = doctorRepository.findById(doctorId).orElse(null);
+        String selectedDayName = selectedDate.getDayOfWeek().name().substring(0, 3);
+        Doctor doctor = doctorRepository.findById(doctorId).orElse(null);
 
-            WorkDay daySchedule = workDayRepository.findByDoctorIdAndDayName(doctorId, selectedDayName).orElse(null);
-            if (daySchedule == null) return null;
+        WorkDay daySchedule = workDayRepository.findByDoctorIdAndDayName(doctorId, selectedDayName).orElse(null);
+        if (daySchedule == null) return null;
 
-            List<Slot> slots = slotGenerator.generateSlots(daySchedule.getStartTime(), daySchedule.getEndTime());
-            List<Appointment> bookedAppointments = appointmentRepository.findByDoctorIdAndAppointmentDate(doctorId, selectedDate).stream()
-                    .filter(appointment -> !appointment.getStatus().equalsIgnoreCase(AppointmentStatus.CANCELED))
-                    .toList();
+        List<Appointment> bookedAppointments = appointmentRepository.findByDoctorIdAndAppointmentDate(doctorId, selectedDate).stream()
+                .filter(appointment -> !appointment.getStatus().equalsIgnoreCase(AppointmentStatus.CANCELED))
+                .toList();
 
-            for (Appointment appointment : bookedAppointments) {
-                slots.removeIf(slot -> slot.getStartTime().equals(appointment.getStartTime()) && slot.getEndTime().equals(appointment.getEndTime()));
+        List<Slot> slots = findFreeSlots(daySchedule, bookedAppointments, null);
+        return slots.isEmpty() ? null : new AvailableAppointmentSlotsDto(doctor, selectedDate, slots);
+    }
+
+    /**
+     * Ranks the doctors of a specialty by their load on the given date, least loaded first.
+     * <p>
+     * Load is the share of the doctor's {@link WorkDay#getSlotCount()} already booked; ties are broken by the
+     * booked count, then by the earliest free slot, then by doctor ID. Work days and the day's appointments are
+     * each fetched in one query, so the cost does not grow with the number of candidate doctors.
+     * </p>
+     *
+     * @param specialty     the specialty to match against each doctor's comma-separated specialties
+     * @param selectedDate  the date to book
+     * @param preferredTime the requested start time, or null to accept any free slot
+     * @return the free slots of each eligible doctor, ordered from least to most loaded
+     */
+    public List<AvailableAppointmentSlotsDto> rankDoctorsBySpecialtyLoad(String specialty, LocalDate selectedDate, LocalTime preferredTime) {
+        LOGGER.info("Ranking doctors with specialty '{}' by load on {}", specialty, selectedDate);
+        if (selectedDate.isBefore(LocalDate.now().plusDays(1))) {
+            return Collections.emptyList();
+        }
+
+        String dayName = selectedDate.getDayOfWeek().name().substring(0, 3);
+        List<WorkDay> workDays = workDayRepository.findByDayNameAndDoctorSpecialtyContainingIgnoreCase(dayName, specialty.trim()).stream()
+                .filter(workDay -> IoHelper.containsListItem(workDay.getDoctor().getSpecialty(), specialty))
+                .toList();
+        if (workDays.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Integer> doctorIds = workDays.stream().map(workDay -> workDay.getDoctor().getId()).collect(Collectors.toSet());
+        Map<Integer, List<Appointment>> bookedByDoctor = appointmentRepository.findByAppointmentDateAndDoctorIdIn(selectedDate, doctorIds).stream()
+                .filter(appointment -> !appointment.getStatus().equalsIgnoreCase(AppointmentStatus.CANCELED))
+                .collect(Collectors.groupingBy(appointment -> appointment.getDoctor().getId()));
+
+        PriorityQueue<LoadCandidate> queue = new PriorityQueue<>(Comparator
+                .comparingDouble(LoadCandidate::load)
+                .thenComparingInt(LoadCandidate::booked)
+                .thenComparing(candidate -> candidate.slots().getAvailableSlots().get(0).getStartTime())
+                .thenComparing(candidate -> candidate.slots().getDoctor().getId()));
+
+        for (WorkDay workDay : workDays) {
+            List<Appointment> booked = bookedByDoctor.getOrDefault(workDay.getDoctor().getId(), Collections.emptyList());
+            List<Slot> freeSlots = findFreeSlots(workDay, booked, preferredTime);
+            if (!freeSlots.isEmpty()) {
+                double load = (double) booked.size() / Math.max(1, workDay.getSlotCount());
+                queue.add(new LoadCandidate(new AvailableAppointmentSlotsDto(workDay.getDoctor(), selectedDate, freeSlots), booked.size(), load));
             }
+        }
+
+        List<AvailableAppointmentSlotsDto> ranked = new ArrayList<>(queue.size());
+        while (!queue.isEmpty()) {
+            ranked.add(queue.poll().slots());
+        }
+        LOGGER.info("{} doctors with specialty '{}' have free slots on {}", ranked.size(), specialty, selectedDate);
+        return ranked;
+    }
 
-            return slots.isEmpty() ? null : new AvailableAppointmentSlotsDto(doctor, selectedDate, slots);
+    /**
+     * Computes the free slots of a work day given the appointments already booked on it.
+     *
+     * @param workDay       the doctor's work day
+     * @param booked        the active appointments of the doctor on that day
+     * @param preferredTime the requested start time, or null to keep every free slot
+     * @return the free slots in chronological order, or an empty list if the slots could not be generated
+     */
+    private List<Slot> findFreeSlots(WorkDay workDay, List<Appointment> booked, LocalTime preferredTime) {
+        try {
+            List<Slot> slots = slotGenerator.generateSlots(workDay.getStartTime(), workDay.getEndTime());
+            for (Appointment appointment : booked) {
+                slots.removeIf(slot -> slot.getStartTime().equals(appointment.getStartTime()) && slot.getEndTime().equals(appointment.getEndTime()));
+            }
+            if (preferredTime != null) {
+                slots.removeIf(slot -> !slot.getStartTime().equals(preferredTime));
+            }
+            return slots;
         } catch (JsonProcessingException e) {
-            LOGGER.error("Error processing JSON for available appointment slots.", e);
-            return null;
+            LOGGER.error("Error generating slots for doctor {}.", workDay.getDoctor().getId(), e);
+            return Collections.emptyList();
         }
     }
 
@@ -188,4 +263,10 @@ public class AppointmentAvailabilityService {
     private Map<String, Integer> convertScheduleToMap(List<WorkDay> schedule) {
         return schedule.stream().collect(Collectors.toMap(WorkDay::getDayName, WorkDay::getSlotCount));
     }
+
+    /**
+     * A doctor's free slots on a day together with the load used to rank them.
+     */
+    private record LoadCandidate(AvailableAppointmentSlotsDto slots, int booked, double load) {
+    }
 }
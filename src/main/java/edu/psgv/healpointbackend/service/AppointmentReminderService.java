@@ -0,0 +1,326 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.Appointment;
+import edu.psgv.healpointbackend.model.AppointmentReminderLog;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.repository.AppointmentReminderClaimRepository.Claim;
+import edu.psgv.healpointbackend.repository.AppointmentReminderLogRepository;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.utilities.HierarchicalTimingWheel;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for sending appointment reminders ahead of each scheduled appointment.
+ * <p>
+ * Reminders live in a hierarchical timing wheel with one-minute ticks. Only appointments starting within the
+ * look-ahead window are held; the window is extended by one indexed date-range query per refill interval instead
+ * of scanning appointments every minute. Bookings, reschedules and cancellations made through
+ * {@link AppointmentService} update the wheel directly. Due reminders are re-checked against the database in one
+ * query and sent as a single batch insert, so a reminder is never sent for an appointment that has since changed.
+ * The wheel is held in memory: reminders falling due while the application is down are skipped. Every application
+ * instance runs its own wheel, so the reminders of a tick are claimed in {@link AppointmentReminderLog} with one
+ * batched statement, in the same transaction as the notifications, and only the node that claims a reminder sends
+ * it. If sending fails, the claims are rolled back and the reminders are put back into the wheel for the next tick.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class AppointmentReminderService {
+    private static final int WHEEL_SLOTS = 64;
+    private static final int WHEEL_LEVELS = 3;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentReminderLogRepository reminderLogRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Integer> leadMinutes;
+    private final Duration refillInterval;
+    private final Duration lookAhead;
+    private HierarchicalTimingWheel<ReminderKey, Reminder> wheel;
+    private LocalDateTime loadedUntil;
+
+    /**
+     * Constructs a new AppointmentReminderService with required repository and service.
+     *
+     * @param appointmentRepository the repository for appointment operations
+     * @param reminderLogRepository the repository recording which reminders were sent
+     * @param notificationService   the service used to send the reminders
+     * @param transactionTemplate   the template claiming and sending the reminders of a tick in one transaction
+     */
+    public AppointmentReminderService(AppointmentRepository appointmentRepository, AppointmentReminderLogRepository reminderLogRepository,
+                                      NotificationService notificationService, TransactionTemplate transactionTemplate) {
+        this.appointmentRepository = appointmentRepository;
+        this.reminderLogRepository = reminderLogRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.leadMinutes = Arrays.stream(CONFIG_READER.get("reminderLeadMinutes").split(","))
+                .map(String::trim).map(Integer::parseInt).sorted(Collections.reverseOrder()).toList();
+        this.refillInterval = Duration.ofMinutes(Long.parseLong(CONFIG_READER.get("reminderRefillMinutes")));
+        // The window must reach the earliest reminder of an appointment before it falls due
+        Duration minimumLookAhead = Duration.ofMinutes(leadMinutes.get(0)).plus(refillInterval);
+        Duration configuredLookAhead = Duration.ofHours(Long.parseLong(CONFIG_READER.get("reminderLookAheadHours")));
+        this.lookAhead = configuredLookAhead.compareTo(minimumLookAhead) < 0 ? minimumLookAhead : configuredLookAhead;
+    }
+
+    /**
+     * Loads the reminders of the appointments in the look-ahead window once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUpcomingAppointments() {
+        start(LocalDateTime.now());
+    }
+
+    /**
+     * Sends the reminders that fell due since the previous tick.
+     */
+    @Scheduled(initialDelay = 1, fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+    public void runScheduled() {
+        try {
+            sendDueReminders(LocalDateTime.now());
+        } catch (Exception e) {
+            LOGGER.error("Sending appointment reminders failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Starts the wheel at the given time and loads the appointments in the look-ahead window.
+     *
+     * @param now the current time
+     */
+    void start(LocalDateTime now) {
+        synchronized (this) {
+            wheel = new HierarchicalTimingWheel<>(WHEEL_SLOTS, WHEEL_LEVELS, toTick(now));
+            loadedUntil = now;
+        }
+        int loaded = extendWindow(now);
+        LOGGER.info("Appointment reminder wheel started with {} reminders for {} appointments up to {}", size(), loaded, loadedUntil);
+    }
+
+    /**
+     * Updates the reminders of a booked, rescheduled or canceled appointment.
+     *
+     * @param appointment the saved appointment
+     */
+    public void track(Appointment appointment) {
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            leadMinutes.forEach(lead -> wheel.cancel(new ReminderKey(appointment.getId(), lead)));
+            LocalDateTime start = LocalDateTime.of(appointment.getAppointmentDate(), appointment.getStartTime());
+            if (appointment.getStatus().equalsIgnoreCase(AppointmentStatus.SCHEDULED) && !start.isAfter(loadedUntil)) {
+                schedule(appointment.getId(), appointment.getAppointmentDate(), appointment.getStartTime());
+            }
+        }
+    }
+
+    /**
+     * Removes the reminders of appointments that are no longer scheduled.
+     *
+     * @param appointmentIds the IDs of the appointments
+     */
+    public void untrack(Collection<Integer> appointmentIds) {
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            for (Integer appointmentId : appointmentIds) {
+                leadMinutes.forEach(lead -> wheel.cancel(new ReminderKey(appointmentId, lead)));
+            }
+        }
+    }
+
+    /**
+     * Extends the look-ahead window if due, then sends the reminders that fell due up to the given time.
+     * Reminders already claimed by another node are skipped; reminders that could not be sent are retried on the
+     * next tick.
+     *
+     * @param now the current time
+     * @return the number of reminders sent
+     */
+    public int sendDueReminders(LocalDateTime now) {
+        boolean refillDue;
+        synchronized (this) {
+            if (wheel == null) {
+                return 0;
+            }
+            refillDue = !now.plus(lookAhead).isBefore(loadedUntil.plus(refillInterval));
+        }
+        if (refillDue) {
+            extendWindow(now);
+            reminderLogRepository.deleteStartedBefore(now.minusDays(1));
+        }
+
+        List<Reminder> due;
+        synchronized (this) {
+            due = wheel.advanceTo(toTick(now));
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, AppointmentSummaryDto> current = appointmentRepository.findSummariesByIdIn(
+                        due.stream().map(Reminder::appointmentId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(AppointmentSummaryDto::getId, Function.identity()));
+        List<Reminder> valid = due.stream()
+                .filter(reminder -> isStillValid(reminder, current.get(reminder.appointmentId()), now)).toList();
+        try {
+            try {
+                return transactionTemplate.execute(status -> claimAndSend(valid, current, due.size()));
+            } catch (DataIntegrityViolationException e) {
+                // Another node claimed some of the reminders while the batch ran; its claims are skipped on retry
+                return transactionTemplate.execute(status -> claimAndSend(valid, current, due.size()));
+            }
+        } catch (RuntimeException e) {
+            retryOnNextTick(valid);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of reminders currently held in the wheel.
+     *
+     * @return the number of reminders
+     */
+    public synchronized int size() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    /**
+     * Moves the end of the window to the look-ahead horizon and loads the appointments starting in the added range.
+     * The end is moved before querying, so appointments booked during the query are tracked as they are saved.
+     *
+     * @param now the current time
+     * @return the number of appointments loaded
+     */
+    private int extendWindow(LocalDateTime now) {
+        LocalDateTime from;
+        LocalDateTime until = now.plus(lookAhead);
+        synchronized (this) {
+            from = loadedUntil;
+            loadedUntil = until;
+        }
+
+        List<AppointmentSummaryDto> appointments = appointmentRepository.findSummariesByStatusAndDateRange(
+                AppointmentStatus.SCHEDULED, from.toLocalDate(), until.toLocalDate());
+        int loaded = 0;
+        synchronized (this) {
+            for (AppointmentSummaryDto appointment : appointments) {
+                LocalDateTime start = LocalDateTime.of(appointment.getAppointmentDate(), appointment.getStartTime());
+                if (start.isAfter(from) && !start.isAfter(until)) {
+                    schedule(appointment.getId(), appointment.getAppointmentDate(), appointment.getStartTime());
+                    loaded++;
+                }
+            }
+        }
+        LOGGER.debug("Loaded reminders for {} appointments starting after {} up to {}", loaded, from, until);
+        return loaded;
+    }
+
+    /**
+     * Claims the given reminders in one batch and sends the ones claimed. Must be called in a transaction, so the
+     * claims are only kept if the reminders are sent.
+     */
+    private int claimAndSend(List<Reminder> reminders, Map<Integer, AppointmentSummaryDto> current, int dueCount) {
+        boolean[] claimed = reminderLogRepository.claimAll(reminders.stream()
+                .map(reminder -> new Claim(reminder.appointmentId(), reminder.leadMinutes(),
+                        LocalDateTime.of(reminder.date(), reminder.startTime())))
+                .toList());
+        List<Notification> notifications = new ArrayList<>(reminders.size());
+        for (int i = 0; i < reminders.size(); i++) {
+            if (claimed[i]) {
+                AppointmentSummaryDto appointment = current.get(reminders.get(i).appointmentId());
+                notifications.add(Notification.builder().recipientId(appointment.getPatient().getId())
+                        .message(buildMessage(appointment)).build());
+            }
+        }
+        LOGGER.info("Sending {} of {} due appointment reminders", notifications.size(), dueCount);
+        return notificationService.sendAll(notifications);
+    }
+
+    /**
+     * Puts reminders that could not be sent back into the wheel, due on the next tick, unless the appointment was
+     * tracked again in the meantime.
+     */
+    private synchronized void retryOnNextTick(List<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            ReminderKey key = new ReminderKey(reminder.appointmentId(), reminder.leadMinutes());
+            if (!wheel.contains(key)) {
+                wheel.schedule(key, wheel.getCurrentTick(), reminder);
+            }
+        }
+        LOGGER.warn("Retrying {} appointment reminders on the next tick", reminders.size());
+    }
+
+    /**
+     * Schedules the reminders of an appointment that are still ahead. Must be called while holding the lock.
+     */
+    private void schedule(int appointmentId, LocalDate date, LocalTime startTime) {
+        long startTick = toTick(LocalDateTime.of(date, startTime));
+        for (int lead : leadMinutes) {
+            long fireTick = startTick - lead;
+            if (fireTick > wheel.getCurrentTick()) {
+                wheel.schedule(new ReminderKey(appointmentId, lead), fireTick, new Reminder(appointmentId, lead, date, startTime));
+            }
+        }
+    }
+
+    private static boolean isStillValid(Reminder reminder, AppointmentSummaryDto appointment, LocalDateTime now) {
+        return appointment != null
+                && appointment.getStatus().equalsIgnoreCase(AppointmentStatus.SCHEDULED)
+                && appointment.getAppointmentDate().equals(reminder.date())
+                && appointment.getStartTime().equals(reminder.startTime())
+                && LocalDateTime.of(reminder.date(), reminder.startTime()).isAfter(now);
+    }
+
+    private static String buildMessage(AppointmentSummaryDto appointment) {
+        return String.format("Reminder: you have an appointment with Dr. %s %s on %s at %s.",
+                appointment.getDoctor().getFirstName(), appointment.getDoctor().getLastName(),
+                appointment.getAppointmentDate(), appointment.getStartTime().format(TIME_FORMAT));
+    }
+
+    private static long toTick(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /**
+     * Identifies one reminder of an appointment by its lead time.
+     */
+    private record ReminderKey(int appointmentId, int leadMinutes) {
+    }
+
+    /**
+     * The lead time of a reminder and the appointment start it was scheduled for.
+     */
+    private record Reminder(int appointmentId, int leadMinutes, LocalDate date, LocalTime startTime) {
+    }
+}
@@ -0,0 +1,149 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.dto.AppointmentSearchPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.Appointment;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.repository.AppointmentSpecifications;
+import edu.psgv.healpointbackend.utilities.IoHelper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for staff searches across all appointments.
+ * <p>
+ * Filters are combined into a single JPA Specification, so the database selects, sorts and pages the rows
+ * using the doctor/date, patient/date and status/date indexes. Page sizes are capped and pages beyond the
+ * configured row limit are refused, which keeps every search a bounded query.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class AppointmentSearchService {
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "date", "appointmentDate",
+            "status", "status",
+            "doctor", "doctor.lastName",
+            "patient", "patient.lastName");
+
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Constructs a new AppointmentSearchService with required repository.
+     *
+     * @param appointmentRepository the repository for appointment operations
+     */
+    public AppointmentSearchService(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Searches appointments matching the given filters. All filters are optional.
+     *
+     * @param doctorId  the ID of the doctor
+     * @param patientId the ID of the patient
+     * @param status    the appointment status
+     * @param fromDate  the first appointment date, inclusive
+     * @param toDate    the last appointment date, inclusive
+     * @param reason    text the reason must contain, ignoring case
+     * @param sort      the sort key: date, status, doctor or patient; defaults to date
+     * @param direction the sort direction: asc or desc; defaults to asc
+     * @param page      the zero-based page number; defaults to 0
+     * @param size      the page size; defaults to and is capped by configuration
+     * @return the requested page of matching appointments
+     * @throws IllegalArgumentException if a filter, sort option or page is invalid
+     */
+    public AppointmentSearchPageDto search(Integer doctorId, Integer patientId, String status, LocalDate fromDate, LocalDate toDate,
+                                           String reason, String sort, String direction, Integer page, Integer size) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("The start of the date range must not be after its end.");
+        }
+
+        int maxSize = Integer.parseInt(CONFIG_READER.get("appointmentSearchMaxPageSize"));
+        int pageSize = size == null ? Integer.parseInt(CONFIG_READER.get("appointmentSearchDefaultPageSize")) : Math.min(Math.max(size, 1), maxSize);
+        int pageNumber = page == null ? 0 : page;
+        long maxRows = Long.parseLong(CONFIG_READER.get("appointmentSearchMaxRows"));
+        if (pageNumber < 0 || (long) pageNumber * pageSize >= maxRows) {
+            throw new IllegalArgumentException("Only the first " + maxRows + " matching appointments can be paged; please narrow the search.");
+        }
+
+        Specification<Appointment> specification = buildSpecification(doctorId, patientId, status, fromDate, toDate, reason);
+        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize, buildSort(sort, direction));
+        LOGGER.info("Searching appointments: doctor={}, patient={}, status={}, dates={}..{}, reason={}, page={}, size={}",
+                doctorId, patientId, status, fromDate, toDate, reason, pageNumber, pageSize);
+
+        Page<Appointment> result = appointmentRepository.findAll(specification, pageRequest);
+        List<AppointmentSummaryDto> appointments = result.getContent().stream().map(AppointmentSearchService::toSummary).toList();
+        return new AppointmentSearchPageDto(appointments, pageNumber, pageSize, result.getTotalElements(), result.getTotalPages());
+    }
+
+    private static Specification<Appointment> buildSpecification(Integer doctorId, Integer patientId, String status,
+                                                                 LocalDate fromDate, LocalDate toDate, String reason) {
+        Specification<Appointment> specification = AppointmentSpecifications.fetchParticipants();
+        if (doctorId != null) {
+            specification = specification.and(AppointmentSpecifications.hasDoctor(doctorId));
+        }
+        if (patientId != null) {
+            specification = specification.and(AppointmentSpecifications.hasPatient(patientId));
+        }
+        if (!IoHelper.isNullOrEmpty(status)) {
+            String normalizedStatus = status.trim().toUpperCase(Locale.ROOT);
+            if (!AppointmentStatus.VALID_STATUSES.contains(normalizedStatus)) {
+                throw new IllegalArgumentException("Invalid appointment status: " + status);
+            }
+            specification = specification.and(AppointmentSpecifications.hasStatus(normalizedStatus));
+        }
+        if (fromDate != null) {
+            specification = specification.and(AppointmentSpecifications.onOrAfter(fromDate));
+        }
+        if (toDate != null) {
+            specification = specification.and(AppointmentSpecifications.onOrBefore(toDate));
+        }
+        if (!IoHelper.isNullOrEmpty(reason)) {
+            specification = specification.and(AppointmentSpecifications.reasonContains(reason));
+        }
+        return specification;
+    }
+
+    private static Sort buildSort(String sort, String direction) {
+        String key = IoHelper.isNullOrEmpty(sort) ? "date" : sort.trim().toLowerCase(Locale.ROOT);
+        String property = SORT_PROPERTIES.get(key);
+        if (property == null) {
+            throw new IllegalArgumentException("Invalid sort option: " + sort);
+        }
+        Sort.Direction sortDirection;
+        if (IoHelper.isNullOrEmpty(direction)) {
+            sortDirection = Sort.Direction.ASC;
+        } else {
+            sortDirection = Sort.Direction.fromOptionalString(direction.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + direction));
+        }
+
+        // Ties are broken by date, time and ID so that paging is deterministic
+        Sort primary = Sort.by(sortDirection, property);
+        Sort tieBreak = Sort.by(sortDirection, "appointmentDate", "startTime", "id");
+        return property.equals("appointmentDate") ? tieBreak : primary.and(tieBreak);
+    }
+
+    private static AppointmentSummaryDto toSummary(Appointment appointment) {
+        return new AppointmentSummaryDto(appointment.getId(), appointment.getAppointmentDate(), appointment.getStartTime(),
+                appointment.getEndTime(), appointment.getStatus(), appointment.getReason(), appointment.getVersion(),
+                appointment.getDoctor().getId(), appointment.getDoctor().getFirstName(), appointment.getDoctor().getLastName(),
+                appointment.getDoctor().getSpecialty(), appointment.getPatient().getId(), appointment.getPatient().getFirstName(),
+                appointment.getPatient().getLastName());
+    }
+}
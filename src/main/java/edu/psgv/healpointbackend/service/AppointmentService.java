@@ -1,19 +1,36 @@
 package edu.psgv.healpointbackend.service;
 
+import edu.psgv.healpointbackend.common.concurrency.BookingAdmissionQueue;
+import edu.psgv.healpointbackend.dto.AppointmentPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
 import edu.psgv.healpointbackend.dto.AvailableAppointmentSlotsDto;
+import edu.psgv.healpointbackend.dto.BulkCancelAppointmentsDto;
+import edu.psgv.healpointbackend.dto.BulkCancelResultDto;
 import edu.psgv.healpointbackend.dto.ScheduleAppointmentDto;
+import edu.psgv.healpointbackend.dto.ScheduleFirstAvailableDto;
 import edu.psgv.healpointbackend.dto.UpdateAppointmentDto;
 import edu.psgv.healpointbackend.model.*;
 import edu.psgv.healpointbackend.repository.AppointmentRepository;
 import edu.psgv.healpointbackend.repository.DoctorRepository;
 import edu.psgv.healpointbackend.repository.PatientRepository;
+import edu.psgv.healpointbackend.utilities.AppointmentCursorCodec;
 import edu.psgv.healpointbackend.utilities.IoHelper;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 
 
@@ -27,10 +44,20 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
  */
 @Service
 public class AppointmentService {
+    public static final String SCOPE_UPCOMING = "upcoming";
+    public static final String SCOPE_PAST = "past";
+    public static final String SCOPE_ALL = "all";
+    private static final List<String> PAGE_SCOPES = List.of(SCOPE_UPCOMING, SCOPE_PAST, SCOPE_ALL);
+
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
     private final AppointmentAvailabilityService appointmentAvailabilityService;
+    private final BookingAdmissionQueue bookingAdmissionQueue;
+    private final AppointmentReminderService appointmentReminderService;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxUpdateAttempts;
 
     /**
      * Constructs a new AppointmentService with required repositories and services.
@@ -39,38 +66,135 @@ public class AppointmentService {
      * @param doctorRepository               the repository for doctor operations
      * @param appointmentRepository          the repository for appointment operations
      * @param appointmentAvailabilityService the service for checking appointment availability
+     * @param bookingAdmissionQueue          the admission queue serializing bookings per doctor and day
+     * @param appointmentReminderService     the service keeping appointment reminders in sync with changes
+     * @param notificationService            the service for notifying patients of bulk changes
+     * @param transactionTemplate            the template holding a patient's row lock while a booking is checked and saved
      */
-    public AppointmentService(PatientRepository patientRepository, DoctorRepository doctorRepository, AppointmentRepository appointmentRepository, AppointmentAvailabilityService appointmentAvailabilityService) {
+    public AppointmentService(PatientRepository patientRepository, DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
+                              AppointmentAvailabilityService appointmentAvailabilityService, BookingAdmissionQueue bookingAdmissionQueue,
+                              AppointmentReminderService appointmentReminderService, NotificationService notificationService,
+                              TransactionTemplate transactionTemplate) {
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.appointmentRepository = appointmentRepository;
         this.appointmentAvailabilityService = appointmentAvailabilityService;
+        this.bookingAdmissionQueue = bookingAdmissionQueue;
+        this.appointmentReminderService = appointmentReminderService;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxUpdateAttempts = Integer.parseInt(CONFIG_READER.get("optimisticLockMaxAttempts"));
     }
 
     /**
      * Retrieves all appointments associated with the given user.
+     * <p>
+     * Only the columns shown in the appointment list are selected; Doctor and Patient entities are not loaded.
+     * </p>
      *
      * @param user the user whose appointments are to be fetched
-     * @return a list of Appointment objects
+     * @return a list of appointment summaries ordered by date and start time
      */
-    public List<Appointment> getAllAppointmentsByUser(User user) {
+    public List<AppointmentSummaryDto> getAllAppointmentsByUser(User user) {
         int userId = user.getId();
         String role = user.getRole().getDescription();
         LOGGER.info("Fetching all appointments for user ID: {}, role: {}", userId, role);
 
-        List<Appointment> appointments = role.equalsIgnoreCase(Roles.PATIENT)
-                ? appointmentRepository.findByPatientId(userId)
-                : appointmentRepository.findByDoctorId(userId);
+        List<AppointmentSummaryDto> appointments = role.equalsIgnoreCase(Roles.PATIENT)
+                ? appointmentRepository.findSummariesByPatientId(userId)
+                : appointmentRepository.findSummariesByDoctorId(userId);
 
         LOGGER.debug("Found {} appointments for user ID: {}", appointments.size(), userId);
         return appointments;
     }
 
+    /**
+     * Retrieves the appointments of the given user created or modified after the given time.
+     *
+     * @param user  the user whose appointments are to be fetched
+     * @param since the exclusive lower bound of the modification time, or null for all appointments
+     * @return a list of appointment summaries ordered by date and start time
+     */
+    public List<AppointmentSummaryDto> getAppointmentsChangedSince(User user, LocalDateTime since) {
+        if (since == null) {
+            return getAllAppointmentsByUser(user);
+        }
+        int userId = user.getId();
+        LOGGER.info("Fetching appointments changed since {} for user ID: {}", since, userId);
+        return user.getRole().getDescription().equalsIgnoreCase(Roles.PATIENT)
+                ? appointmentRepository.findChangedSummariesByPatientId(userId, since)
+                : appointmentRepository.findChangedSummariesByDoctorId(userId, since);
+    }
+
+    /**
+     * Retrieves one page of the appointments associated with the given user using keyset pagination.
+     * <p>
+     * Upcoming and all-time listings are ordered by (date, start time, ID) ascending; past listings are
+     * ordered descending so the most recent visits come first. One extra row is fetched to detect
+     * whether another page exists, so no count query is needed.
+     * </p>
+     *
+     * @param user   the user whose appointments are to be fetched
+     * @param scope  one of {@link #SCOPE_UPCOMING}, {@link #SCOPE_PAST} or {@link #SCOPE_ALL}; defaults to all
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the requested page size; defaults to and is capped by configuration
+     * @return the requested page with the cursor of the next one
+     * @throws IllegalArgumentException if the scope or cursor is invalid
+     */
+    public AppointmentPageDto getAppointmentPageByUser(User user, String scope, String cursor, Integer size) {
+        String pageScope = IoHelper.isNullOrEmpty(scope) ? SCOPE_ALL : scope.trim().toLowerCase();
+        if (!PAGE_SCOPES.contains(pageScope)) {
+            throw new IllegalArgumentException("Invalid scope. Valid values are: " + String.join(", ", PAGE_SCOPES));
+        }
+        int maxSize = Integer.parseInt(CONFIG_READER.get("appointmentPageMaxSize"));
+        int pageSize = size == null ? Integer.parseInt(CONFIG_READER.get("appointmentPageDefaultSize")) : Math.min(Math.max(size, 1), maxSize);
+        AppointmentCursorCodec.Position after = IoHelper.isNullOrEmpty(cursor) ? null : AppointmentCursorCodec.decode(pageScope, cursor);
+        LocalDate cursorDate = after == null ? null : after.date();
+        LocalTime cursorTime = after == null ? null : after.startTime();
+        Integer cursorId = after == null ? null : after.id();
+
+        int userId = user.getId();
+        boolean isPatient = user.getRole().getDescription().equalsIgnoreCase(Roles.PATIENT);
+        LocalDate today = LocalDate.now();
+        Limit limit = Limit.of(pageSize + 1);
+        LOGGER.info("Fetching {} appointment page for user ID: {}, size: {}, continued: {}", pageScope, userId, pageSize, after != null);
+
+        List<AppointmentSummaryDto> rows;
+        if (pageScope.equals(SCOPE_PAST)) {
+            rows = isPatient
+                    ? appointmentRepository.findPatientPageDescending(userId, today, cursorDate, cursorTime, cursorId, limit)
+                    : appointmentRepository.findDoctorPageDescending(userId, today, cursorDate, cursorTime, cursorId, limit);
+        } else {
+            LocalDate fromDate = pageScope.equals(SCOPE_UPCOMING) ? today : null;
+            rows = isPatient
+                    ? appointmentRepository.findPatientPageAscending(userId, fromDate, cursorDate, cursorTime, cursorId, limit)
+                    : appointmentRepository.findDoctorPageAscending(userId, fromDate, cursorDate, cursorTime, cursorId, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentSummaryDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AppointmentSummaryDto last = page.get(page.size() - 1);
+            nextCursor = AppointmentCursorCodec.encode(pageScope, last.getAppointmentDate(), last.getStartTime(), last.getId());
+        }
+        LOGGER.debug("Returning {} appointments for user ID: {}, more: {}", page.size(), userId, hasMore);
+        return new AppointmentPageDto(page, nextCursor, hasMore);
+    }
+
     /**
      * Schedules a new appointment based on the provided details.
+     * <p>
+     * The slot check and the insert run inside the admission lane of the doctor and day,
+     * so concurrent requests for the same slots are serialized instead of racing. The patient overlap check and
+     * the insert also hold the patient's row lock, so bookings of one patient with different doctors cannot
+     * both pass the check.
+     * </p>
      *
      * @param dto the appointment scheduling details
-     * @throws IllegalArgumentException if the patient or doctor does not exist, or if the appointment slot is unavailable
+     * @throws IllegalArgumentException   if the patient or doctor does not exist, if the appointment slot is unavailable,
+     *                                    or if the patient already has an overlapping appointment
+     * @throws RejectedExecutionException if the booking lane for the doctor and day is saturated
      */
     public void scheduleAppointment(ScheduleAppointmentDto dto) {
         LOGGER.info("Scheduling appointment for patient ID: {}, doctor ID: {}, date: {}, time: {}",
@@ -78,53 +202,330 @@ public class AppointmentService {
 
         Patient patient = patientRepository.findById(dto.getPatientId()).orElseThrow(() -> new IllegalArgumentException("Patient with ID " + dto.getPatientId() + " not found"));
         Doctor doctor = doctorRepository.findById(dto.getDoctorId()).orElseThrow(() -> new IllegalArgumentException("Doctor with ID " + dto.getDoctorId() + " not found"));
-        Slot slot = isAppointmentAvailable(dto.getDoctorId(), dto.getAppointmentDate(), dto.getAppointmentTime());
 
-        Appointment appointment = new Appointment(doctor, patient, dto.getAppointmentDate(), slot.getStartTime(), slot.getEndTime(), dto.getReason());
-        appointmentRepository.save(appointment);
+        bookingAdmissionQueue.admit(dto.getDoctorId(), dto.getAppointmentDate(), () -> {
+            Slot slot = isAppointmentAvailable(dto.getDoctorId(), dto.getAppointmentDate(), dto.getAppointmentTime());
+            withPatientLock(dto.getPatientId(), () -> {
+                ensureNoPatientOverlap(dto.getPatientId(), dto.getAppointmentDate(), slot, null);
+
+                Appointment appointment = new Appointment(doctor, patient, dto.getAppointmentDate(), slot.getStartTime(), slot.getEndTime(), dto.getReason());
+                appointmentRepository.save(appointment);
+                appointmentReminderService.track(appointment);
+                return appointment;
+            });
+
+            LOGGER.info("Appointment successfully scheduled: doctor ID={}, patient ID={}, date={}, time={}-{}",
+                    dto.getDoctorId(), dto.getPatientId(), dto.getAppointmentDate(),
+                    slot.getStartTime(), slot.getEndTime());
+        });
+    }
+
+    /**
+     * Books the least-loaded doctor of a specialty on the requested date.
+     * <p>
+     * Candidates are taken in the order ranked by {@link AppointmentAvailabilityService#rankDoctorsBySpecialtyLoad}.
+     * Each reservation re-checks the doctor's slots inside the doctor-day admission lane, so a slot taken by a
+     * concurrent booking falls through to the next candidate instead of failing the request. When the request
+     * names a doctor, only that doctor is considered.
+     * </p>
+     *
+     * @param dto the first-available booking details
+     * @return the booked appointment
+     * @throws IllegalArgumentException   if the patient does not exist or no doctor of the specialty can take the booking
+     * @throws RejectedExecutionException if the booking lane of a candidate doctor is saturated
+     */
+    public Appointment scheduleFirstAvailableAppointment(ScheduleFirstAvailableDto dto) {
+        LOGGER.info("Scheduling first available appointment for patient ID: {}, specialty: {}, date: {}, time: {}",
+                dto.getPatientId(), dto.getSpecialty(), dto.getAppointmentDate(), dto.getAppointmentTime());
+
+        Patient patient = patientRepository.findById(dto.getPatientId()).orElseThrow(() -> new IllegalArgumentException("Patient with ID " + dto.getPatientId() + " not found"));
+        List<AvailableAppointmentSlotsDto> candidates = appointmentAvailabilityService.rankDoctorsBySpecialtyLoad(
+                dto.getSpecialty(), dto.getAppointmentDate(), dto.getAppointmentTime());
+
+        for (AvailableAppointmentSlotsDto candidate : candidates) {
+            Doctor doctor = candidate.getDoctor();
+            if (dto.getDoctorId() != null && !dto.getDoctorId().equals(doctor.getId())) {
+                continue;
+            }
+            Appointment appointment = bookingAdmissionQueue.admit(doctor.getId(), dto.getAppointmentDate(),
+                    () -> withPatientLock(patient.getId(), () -> reserveFirstFreeSlot(doctor, patient, dto)));
+            if (appointment != null) {
+                LOGGER.info("First available appointment scheduled: doctor ID={}, patient ID={}, date={}, time={}-{}",
+                        doctor.getId(), patient.getId(), appointment.getAppointmentDate(), appointment.getStartTime(), appointment.getEndTime());
+                return appointment;
+            }
+            LOGGER.debug("Doctor ID: {} could not take the booking; trying the next candidate", doctor.getId());
+        }
+
+        throw new IllegalArgumentException(String.format("No %s doctor has an available slot on %s%s",
+                dto.getSpecialty(), dto.getAppointmentDate(), dto.getAppointmentTime() == null ? "" : " at " + dto.getAppointmentTime()));
+    }
+
+    /**
+     * Books the earliest slot of the doctor that is still free and does not overlap the patient's other appointments.
+     * Must be called while holding the doctor-day admission lane and the patient's row lock.
+     *
+     * @param doctor  the candidate doctor
+     * @param patient the patient to book
+     * @param dto     the first-available booking details
+     * @return the saved appointment, or null if the doctor has no suitable slot left
+     */
+    private Appointment reserveFirstFreeSlot(Doctor doctor, Patient patient, ScheduleFirstAvailableDto dto) {
+        AvailableAppointmentSlotsDto current = appointmentAvailabilityService.createAvailableSlotsDto(dto.getAppointmentDate(), doctor.getId());
+        if (current == null) {
+            return null;
+        }
+
+        for (Slot slot : current.getAvailableSlots()) {
+            if (dto.getAppointmentTime() != null && !slot.getStartTime().equals(dto.getAppointmentTime())) {
+                continue;
+            }
+            if (appointmentRepository.existsOverlappingPatientAppointment(patient.getId(), dto.getAppointmentDate(),
+                    slot.getStartTime(), slot.getEndTime(), null)) {
+                continue;
+            }
 
-        LOGGER.info("Appointment successfully scheduled: doctor ID={}, patient ID={}, date={}, time={}-{}",
-                dto.getDoctorId(), dto.getPatientId(), dto.getAppointmentDate(),
-                slot.getStartTime(), slot.getEndTime());
+            Appointment appointment = appointmentRepository.save(
+                    new Appointment(doctor, patient, dto.getAppointmentDate(), slot.getStartTime(), slot.getEndTime(), dto.getReason()));
+            appointmentReminderService.track(appointment);
+            return appointment;
+        }
+        return null;
     }
 
     /**
      * Updates an existing appointment based on the provided details.
+     * <p>
+     * Saves are guarded by the appointment's version. If another request modified the appointment in the
+     * meantime, the update is retried on the fresh state as long as the concurrent change touched different
+     * fields (for example, a status change racing an unrelated edit). A concurrent change to the same fields,
+     * or a concurrent status change while rescheduling, is a genuine conflict and is reported to the caller;
+     * otherwise a canceled or completed appointment would be moved to a new slot and its reminders re-armed.
+     * </p>
      *
      * @param dto       the appointment update details
      * @param requestor the user requesting the update
-     * @throws IllegalArgumentException if the appointment does not exist or if the provided status is invalid
-     * @throws SecurityException        if the requestor is not authorized to update the appointment
+     * @throws IllegalArgumentException          if the appointment does not exist or if the provided status is invalid
+     * @throws SecurityException                 if the requestor is not authorized to update the appointment
+     * @throws RejectedExecutionException        if the booking lane for the doctor and new day is saturated
+     * @throws OptimisticLockingFailureException if a conflicting concurrent update was detected
      */
     public void updateAppointment(UpdateAppointmentDto dto, User requestor) {
         LOGGER.info("Updating appointment ID: {} by user ID: {}", dto.getAppointmentId(), requestor.getId());
-        Appointment appointment = appointmentRepository.findById(dto.getAppointmentId())
-                .orElseThrow(() -> new IllegalArgumentException("Appointment with ID " + dto.getAppointmentId() + " not found"));
+        Appointment appointment = findAuthorizedAppointment(dto.getAppointmentId(), requestor);
+        String observedState = describeUpdatedFields(dto, appointment);
+        String observedStatus = appointment.getStatus();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                applyUpdate(dto, appointment);
+                LOGGER.info("Appointment ID: {} updated successfully", dto.getAppointmentId());
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxUpdateAttempts) {
+                    LOGGER.warn("Appointment ID: {} update abandoned after {} attempts due to concurrent modifications", dto.getAppointmentId(), attempt);
+                    throw e;
+                }
+
+                appointment = findAuthorizedAppointment(dto.getAppointmentId(), requestor);
+                String currentState = describeUpdatedFields(dto, appointment);
+                if (currentState.equals(describeRequestedFields(dto))) {
+                    LOGGER.info("Appointment ID: {} already reflects the requested update", dto.getAppointmentId());
+                    return;
+                }
+                if (!currentState.equals(observedState)) {
+                    LOGGER.warn("Appointment ID: {} was concurrently changed from {} to {}", dto.getAppointmentId(), observedState, currentState);
+                    throw e;
+                }
+                if (IoHelper.isNullOrEmpty(dto.getStatus()) && !appointment.getStatus().equalsIgnoreCase(observedStatus)) {
+                    LOGGER.warn("Appointment ID: {} was concurrently moved from {} to {} while being rescheduled",
+                            dto.getAppointmentId(), observedStatus, appointment.getStatus());
+                    throw e;
+                }
+                LOGGER.info("Retrying update of appointment ID: {} after a concurrent change to other fields (attempt {}/{})",
+                        dto.getAppointmentId(), attempt + 1, maxUpdateAttempts);
+            }
+        }
+    }
+
+    /**
+     * Cancels all scheduled appointments of a doctor within a date range, for example when the doctor calls in sick.
+     * <p>
+     * The scheduled appointments in the range are locked and their IDs read first, then canceled by a single UPDATE
+     * by ID, so exactly the locked rows are canceled, notified and untracked. Their patients are notified with one
+     * batch insert, all in the same transaction. Availability is derived from the appointment table, so the freed
+     * slots are bookable as soon as the transaction commits; the reminders of the canceled appointments are dropped
+     * in one step.
+     * </p>
+     *
+     * @param dto the bulk cancellation details
+     * @return the outcome of the cancellation
+     * @throws IllegalArgumentException if the doctor does not exist or the date range is invalid
+     */
+    @Transactional
+    public BulkCancelResultDto cancelDoctorAppointments(BulkCancelAppointmentsDto dto) {
+        LocalDate fromDate = dto.getFromDate();
+        LocalDate toDate = dto.getToDate();
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("The start of the date range must not be after its end.");
+        }
+        if (fromDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Only appointments from today onwards can be canceled.");
+        }
+        long maxDays = Long.parseLong(CONFIG_READER.get("bulkCancelMaxDays"));
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxDays) {
+            throw new IllegalArgumentException("The date range must not exceed " + maxDays + " days.");
+        }
+        Doctor doctor = doctorRepository.findById(dto.getDoctorId())
+                .orElseThrow(() -> new IllegalArgumentException("Doctor with ID " + dto.getDoctorId() + " not found"));
+        LOGGER.info("Canceling appointments of doctor ID: {} from {} to {}", doctor.getId(), fromDate, toDate);
+
+        List<Integer> lockedIds = appointmentRepository.lockIdsByDoctorIdAndDateRange(doctor.getId(), fromDate, toDate,
+                AppointmentStatus.SCHEDULED);
+        if (lockedIds.isEmpty()) {
+            LOGGER.info("Doctor ID: {} has no scheduled appointments from {} to {}", doctor.getId(), fromDate, toDate);
+            return new BulkCancelResultDto(0, 0, List.of(), List.of());
+        }
+        int canceled = appointmentRepository.transitionByIdIn(lockedIds, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELED,
+                LocalDateTime.now());
+        List<AppointmentSummaryDto> appointments = appointmentRepository.findSummariesByIdIn(lockedIds).stream()
+                .sorted(Comparator.comparing(AppointmentSummaryDto::getAppointmentDate)
+                        .thenComparing(AppointmentSummaryDto::getStartTime)
+                        .thenComparing(AppointmentSummaryDto::getId))
+                .toList();
+
+        String reason = IoHelper.isNullOrEmpty(dto.getReason()) ? "" : " Reason: " + dto.getReason().trim();
+        List<Notification> notifications = appointments.stream()
+                .map(appointment -> Notification.builder().recipientId(appointment.getPatient().getId())
+                        .message(String.format("Your appointment with Dr. %s %s on %s at %s has been canceled.%s",
+                                doctor.getFirstName(), doctor.getLastName(), appointment.getAppointmentDate(),
+                                appointment.getStartTime(), reason))
+                        .build())
+                .toList();
+        int notified = notificationService.sendAll(notifications);
+
+        List<Integer> appointmentIds = appointments.stream().map(AppointmentSummaryDto::getId).toList();
+        List<LocalDate> affectedDates = appointments.stream().map(AppointmentSummaryDto::getAppointmentDate).distinct().toList();
+        appointmentReminderService.untrack(appointmentIds);
+
+        LOGGER.info("Canceled {} appointments of doctor ID: {} on {} dates and notified {} patients",
+                canceled, doctor.getId(), affectedDates.size(), notified);
+        return new BulkCancelResultDto(canceled, notified, affectedDates, appointmentIds);
+    }
+
+    /**
+     * Loads an appointment and verifies that the requestor participates in it.
+     *
+     * @param appointmentId the ID of the appointment
+     * @param requestor     the user requesting access
+     * @return the Appointment
+     * @throws IllegalArgumentException if the appointment does not exist
+     * @throws SecurityException        if the requestor is neither the patient nor the doctor of the appointment
+     */
+    private Appointment findAuthorizedAppointment(int appointmentId, User requestor) {
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment with ID " + appointmentId + " not found"));
 
         if (!appointment.getPatient().getId().equals(requestor.getId()) && !appointment.getDoctor().getId().equals(requestor.getId())) {
             throw new SecurityException("User is not authorized to update this appointment.");
         }
+        return appointment;
+    }
 
+    /**
+     * Applies a status change or a reschedule to the appointment and saves it.
+     *
+     * @param dto         the appointment update details
+     * @param appointment the appointment to update
+     * @throws IllegalArgumentException if the provided status is invalid or no update was requested
+     */
+    private void applyUpdate(UpdateAppointmentDto dto, Appointment appointment) {
         if (!IoHelper.isNullOrEmpty(dto.getStatus())) {
             String status = IoHelper.validateString(dto.getStatus()).toUpperCase();
             if (!AppointmentStatus.VALID_STATUSES.contains(status)) {
                 throw new IllegalArgumentException("Invalid appointment status: " + dto.getStatus());
             }
 
+            LOGGER.info("Appointment ID: {} status updated from {} to {}", dto.getAppointmentId(), appointment.getStatus(), status);
             appointment.setStatus(status);
-            LOGGER.info("Appointment ID: {} status updated for {} to {}", dto.getAppointmentId(), appointment.getStatus(), status);
+            appointmentRepository.save(appointment);
+            appointmentReminderService.track(appointment);
         } else if (dto.getAppointmentDate() != null && dto.getAppointmentTime() != null) {
-            Slot slot = isAppointmentAvailable(appointment.getDoctor().getId(), dto.getAppointmentDate(), dto.getAppointmentTime());
-            appointment.setAppointmentDate(dto.getAppointmentDate());
-            appointment.setStartTime(slot.getStartTime());
-            appointment.setEndTime(slot.getEndTime());
-            LOGGER.info("Appointment ID: {} rescheduled to date: {}, time: {}-{}", dto.getAppointmentId(), dto.getAppointmentDate(), slot.getStartTime(), slot.getEndTime());
+            bookingAdmissionQueue.admit(appointment.getDoctor().getId(), dto.getAppointmentDate(), () -> {
+                Slot slot = isAppointmentAvailable(appointment.getDoctor().getId(), dto.getAppointmentDate(), dto.getAppointmentTime());
+                withPatientLock(appointment.getPatient().getId(), () -> {
+                    ensureNoPatientOverlap(appointment.getPatient().getId(), dto.getAppointmentDate(), slot, appointment.getId());
+                    appointment.setAppointmentDate(dto.getAppointmentDate());
+                    appointment.setStartTime(slot.getStartTime());
+                    appointment.setEndTime(slot.getEndTime());
+                    appointmentRepository.save(appointment);
+                    appointmentReminderService.track(appointment);
+                    return appointment;
+                });
+                LOGGER.info("Appointment ID: {} rescheduled to date: {}, time: {}-{}", dto.getAppointmentId(), dto.getAppointmentDate(), slot.getStartTime(), slot.getEndTime());
+            });
         } else {
             throw new IllegalArgumentException("Either status or appointment date & time must be provided for update.");
         }
+    }
 
-        appointmentRepository.save(appointment);
-        LOGGER.info("Appointment ID: {} updated successfully", dto.getAppointmentId());
+    /**
+     * Runs a booking action in a transaction holding the patient's row lock. The lock is always taken inside a
+     * doctor-day admission lane and never the other way round, so the two cannot deadlock.
+     *
+     * @param patientId the ID of the patient
+     * @param action    the action checking the patient's calendar and saving the booking
+     * @return the result of the action
+     * @throws IllegalArgumentException if the patient does not exist
+     */
+    private <T> T withPatientLock(int patientId, Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            patientRepository.lockById(patientId).orElseThrow(() -> new IllegalArgumentException("Patient with ID " + patientId + " not found"));
+            return action.get();
+        });
+    }
+
+    /**
+     * Ensures the patient has no other scheduled appointment overlapping the given slot.
+     *
+     * @param patientId            the ID of the patient
+     * @param date                 the appointment date
+     * @param slot                 the slot being booked
+     * @param excludeAppointmentId the ID of the appointment being rescheduled, or null for a new booking
+     * @throws IllegalArgumentException if an overlapping appointment exists
+     */
+    private void ensureNoPatientOverlap(int patientId, LocalDate date, Slot slot, Integer excludeAppointmentId) {
+        if (appointmentRepository.existsOverlappingPatientAppointment(patientId, date, slot.getStartTime(), slot.getEndTime(), excludeAppointmentId)) {
+            LOGGER.warn("Patient ID: {} already has an appointment overlapping {} {}-{}", patientId, date, slot.getStartTime(), slot.getEndTime());
+            throw new IllegalArgumentException("You already have an appointment that overlaps with the selected time.");
+        }
+    }
+
+    /**
+     * Describes the current values of the fields that the given update modifies.
+     *
+     * @param dto         the appointment update details
+     * @param appointment the appointment to describe
+     * @return the status for a status change, or the date and start time for a reschedule
+     */
+    private String describeUpdatedFields(UpdateAppointmentDto dto, Appointment appointment) {
+        if (!IoHelper.isNullOrEmpty(dto.getStatus())) {
+            return appointment.getStatus();
+        }
+        return appointment.getAppointmentDate() + "@" + appointment.getStartTime();
+    }
+
+    /**
+     * Describes the values that the given update writes, in the format of {@link #describeUpdatedFields}.
+     *
+     * @param dto the appointment update details
+     * @return the requested status, or the requested date and start time
+     */
+    private String describeRequestedFields(UpdateAppointmentDto dto) {
+        if (!IoHelper.isNullOrEmpty(dto.getStatus())) {
+            return dto.getStatus().trim().toUpperCase();
+        }
+        return dto.getAppointmentDate() + "@" + dto.getAppointmentTime();
     }
 
     /**
@@ -0,0 +1,104 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.utilities.ICalendarWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for the iCalendar feed of a user's appointments.
+ * <p>
+ * The feed is written straight from a database cursor to the response, so memory use does not depend on the
+ * length of the appointment history. The latest UpdatedAt of the user's appointments versions the feed,
+ * allowing unchanged calendars to be answered with 304 Not Modified after a single index lookup.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class CalendarFeedService {
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Constructs a new CalendarFeedService with required repository.
+     *
+     * @param appointmentRepository the repository for appointment operations
+     */
+    public CalendarFeedService(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Returns the time the user's calendar last changed, in epoch milliseconds.
+     *
+     * @param user the calendar owner
+     * @return the latest appointment modification time, or 0 if the user has no appointments
+     */
+    public long getLastModified(User user) {
+        LocalDateTime lastUpdated = isPatient(user)
+                ? appointmentRepository.findLastUpdatedAtByPatientId(user.getId())
+                : appointmentRepository.findLastUpdatedAtByDoctorId(user.getId());
+        return lastUpdated == null ? 0 : lastUpdated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Builds the entity tag of the user's calendar for the given modification time.
+     *
+     * @param user         the calendar owner
+     * @param lastModified the value returned by {@link #getLastModified(User)}
+     * @return the quoted entity tag
+     */
+    public String getETag(User user, long lastModified) {
+        return "\"calendar-" + user.getId() + "-" + lastModified + "\"";
+    }
+
+    /**
+     * Streams the user's appointments to the given output as an iCalendar document.
+     *
+     * @param user   the calendar owner
+     * @param output the response output; not closed by this method
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void writeFeed(User user, OutputStream output) throws IOException {
+        boolean patientView = isPatient(user);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ICalendarWriter calendar = new ICalendarWriter(writer, patientView);
+        calendar.begin("HealPoint Appointments");
+
+        int count = 0;
+        try (Stream<AppointmentSummaryDto> appointments = patientView
+                ? appointmentRepository.streamSummariesByPatientId(user.getId())
+                : appointmentRepository.streamSummariesByDoctorId(user.getId())) {
+            Iterator<AppointmentSummaryDto> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                calendar.event(iterator.next());
+                count++;
+            }
+        }
+
+        calendar.end();
+        LOGGER.info("Streamed calendar feed with {} events for user ID: {}", count, user.getId());
+    }
+
+    private static boolean isPatient(User user) {
+        return user.getRole().getDescription().equalsIgnoreCase(Roles.PATIENT);
+    }
+}
@@ -0,0 +1,145 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.JobCheckpoint;
+import edu.psgv.healpointbackend.repository.JobCheckpointRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Runs background jobs that process a table in ID-ordered chunks under a {@link JobCheckpoint}.
+ * <p>
+ * A run claims the lease on the job's checkpoint row, so concurrent nodes never run the same job at the same time,
+ * and resumes after the last processed ID if the previous run was interrupted. Each chunk is processed in one
+ * transaction together with the checkpoint update, which also extends the lease; if the lease was lost meanwhile,
+ * the chunk is rolled back. A completed run rewinds the checkpoint for the next run, while a failed run releases
+ * the lease and keeps the checkpoint, so the next run resumes after the last committed chunk.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class CheckpointedJobRunner {
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Constructs a new CheckpointedJobRunner with required repository.
+     *
+     * @param jobCheckpointRepository the repository for job checkpoints and leases
+     * @param transactionTemplate     the template committing each chunk with its checkpoint
+     */
+    public CheckpointedJobRunner(JobCheckpointRepository jobCheckpointRepository, TransactionTemplate transactionTemplate) {
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Runs a job until no chunk is left. Does nothing if another node holds the job lease.
+     *
+     * @param jobName       the name of the job's checkpoint
+     * @param leaseDuration the time the lease is held after it is claimed or extended
+     * @param chunkFinder   finds the IDs of the next chunk
+     * @param chunkWriter   processes the rows of a chunk inside its transaction
+     * @return the number of rows processed by this run
+     * @throws IllegalStateException if the lease was lost during the run
+     */
+    public long run(String jobName, Duration leaseDuration, ChunkFinder chunkFinder, ChunkWriter chunkWriter) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        JobCheckpoint checkpoint = loadCheckpoint(jobName);
+        if (jobCheckpointRepository.claimLease(jobName, nodeId, startedAt, startedAt.plus(leaseDuration)) == 0) {
+            LOGGER.info("Skipping job {}; the lease is held by {}", jobName, checkpoint.getLeaseOwner());
+            return 0;
+        }
+
+        int afterId = checkpoint.getLastProcessedId();
+        if (afterId > 0) {
+            LOGGER.info("Resuming job {} after ID {}", jobName, afterId);
+        }
+
+        long processed = 0;
+        try {
+            while (true) {
+                List<Integer> ids = chunkFinder.findIds(afterId);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                int fromId = afterId;
+                int upToId = ids.get(ids.size() - 1);
+                Integer rows = transactionTemplate.execute(status -> {
+                    int written = chunkWriter.write(fromId, upToId);
+                    if (jobCheckpointRepository.advance(jobName, nodeId, upToId, written, LocalDateTime.now().plus(leaseDuration)) == 0) {
+                        throw new IllegalStateException("The lease of job " + jobName + " was lost.");
+                    }
+                    return written;
+                });
+                processed += rows == null ? 0 : rows;
+                afterId = upToId;
+                LOGGER.debug("Job {} processed {} rows up to ID {}", jobName, rows, upToId);
+            }
+            jobCheckpointRepository.complete(jobName, nodeId, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            jobCheckpointRepository.release(jobName, nodeId);
+            throw e;
+        }
+
+        double seconds = Math.max(Duration.between(startedAt, LocalDateTime.now()).toMillis(), 1) / 1000.0;
+        LOGGER.info("Job {} processed {} rows in {} s ({} rows/s)", jobName, processed, seconds, Math.round(processed / seconds));
+        return processed;
+    }
+
+    /**
+     * Loads the checkpoint of a job, creating it on first use. A concurrent creation by another node is tolerated.
+     *
+     * @param jobName the name of the job
+     * @return the checkpoint
+     */
+    private JobCheckpoint loadCheckpoint(String jobName) {
+        return jobCheckpointRepository.findById(jobName).orElseGet(() -> {
+            try {
+                return jobCheckpointRepository.saveAndFlush(new JobCheckpoint(jobName));
+            } catch (DataIntegrityViolationException e) {
+                return jobCheckpointRepository.findById(jobName).orElseThrow(() -> e);
+            }
+        });
+    }
+
+    /**
+     * Finds the IDs of the next chunk of a job.
+     */
+    @FunctionalInterface
+    public interface ChunkFinder {
+        /**
+         * Finds the IDs of the next chunk.
+         *
+         * @param afterId the exclusive lower bound of the ID
+         * @return the IDs of the chunk in ascending order, or an empty list if the job is done
+         */
+        List<Integer> findIds(int afterId);
+    }
+
+    /**
+     * Processes the rows of one chunk of a job.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter {
+        /**
+         * Processes the rows of an ID range. Runs in the transaction that advances the checkpoint.
+         *
+         * @param afterId the exclusive lower bound of the ID
+         * @param upToId  the inclusive upper bound of the ID
+         * @return the number of rows changed
+         */
+        int write(int afterId, int upToId);
+    }
+}
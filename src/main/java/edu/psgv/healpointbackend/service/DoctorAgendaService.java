@@ -0,0 +1,72 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.dto.DoctorAgendaDto;
+import edu.psgv.healpointbackend.model.Appointment;
+import edu.psgv.healpointbackend.model.Prescription;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.repository.PrescriptionRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for building a doctor's daily agenda.
+ * <p>
+ * The agenda is assembled from a constant number of queries regardless of the number of appointments:
+ * the day's appointments with their patients, the patients' prescriptions, and the prescription items
+ * batch-loaded through one IN query.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class DoctorAgendaService {
+    private final AppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+
+    /**
+     * Constructs a new DoctorAgendaService with required repositories.
+     *
+     * @param appointmentRepository  the repository for appointment operations
+     * @param prescriptionRepository the repository for prescription operations
+     */
+    public DoctorAgendaService(AppointmentRepository appointmentRepository, PrescriptionRepository prescriptionRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.prescriptionRepository = prescriptionRepository;
+    }
+
+    /**
+     * Builds the agenda of a doctor for the given date.
+     *
+     * @param doctorId the ID of the doctor
+     * @param date     the agenda date; defaults to today
+     * @return the agenda with one entry per non-canceled appointment, ordered by start time
+     */
+    public DoctorAgendaDto getAgenda(int doctorId, LocalDate date) {
+        LocalDate agendaDate = date == null ? LocalDate.now() : date;
+        LOGGER.info("Building agenda for doctor ID: {} on {}", doctorId, agendaDate);
+
+        List<Appointment> appointments = appointmentRepository.findAgendaByDoctorIdAndAppointmentDate(doctorId, agendaDate);
+        Set<Integer> patientIds = appointments.stream().map(appointment -> appointment.getPatient().getId()).collect(Collectors.toSet());
+        Map<Integer, Prescription> prescriptions = patientIds.isEmpty()
+                ? Collections.emptyMap()
+                : prescriptionRepository.findByPatientIdIn(patientIds).stream()
+                .collect(Collectors.toMap(prescription -> prescription.getPatient().getId(), Function.identity()));
+
+        List<DoctorAgendaDto.Entry> entries = appointments.stream()
+                .map(appointment -> new DoctorAgendaDto.Entry(appointment, prescriptions.get(appointment.getPatient().getId())))
+                .toList();
+        LOGGER.debug("Agenda for doctor ID: {} on {} has {} appointments, {} with prescriptions",
+                doctorId, agendaDate, entries.size(), prescriptions.size());
+        return new DoctorAgendaDto(agendaDate, entries);
+    }
+}
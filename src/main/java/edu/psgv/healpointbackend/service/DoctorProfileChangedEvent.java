@@ -0,0 +1,13 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.DoctorProfile;
+
+
+/**
+ * Application event published whenever a doctor registers or updates their profile.
+ *
+ * @param profile the doctor's current profile
+ * @author Mahfuzur Rahman
+ */
+public record DoctorProfileChangedEvent(DoctorProfile profile) {
+}
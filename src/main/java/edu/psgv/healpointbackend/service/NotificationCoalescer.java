@@ -0,0 +1,198 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.NotificationDigestItem;
+import edu.psgv.healpointbackend.repository.NotificationDigestItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Coalesces group notifications from high-volume producers into periodic digests.
+ * <p>
+ * Submissions are stored as {@link NotificationDigestItem} rows in the producer's transaction and collected per
+ * recipient group for a fixed window that opens with the group's oldest pending submission. Submissions sharing a
+ * key, such as repeated refill requests of one patient, are merged into a single line listing the union of their
+ * items. When the window closes, a group with a single line receives it as an ordinary notification; a group with
+ * several lines receives one digest, split across as few notifications as the message length allows. Each group's
+ * items are locked, handed to the {@link NotificationOutbox} and deleted in one transaction, so pending submissions
+ * survive a restart and concurrent flushes on several nodes are serialized by the row locks.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class NotificationCoalescer {
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final String LINE_SEPARATOR = "; ";
+
+    private final NotificationOutbox notificationOutbox;
+    private final NotificationDigestItemRepository digestItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter mergedCounter;
+    private final Duration window;
+
+    /**
+     * Constructs a new NotificationCoalescer and registers its metrics.
+     *
+     * @param notificationOutbox   the outbox writing the coalesced notifications
+     * @param digestItemRepository the repository holding the pending submissions
+     * @param transactionTemplate  the template running each group's flush in its own transaction
+     * @param meterRegistry        the registry used to publish coalescing metrics
+     */
+    public NotificationCoalescer(NotificationOutbox notificationOutbox, NotificationDigestItemRepository digestItemRepository,
+                                 TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.notificationOutbox = notificationOutbox;
+        this.digestItemRepository = digestItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.window = Duration.ofSeconds(Long.parseLong(CONFIG_READER.get("notificationDigestWindowSeconds")));
+        this.mergedCounter = Counter.builder("healpoint.notifications.coalesced")
+                .description("Notifications merged into another notification instead of being written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submits a group notification for coalescing, as part of the current transaction if one is active.
+     *
+     * @param recipientGroup the group receiving the notification
+     * @param key            the key under which submissions are merged within a window
+     * @param userId         the user the notification is about, kept when the line is sent on its own
+     * @param summary        the text preceding the items, for example who requested what
+     * @param items          the items of the submission; merged case-insensitively across submissions
+     */
+    public void submit(String recipientGroup, String key, Integer userId, String summary, Collection<String> items) {
+        digestItemRepository.save(new NotificationDigestItem(recipientGroup, key, userId, summary, items));
+    }
+
+    /**
+     * Sends the digests of the windows that closed.
+     */
+    @Scheduled(initialDelay = 5, fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void runScheduled() {
+        try {
+            flushClosed(LocalDateTime.now());
+        } catch (Exception e) {
+            LOGGER.error("Sending notification digests failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends the digests of the windows closing at or before the given time.
+     *
+     * @param now the current time
+     * @return the number of notifications sent
+     */
+    int flushClosed(LocalDateTime now) {
+        List<String> groups = digestItemRepository.findGroupsOpenedBefore(now.minus(window));
+        int sent = 0;
+        for (String group : groups) {
+            Integer written = transactionTemplate.execute(status -> flushGroup(group));
+            sent += written == null ? 0 : written;
+        }
+        if (sent > 0) {
+            LOGGER.info("Sent {} coalesced notifications to {} groups", sent, groups.size());
+        }
+        return sent;
+    }
+
+    /**
+     * Merges the pending items of a group into lines, hands the rendered notifications to the outbox and deletes
+     * the items. Must run in a transaction.
+     */
+    private int flushGroup(String recipientGroup) {
+        List<NotificationDigestItem> items = digestItemRepository.lockByRecipientGroup(recipientGroup);
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Line> lines = new LinkedHashMap<>();
+        for (NotificationDigestItem item : items) {
+            Line line = lines.get(item.getMergeKey());
+            if (line == null) {
+                lines.put(item.getMergeKey(), line = new Line(item.getUserId(), item.getSummary()));
+            } else {
+                line.summary = item.getSummary();
+                mergedCounter.increment();
+            }
+            line.count++;
+            for (String name : item.getItemList()) {
+                line.items.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+            }
+        }
+
+        List<Notification> notifications = render(recipientGroup, new ArrayList<>(lines.values()));
+        notifications.forEach(notificationOutbox::enqueue);
+        digestItemRepository.deleteAllInBatch(items);
+        return notifications.size();
+    }
+
+    /**
+     * Renders the lines of a closed window as one notification per line if there is a single line, or as a digest
+     * split at the message length limit otherwise. A line too long for a message of its own is truncated.
+     */
+    private static List<Notification> render(String recipientGroup, List<Line> lines) {
+        if (lines.size() == 1) {
+            Line line = lines.get(0);
+            return List.of(Notification.builder().userId(line.userId).recipientGroup(recipientGroup)
+                    .message(truncate(line.render())).build());
+        }
+
+        int total = lines.stream().mapToInt(line -> line.count).sum();
+        String header = String.format("Digest of %d notifications: ", total);
+        List<Notification> notifications = new ArrayList<>();
+        StringBuilder message = new StringBuilder(header);
+        for (Line line : lines) {
+            String text = line.render();
+            if (message.length() > header.length() && message.length() + LINE_SEPARATOR.length() + text.length() > MAX_MESSAGE_LENGTH) {
+                notifications.add(Notification.builder().recipientGroup(recipientGroup).message(truncate(message.toString())).build());
+                message = new StringBuilder(header);
+            }
+            if (message.length() > header.length()) {
+                message.append(LINE_SEPARATOR);
+            }
+            message.append(text);
+        }
+        notifications.add(Notification.builder().recipientGroup(recipientGroup).message(truncate(message.toString())).build());
+        return notifications;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH - 3) + "...";
+    }
+
+    /**
+     * The merged submissions of one key.
+     */
+    private static final class Line {
+        private final Integer userId;
+        private final Map<String, String> items = new LinkedHashMap<>();
+        private String summary;
+        private int count;
+
+        private Line(Integer userId, String summary) {
+            this.userId = userId;
+            this.summary = summary;
+        }
+
+        private String render() {
+            String text = summary + " " + String.join(", ", items.values());
+            return count > 1 ? text + " (" + count + " requests)" : text;
+        }
+    }
+}
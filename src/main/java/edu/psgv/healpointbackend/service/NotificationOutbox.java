@@ -0,0 +1,241 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.NotificationOutboxEntry;
+import edu.psgv.healpointbackend.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Durable outbox for notifications produced on the request path.
+ * <p>
+ * Producers hand notifications to the outbox instead of inserting them. Each one is stored as a
+ * {@link NotificationOutboxEntry} in the producer's transaction, so a rolled-back change never notifies anyone
+ * and a committed one is not lost when the process dies. A background writer, woken when a producer commits and
+ * otherwise polling, drains the table in JDBC batches through {@link NotificationService#sendAll(List)}: each
+ * batch is locked, written and deleted in one transaction. A batch that fails stays in the table and is retried
+ * on the next drain after a backoff; nothing is dropped. Concurrent drains on several nodes are serialized by the
+ * row locks.
+ * </p>
+ * <p>
+ * Enqueueing costs the producer one INSERT on the request path. This is the price of durability: keeping the
+ * notification in memory until a batch is written would lose it if the process died after the producer committed.
+ * The outbox depth is kept in a counter that is updated as entries are enqueued and written. The writer re-reads
+ * it from the table every minute to pick up entries written by other nodes, so metric scrapes never query the
+ * table.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class NotificationOutbox {
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+    private static final long DEPTH_REFRESH_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final NotificationService notificationService;
+    private final NotificationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore wakeups = new Semaphore(0);
+    private final AtomicLong depth = new AtomicLong();
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final long pollMillis;
+    private final Timer flushTimer;
+    private final Counter failedCounter;
+    private volatile boolean running;
+    private Thread writer;
+    private long depthRefreshedAt;
+
+    /**
+     * Constructs a new NotificationOutbox and registers its metrics.
+     *
+     * @param notificationService the service writing the notification batches
+     * @param outboxRepository    the repository holding the pending notifications
+     * @param transactionTemplate the template running each batch in its own transaction
+     * @param meterRegistry       the registry used to publish outbox metrics
+     */
+    public NotificationOutbox(NotificationService notificationService, NotificationOutboxRepository outboxRepository,
+                              TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.notificationService = notificationService;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Integer.parseInt(CONFIG_READER.get("notificationOutboxBatchSize"));
+        this.maxDelayMillis = Long.parseLong(CONFIG_READER.get("notificationOutboxMaxDelayMillis"));
+        this.pollMillis = Long.parseLong(CONFIG_READER.get("notificationOutboxPollMillis"));
+
+        Gauge.builder("healpoint.notifications.outbox.depth", this, NotificationOutbox::getDepth)
+                .description("Notifications waiting in the outbox")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("healpoint.notifications.outbox.flush")
+                .description("Time taken to write one batch of notifications")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("healpoint.notifications.outbox.failed")
+                .description("Outbox batches that failed to write and were left for the next drain")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background writer.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "notification-outbox");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the background writer and drains the entries still pending. Entries that cannot be written stay in
+     * the table for the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            LOGGER.info("Notification outbox stopped after writing {} pending notifications", drain());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Notification outbox stopped with notifications left pending for the next start");
+        }
+    }
+
+    /**
+     * Stores a notification in the outbox, as part of the current transaction if one is active. The entry is
+     * inserted synchronously, so it commits or rolls back together with the producer's change.
+     *
+     * @param notification the notification to send
+     */
+    public void enqueue(Notification notification) {
+        outboxRepository.save(new NotificationOutboxEntry(notification));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    depth.incrementAndGet();
+                    wakeups.release();
+                }
+            });
+        } else {
+            depth.incrementAndGet();
+            wakeups.release();
+        }
+    }
+
+    /**
+     * Returns the number of notifications waiting in the outbox, as last counted by this node.
+     *
+     * @return the number of pending entries
+     */
+    public long getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Writes the oldest batch of pending notifications and deletes their entries in one transaction.
+     *
+     * @return the number of notifications written
+     * @throws RuntimeException if the batch could not be written; its entries are left in the table
+     */
+    int flush() {
+        long start = System.nanoTime();
+        Integer written = transactionTemplate.execute(status -> {
+            List<NotificationOutboxEntry> entries = outboxRepository.lockOldest(Limit.of(batchSize));
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            notificationService.sendAll(entries.stream().map(NotificationOutboxEntry::toNotification).toList());
+            outboxRepository.deleteAllInBatch(entries);
+            return entries.size();
+        });
+        if (written != null && written > 0) {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            depth.updateAndGet(current -> Math.max(0, current - written));
+        }
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Writes batches until the outbox is empty or a batch fails.
+     *
+     * @return the number of notifications written
+     */
+    int drain() {
+        int total = 0;
+        try {
+            int written;
+            do {
+                written = flush();
+                total += written;
+            } while (written >= batchSize);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            LOGGER.warn("Writing outbox notifications failed; the batch is left for the next drain: {}", e.getMessage());
+            throw e;
+        }
+        return total;
+    }
+
+    /**
+     * Re-reads the depth from the table if the last count is older than the refresh interval. Called by the
+     * writer only.
+     */
+    void refreshDepthIfDue() {
+        long now = System.nanoTime();
+        if (depthRefreshedAt == 0 || now - depthRefreshedAt >= DEPTH_REFRESH_NANOS) {
+            depth.set(outboxRepository.count());
+            depthRefreshedAt = now;
+        }
+    }
+
+    private void runWriter() {
+        long backoff = 0;
+        while (running) {
+            try {
+                if (backoff > 0) {
+                    Thread.sleep(backoff);
+                } else if (wakeups.tryAcquire(pollMillis, TimeUnit.MILLISECONDS)) {
+                    // Linger briefly so notifications produced together share a batch
+                    Thread.sleep(maxDelayMillis);
+                }
+                wakeups.drainPermits();
+                try {
+                    drain();
+                    refreshDepthIfDue();
+                    backoff = 0;
+                } catch (RuntimeException e) {
+                    backoff = backoff == 0 ? RETRY_BACKOFF_MILLIS : Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by stop(), which drains whatever is still pending
+                return;
+            }
+        }
+    }
+}
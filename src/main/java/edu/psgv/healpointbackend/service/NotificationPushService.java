@@ -0,0 +1,304 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for pushing notifications to connected clients over Server-Sent Events.
+ * <p>
+ * Each online user holds one long-lived SSE connection. The request thread is released as soon as the connection
+ * is opened, so an idle connection costs no thread. Notifications saved through {@link NotificationService} are
+ * pushed once their transaction commits: direct notifications to the recipient's connections and group
+ * notifications to every connection of that group. Sends to one connection run one at a time on a small shared
+ * pool; a connection whose queue of unsent events fills up is closed instead of buffering without bound, and the
+ * client catches up through the inbox or sync endpoints when it reconnects. Heartbeats keep idle connections
+ * open through proxies.
+ * </p>
+ * <p>
+ * Connections are held per application instance and notifications are pushed only by the instance that saved
+ * them, so a client connected to another instance does not receive them over its stream. Pushing is therefore
+ * best-effort: clients must keep polling the sync endpoint and can use the event ID, which is the notification ID,
+ * to skip notifications they already received.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class NotificationPushService {
+    static final String EVENT_NAME = "notification";
+
+    private final ConcurrentHashMap<Integer, List<Connection>> userConnections = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Connection>> groupConnections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final int maxPendingEvents;
+    private final int maxConnectionsPerUser;
+    private final Counter droppedCounter;
+
+    /**
+     * Constructs a new NotificationPushService and registers its metrics.
+     *
+     * @param meterRegistry the registry used to publish connection metrics
+     */
+    @Autowired
+    public NotificationPushService(MeterRegistry meterRegistry) {
+        this(meterRegistry, Executors.newFixedThreadPool(Integer.parseInt(CONFIG_READER.get("notificationStreamSenderThreads")), runnable -> {
+            Thread thread = new Thread(runnable, "notification-push");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructs a new NotificationPushService sending events on the given executor.
+     *
+     * @param meterRegistry the registry used to publish connection metrics
+     * @param executor      the executor running the sends
+     */
+    NotificationPushService(MeterRegistry meterRegistry, Executor executor) {
+        this.executor = executor;
+        this.timeoutMillis = Duration.ofMinutes(Long.parseLong(CONFIG_READER.get("notificationStreamTimeoutMinutes"))).toMillis();
+        this.maxPendingEvents = Integer.parseInt(CONFIG_READER.get("notificationStreamMaxPendingEvents"));
+        this.maxConnectionsPerUser = Integer.parseInt(CONFIG_READER.get("notificationStreamMaxConnectionsPerUser"));
+
+        Gauge.builder("healpoint.notifications.stream.connections", connectionCount, AtomicInteger::get)
+                .description("Open notification push connections")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("healpoint.notifications.stream.dropped")
+                .description("Notification push connections closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a push connection for the given user. The oldest connection of the user is closed
+     * when the user already holds the maximum number of connections.
+     *
+     * @param user the authenticated user
+     * @return the emitter streaming the user's notifications
+     */
+    public SseEmitter subscribe(User user) {
+        String role = user.getRole().getDescription();
+        String group = role.equalsIgnoreCase(Roles.PATIENT) ? null : role.toUpperCase(Locale.ROOT);
+        Connection connection = new Connection(user.getId(), group, createEmitter(timeoutMillis));
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> remove(connection));
+        connection.emitter.onError(e -> remove(connection));
+
+        // Added inside compute, so a concurrent remove cannot drop the list after it was looked up
+        List<Connection> connections = userConnections.compute(user.getId(), (id, list) -> {
+            list = list == null ? new CopyOnWriteArrayList<>() : list;
+            list.add(connection);
+            return list;
+        });
+        if (group != null) {
+            groupConnections.compute(group, (g, set) -> {
+                set = set == null ? ConcurrentHashMap.newKeySet() : set;
+                set.add(connection);
+                return set;
+            });
+        }
+        connectionCount.incrementAndGet();
+        while (connections.size() > maxConnectionsPerUser) {
+            Connection oldest = connections.get(0);
+            remove(oldest);
+            oldest.emitter.complete();
+        }
+
+        // Flushes the response headers so the client sees the connection open
+        connection.offer(() -> SseEmitter.event().comment("connected"));
+        LOGGER.info("Opened notification push connection for user ID: {} ({} open)", user.getId(), connectionCount.get());
+        return connection.emitter;
+    }
+
+    /**
+     * Pushes saved notifications to the connections of their recipients once the saving transaction commits.
+     * Building an event consumes its builder, so every connection builds its own when sending.
+     *
+     * @param event the event carrying the saved notifications
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (Notification notification : event.notifications()) {
+            Supplier<SseEmitter.SseEventBuilder> sseEvent = () -> {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().name(EVENT_NAME).data(notification);
+                return notification.getId() == null ? builder : builder.id(notification.getId().toString());
+            };
+            for (Connection connection : recipientsOf(notification)) {
+                connection.offer(sseEvent);
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment on every open connection.
+     */
+    @Scheduled(initialDelay = 25, fixedRate = 25, timeUnit = TimeUnit.SECONDS)
+    public void sendHeartbeats() {
+        Supplier<SseEmitter.SseEventBuilder> heartbeat = () -> SseEmitter.event().comment("heartbeat");
+        userConnections.values().forEach(connections -> connections.forEach(connection -> connection.offer(heartbeat)));
+    }
+
+    /**
+     * Returns the number of open push connections.
+     *
+     * @return the number of connections
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Closes every open connection and stops the sender threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        userConnections.values().forEach(connections -> connections.forEach(connection -> {
+            remove(connection);
+            connection.emitter.complete();
+        }));
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Creates the emitter of a new connection.
+     *
+     * @param timeout the connection timeout in milliseconds
+     * @return the emitter
+     */
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private Set<Connection> recipientsOf(Notification notification) {
+        Set<Connection> recipients = new LinkedHashSet<>();
+        if (notification.getRecipientId() != null) {
+            recipients.addAll(userConnections.getOrDefault(notification.getRecipientId(), List.of()));
+        }
+        if (notification.getRecipientGroup() != null) {
+            recipients.addAll(groupConnections.getOrDefault(notification.getRecipientGroup().toUpperCase(Locale.ROOT), Set.of()));
+        }
+        return recipients;
+    }
+
+    /**
+     * Unregisters a connection. Safe to call more than once for the same connection.
+     */
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        userConnections.computeIfPresent(connection.userId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        if (connection.group != null) {
+            groupConnections.computeIfPresent(connection.group, (group, connections) -> {
+                connections.remove(connection);
+                return connections.isEmpty() ? null : connections;
+            });
+        }
+        connectionCount.decrementAndGet();
+        LOGGER.debug("Closed notification push connection for user ID: {}", connection.userId);
+    }
+
+    /**
+     * One open connection with its queue of unsent events. At most one drain task runs per connection,
+     * so events are sent in order and never concurrently on the same emitter. Events are queued as suppliers
+     * and built only when sent, because a builder cannot be shared between connections.
+     */
+    private final class Connection {
+        private final int userId;
+        private final String group;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(int userId, String group, SseEmitter emitter) {
+            this.userId = userId;
+            this.group = group;
+            this.emitter = emitter;
+        }
+
+        private void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                droppedCounter.increment();
+                LOGGER.warn("Notification push connection for user ID: {} fell behind by {} events. Closing it.", userId, maxPendingEvents);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event.get());
+                }
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.debug("Notification push to user ID: {} failed: {}", userId, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.NotificationReadState;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.NotificationReadStateRepository;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import edu.psgv.healpointbackend.utilities.ReadWatermark;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for tracking which notifications each user has read.
+ * <p>
+ * Notifications addressed to a single user keep using their own IsRead flag. Group notifications are stored once
+ * per group, so each member's reads are tracked as a {@link ReadWatermark} per (user, group) instead of copying
+ * the notification for every member. Unread counts are computed from the watermark with two indexed counts
+ * rather than by reading the inbox.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class NotificationReadService {
+    private final NotificationRepository notificationRepository;
+    private final NotificationReadStateRepository readStateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxExceptions;
+    private final int maxAttempts;
+
+    /**
+     * Constructs a new NotificationReadService with required repositories.
+     *
+     * @param notificationRepository the repository for notification operations
+     * @param readStateRepository    the repository for read state operations
+     * @param eventPublisher         the publisher announcing reads to cached unread counts
+     */
+    public NotificationReadService(NotificationRepository notificationRepository, NotificationReadStateRepository readStateRepository,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.notificationRepository = notificationRepository;
+        this.readStateRepository = readStateRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxExceptions = Integer.parseInt(CONFIG_READER.get("notificationReadMaxExceptions"));
+        this.maxAttempts = Integer.parseInt(CONFIG_READER.get("optimisticLockMaxAttempts"));
+    }
+
+    /**
+     * Marks a notification as read for the given user.
+     *
+     * @param user           the user reading the notification
+     * @param notificationId the ID of the notification
+     * @return true if the notification was unread
+     * @throws IllegalArgumentException          if the notification does not exist or is not visible to the user, or
+     *                                           if the user has read too many group notifications out of order
+     * @throws OptimisticLockingFailureException if the user's read state kept changing concurrently
+     */
+    public boolean markRead(User user, int notificationId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .filter(n -> isVisibleTo(n, user))
+                .orElseThrow(() -> new IllegalArgumentException("Notification with ID " + notificationId + " not found"));
+
+        if (notification.getRecipientGroup() == null) {
+            if (Boolean.TRUE.equals(notification.getIsRead())) {
+                return false;
+            }
+            notification.setIsRead(true);
+            notificationRepository.save(notification);
+            eventPublisher.publishEvent(new NotificationsReadEvent(user.getId()));
+            LOGGER.info("Notification ID: {} marked read by user ID: {}", notificationId, user.getId());
+            return true;
+        }
+
+        String group = groupOf(user);
+        boolean marked = updateGroupState(user.getId(), group, watermark -> {
+            if (!watermark.markRead(notificationId)) {
+                return false;
+            }
+            watermark.compact(notificationRepository.findGroupIdsInRange(group, watermark.getReadUpTo(), watermark.getHighestException()));
+            if (watermark.exceedsLimit()) {
+                // Moving the watermark instead would mark the older unread notifications as read
+                throw new IllegalArgumentException("Too many notifications read out of order. Mark older notifications as read first.");
+            }
+            return true;
+        });
+        if (marked) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(user.getId()));
+            LOGGER.info("Group notification ID: {} marked read by user ID: {}", notificationId, user.getId());
+        }
+        return marked;
+    }
+
+    /**
+     * Marks every notification of the given user up to the given ID as read: direct notifications with one
+     * set-based UPDATE, and group notifications by moving the user's watermark.
+     *
+     * @param user   the user reading the notifications
+     * @param upToId the highest notification ID to mark, or null for all notifications
+     * @return the number of direct notifications marked
+     * @throws OptimisticLockingFailureException if the user's read state kept changing concurrently
+     */
+    public int markAllRead(User user, Integer upToId) {
+        int upTo = upToId == null ? Integer.MAX_VALUE : upToId;
+        int directMarked = notificationRepository.markDirectReadUpTo(user.getId(), upTo, LocalDateTime.now());
+
+        String group = groupOf(user);
+        boolean groupMarked = false;
+        if (group != null) {
+            Integer maxGroupId = notificationRepository.findMaxGroupId(group, upTo);
+            groupMarked = maxGroupId != null && updateGroupState(user.getId(), group, watermark -> {
+                if (maxGroupId <= watermark.getReadUpTo()) {
+                    return false;
+                }
+                watermark.markReadUpTo(maxGroupId);
+                return true;
+            });
+        }
+
+        if (directMarked > 0 || groupMarked) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(user.getId()));
+        }
+        LOGGER.info("User ID: {} marked notifications up to {} as read ({} direct, group watermark moved: {})",
+                user.getId(), upToId == null ? "the latest" : upToId, directMarked, groupMarked);
+        return directMarked;
+    }
+
+    /**
+     * Counts the notifications the given user has not read.
+     *
+     * @param user the user
+     * @return the number of unread notifications
+     */
+    public long countUnread(User user) {
+        return notificationRepository.countByRecipientIdAndIsReadFalse(user.getId()) + countGroupUnread(user);
+    }
+
+    /**
+     * Counts the group notifications the given user has not read.
+     *
+     * @param user the user
+     * @return the number of unread group notifications, or 0 if the user belongs to no group
+     */
+    public long countGroupUnread(User user) {
+        String group = groupOf(user);
+        if (group == null) {
+            return 0;
+        }
+        ReadWatermark watermark = loadWatermark(user.getId(), group);
+        // Read notifications above the watermark may since have been archived, so the difference is floored at zero
+        return Math.max(notificationRepository.countByRecipientGroupAndIdGreaterThan(group, watermark.getReadUpTo())
+                - watermark.getExceptionCount(), 0);
+    }
+
+    /**
+     * Applies the given user's read state to the group notifications in a list about to be returned to that user.
+     *
+     * @param user          the viewing user
+     * @param notifications the notifications to annotate
+     */
+    public void applyReadState(User user, List<Notification> notifications) {
+        String group = groupOf(user);
+        if (group == null || notifications.stream().noneMatch(n -> n.getRecipientGroup() != null)) {
+            return;
+        }
+        ReadWatermark watermark = loadWatermark(user.getId(), group);
+        for (Notification notification : notifications) {
+            if (notification.getRecipientGroup() != null) {
+                notification.applyViewerReadState(watermark.isRead(notification.getId()));
+            }
+        }
+    }
+
+    /**
+     * Applies a change to the user's watermark of a group and saves it, retrying on concurrent updates.
+     *
+     * @param userId the ID of the user
+     * @param group  the group channel
+     * @param change the change to apply, returning false if there was nothing to change
+     * @return true if the read state was changed
+     */
+    private boolean updateGroupState(int userId, String group, Predicate<ReadWatermark> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                NotificationReadState state = readStateRepository.findByUserIdAndChannel(userId, group)
+                        .orElseGet(() -> new NotificationReadState(userId, group));
+                ReadWatermark watermark = new ReadWatermark(state.getReadUpTo(), state.getExceptions(), maxExceptions);
+                if (!change.test(watermark)) {
+                    return false;
+                }
+                state.setReadUpTo(watermark.getReadUpTo());
+                state.setExceptions(watermark.exceptionsToBytes());
+                readStateRepository.save(state);
+                LOGGER.debug("Read state of user ID: {} in {} is now up to {} with {} exceptions",
+                        userId, group, watermark.getReadUpTo(), watermark.getExceptionCount());
+                return true;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                LOGGER.debug("Retrying read state update of user ID: {} (attempt {}/{})", userId, attempt + 1, maxAttempts);
+            }
+        }
+    }
+
+    private ReadWatermark loadWatermark(int userId, String group) {
+        return readStateRepository.findByUserIdAndChannel(userId, group)
+                .map(state -> new ReadWatermark(state.getReadUpTo(), state.getExceptions(), maxExceptions))
+                .orElseGet(() -> new ReadWatermark(0, null, maxExceptions));
+    }
+
+    private static boolean isVisibleTo(Notification notification, User user) {
+        return Objects.equals(notification.getRecipientId(), user.getId())
+                || (notification.getRecipientGroup() != null && notification.getRecipientGroup().equalsIgnoreCase(groupOf(user)));
+    }
+
+    private static String groupOf(User user) {
+        String role = user.getRole().getDescription();
+        return role.equalsIgnoreCase(Roles.PATIENT) ? null : role;
+    }
+}
@@ -0,0 +1,96 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.repository.NotificationArchiveRepository;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for moving old notifications out of the live Notifications table.
+ * <p>
+ * Read direct notifications older than the retention period are copied to the NotificationArchive table and
+ * deleted from the live table, keeping inbox queries and their indexes small. A group notification is only
+ * archived once it is at or below the read watermark of every active member of the group, so nobody loses an
+ * unread notification; the rest are picked up by a later run. The job runs through {@link CheckpointedJobRunner}
+ * in ID-ordered chunks, each an INSERT ... SELECT and a DELETE of exactly the archived rows committed together with
+ * the job checkpoint.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class NotificationRetentionService {
+    static final String JOB_NAME = "NotificationRetention";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository notificationArchiveRepository;
+    private final CheckpointedJobRunner jobRunner;
+    private final UnreadCountService unreadCountService;
+    private final RecentNotificationService recentNotificationService;
+
+    /**
+     * Constructs a new NotificationRetentionService with required repositories, runner and services.
+     *
+     * @param notificationRepository        the repository for notification operations
+     * @param notificationArchiveRepository the repository for archived notifications
+     * @param jobRunner                     the runner processing the job in checkpointed chunks
+     * @param unreadCountService            the service whose cached counters are reset after archiving
+     * @param recentNotificationService     the service whose buffered notifications are dropped after archiving
+     */
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        NotificationArchiveRepository notificationArchiveRepository, CheckpointedJobRunner jobRunner,
+                                        UnreadCountService unreadCountService, RecentNotificationService recentNotificationService) {
+        this.notificationRepository = notificationRepository;
+        this.notificationArchiveRepository = notificationArchiveRepository;
+        this.jobRunner = jobRunner;
+        this.unreadCountService = unreadCountService;
+        this.recentNotificationService = recentNotificationService;
+    }
+
+    /**
+     * Runs the job on a fixed delay.
+     */
+    @Scheduled(initialDelay = 10, fixedDelay = 360, timeUnit = TimeUnit.MINUTES)
+    public void runScheduled() {
+        try {
+            archiveOldNotifications();
+        } catch (Exception e) {
+            LOGGER.error("Notification retention job failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Archives all notifications past the retention period, resuming from the last checkpoint if the previous
+     * run was interrupted. Does nothing if another node holds the job lease.
+     *
+     * @return the number of notifications archived by this run
+     */
+    public long archiveOldNotifications() {
+        int chunkSize = Integer.parseInt(CONFIG_READER.get("notificationRetentionChunkSize"));
+        Duration leaseDuration = Duration.ofMinutes(Long.parseLong(CONFIG_READER.get("notificationRetentionLeaseMinutes")));
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(Long.parseLong(CONFIG_READER.get("notificationRetentionDays")));
+
+        long archived = jobRunner.run(JOB_NAME, leaseDuration,
+                afterId -> notificationRepository.findArchivableIds(cutoff, afterId, Limit.of(chunkSize)),
+                (afterId, upToId) -> {
+                    int rows = notificationArchiveRepository.archiveRange(afterId, upToId, cutoff, LocalDateTime.now());
+                    notificationRepository.deleteArchived(afterId, upToId);
+                    return rows;
+                });
+        if (archived > 0) {
+            unreadCountService.invalidateAll();
+            recentNotificationService.invalidateAll();
+            LOGGER.info("Notification retention job archived {} notifications created before {}", archived, cutoff);
+        }
+        return archived;
+    }
+}
@@ -1,21 +1,28 @@
 package edu.psgv.healpointbackend.service;
 
+import edu.psgv.healpointbackend.dto.NotificationPageDto;
 import edu.psgv.healpointbackend.model.Notification;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.repository.NotificationRepository;
+import edu.psgv.healpointbackend.utilities.IoHelper;
+import edu.psgv.healpointbackend.utilities.NotificationCursorCodec;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 
 
 /**
  * Service class for managing notifications.
  * <p>
- * Provides methods to retrieve notifications associated with users.
+ * Provides methods to retrieve notifications associated with users. Group notifications are returned with the
+ * read state of the requesting user.
  * </p>
  *
  * @author Mahfuzur Rahman
@@ -23,39 +30,142 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 @Service
 public class NotificationService {
     private final NotificationRepository notificationRepository;
+    private final NotificationReadService notificationReadService;
+    private final RecentNotificationService recentNotificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new NotificationService with required repository.
      *
-     * @param notificationRepository the repository for notification operations
+     * @param notificationRepository    the repository for notification operations
+     * @param notificationReadService   the service tracking each user's reads of group notifications
+     * @param recentNotificationService the service holding the most recent notifications of online users
+     * @param eventPublisher            the publisher announcing saved notifications to push subscribers
      */
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository, NotificationReadService notificationReadService,
+                               RecentNotificationService recentNotificationService, ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
+        this.notificationReadService = notificationReadService;
+        this.recentNotificationService = recentNotificationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Retrieves all notifications for a given user.
      * <p>
-     * Fetches notifications directly addressed to the user as well as those sent to the user's role group (if applicable).
+     * Fetches notifications directly addressed to the user as well as those sent to the user's role group (if applicable),
+     * in a single query ordered by the database. Served from memory instead when the user's recent notifications
+     * are the whole inbox.
      * </p>
      *
      * @param user the user whose notifications are to be fetched
-     * @return a list of Notification objects
+     * @return a list of Notification objects, newest first
      */
     public List<Notification> getAllNotificationsByUser(User user) {
         int userId = user.getId();
-        String role = user.getRole().getDescription();
-        LOGGER.info("Fetching all notifications for user ID: {}, role: {}", userId, role);
+        LOGGER.info("Fetching all notifications for user ID: {}, role: {}", userId, user.getRole().getDescription());
 
-        List<Notification> notifications = notificationRepository.findByRecipientId(userId);
+        RecentNotificationService.RecentNotifications recent = recentNotificationService.getRecent(user);
+        List<Notification> notifications = recent != null && recent.complete()
+                ? recent.notifications()
+                : notificationRepository.findInbox(userId, recipientGroupOf(user), null, null, Limit.unlimited());
+        notificationReadService.applyReadState(user, notifications);
+        LOGGER.debug("Found {} notifications for user ID: {}", notifications.size(), userId);
+        return notifications;
+    }
 
-        if (!role.equalsIgnoreCase(Roles.PATIENT)) {
-            List<Notification> more = notificationRepository.findByRecipientGroup(role);
-            notifications.addAll(more);
+    /**
+     * Retrieves one page of the notifications of a given user, newest first.
+     * <p>
+     * Pages are addressed by an opaque cursor rather than an offset, so each page costs one index range scan
+     * regardless of how many notifications the user has. The first page of an online user is served from memory
+     * when the user's recent notifications cover it.
+     * </p>
+     *
+     * @param user   the user whose notifications are to be fetched
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the requested page size, or null for the default
+     * @return the page of notifications and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public NotificationPageDto getNotificationPageByUser(User user, String cursor, Integer size) {
+        int maxSize = Integer.parseInt(CONFIG_READER.get("notificationPageMaxSize"));
+        int pageSize = size == null ? Integer.parseInt(CONFIG_READER.get("notificationPageDefaultSize")) : Math.min(Math.max(size, 1), maxSize);
+        NotificationCursorCodec.Position after = IoHelper.isNullOrEmpty(cursor) ? null : NotificationCursorCodec.decode(cursor);
+        int userId = user.getId();
+        LOGGER.info("Fetching notification page for user ID: {}, size: {}, continued: {}", userId, pageSize, after != null);
+
+        RecentNotificationService.RecentNotifications recent = after == null ? recentNotificationService.getRecent(user) : null;
+        List<Notification> rows = recent != null && (recent.complete() || recent.notifications().size() > pageSize)
+                ? recent.notifications()
+                : notificationRepository.findInbox(userId, recipientGroupOf(user),
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        notificationReadService.applyReadState(user, page);
+        Notification last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore ? NotificationCursorCodec.encode(last.getCreatedAt(), last.getId()) : null;
+        return new NotificationPageDto(page, nextCursor, hasMore);
+    }
+
+    /**
+     * Retrieves the notifications of a given user created or modified after the given time.
+     * <p>
+     * Group notifications are included as well when the user's read state of the group changed, so that reads
+     * made on another device reach the client.
+     * </p>
+     *
+     * @param user  the user whose notifications are to be fetched
+     * @param since the exclusive lower bound of the modification time, or null for all notifications
+     * @return a list of Notification objects, newest first
+     */
+    public List<Notification> getNotificationsChangedSince(User user, LocalDateTime since) {
+        if (since == null) {
+            return getAllNotificationsByUser(user);
         }
+        int userId = user.getId();
+        LOGGER.info("Fetching notifications changed since {} for user ID: {}", since, userId);
 
-        LOGGER.debug("Found {} notifications for user ID: {}", notifications.size(), userId);
-        notifications.sort(Comparator.comparing(Notification::getCreatedAt).reversed());
+        List<Notification> notifications = notificationRepository.findChangedSince(userId, recipientGroupOf(user), since);
+        notificationReadService.applyReadState(user, notifications);
         return notifications;
     }
+
+    /**
+     * Sends a single notification and announces it to push subscribers.
+     *
+     * @param notification the notification to send
+     * @return the saved notification
+     */
+    public Notification send(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Sends the given notifications, inserting them in batches, and announces them to push subscribers
+     * together with their generated IDs.
+     *
+     * @param notifications the notifications to send
+     * @return the number of notifications sent
+     */
+    public int sendAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        int sent = notificationRepository.insertAll(notifications);
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.copyOf(notifications)));
+        LOGGER.info("Sent {} notifications", sent);
+        return sent;
+    }
+
+    /**
+     * Returns the recipient group whose notifications a user also receives, or null for patients.
+     */
+    private static String recipientGroupOf(User user) {
+        String role = user.getRole().getDescription();
+        return role.equalsIgnoreCase(Roles.PATIENT) ? null : role;
+    }
 }
@@ -0,0 +1,15 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.Notification;
+
+import java.util.List;
+
+
+/**
+ * Application event published by {@link NotificationService} whenever notifications are saved.
+ *
+ * @param notifications the saved notifications
+ * @author Mahfuzur Rahman
+ */
+public record NotificationsCreatedEvent(List<Notification> notifications) {
+}
@@ -0,0 +1,11 @@
+package edu.psgv.healpointbackend.service;
+
+
+/**
+ * Application event published by {@link NotificationReadService} whenever a user reads notifications.
+ *
+ * @param userId the ID of the user who read the notifications
+ * @author Mahfuzur Rahman
+ */
+public record NotificationsReadEvent(int userId) {
+}
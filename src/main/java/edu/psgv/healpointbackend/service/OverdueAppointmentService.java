@@ -0,0 +1,85 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for moving overdue SCHEDULED appointments to a final status.
+ * <p>
+ * Appointments still SCHEDULED after their end time plus a grace period are moved to the configured status
+ * (MISSED by default; visits that took place are expected to be marked COMPLETED during the grace period, so an
+ * unconfirmed visit is not reported as held). The job runs through {@link CheckpointedJobRunner} in ID-ordered
+ * chunks, each a single UPDATE committed together with the job checkpoint. Every UPDATE re-checks the status, so
+ * a row is never transitioned twice.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class OverdueAppointmentService {
+    static final String JOB_NAME = "OverdueAppointments";
+
+    private final AppointmentRepository appointmentRepository;
+    private final CheckpointedJobRunner jobRunner;
+
+    /**
+     * Constructs a new OverdueAppointmentService with required repository and runner.
+     *
+     * @param appointmentRepository the repository for appointment operations
+     * @param jobRunner             the runner processing the job in checkpointed chunks
+     */
+    public OverdueAppointmentService(AppointmentRepository appointmentRepository, CheckpointedJobRunner jobRunner) {
+        this.appointmentRepository = appointmentRepository;
+        this.jobRunner = jobRunner;
+    }
+
+    /**
+     * Runs the job on a fixed delay.
+     */
+    @Scheduled(initialDelay = 1, fixedDelay = 15, timeUnit = TimeUnit.MINUTES)
+    public void runScheduled() {
+        try {
+            transitionOverdueAppointments();
+        } catch (Exception e) {
+            LOGGER.error("Overdue appointment job failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Transitions all overdue appointments, resuming from the last checkpoint if the previous run was interrupted.
+     * Does nothing if another node holds the job lease.
+     *
+     * @return the number of appointments transitioned by this run
+     */
+    public long transitionOverdueAppointments() {
+        String targetStatus = CONFIG_READER.get("overdueAppointmentStatus").trim().toUpperCase(Locale.ROOT);
+        if (!targetStatus.equals(AppointmentStatus.COMPLETED) && !targetStatus.equals(AppointmentStatus.MISSED)) {
+            throw new IllegalStateException("overdueAppointmentStatus must be COMPLETED or MISSED.");
+        }
+        int chunkSize = Integer.parseInt(CONFIG_READER.get("overdueJobChunkSize"));
+        Duration leaseDuration = Duration.ofMinutes(Long.parseLong(CONFIG_READER.get("overdueJobLeaseMinutes")));
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(Long.parseLong(CONFIG_READER.get("overdueAppointmentGraceHours")));
+
+        long transitioned = jobRunner.run(JOB_NAME, leaseDuration,
+                afterId -> appointmentRepository.findOverdueIds(AppointmentStatus.SCHEDULED, cutoff.toLocalDate(),
+                        cutoff.toLocalTime(), afterId, Limit.of(chunkSize)),
+                (afterId, upToId) -> appointmentRepository.transitionOverdue(AppointmentStatus.SCHEDULED, targetStatus, afterId,
+                        upToId, cutoff.toLocalDate(), cutoff.toLocalTime(), LocalDateTime.now()));
+        if (transitioned > 0) {
+            LOGGER.info("Overdue appointment job moved {} appointments to {}", transitioned, targetStatus);
+        }
+        return transitioned;
+    }
+}
@@ -2,15 +2,21 @@ package edu.psgv.healpointbackend.service;
 
 import edu.psgv.healpointbackend.dto.PrescriptionDto;
 import edu.psgv.healpointbackend.model.*;
-import edu.psgv.healpointbackend.repository.NotificationRepository;
 import edu.psgv.healpointbackend.repository.PatientRepository;
 import edu.psgv.healpointbackend.repository.PrescriptionRepository;
 import edu.psgv.healpointbackend.utilities.IoHelper;
+import edu.psgv.healpointbackend.utilities.PrescriptionDiff;
 import edu.psgv.healpointbackend.utilities.PrescriptionDiffUtil;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
@@ -28,7 +34,8 @@ import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 public class PrescriptionService {
     private final PrescriptionRepository prescriptionRepository;
     private final PatientRepository patientRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final NotificationCoalescer notificationCoalescer;
     private final PrescriptionDiffUtil prescriptionDiffUtil;
 
 
@@ -37,12 +44,17 @@ public class PrescriptionService {
      *
      * @param prescriptionRepository the repository for prescription operations
      * @param patientRepository      the repository for patient operations
+     * @param notificationOutbox     the outbox storing change notifications with the prescription
+     * @param notificationCoalescer  the coalescer merging refill requests into digests
+     * @param prescriptionDiffUtil   the utility computing and rendering prescription changes
      */
     public PrescriptionService(PrescriptionRepository prescriptionRepository, PatientRepository patientRepository,
-                               NotificationRepository notificationRepository, PrescriptionDiffUtil prescriptionDiffUtil) {
+                               NotificationOutbox notificationOutbox, NotificationCoalescer notificationCoalescer,
+                               PrescriptionDiffUtil prescriptionDiffUtil) {
         this.prescriptionRepository = prescriptionRepository;
         this.patientRepository = patientRepository;
-        this.notificationRepository = notificationRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.notificationCoalescer = notificationCoalescer;
         this.prescriptionDiffUtil = prescriptionDiffUtil;
     }
 
@@ -81,11 +93,15 @@ public class PrescriptionService {
      * Upserts (creates or updates) a prescription for a given patient.
      * <p>
      * Validates the patient existence and checks for duplicate medications before saving.
+     * If the DTO carries the version the doctor edited, the upsert is rejected when the stored prescription
+     * has moved on since; the save itself is always guarded by the prescription's version column.
      * </p>
      *
      * @param prescriptionDto the DTO containing prescription data
-     * @throws IllegalArgumentException if the patient does not exist or if there are duplicate medications
+     * @throws IllegalArgumentException          if the patient does not exist or if there are duplicate medications
+     * @throws OptimisticLockingFailureException if the prescription was modified concurrently
      */
+    @Transactional
     public void upsertPrescription(PrescriptionDto prescriptionDto) {
         int patientId = prescriptionDto.getPatientId();
         LOGGER.info("Starting upsert operation for prescription of patientId={}", patientId);
@@ -103,23 +119,30 @@ public class PrescriptionService {
         }
 
         Prescription prescription = prescriptionRepository.findByPatientId(patientId).orElse(new Prescription());
+        if (prescriptionDto.getVersion() != null && !prescriptionDto.getVersion().equals(prescription.getVersion())) {
+            LOGGER.warn("Stale prescription upsert for patientId={}: edited version {}, stored version {}",
+                    patientId, prescriptionDto.getVersion(), prescription.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Prescription.class, prescription.getId());
+        }
 
         prescription.setPatient(patient);
         prescription.setInstruction(prescriptionDto.getInstruction());
 
+        String report = null;
         if (prescriptionDto.getPrescriptionItems() != null) {
-            String report = prescriptionDiffUtil.diffReport(prescription.getPrescriptionItems(), prescriptionDto.getPrescriptionItems());
-            if (!IoHelper.isNullOrEmpty(report)) {
-                Notification notification = Notification.builder().message(report).recipientId(patientId).build();
-                notificationRepository.save(notification);
-            }
-
-            LOGGER.debug("Adding {} prescription items for patientId={}", prescriptionDto.getPrescriptionItems().size(), patientId);
-            prescription.getPrescriptionItems().clear();
-            prescription.getPrescriptionItems().addAll(prescriptionDto.getPrescriptionItems());
+            PrescriptionDiff diff = prescriptionDiffUtil.diff(prescription.getPrescriptionItems(), prescriptionDto.getPrescriptionItems());
+            report = prescriptionDiffUtil.render(diff);
+            mergeItems(prescription, diff);
+            LOGGER.debug("Merged prescription items for patientId={}: {} added, {} removed, {} changed",
+                    patientId, diff.added().size(), diff.removed().size(), diff.changed().size());
         }
 
         prescriptionRepository.save(prescription);
+
+        if (!IoHelper.isNullOrEmpty(report)) {
+            Notification notification = Notification.builder().message(report).recipientId(patientId).build();
+            notificationOutbox.enqueue(notification);
+        }
         LOGGER.info("Prescription upsert operation completed for patientId={}", patientId);
     }
 
@@ -127,7 +150,8 @@ public class PrescriptionService {
      * Requests a prescription refill for the specified patient and medications.
      * <p>
      * Validates patient existence and checks that all requested medications exist in the current prescription.
-     * Creates a notification for the doctor's group if successful.
+     * Notifies the doctor's group if successful; repeated requests of the patient are merged into one notification
+     * and requests of several patients are sent as a digest.
      * </p>
      *
      * @param patientId   the ID of the patient requesting the refill
@@ -153,12 +177,40 @@ public class PrescriptionService {
             throw new IllegalArgumentException("One or more medications not found in existing prescription");
         }
 
-        String message = String.format("%s, %s (ID: %d) requested a refill for %s",
-                patient.getLastName(), patient.getFirstName(), patient.getId(), String.join(", ", medications));
-        Notification notification = Notification.builder().userId(patientId).message(message).recipientGroup(Roles.DOCTOR).build();
+        String summary = String.format("%s, %s (ID: %d) requested a refill for",
+                patient.getLastName(), patient.getFirstName(), patient.getId());
+        notificationCoalescer.submit(Roles.DOCTOR, "refill:" + patientId, patientId, summary, medications);
+        LOGGER.info("Refill request notification submitted for patientId={}", patientId);
+    }
 
-        notificationRepository.save(notification);
-        LOGGER.info("Refill request notification created for patientId={}", patientId);
+    /**
+     * Applies a diff to the items of a prescription in place.
+     * <p>
+     * Changed items keep their rows and take the new values, added items are inserted and removed items are
+     * deleted through orphan removal, so saving writes only the rows in the diff. An existing prescription is
+     * marked as modified as well, which keeps its version guarding edits of the items.
+     * </p>
+     *
+     * @param prescription the prescription whose items the diff was computed from
+     * @param diff         the diff between the stored and the submitted items
+     */
+    private void mergeItems(Prescription prescription, PrescriptionDiff diff) {
+        Set<PrescriptionItem> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(diff.removed());
+        prescription.getPrescriptionItems().removeIf(removed::contains);
+
+        for (PrescriptionDiff.ItemChange change : diff.changed()) {
+            change.oldItem().setMedication(change.newItem().getMedication());
+            change.fields().forEach(field -> field.field().apply(change.oldItem(), field.newValue()));
+        }
+
+        // Added items are always new rows, whatever ID the client sent
+        diff.added().forEach(item -> item.setId(null));
+        prescription.getPrescriptionItems().addAll(diff.added());
+
+        if (!diff.isEmpty() && prescription.getId() != null) {
+            prescription.markItemsChanged();
+        }
     }
 
     /**
@@ -1,14 +1,21 @@
 package edu.psgv.healpointbackend.service;
 
+import edu.psgv.healpointbackend.common.state.DoctorDirectoryIndex;
 import edu.psgv.healpointbackend.model.*;
 import edu.psgv.healpointbackend.repository.DoctorRepository;
 import edu.psgv.healpointbackend.repository.PatientRepository;
 import edu.psgv.healpointbackend.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
 
@@ -24,18 +31,22 @@ public class ProfileGetService {
     private final UserRepository userRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final DoctorDirectoryIndex doctorDirectoryIndex;
 
     /**
      * Constructs a ProfileGetService with required repositories and datastore.
      *
-     * @param userRepository    repository for User entities
-     * @param patientRepository repository for Patient entities
-     * @param doctorRepository  repository for Doctor entities
+     * @param userRepository       repository for User entities
+     * @param patientRepository    repository for Patient entities
+     * @param doctorRepository     repository for Doctor entities
+     * @param doctorDirectoryIndex in-memory index backing the doctor directory search
      */
-    public ProfileGetService(UserRepository userRepository, PatientRepository patientRepository, DoctorRepository doctorRepository) {
+    public ProfileGetService(UserRepository userRepository, PatientRepository patientRepository, DoctorRepository doctorRepository,
+                             DoctorDirectoryIndex doctorDirectoryIndex) {
         this.userRepository = userRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
+        this.doctorDirectoryIndex = doctorDirectoryIndex;
     }
 
     /**
@@ -126,4 +137,59 @@ public class ProfileGetService {
         LOGGER.info("Total doctor profiles fetched: {}", profiles.size());
         return profiles;
     }
+
+    /**
+     * Searches the doctor directory through the in-memory index. Every filter is optional.
+     *
+     * @param specialty a specialty the doctor must have
+     * @param language  a language the doctor must speak
+     * @param name      one or more name prefixes, each matching the doctor's first or last name
+     * @return list of matching DoctorProfile objects
+     */
+    public List<DoctorProfile> searchDoctors(String specialty, String language, String name) {
+        List<DoctorProfile> profiles = doctorDirectoryIndex.search(specialty, language, name);
+        LOGGER.info("Doctor directory search specialty={} language={} name={} matched {} doctors", specialty, language, name, profiles.size());
+        return profiles;
+    }
+
+    /**
+     * Rebuilds the doctor directory index from the database once the application is ready.
+     * Users are fetched in a single batch rather than one lookup per doctor.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildDoctorDirectory() {
+        List<Doctor> doctors = doctorRepository.findAll();
+        Map<Integer, User> users = userRepository.findAllById(doctors.stream().map(Doctor::getId).toList()).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        List<DoctorProfile> profiles = new ArrayList<>(doctors.size());
+        for (Doctor doctor : doctors) {
+            User user = users.get(doctor.getId());
+            if (user != null) {
+                profiles.add(new DoctorProfile(doctor, user.getEmail(), user.getRole().getDescription(), user.getIsActive()));
+            }
+        }
+        doctorDirectoryIndex.rebuild(profiles);
+        LOGGER.info("Doctor directory index built with {} doctors", doctorDirectoryIndex.size());
+    }
+
+    /**
+     * Re-indexes a registered or updated doctor once the change commits.
+     *
+     * @param event the event carrying the doctor's profile
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorProfileChanged(DoctorProfileChangedEvent event) {
+        doctorDirectoryIndex.upsert(event.profile());
+    }
+
+    /**
+     * Applies an account status change to the doctor directory once it commits.
+     *
+     * @param event the event identifying the account and its new status
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountStatusChanged(AccountStatusChangedEvent event) {
+        doctorDirectoryIndex.updateStatus(event.userId(), event.isActive());
+    }
 }
@@ -4,6 +4,7 @@ import edu.psgv.healpointbackend.common.state.Datastore;
 import edu.psgv.healpointbackend.dto.NewPasswordDto;
 import edu.psgv.healpointbackend.dto.UpdateProfileDto;
 import edu.psgv.healpointbackend.model.Doctor;
+import edu.psgv.healpointbackend.model.DoctorProfile;
 import edu.psgv.healpointbackend.model.Patient;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
@@ -12,6 +13,7 @@ import edu.psgv.healpointbackend.repository.PatientRepository;
 import edu.psgv.healpointbackend.repository.UserRepository;
 import edu.psgv.healpointbackend.utilities.PasswordUtils;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
@@ -29,6 +31,7 @@ public class ProfileUpdateService {
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final Datastore datastore;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a ProfileService with required repositories and datastore.
@@ -37,13 +40,15 @@ public class ProfileUpdateService {
      * @param patientRepository repository for Patient entities
      * @param doctorRepository  repository for Doctor entities
      * @param datastore         datastore for user session management
+     * @param eventPublisher    publisher announcing updated doctor profiles
      */
     public ProfileUpdateService(UserRepository userRepository, PatientRepository patientRepository,
-                                DoctorRepository doctorRepository, Datastore datastore) {
+                                DoctorRepository doctorRepository, Datastore datastore, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.datastore = datastore;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -209,6 +214,8 @@ public class ProfileUpdateService {
         doctor.setLanguages(dto.getLanguages());
 
         doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new DoctorProfileChangedEvent(
+                new DoctorProfile(doctor, user.getEmail(), user.getRole().getDescription(), user.getIsActive())));
         LOGGER.info("Updated Doctor profile for email={}", user.getEmail());
     }
 }
@@ -0,0 +1,214 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.common.state.Datastore;
+import edu.psgv.healpointbackend.common.state.RecentNotificationBuffer;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for serving the most recent notifications of online users from memory.
+ * <p>
+ * Each user online in {@link Datastore} gets a {@link RecentNotificationBuffer}, seeded from the database on the
+ * user's first inbox view and fed with new notifications once their transaction commits. A notification without
+ * an ID and reads of direct notifications drop the affected buffers instead, so they are reseeded on the next
+ * view. Every change bumps a generation counter; a buffer seeded while the counter moved is used for that request
+ * only, which keeps a concurrent change from being lost. Buffers are held per application instance and only see
+ * changes made through it, so each buffer is reseeded once it is older than the configured time to live, which
+ * bounds how long notifications and reads from other instances stay invisible. Buffers of users who went offline
+ * and expired buffers are evicted periodically.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class RecentNotificationService {
+    private static final Comparator<Notification> NEWEST_FIRST = Comparator.comparing(Notification::getCreatedAt)
+            .thenComparing(Notification::getId).reversed();
+
+    private final NotificationRepository notificationRepository;
+    private final Datastore datastore;
+    private final ConcurrentHashMap<Integer, UserBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final int capacity;
+    private final long timeToLiveNanos;
+
+    /**
+     * Constructs a new RecentNotificationService with required repository and datastore.
+     *
+     * @param notificationRepository the repository for notification operations
+     * @param datastore              the datastore of online users
+     */
+    public RecentNotificationService(NotificationRepository notificationRepository, Datastore datastore) {
+        this.notificationRepository = notificationRepository;
+        this.datastore = datastore;
+        this.capacity = Integer.parseInt(CONFIG_READER.get("recentNotificationBufferSize"));
+        this.timeToLiveNanos = Duration.ofSeconds(Long.parseLong(CONFIG_READER.get("recentNotificationBufferTimeToLiveSeconds"))).toNanos();
+    }
+
+    /**
+     * Returns the most recent notifications of an online user, seeding the user's buffer on a miss.
+     * The returned notifications are copies the caller may modify.
+     *
+     * @param user the user
+     * @return the recent notifications, or null if the user is offline or the buffer is being written concurrently
+     */
+    public RecentNotifications getRecent(User user) {
+        int userId = user.getId();
+        String group = groupOf(user);
+        long now = System.nanoTime();
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer == null || !Objects.equals(buffer.group(), group) || buffer.isExpired(now)) {
+            if (!datastore.isOnline(userId)) {
+                return null;
+            }
+            buffer = load(userId, group, now);
+        }
+
+        List<Notification> snapshot = buffer.buffer().snapshot();
+        if (snapshot == null) {
+            return null;
+        }
+        // Commit order may differ slightly from creation order, and a notification may be both seeded and fed
+        Map<Integer, Notification> unique = new LinkedHashMap<>();
+        snapshot.stream().sorted(NEWEST_FIRST).forEach(notification -> unique.putIfAbsent(notification.getId(), notification));
+        boolean complete = !buffer.truncated() && buffer.buffer().getAddedCount() <= capacity;
+        return new RecentNotifications(unique.values().stream().map(RecentNotificationService::copyOf).toList(), complete);
+    }
+
+    /**
+     * Adds saved notifications to the buffers of their online recipients once the saving transaction commits.
+     *
+     * @param event the event carrying the saved notifications
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        generation.incrementAndGet();
+        for (Notification notification : event.notifications()) {
+            if (notification.getRecipientId() != null) {
+                UserBuffer buffer = buffers.get(notification.getRecipientId());
+                if (buffer != null) {
+                    addOrDrop(notification.getRecipientId(), buffer, notification);
+                }
+            }
+            if (notification.getRecipientGroup() != null) {
+                buffers.forEach((userId, buffer) -> {
+                    if (notification.getRecipientGroup().equalsIgnoreCase(buffer.group())) {
+                        addOrDrop(userId, buffer, notification);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Drops the buffer of a user who read notifications, so the read flags are reloaded on the next view.
+     *
+     * @param event the event identifying the user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        generation.incrementAndGet();
+        buffers.remove(event.userId());
+    }
+
+    /**
+     * Drops every buffer, for example after notifications were removed in bulk.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        buffers.clear();
+    }
+
+    /**
+     * Drops the buffers of users who are no longer online and the buffers past their time to live.
+     */
+    @Scheduled(initialDelay = 5, fixedRate = 5, timeUnit = TimeUnit.MINUTES)
+    public void evictOffline() {
+        long now = System.nanoTime();
+        int before = buffers.size();
+        buffers.entrySet().removeIf(entry -> !datastore.isOnline(entry.getKey()) || entry.getValue().isExpired(now));
+        LOGGER.debug("Evicted {} offline or expired recent notification buffers", before - buffers.size());
+    }
+
+    /**
+     * Seeds a buffer with the newest notifications of a user. The buffer is published before the generation is
+     * checked, so a change either finds it in the map or makes this method take it back.
+     */
+    private UserBuffer load(int userId, String group, long now) {
+        long seenGeneration = generation.get();
+        List<Notification> rows = notificationRepository.findInbox(userId, group, null, null, Limit.of(capacity + 1));
+        RecentNotificationBuffer buffer = new RecentNotificationBuffer(capacity);
+        for (int i = Math.min(rows.size(), capacity) - 1; i >= 0; i--) {
+            buffer.add(copyOf(rows.get(i)));
+        }
+
+        UserBuffer loaded = new UserBuffer(buffer, group, rows.size() > capacity, now + timeToLiveNanos);
+        buffers.put(userId, loaded);
+        if (generation.get() != seenGeneration) {
+            buffers.remove(userId, loaded);
+        }
+        LOGGER.debug("Seeded recent notification buffer of user ID: {} with {} notifications", userId, Math.min(rows.size(), capacity));
+        return loaded;
+    }
+
+    private void addOrDrop(int userId, UserBuffer buffer, Notification notification) {
+        if (notification.getId() == null) {
+            buffers.remove(userId, buffer);
+        } else {
+            buffer.buffer().add(copyOf(notification));
+        }
+    }
+
+    /**
+     * Copies a notification, so buffered notifications are never managed entities and are never shared with callers.
+     */
+    private static Notification copyOf(Notification notification) {
+        Notification copy = Notification.builder().userId(notification.getUserId()).recipientId(notification.getRecipientId())
+                .recipientGroup(notification.getRecipientGroup()).message(notification.getMessage()).build();
+        copy.setId(notification.getId());
+        copy.setIsRead(notification.getIsRead());
+        copy.setCreatedAt(notification.getCreatedAt());
+        copy.setUpdatedAt(notification.getUpdatedAt());
+        return copy;
+    }
+
+    private static String groupOf(User user) {
+        String role = user.getRole().getDescription();
+        return role.equalsIgnoreCase(Roles.PATIENT) ? null : role;
+    }
+
+    /**
+     * The most recent notifications of a user, newest first.
+     *
+     * @param notifications the notifications
+     * @param complete      true if the notifications are the user's whole inbox
+     */
+    public record RecentNotifications(List<Notification> notifications, boolean complete) {
+    }
+
+    private record UserBuffer(RecentNotificationBuffer buffer, String group, boolean truncated, long expiresAt) {
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
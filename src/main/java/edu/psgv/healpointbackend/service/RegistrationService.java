@@ -5,6 +5,7 @@ import edu.psgv.healpointbackend.model.*;
 import edu.psgv.healpointbackend.repository.*;
 import edu.psgv.healpointbackend.utilities.IoHelper;
 import edu.psgv.healpointbackend.utilities.PasswordUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +26,7 @@ public class RegistrationService {
     private final DoctorRepository doctorRepository;
     private final RoleRepository roleRepository;
     private final EmployeeAccountRepository employeeAccountRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a RegistrationService with required repositories.
@@ -33,13 +35,16 @@ public class RegistrationService {
      * @param patientRepository repository for patient entities
      * @param doctorRepository  repository for doctor entities
      * @param roleRepository    repository for role entities
+     * @param eventPublisher    publisher announcing newly registered doctors
      */
-    public RegistrationService(UserRepository userRepository, PatientRepository patientRepository, DoctorRepository doctorRepository, RoleRepository roleRepository, EmployeeAccountRepository employeeAccountRepository) {
+    public RegistrationService(UserRepository userRepository, PatientRepository patientRepository, DoctorRepository doctorRepository, RoleRepository roleRepository,
+                               EmployeeAccountRepository employeeAccountRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.roleRepository = roleRepository;
         this.employeeAccountRepository = employeeAccountRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -118,7 +123,10 @@ public class RegistrationService {
                 patientRepository.save(createPatient(newUser, request));
             } else if (role.getDescription().equalsIgnoreCase(Roles.DOCTOR)) {
                 LOGGER.info("Creating Doctor profile for user ID: {}", newUser.getId());
-                doctorRepository.save(createDoctor(newUser, request));
+                Doctor doctor = createDoctor(newUser, request);
+                doctorRepository.save(doctor);
+                eventPublisher.publishEvent(new DoctorProfileChangedEvent(
+                        new DoctorProfile(doctor, newUser.getEmail(), role.getDescription(), newUser.getIsActive())));
             }
 
             LOGGER.info("Registration completed successfully for email: {}", request.getEmail());
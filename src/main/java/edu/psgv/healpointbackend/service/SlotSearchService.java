@@ -0,0 +1,255 @@
+package edu.psgv.healpointbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import edu.psgv.healpointbackend.common.state.DoctorDirectoryIndex;
+import edu.psgv.healpointbackend.dto.SlotSearchResultDto;
+import edu.psgv.healpointbackend.model.*;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.repository.DoctorRepository;
+import edu.psgv.healpointbackend.repository.WorkDayRepository;
+import edu.psgv.healpointbackend.utilities.IoHelper;
+import edu.psgv.healpointbackend.utilities.SlotGenerator;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for finding the earliest open appointment slots across doctors.
+ * <p>
+ * Each matching doctor is represented by a cursor that walks their open slots in chronological order,
+ * one work day at a time. The cursors are merged through a priority queue (k-way merge) and the search
+ * stops as soon as the requested number of slots has been found, so only the days actually visited are
+ * computed. Booked appointments are loaded once per visited date for all candidate doctors.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class SlotSearchService {
+    private static final Comparator<DoctorSlotCursor> EARLIEST_FIRST = Comparator
+            .comparing(DoctorSlotCursor::getDate)
+            .thenComparing(cursor -> cursor.getSlot().getStartTime())
+            .thenComparing(cursor -> cursor.getDoctor().getId());
+
+    private final DoctorRepository doctorRepository;
+    private final WorkDayRepository workDayRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotGenerator slotGenerator;
+    private final DoctorDirectoryIndex doctorDirectoryIndex;
+
+    /**
+     * Constructs a new SlotSearchService with required repositories.
+     *
+     * @param doctorRepository      the repository for doctor operations
+     * @param workDayRepository     the repository for work day operations
+     * @param appointmentRepository the repository for appointment operations
+     * @param slotGenerator         the generator for a work day's slots
+     * @param doctorDirectoryIndex  the index used to resolve the specialty and language filters
+     */
+    public SlotSearchService(DoctorRepository doctorRepository, WorkDayRepository workDayRepository,
+                             AppointmentRepository appointmentRepository, SlotGenerator slotGenerator,
+                             DoctorDirectoryIndex doctorDirectoryIndex) {
+        this.doctorRepository = doctorRepository;
+        this.workDayRepository = workDayRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.slotGenerator = slotGenerator;
+        this.doctorDirectoryIndex = doctorDirectoryIndex;
+    }
+
+    /**
+     * Finds the earliest open slots matching the given filters. All filters are optional.
+     *
+     * @param specialty the specialty the doctor must have
+     * @param language  the language the doctor must speak
+     * @param fromDate  the first date to search; defaults to tomorrow
+     * @param toDate    the last date to search; capped to the booking horizon
+     * @param fromTime  the earliest slot start time
+     * @param toTime    the latest slot end time
+     * @param limit     the maximum number of slots to return; defaults to and is capped by configuration
+     * @return the open slots in chronological order
+     * @throws IllegalArgumentException if the date or time window is empty
+     */
+    public List<SlotSearchResultDto> searchEarliestSlots(String specialty, String language, LocalDate fromDate, LocalDate toDate,
+                                                         LocalTime fromTime, LocalTime toTime, Integer limit) {
+        LocalDate minDate = LocalDate.now().plusDays(1);
+        LocalDate maxDate = minDate.plusDays(AppointmentAvailabilityService.MAX_APPOINTMENT_DAYS - 1L);
+        LocalDate start = fromDate == null || fromDate.isBefore(minDate) ? minDate : fromDate;
+        LocalDate end = toDate == null || toDate.isAfter(maxDate) ? maxDate : toDate;
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("The search date range is empty or outside the booking window.");
+        }
+        if (fromTime != null && toTime != null && !fromTime.isBefore(toTime)) {
+            throw new IllegalArgumentException("The start of the time window must be before its end.");
+        }
+
+        int maxResults = Integer.parseInt(CONFIG_READER.get("slotSearchMaxLimit"));
+        int k = limit == null ? Integer.parseInt(CONFIG_READER.get("slotSearchDefaultLimit")) : Math.min(Math.max(limit, 1), maxResults);
+        LOGGER.info("Searching {} earliest slots: specialty={}, language={}, dates={}..{}, times={}..{}",
+                k, specialty, language, start, end, fromTime, toTime);
+
+        List<Doctor> doctors = findDoctors(specialty, language);
+        if (doctors.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Integer> doctorIds = doctors.stream().map(Doctor::getId).collect(Collectors.toSet());
+        Map<Integer, Map<String, WorkDay>> schedules = workDayRepository.findByDoctorIdIn(doctorIds).stream()
+                .collect(Collectors.groupingBy(workDay -> workDay.getDoctor().getId(),
+                        Collectors.toMap(WorkDay::getDayName, workDay -> workDay, (first, second) -> first)));
+        BookedSlotLookup booked = new BookedSlotLookup(doctorIds);
+
+        PriorityQueue<DoctorSlotCursor> queue = new PriorityQueue<>(EARLIEST_FIRST);
+        for (Doctor doctor : doctors) {
+            Map<String, WorkDay> schedule = schedules.get(doctor.getId());
+            if (schedule == null) {
+                continue;
+            }
+            DoctorSlotCursor cursor = new DoctorSlotCursor(doctor, schedule, start, end, fromTime, toTime, booked);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        List<SlotSearchResultDto> results = new ArrayList<>(k);
+        while (results.size() < k && !queue.isEmpty()) {
+            DoctorSlotCursor cursor = queue.poll();
+            results.add(new SlotSearchResultDto(cursor.getDoctor(), cursor.getDate(), cursor.getSlot()));
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        LOGGER.info("Slot search returned {} slots after loading bookings for {} dates", results.size(), booked.getLoadedDateCount());
+        return results;
+    }
+
+    /**
+     * Resolves the doctors matching the filters through the directory index, loading only those doctors.
+     *
+     * @param specialty the specialty filter, may be empty
+     * @param language  the language filter, may be empty
+     * @return the matching doctors
+     */
+    private List<Doctor> findDoctors(String specialty, String language) {
+        if (IoHelper.isNullOrEmpty(specialty) && IoHelper.isNullOrEmpty(language)) {
+            return doctorRepository.findAll();
+        }
+        List<Integer> doctorIds = doctorDirectoryIndex.search(specialty, language, null).stream().map(Doctor::getId).toList();
+        return doctorIds.isEmpty() ? Collections.emptyList() : doctorRepository.findAllById(doctorIds);
+    }
+
+    /**
+     * Lazily loads the booked intervals of all candidate doctors, one query per date.
+     */
+    private final class BookedSlotLookup {
+        private final Set<Integer> doctorIds;
+        private final Map<LocalDate, Map<Integer, List<Slot>>> bookedByDate = new HashMap<>();
+
+        private BookedSlotLookup(Set<Integer> doctorIds) {
+            this.doctorIds = doctorIds;
+        }
+
+        private List<Slot> get(LocalDate date, int doctorId) {
+            return bookedByDate.computeIfAbsent(date, key -> appointmentRepository.findByAppointmentDateAndDoctorIdIn(key, doctorIds).stream()
+                            .filter(appointment -> !appointment.getStatus().equalsIgnoreCase(AppointmentStatus.CANCELED))
+                            .collect(Collectors.groupingBy(appointment -> appointment.getDoctor().getId(),
+                                    Collectors.mapping(appointment -> new Slot(appointment.getStartTime(), appointment.getEndTime()), Collectors.toList()))))
+                    .getOrDefault(doctorId, Collections.emptyList());
+        }
+
+        private int getLoadedDateCount() {
+            return bookedByDate.size();
+        }
+    }
+
+    /**
+     * Walks one doctor's open slots in chronological order, computing each work day only when reached.
+     */
+    private final class DoctorSlotCursor {
+        private final Doctor doctor;
+        private final Map<String, WorkDay> schedule;
+        private final LocalDate end;
+        private final LocalTime fromTime;
+        private final LocalTime toTime;
+        private final BookedSlotLookup booked;
+        private LocalDate date;
+        private Iterator<Slot> daySlots = Collections.emptyIterator();
+        private Slot slot;
+
+        private DoctorSlotCursor(Doctor doctor, Map<String, WorkDay> schedule, LocalDate start, LocalDate end,
+                                 LocalTime fromTime, LocalTime toTime, BookedSlotLookup booked) {
+            this.doctor = doctor;
+            this.schedule = schedule;
+            this.date = start.minusDays(1);
+            this.end = end;
+            this.fromTime = fromTime;
+            this.toTime = toTime;
+            this.booked = booked;
+        }
+
+        /**
+         * Moves to the doctor's next open slot.
+         *
+         * @return true if a slot was found, false if the doctor has no more open slots in the date range
+         */
+        private boolean advance() {
+            while (!daySlots.hasNext()) {
+                if (!date.isBefore(end)) {
+                    return false;
+                }
+                date = date.plusDays(1);
+                WorkDay workDay = schedule.get(date.getDayOfWeek().name().substring(0, 3));
+                if (workDay != null) {
+                    daySlots = openSlots(workDay).iterator();
+                }
+            }
+            slot = daySlots.next();
+            return true;
+        }
+
+        private List<Slot> openSlots(WorkDay workDay) {
+            try {
+                List<Slot> slots = slotGenerator.generateSlots(workDay.getStartTime(), workDay.getEndTime());
+                slots.removeIf(candidate -> (fromTime != null && candidate.getStartTime().isBefore(fromTime))
+                        || (toTime != null && candidate.getEndTime().isAfter(toTime)));
+                if (!slots.isEmpty()) {
+                    // Appointments may start off the slot grid or span several slots, so any overlap takes the slot
+                    List<Slot> bookedSlots = booked.get(date, doctor.getId());
+                    slots.removeIf(candidate -> bookedSlots.stream().anyMatch(taken -> candidate.getStartTime().isBefore(taken.getEndTime())
+                            && taken.getStartTime().isBefore(candidate.getEndTime())));
+                }
+                return slots;
+            } catch (JsonProcessingException e) {
+                LOGGER.error("Error generating slots for doctor {} on {}", doctor.getId(), date, e);
+                return Collections.emptyList();
+            }
+        }
+
+        private Doctor getDoctor() {
+            return doctor;
+        }
+
+        private LocalDate getDate() {
+            return date;
+        }
+
+        private Slot getSlot() {
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.dto.SyncChangesDto;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.User;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for delta synchronization of a user's appointments and notifications.
+ * <p>
+ * A client passes the watermark returned by its previous sync and receives only the rows created or
+ * modified after it. Canceled appointments are returned as tombstones (IDs only) so the client can drop them.
+ * The returned watermark is taken before the queries run and moved back by a small overlap, so rows
+ * committed while a sync is in flight are picked up by the next one; clients apply changes by ID,
+ * which makes the occasional repeat harmless.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class SyncService {
+    private final AppointmentService appointmentService;
+    private final NotificationService notificationService;
+
+    /**
+     * Constructs a new SyncService with required services.
+     *
+     * @param appointmentService  the service for appointment operations
+     * @param notificationService the service for notification operations
+     */
+    public SyncService(AppointmentService appointmentService, NotificationService notificationService) {
+        this.appointmentService = appointmentService;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Retrieves the changes visible to the given user since the given watermark.
+     *
+     * @param user  the user to synchronize
+     * @param since the watermark of the previous sync, or null for a full sync
+     * @return the changed appointments, the IDs of canceled appointments, the changed notifications and the next watermark
+     */
+    public SyncChangesDto getChangesSince(User user, LocalDateTime since) {
+        long overlapSeconds = Long.parseLong(CONFIG_READER.get("syncWatermarkOverlapSeconds"));
+        LocalDateTime watermark = LocalDateTime.now().minusSeconds(overlapSeconds);
+
+        List<AppointmentSummaryDto> appointments = new ArrayList<>();
+        List<Integer> canceledAppointmentIds = new ArrayList<>();
+        for (AppointmentSummaryDto appointment : appointmentService.getAppointmentsChangedSince(user, since)) {
+            if (appointment.getStatus().equalsIgnoreCase(AppointmentStatus.CANCELED)) {
+                canceledAppointmentIds.add(appointment.getId());
+            } else {
+                appointments.add(appointment);
+            }
+        }
+        List<Notification> notifications = notificationService.getNotificationsChangedSince(user, since);
+
+        LOGGER.info("Sync for user ID: {} since {}: {} appointments, {} canceled, {} notifications",
+                user.getId(), since, appointments.size(), canceledAppointmentIds.size(), notifications.size());
+        return new SyncChangesDto(watermark, since == null, appointments, canceledAppointmentIds, notifications);
+    }
+}
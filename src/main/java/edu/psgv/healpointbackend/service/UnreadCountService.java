@@ -0,0 +1,187 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static edu.psgv.healpointbackend.HealpointBackendApplication.CONFIG_READER;
+import static edu.psgv.healpointbackend.HealpointBackendApplication.LOGGER;
+
+
+/**
+ * Service class for serving unread notification counts from memory.
+ * <p>
+ * Each user's count is split into the unread notifications addressed to the user and the group notifications the
+ * user has read, and each group keeps its total number of notifications; a user's unread count is the direct
+ * count plus the group total minus what the user has read. New notifications increment the counters once their
+ * transaction commits, and a user's counters are reloaded after the user reads something. Every counter is
+ * reloaded from the database when it is older than the configured time to live, which corrects any drift.
+ * Counters are held per application instance.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@Service
+public class UnreadCountService {
+    private final NotificationRepository notificationRepository;
+    private final NotificationReadService notificationReadService;
+    private final ConcurrentHashMap<Integer, UserCounts> userCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, GroupCount> groupCounts = new ConcurrentHashMap<>();
+    private final long timeToLiveNanos;
+
+    /**
+     * Constructs a new UnreadCountService with required repository and service.
+     *
+     * @param notificationRepository  the repository for notification operations
+     * @param notificationReadService the service tracking each user's reads of group notifications
+     */
+    public UnreadCountService(NotificationRepository notificationRepository, NotificationReadService notificationReadService) {
+        this.notificationRepository = notificationRepository;
+        this.notificationReadService = notificationReadService;
+        this.timeToLiveNanos = Duration.ofMinutes(Long.parseLong(CONFIG_READER.get("unreadCountTimeToLiveMinutes"))).toNanos();
+    }
+
+    /**
+     * Returns the number of notifications the given user has not read.
+     *
+     * @param user the user
+     * @return the number of unread notifications
+     */
+    public long getUnreadCount(User user) {
+        long now = System.nanoTime();
+        String group = groupOf(user);
+        UserCounts counts = userCounts.get(user.getId());
+        if (counts == null || counts.isExpired(now)) {
+            counts = loadUserCounts(user, group, now);
+            userCounts.put(user.getId(), counts);
+        }
+
+        long unread = counts.directUnread.get();
+        if (group != null) {
+            unread += getGroupTotal(group, now) - counts.groupRead;
+        }
+        return Math.max(unread, 0);
+    }
+
+    /**
+     * Counts saved notifications towards the cached counters of their recipients once the saving transaction commits.
+     *
+     * @param event the event carrying the saved notifications
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (Notification notification : event.notifications()) {
+            if (notification.getRecipientId() != null) {
+                UserCounts counts = userCounts.get(notification.getRecipientId());
+                if (counts != null) {
+                    counts.directUnread.incrementAndGet();
+                }
+            }
+            if (notification.getRecipientGroup() != null) {
+                GroupCount count = groupCounts.get(notification.getRecipientGroup().toUpperCase(Locale.ROOT));
+                if (count != null) {
+                    count.total.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the cached counters of a user who read notifications, so they are reloaded on the next request.
+     *
+     * @param event the event identifying the user
+     */
+    @EventListener
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        userCounts.remove(event.userId());
+    }
+
+    /**
+     * Drops every cached counter, for example after notifications were removed in bulk. User counters are dropped
+     * along with the group totals, because the group notifications a user has read are derived from the total.
+     */
+    public void invalidateAll() {
+        userCounts.clear();
+        groupCounts.clear();
+    }
+
+    /**
+     * Drops expired counters, so users who went offline do not stay in memory.
+     */
+    @Scheduled(initialDelay = 5, fixedRate = 5, timeUnit = TimeUnit.MINUTES)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        int before = userCounts.size();
+        userCounts.values().removeIf(counts -> counts.isExpired(now));
+        groupCounts.values().removeIf(count -> count.isExpired(now));
+        LOGGER.debug("Evicted {} expired unread counters", before - userCounts.size());
+    }
+
+    private UserCounts loadUserCounts(User user, String group, long now) {
+        long directUnread = notificationRepository.countByRecipientIdAndIsReadFalse(user.getId());
+        long groupRead = group == null ? 0 : getGroupTotal(group, now) - notificationReadService.countGroupUnread(user);
+        return new UserCounts(directUnread, groupRead, now + timeToLiveNanos);
+    }
+
+    private long getGroupTotal(String group, long now) {
+        String key = group.toUpperCase(Locale.ROOT);
+        GroupCount count = groupCounts.get(key);
+        if (count == null || count.isExpired(now)) {
+            count = new GroupCount(notificationRepository.countByRecipientGroup(group), now + timeToLiveNanos);
+            groupCounts.put(key, count);
+        }
+        return count.total.get();
+    }
+
+    private static String groupOf(User user) {
+        String role = user.getRole().getDescription();
+        return role.equalsIgnoreCase(Roles.PATIENT) ? null : role;
+    }
+
+    /**
+     * Cached counters of one user.
+     */
+    private static final class UserCounts {
+        private final AtomicLong directUnread;
+        private final long groupRead;
+        private final long expiresAt;
+
+        private UserCounts(long directUnread, long groupRead, long expiresAt) {
+            this.directUnread = new AtomicLong(directUnread);
+            this.groupRead = groupRead;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Cached notification total of one group.
+     */
+    private static final class GroupCount {
+        private final AtomicLong total;
+        private final long expiresAt;
+
+        private GroupCount(long total, long expiresAt) {
+            this.total = new AtomicLong(total);
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.psgv.healpointbackend.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+
+/**
+ * Utility class for encoding and decoding opaque keyset cursors of appointment pages.
+ * <p>
+ * A cursor records the sort key (appointment date, start time, ID) of the last appointment on a page
+ * together with the listing scope it was issued for, so it cannot be replayed against a different listing.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class AppointmentCursorCodec {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private AppointmentCursorCodec() {
+    }
+
+    /**
+     * Encodes the position of the last appointment of a page as an opaque cursor.
+     *
+     * @param scope     the listing scope the cursor belongs to
+     * @param date      the appointment date
+     * @param startTime the appointment start time
+     * @param id        the appointment ID
+     * @return the URL-safe cursor string
+     */
+    public static String encode(String scope, LocalDate date, LocalTime startTime, Integer id) {
+        String raw = String.join(SEPARATOR, scope, date.toString(), startTime.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(String, LocalDate, LocalTime, Integer)}.
+     *
+     * @param scope  the listing scope the cursor is used with
+     * @param cursor the cursor string
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another scope
+     */
+    public static Position decode(String scope, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (parts.length != 4 || !parts[0].equals(scope)) {
+                throw new IllegalArgumentException("Invalid page cursor.");
+            }
+            return new Position(LocalDate.parse(parts[1]), LocalTime.parse(parts[2]), Integer.parseInt(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor.", e);
+        }
+    }
+
+    /**
+     * The sort key of an appointment within a keyset-paginated listing.
+     *
+     * @param date      the appointment date
+     * @param startTime the appointment start time
+     * @param id        the appointment ID
+     */
+    public record Position(LocalDate date, LocalTime startTime, Integer id) {
+    }
+}
@@ -0,0 +1,200 @@
+package edu.psgv.healpointbackend.utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A hierarchical timing wheel holding keyed timers.
+ * <p>
+ * Level 0 has one slot per tick; every higher level has slots as wide as the whole level below it. A timer is
+ * placed in the lowest level whose range covers its deadline and moves down a level each time the wheel reaches
+ * its slot, so scheduling, cancelling and expiring a timer are all O(1) regardless of how many timers are held.
+ * Timers are keyed, and scheduling an existing key replaces its timer. The wheel is not thread-safe.
+ * </p>
+ *
+ * @param <K> the type of the timer keys
+ * @param <V> the type of the timer values
+ * @author Mahfuzur Rahman
+ */
+public class HierarchicalTimingWheel<K, V> {
+    private final int slotsPerLevel;
+    private final long[] slotWidths;
+    private final List<List<Set<Timer<K, V>>>> levels;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    private final Set<Timer<K, V>> due = new LinkedHashSet<>();
+    private long currentTick;
+
+    /**
+     * Constructs a HierarchicalTimingWheel.
+     *
+     * @param slotsPerLevel the number of slots on every level
+     * @param levelCount    the number of levels
+     * @param startTick     the tick the wheel starts at
+     * @throws IllegalArgumentException if the wheel would have fewer than two slots per level or no levels
+     */
+    public HierarchicalTimingWheel(int slotsPerLevel, int levelCount, long startTick) {
+        if (slotsPerLevel < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("A timing wheel needs at least two slots per level and one level.");
+        }
+        this.slotsPerLevel = slotsPerLevel;
+        this.slotWidths = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+        long width = 1;
+        for (int level = 0; level < levelCount; level++) {
+            slotWidths[level] = width;
+            List<Set<Timer<K, V>>> slots = new ArrayList<>(slotsPerLevel);
+            for (int slot = 0; slot < slotsPerLevel; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            levels.add(slots);
+            width = Math.multiplyExact(width, slotsPerLevel);
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules a timer, replacing any timer with the same key. A deadline that is not after the current tick
+     * expires on the next advance.
+     *
+     * @param key      the key of the timer
+     * @param deadline the tick at which the timer expires
+     * @param value    the value returned when the timer expires
+     * @throws IllegalArgumentException if the deadline lies beyond the range of the wheel
+     */
+    public void schedule(K key, long deadline, V value) {
+        if (deadline - currentTick >= getRange()) {
+            throw new IllegalArgumentException("The deadline lies beyond the range of the timing wheel.");
+        }
+        cancel(key);
+        Timer<K, V> timer = new Timer<>(key, deadline, value);
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    /**
+     * Cancels the timer with the given key.
+     *
+     * @param key the key of the timer
+     * @return true if a timer was cancelled, false if none was scheduled
+     */
+    public boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given tick and removes the timers that expired on the way.
+     *
+     * @param tick the tick to advance to
+     * @return the values of the expired timers in deadline order
+     */
+    public List<V> advanceTo(long tick) {
+        List<V> expired = new ArrayList<>();
+        drainDue(expired);
+        while (currentTick < tick) {
+            currentTick++;
+            // Cascade from the highest level down, so timers moved down can cascade again within the same tick
+            for (int level = slotWidths.length - 1; level > 0; level--) {
+                if (currentTick % slotWidths[level] == 0) {
+                    Set<Timer<K, V>> bucket = slotAt(level, currentTick);
+                    List<Timer<K, V>> cascading = new ArrayList<>(bucket);
+                    bucket.clear();
+                    cascading.forEach(this::place);
+                }
+            }
+            Set<Timer<K, V>> bucket = slotAt(0, currentTick);
+            due.addAll(bucket);
+            bucket.clear();
+            drainDue(expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Checks whether a timer with the given key is scheduled.
+     *
+     * @param key the key of the timer
+     * @return true if the timer is scheduled
+     */
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     *
+     * @return the number of timers
+     */
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Returns the current tick of the wheel.
+     *
+     * @return the current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the number of ticks ahead of the current tick that a timer can be scheduled for.
+     *
+     * @return the range of the wheel in ticks
+     */
+    public long getRange() {
+        return slotWidths[slotWidths.length - 1] * slotsPerLevel;
+    }
+
+    private void place(Timer<K, V> timer) {
+        long delta = timer.deadline - currentTick;
+        if (delta <= 0) {
+            timer.bucket = due;
+        } else {
+            int level = 0;
+            while (delta >= slotWidths[level] * slotsPerLevel) {
+                level++;
+            }
+            timer.bucket = slotAt(level, timer.deadline);
+        }
+        timer.bucket.add(timer);
+    }
+
+    private Set<Timer<K, V>> slotAt(int level, long tick) {
+        return levels.get(level).get((int) ((tick / slotWidths[level]) % slotsPerLevel));
+    }
+
+    private void drainDue(List<V> expired) {
+        due.stream().sorted((first, second) -> Long.compare(first.deadline, second.deadline)).forEach(timer -> {
+            timers.remove(timer.key);
+            expired.add(timer.value);
+        });
+        due.clear();
+    }
+
+    /**
+     * A scheduled timer and the bucket currently holding it.
+     */
+    private static final class Timer<K, V> {
+        private final K key;
+        private final long deadline;
+        private final V value;
+        private Set<Timer<K, V>> bucket;
+
+        private Timer(K key, long deadline, V value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+    }
+}
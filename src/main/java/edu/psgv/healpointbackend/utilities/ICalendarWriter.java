@@ -0,0 +1,128 @@
+package edu.psgv.healpointbackend.utilities;
+
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * Writes appointments as an iCalendar (RFC 5545) document, one event at a time.
+ * <p>
+ * Nothing is buffered beyond the underlying writer, so a feed of any length is written in constant memory.
+ * Appointment times are written as floating local times, matching how they are stored.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class ICalendarWriter {
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer writer;
+    private final boolean patientView;
+    private final String stamp;
+
+    /**
+     * Constructs an ICalendarWriter.
+     *
+     * @param writer      the writer receiving the document
+     * @param patientView true to title events after the doctor, false to title them after the patient
+     */
+    public ICalendarWriter(Writer writer, boolean patientView) {
+        this.writer = writer;
+        this.patientView = patientView;
+        this.stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC_DATE_TIME);
+    }
+
+    /**
+     * Writes the calendar header.
+     *
+     * @param calendarName the display name of the calendar
+     * @throws IOException if writing fails
+     */
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//HealPoint//Appointments//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    /**
+     * Writes one appointment as an event. Canceled appointments are written with a cancelled status
+     * so subscribed calendars remove them.
+     *
+     * @param appointment the appointment to write
+     * @throws IOException if writing fails
+     */
+    public void event(AppointmentSummaryDto appointment) throws IOException {
+        String title = patientView
+                ? "Appointment with Dr. " + appointment.getDoctor().getFirstName() + " " + appointment.getDoctor().getLastName()
+                : "Appointment with " + appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName();
+        boolean canceled = appointment.getStatus().equalsIgnoreCase(AppointmentStatus.CANCELED);
+
+        line("BEGIN:VEVENT");
+        line("UID:appointment-" + appointment.getId() + "@healpoint");
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + localDateTime(appointment.getAppointmentDate(), appointment.getStartTime()));
+        line("DTEND:" + localDateTime(appointment.getAppointmentDate(), appointment.getEndTime()));
+        line("SEQUENCE:" + (appointment.getVersion() == null ? 0 : appointment.getVersion()));
+        line("SUMMARY:" + escape(title));
+        String reason = appointment.getReason();
+        line("DESCRIPTION:" + escape(IoHelper.isNullOrEmpty(reason) ? appointment.getStatus() : reason + " (" + appointment.getStatus() + ")"));
+        line("STATUS:" + (canceled ? "CANCELLED" : "CONFIRMED"));
+        line("END:VEVENT");
+    }
+
+    /**
+     * Writes the calendar footer and flushes the writer.
+     *
+     * @throws IOException if writing fails
+     */
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * Writes a content line, folding it at 75 octets as required by RFC 5545.
+     *
+     * @param content the unfolded content line
+     * @throws IOException if writing fails
+     */
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            String character = new String(Character.toChars(codePoint));
+            int size = character.getBytes(StandardCharsets.UTF_8).length;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write(CRLF + " ");
+                octets = 1;
+            }
+            writer.write(character);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(CRLF);
+    }
+
+    private static String localDateTime(LocalDate date, LocalTime time) {
+        return LocalDateTime.of(date, time).format(LOCAL_DATE_TIME);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\r\n", "\\n").replace("\n", "\\n");
+    }
+}
@@ -36,4 +36,25 @@ public class IoHelper {
     public static boolean isNullOrEmpty(String text) {
         return text == null || text.trim().isEmpty();
     }
+
+    /**
+     * Checks if a comma-separated list (e.g., "Primary Care, Pediatrics") contains the given item,
+     * ignoring case and surrounding whitespace.
+     *
+     * @param list the comma-separated list, may be null
+     * @param item the item to look for
+     * @return true if one of the list entries matches the item; false otherwise
+     */
+    public static boolean containsListItem(String list, String item) {
+        if (isNullOrEmpty(list) || isNullOrEmpty(item)) {
+            return false;
+        }
+        String expected = item.trim();
+        for (String entry : list.split(",")) {
+            if (entry.trim().equalsIgnoreCase(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
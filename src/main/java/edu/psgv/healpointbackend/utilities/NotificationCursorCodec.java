@@ -0,0 +1,64 @@
+package edu.psgv.healpointbackend.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+
+/**
+ * Utility class for encoding and decoding opaque keyset cursors of notification inbox pages.
+ * <p>
+ * A cursor records the sort key (creation time, ID) of the last notification on a page.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class NotificationCursorCodec {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private NotificationCursorCodec() {
+    }
+
+    /**
+     * Encodes the position of the last notification of a page as an opaque cursor.
+     *
+     * @param createdAt the creation time of the notification
+     * @param id        the notification ID
+     * @return the URL-safe cursor string
+     */
+    public static String encode(LocalDateTime createdAt, Integer id) {
+        String raw = String.join(SEPARATOR, createdAt.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(LocalDateTime, Integer)}.
+     *
+     * @param cursor the cursor string
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Position decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid page cursor.");
+            }
+            return new Position(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor.", e);
+        }
+    }
+
+    /**
+     * The sort key of a notification within the inbox.
+     *
+     * @param createdAt the creation time of the notification
+     * @param id        the notification ID
+     */
+    public record Position(LocalDateTime createdAt, Integer id) {
+    }
+}
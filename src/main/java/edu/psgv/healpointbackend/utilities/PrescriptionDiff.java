@@ -0,0 +1,122 @@
+package edu.psgv.healpointbackend.utilities;
+
+import edu.psgv.healpointbackend.model.PrescriptionItem;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+
+/**
+ * Structured difference between two versions of a prescription, as computed by {@link PrescriptionDiffUtil#diff}.
+ *
+ * @param added   the items only in the new version, in the order of the new version
+ * @param removed the items only in the old version, in the order of the old version
+ * @param changed the items in both versions that differ in any field or in the spelling of the medication, in the
+ *                order of the new version
+ * @author Mahfuzur Rahman
+ */
+public record PrescriptionDiff(List<PrescriptionItem> added, List<PrescriptionItem> removed, List<ItemChange> changed) {
+
+    /**
+     * Checks whether the two versions are equivalent.
+     *
+     * @return true if nothing was added, removed or changed
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * The differences of one medication.
+     *
+     * @param oldItem the item in the old version
+     * @param newItem the matching item in the new version
+     * @param fields  the fields that differ, in declaration order of {@link Field}
+     */
+    public record ItemChange(PrescriptionItem oldItem, PrescriptionItem newItem, List<FieldChange> fields) {
+
+        /**
+         * Returns the medication name as in the old version.
+         *
+         * @return the medication name
+         */
+        public String medication() {
+            return oldItem.getMedication();
+        }
+
+        /**
+         * Checks whether any of the differences is reported to the patient.
+         *
+         * @return true if a reported field changed
+         */
+        public boolean isReported() {
+            return fields.stream().anyMatch(change -> change.field().isReported());
+        }
+    }
+
+    /**
+     * One changed field.
+     *
+     * @param field    the field
+     * @param oldValue the value in the old version
+     * @param newValue the value in the new version
+     */
+    public record FieldChange(Field field, Integer oldValue, Integer newValue) {
+    }
+
+    /**
+     * The compared fields of a prescription item.
+     */
+    public enum Field {
+        ITEM_NUMBER("item number", false, PrescriptionItem::getItemNumber, PrescriptionItem::setItemNumber),
+        DOSAGE("dosage", true, PrescriptionItem::getDosage, PrescriptionItem::setDosage),
+        FREQUENCY("frequency", true, PrescriptionItem::getFrequency, PrescriptionItem::setFrequency),
+        DURATION("duration", true, PrescriptionItem::getDuration, PrescriptionItem::setDuration),
+        FILLS_LEFT("fills left", true, PrescriptionItem::getFillsLeft, PrescriptionItem::setFillsLeft);
+
+        private final String label;
+        private final boolean reported;
+        private final Function<PrescriptionItem, Integer> getter;
+        private final BiConsumer<PrescriptionItem, Integer> setter;
+
+        Field(String label, boolean reported, Function<PrescriptionItem, Integer> getter, BiConsumer<PrescriptionItem, Integer> setter) {
+            this.label = label;
+            this.reported = reported;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Returns the name of the field as shown to patients.
+         *
+         * @return the label
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Checks whether changes of the field are reported to the patient.
+         *
+         * @return true if the field is reported
+         */
+        public boolean isReported() {
+            return reported;
+        }
+
+        /**
+         * Sets the field of the given item.
+         *
+         * @param item  the item to update
+         * @param value the new value
+         */
+        public void apply(PrescriptionItem item, Integer value) {
+            setter.accept(item, value);
+        }
+
+        Integer valueOf(PrescriptionItem item) {
+            return getter.apply(item);
+        }
+    }
+}
@@ -1,20 +1,29 @@
 package edu.psgv.healpointbackend.utilities;
 
 import edu.psgv.healpointbackend.model.PrescriptionItem;
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 
 /**
  * Utility class for generating diff reports between lists of PrescriptionItem objects.
+ * <p>
+ * Items are matched by medication name, ignoring case and surrounding whitespace, in a single pass over each list
+ * through a map of the old items, so a diff costs linear time in the size of the prescription.
+ * </p>
  *
  * @author Mahfuzur Rahman
  */
 @Component
 public class PrescriptionDiffUtil {
+    private static final PrescriptionDiff.Field[] FIELDS = PrescriptionDiff.Field.values();
+
     /**
      * Generates a diff report between two lists of PrescriptionItem objects.
      *
@@ -23,62 +32,88 @@ public class PrescriptionDiffUtil {
      * @return a string report detailing additions, removals, and changes
      */
     public String diffReport(List<PrescriptionItem> oldList, List<PrescriptionItem> newList) {
-        List<String> reportItems = new java.util.ArrayList<>();
+        return render(diff(oldList, newList));
+    }
 
-        List<PrescriptionItem> added = (List<PrescriptionItem>) CollectionUtils.subtract(newList, oldList);
-        List<PrescriptionItem> removed = (List<PrescriptionItem>) CollectionUtils.subtract(oldList, newList);
-        List<PrescriptionItem> common = (List<PrescriptionItem>) CollectionUtils.intersection(oldList, newList);
+    /**
+     * Computes the structured difference between two lists of PrescriptionItem objects.
+     * If a list names a medication more than once, its first item is used.
+     *
+     * @param oldList the original list of PrescriptionItem objects
+     * @param newList the updated list of PrescriptionItem objects
+     * @return the added, removed and changed items
+     */
+    public PrescriptionDiff diff(List<PrescriptionItem> oldList, List<PrescriptionItem> newList) {
+        Map<String, PrescriptionItem> unmatched = new LinkedHashMap<>(Math.max(16, oldList.size() * 4 / 3 + 1));
+        for (PrescriptionItem item : oldList) {
+            unmatched.putIfAbsent(key(item), item);
+        }
 
-        for (PrescriptionItem item : added) {
-            reportItems.add(String.format("%s (%d mg) [added]", item.getMedication(), item.getDosage()));
+        List<PrescriptionItem> added = new ArrayList<>();
+        List<PrescriptionDiff.ItemChange> changed = new ArrayList<>();
+        for (PrescriptionItem newItem : newList) {
+            PrescriptionItem oldItem = unmatched.remove(key(newItem));
+            if (oldItem == null) {
+                added.add(newItem);
+                continue;
+            }
+            List<PrescriptionDiff.FieldChange> fields = compare(oldItem, newItem);
+            if (!fields.isEmpty() || !oldItem.getMedication().equals(newItem.getMedication())) {
+                changed.add(new PrescriptionDiff.ItemChange(oldItem, newItem, fields));
+            }
         }
+        return new PrescriptionDiff(added, new ArrayList<>(unmatched.values()), changed);
+    }
 
-        for (PrescriptionItem item : removed) {
+    /**
+     * Renders a diff as the notification text sent to the patient.
+     *
+     * @param diff the diff to render
+     * @return the report, or an empty string if the diff has nothing to report
+     */
+    public String render(PrescriptionDiff diff) {
+        List<String> reportItems = new ArrayList<>(diff.added().size() + diff.removed().size() + diff.changed().size());
+        for (PrescriptionItem item : diff.added()) {
+            reportItems.add(String.format("%s (%d mg) [added]", item.getMedication(), item.getDosage()));
+        }
+        for (PrescriptionItem item : diff.removed()) {
             reportItems.add(String.format("%s (%d mg) [removed]", item.getMedication(), item.getDosage()));
         }
-
-        for (PrescriptionItem item : common) {
-            PrescriptionItem oldItem = oldList.stream()
-                    .filter(i -> i.getMedication().equals(item.getMedication()))
-                    .findFirst().orElse(new PrescriptionItem());
-            PrescriptionItem newItem = newList.stream()
-                    .filter(i -> i.getMedication().equals(item.getMedication()))
-                    .findFirst().orElse(new PrescriptionItem());
-
-            String changes = comparePrescriptionItem(oldItem, newItem);
-            if (!IoHelper.isNullOrEmpty(changes)) {
-                reportItems.add(changes);
+        for (PrescriptionDiff.ItemChange change : diff.changed()) {
+            if (!change.isReported()) {
+                continue;
+            }
+            List<String> differences = new ArrayList<>(change.fields().size());
+            for (PrescriptionDiff.FieldChange field : change.fields()) {
+                if (field.field().isReported()) {
+                    differences.add(String.format("%s changed from %d to %d", field.field().getLabel(), field.oldValue(), field.newValue()));
+                }
             }
+            reportItems.add(change.medication() + ": " + String.join(", ", differences));
         }
-
-        String prefix = reportItems.isEmpty() ? "" : "Doctors updated your prescription! ";
-        return prefix.concat(String.join("; ", reportItems));
+        return reportItems.isEmpty() ? "" : "Doctors updated your prescription! " + String.join("; ", reportItems);
     }
 
     /**
-     * Compares two PrescriptionItem objects and returns a string describing the differences.
+     * Compares the fields of two PrescriptionItem objects.
      *
      * @param oldItem the original PrescriptionItem
      * @param newItem the updated PrescriptionItem
-     * @return a string detailing the differences, or an empty string if no differences exist
+     * @return the fields that differ, or an empty list if no differences exist
      */
-    private String comparePrescriptionItem(PrescriptionItem oldItem, PrescriptionItem newItem) {
-        List<String> differences = new ArrayList<>();
-
-        if (!oldItem.getDosage().equals(newItem.getDosage())) {
-            differences.add(String.format("dosage changed from %d to %d", oldItem.getDosage(), newItem.getDosage()));
-        }
-        if (!oldItem.getFrequency().equals(newItem.getFrequency())) {
-            differences.add(String.format("frequency changed from %d to %d", oldItem.getFrequency(), newItem.getFrequency()));
-        }
-        if (!oldItem.getDuration().equals(newItem.getDuration())) {
-            differences.add(String.format("duration changed from %d to %d", oldItem.getDuration(), newItem.getDuration()));
-        }
-        if (!oldItem.getFillsLeft().equals(newItem.getFillsLeft())) {
-            differences.add(String.format("fills left changed from %d to %d", oldItem.getFillsLeft(), newItem.getFillsLeft()));
+    private List<PrescriptionDiff.FieldChange> compare(PrescriptionItem oldItem, PrescriptionItem newItem) {
+        List<PrescriptionDiff.FieldChange> differences = new ArrayList<>(0);
+        for (PrescriptionDiff.Field field : FIELDS) {
+            Integer oldValue = field.valueOf(oldItem);
+            Integer newValue = field.valueOf(newItem);
+            if (!Objects.equals(oldValue, newValue)) {
+                differences.add(new PrescriptionDiff.FieldChange(field, oldValue, newValue));
+            }
         }
+        return differences;
+    }
 
-        String prefix = differences.isEmpty() ? "" : String.format("%s: ", oldItem.getMedication());
-        return prefix.concat(String.join(", ", differences));
+    private static String key(PrescriptionItem item) {
+        return item.getMedication().trim().toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,174 @@
+package edu.psgv.healpointbackend.utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.TreeSet;
+
+
+/**
+ * Compact read state of one user in one notification channel.
+ * <p>
+ * Every notification of the channel with an ID up to the watermark is read. Notifications read out of order above
+ * the watermark are kept as a sparse set of exception IDs, stored as variable-length gaps between consecutive IDs,
+ * so their size depends on how many there are and not on how far apart they lie. This matters because notification
+ * IDs are shared between channels: the watermark only advances over the IDs the channel actually contains, which
+ * the caller supplies. The watermark never moves past an unread notification; the number of exceptions is capped
+ * by a fixed limit, which the caller enforces through {@link #exceedsLimit()} before storing the state.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+public class ReadWatermark {
+    private final int maxExceptions;
+    private final TreeSet<Integer> exceptions = new TreeSet<>();
+    private int readUpTo;
+
+    /**
+     * Constructs a ReadWatermark from its stored form.
+     *
+     * @param readUpTo      the highest ID up to which every notification is read
+     * @param exceptions    the stored exception IDs, or null if there are none
+     * @param maxExceptions the maximum number of exception IDs to store
+     */
+    public ReadWatermark(int readUpTo, byte[] exceptions, int maxExceptions) {
+        this.readUpTo = readUpTo;
+        this.maxExceptions = maxExceptions;
+        if (exceptions != null) {
+            decode(exceptions);
+        }
+    }
+
+    /**
+     * Checks whether the notification with the given ID is read.
+     *
+     * @param id the notification ID
+     * @return true if the notification is read
+     */
+    public boolean isRead(int id) {
+        return id <= readUpTo || exceptions.contains(id);
+    }
+
+    /**
+     * Marks the notification with the given ID as read.
+     *
+     * @param id the notification ID
+     * @return true if the notification was unread
+     */
+    public boolean markRead(int id) {
+        if (isRead(id)) {
+            return false;
+        }
+        exceptions.add(id);
+        return true;
+    }
+
+    /**
+     * Marks every notification up to the given ID as read.
+     *
+     * @param id the notification ID
+     */
+    public void markReadUpTo(int id) {
+        if (id > readUpTo) {
+            advanceTo(id);
+        }
+    }
+
+    /**
+     * Moves the watermark over the leading channel IDs that are read, shrinking the exception set.
+     *
+     * @param channelIds the IDs of the channel's notifications above the watermark, in ascending order,
+     *                   up to at least {@link #getHighestException()}
+     */
+    public void compact(List<Integer> channelIds) {
+        int upTo = readUpTo;
+        for (int id : channelIds) {
+            if (!isRead(id)) {
+                break;
+            }
+            upTo = id;
+        }
+        markReadUpTo(upTo);
+    }
+
+    /**
+     * Checks whether more exception IDs are held than may be stored.
+     *
+     * @return true if the exception limit is exceeded
+     */
+    public boolean exceedsLimit() {
+        return exceptions.size() > maxExceptions;
+    }
+
+    /**
+     * Returns the highest ID up to which every notification is read.
+     *
+     * @return the watermark
+     */
+    public int getReadUpTo() {
+        return readUpTo;
+    }
+
+    /**
+     * Returns the highest ID read above the watermark, or the watermark if there is none.
+     *
+     * @return the highest exception ID
+     */
+    public int getHighestException() {
+        return exceptions.isEmpty() ? readUpTo : exceptions.last();
+    }
+
+    /**
+     * Returns the number of notifications read above the watermark.
+     *
+     * @return the number of exceptions
+     */
+    public int getExceptionCount() {
+        return exceptions.size();
+    }
+
+    /**
+     * Returns the exception IDs in their stored form: the gap from the watermark to the first ID, then from each
+     * ID to the next, each as an unsigned varint.
+     *
+     * @return the encoded bytes, or null if there are no exceptions
+     */
+    public byte[] exceptionsToBytes() {
+        if (exceptions.isEmpty()) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(exceptions.size() * 2);
+        int previous = readUpTo;
+        for (int id : exceptions) {
+            int gap = id - previous;
+            while ((gap & ~0x7F) != 0) {
+                out.write((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            out.write(gap);
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    private void decode(byte[] bytes) {
+        int previous = readUpTo;
+        int gap = 0;
+        int shift = 0;
+        for (byte b : bytes) {
+            gap |= (b & 0x7F) << shift;
+            if ((b & 0x80) != 0) {
+                shift += 7;
+                continue;
+            }
+            previous += gap;
+            exceptions.add(previous);
+            gap = 0;
+            shift = 0;
+        }
+    }
+
+    private void advanceTo(int id) {
+        readUpTo = id;
+        exceptions.headSet(id, true).clear();
+    }
+}
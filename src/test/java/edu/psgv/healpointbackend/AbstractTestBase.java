@@ -1,5 +1,6 @@
 package edu.psgv.healpointbackend;
 
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
 import edu.psgv.healpointbackend.dto.NewPasswordDto;
 import edu.psgv.healpointbackend.dto.RefillMedicationsDto;
 import edu.psgv.healpointbackend.dto.UserDto;
@@ -79,6 +80,13 @@ public abstract class AbstractTestBase {
         return appointment;
     }
 
+    protected AppointmentSummaryDto mockAppointmentSummary(Integer id, Doctor doctor, Patient patient, String date, String startTime, String status) {
+        LocalTime start = LocalTime.parse(startTime);
+        return new AppointmentSummaryDto(id, LocalDate.parse(date), start, start.plusMinutes(30), status, "Test Reason", 0L,
+                doctor.getId(), doctor.getFirstName(), doctor.getLastName(), doctor.getSpecialty(),
+                patient.getId(), patient.getFirstName(), patient.getLastName());
+    }
+
     protected UserDto mockUserDto(Integer id, String role, String firstName) {
         String lastName = "Mock";
         String email = String.format("%s.%s@test.com", firstName.toLowerCase(), lastName.toLowerCase());
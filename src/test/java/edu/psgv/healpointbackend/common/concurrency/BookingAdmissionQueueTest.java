@@ -0,0 +1,129 @@
+package edu.psgv.healpointbackend.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class BookingAdmissionQueueTest {
+    private SimpleMeterRegistry meterRegistry;
+    private BookingAdmissionQueue queue;
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new BookingAdmissionQueue(meterRegistry);
+    }
+
+    @Test
+    void admit_sameDoctorAndDay_requestsAreSerialized() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> queue.admit(1, date, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                sleep(5);
+                active.decrementAndGet();
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, maxActive.get());
+        assertEquals(0, queue.getWaitingCount());
+        assertEquals(16, meterRegistry.get("healpoint.booking.queue.wait").timer().count());
+    }
+
+    @Test
+    void admit_differentDoctors_runConcurrently() throws Exception {
+        CountDownLatch bothInside = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<Boolean> first = executor.submit(() -> queue.admit(1, date, () -> await(bothInside)));
+        Future<Boolean> second = executor.submit(() -> queue.admit(2, date, () -> await(bothInside)));
+
+        assertTrue(first.get(10, TimeUnit.SECONDS));
+        assertTrue(second.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void admit_laneFull_rejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        // Occupy the running slot, then fill the configured number of waiting places
+        executor.submit(() -> queue.admit(7, date, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        List<Future<?>> waiters = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            waiters.add(executor.submit(() -> queue.admit(7, date, () -> { })));
+        }
+        while (queue.getWaitingCount() < 50) {
+            sleep(1);
+        }
+
+        RejectedExecutionException ex = assertThrows(RejectedExecutionException.class,
+                () -> queue.admit(7, date, () -> fail("Rejected request must not run")));
+        assertTrue(ex.getMessage().contains("Too many booking requests"));
+        assertEquals(1.0, meterRegistry.get("healpoint.booking.queue.rejected").counter().count());
+
+        release.countDown();
+        for (Future<?> waiter : waiters) {
+            waiter.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void admit_actionThrows_laneIsReleased() {
+        assertThrows(IllegalArgumentException.class,
+                () -> queue.admit(3, date, () -> {
+                    throw new IllegalArgumentException("Slot taken");
+                }));
+
+        String result = queue.admit(3, date, () -> "booked");
+        assertEquals("booked", result);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        latch.countDown();
+        return awaitQuietly(latch);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -90,6 +90,16 @@ class DatastoreTest extends AbstractTestBase {
         assertNull(datastore.getUserByEmail("existing.user@email.com"));
     }
 
+    @Test
+    void isOnline_checksUserId() {
+        assertTrue(datastore.isOnline(99));
+        assertFalse(datastore.isOnline(98));
+        assertFalse(datastore.isOnline(null));
+
+        datastore.removeUser(existingUser);
+        assertFalse(datastore.isOnline(99));
+    }
+
     @Test
     void getUserByEmail_userNotFound_returnsNull() {
         assertNull(datastore.getUserByEmail("unknown.user@email.com"));
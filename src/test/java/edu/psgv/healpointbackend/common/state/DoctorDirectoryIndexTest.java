@@ -0,0 +1,106 @@
+package edu.psgv.healpointbackend.common.state;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Doctor;
+import edu.psgv.healpointbackend.model.DoctorProfile;
+import edu.psgv.healpointbackend.model.Roles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class DoctorDirectoryIndexTest extends AbstractTestBase {
+    private DoctorDirectoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DoctorDirectoryIndex();
+        index.rebuild(List.of(
+                profile(1, "Alice", "Smith", "Internal Medicine, Primary Care", "English, Spanish"),
+                profile(2, "Bob", "Smithers", "Cardiology", "English"),
+                profile(3, "Carol", "Jones", "Primary Care", "German")));
+    }
+
+    @Test
+    void search_noFilters_returnsAllOrderedByName() {
+        List<DoctorProfile> result = index.search(null, "", null);
+
+        assertEquals(List.of(3, 1, 2), ids(result));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void search_specialtyAndLanguage_intersectsCaseInsensitively() {
+        assertEquals(List.of(3, 1), ids(index.search("primary care", null, null)));
+        assertEquals(List.of(1), ids(index.search(" PRIMARY CARE ", "spanish", null)));
+        assertTrue(index.search("Primary", null, null).isEmpty());
+        assertTrue(index.search("Cardiology", "German", null).isEmpty());
+    }
+
+    @Test
+    void search_namePrefix_matchesEveryWord() {
+        assertEquals(List.of(1, 2), ids(index.search(null, null, "smi")));
+        assertEquals(List.of(2), ids(index.search(null, null, "bo smith")));
+        assertTrue(index.search(null, null, "alice jones").isEmpty());
+    }
+
+    @Test
+    void upsert_changedProfile_reindexesTerms() {
+        index.upsert(profile(2, "Bob", "Smithers", "Dermatology", "French"));
+        index.upsert(profile(4, "Dan", "Brown", "Cardiology", "English"));
+
+        assertEquals(List.of(4), ids(index.search("Cardiology", null, null)));
+        assertEquals(List.of(2), ids(index.search("dermatology", "french", "bob")));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void updateStatus_deactivatedDoctor_hiddenFromSearchUntilReactivated() {
+        index.updateStatus(3, false);
+        index.updateStatus(99, false);
+
+        assertTrue(index.search(null, "German", null).isEmpty());
+        assertEquals(List.of(1), ids(index.search("primary care", null, null)));
+        assertEquals(3, index.size());
+
+        index.updateStatus(3, true);
+        assertEquals(List.of(3), ids(index.search(null, "German", null)));
+    }
+
+    @Test
+    void upsert_repeatedReindexing_compactsTombstones() {
+        for (int i = 0; i < 200; i++) {
+            index.upsert(profile(2, "Bob", "Smithers", i % 2 == 0 ? "Dermatology" : "Cardiology", "English"));
+        }
+
+        List<?> profiles = (List<?>) ReflectionTestUtils.getField(index, "profiles");
+        assertTrue(profiles.size() <= 3 + 64);
+        assertEquals(3, index.size());
+        assertEquals(List.of(2), ids(index.search("cardiology", null, "bob")));
+        assertEquals(List.of(3, 1), ids(index.search("primary care", null, null)));
+    }
+
+    @Test
+    void rebuild_replacesPreviousContents() {
+        index.rebuild(List.of(profile(5, "Eve", "Adams", "Neurology", "English")));
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("Cardiology", null, null).isEmpty());
+        assertEquals(List.of(5), ids(index.search(null, "english", "ad")));
+    }
+
+    private DoctorProfile profile(int id, String firstName, String lastName, String specialty, String languages) {
+        Doctor doctor = mockDoctor(id, firstName, lastName);
+        doctor.setSpecialty(specialty);
+        doctor.setLanguages(languages);
+        return new DoctorProfile(doctor, firstName.toLowerCase() + "@example.com", Roles.DOCTOR, true);
+    }
+
+    private static List<Integer> ids(List<DoctorProfile> profiles) {
+        return profiles.stream().map(DoctorProfile::getId).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package edu.psgv.healpointbackend.common.state;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Notification;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class RecentNotificationBufferTest extends AbstractTestBase {
+
+    @Test
+    void snapshot_belowCapacity_returnsNewestFirst() {
+        RecentNotificationBuffer buffer = new RecentNotificationBuffer(4);
+        assertTrue(buffer.snapshot().isEmpty());
+
+        buffer.add(notification(1));
+        buffer.add(notification(2));
+
+        assertEquals(List.of(2, 1), ids(buffer.snapshot()));
+        assertEquals(2, buffer.getAddedCount());
+    }
+
+    @Test
+    void add_pastCapacity_overwritesOldest() {
+        RecentNotificationBuffer buffer = new RecentNotificationBuffer(3);
+        for (int id = 1; id <= 7; id++) {
+            buffer.add(notification(id));
+        }
+
+        assertEquals(List.of(7, 6, 5), ids(buffer.snapshot()));
+        assertEquals(7, buffer.getAddedCount());
+        assertEquals(3, buffer.getCapacity());
+    }
+
+    @Test
+    void constructor_invalidCapacity_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new RecentNotificationBuffer(0));
+    }
+
+    @Test
+    void add_concurrentWriters_keepsLatestLapIntact() throws InterruptedException {
+        RecentNotificationBuffer buffer = new RecentNotificationBuffer(16);
+        int writers = 4;
+        int perWriter = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int w = 0; w < writers; w++) {
+            int offset = w * perWriter;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 1; i <= perWriter; i++) {
+                    buffer.add(notification(offset + i));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<Notification> snapshot = buffer.snapshot();
+        assertNotNull(snapshot);
+        assertEquals(16, snapshot.size());
+        assertEquals(16, ids(snapshot).stream().distinct().count());
+        assertEquals((long) writers * perWriter, buffer.getAddedCount());
+    }
+
+    private static Notification notification(int id) {
+        Notification notification = Notification.builder().recipientId(1).message("Message " + id).build();
+        notification.setId(id);
+        return notification;
+    }
+
+    private static List<Integer> ids(List<Notification> notifications) {
+        return new ArrayList<>(notifications.stream().map(Notification::getId).toList());
+    }
+}
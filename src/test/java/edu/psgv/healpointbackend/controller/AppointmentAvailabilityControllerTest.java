@@ -2,9 +2,11 @@ package edu.psgv.healpointbackend.controller;
 
 import edu.psgv.healpointbackend.dto.AvailableAppointmentDatesDto;
 import edu.psgv.healpointbackend.dto.AvailableAppointmentSlotsDto;
+import edu.psgv.healpointbackend.dto.SlotSearchResultDto;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.service.AccessManager;
 import edu.psgv.healpointbackend.service.AppointmentAvailabilityService;
+import edu.psgv.healpointbackend.service.SlotSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -25,6 +27,9 @@ class AppointmentAvailabilityControllerTest {
     @Mock
     private AppointmentAvailabilityService appointmentAvailabilityService;
 
+    @Mock
+    private SlotSearchService slotSearchService;
+
     @InjectMocks
     private AppointmentAvailabilityController controller;
 
@@ -116,4 +121,25 @@ class AppointmentAvailabilityControllerTest {
         verify(accessManager).enforceOwnershipBasedAccess(goodToken);
         verify(appointmentAvailabilityService).getAvailableAppointmentSlots(date, doctorIds);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchAvailableSlots_validAndInvalidRequests_returnCorrectResponses() {
+        LocalDate from = LocalDate.now().plusDays(1);
+        List<SlotSearchResultDto> expected = List.of(mock(SlotSearchResultDto.class));
+        when(slotSearchService.searchEarliestSlots("Primary Care", "English", from, null, null, null, 5)).thenReturn(expected);
+
+        ResponseEntity<Object> ok = controller.searchAvailableSlots("valid-token", "Primary Care", "English", from, null, null, null, 5);
+        assertEquals(200, ok.getStatusCode().value());
+        assertEquals(expected, ok.getBody());
+
+        when(slotSearchService.searchEarliestSlots(null, null, from, from.minusDays(1), null, null, null))
+                .thenThrow(new IllegalArgumentException("Empty range"));
+        ResponseEntity<Object> badRequest = controller.searchAvailableSlots("valid-token", null, null, from, from.minusDays(1), null, null, null);
+        assertEquals(400, badRequest.getStatusCode().value());
+        assertEquals("Empty range", badRequest.getBody());
+
+        doThrow(new SecurityException("Access denied")).when(accessManager).enforceOwnershipBasedAccess("unauthorized-token");
+        ResponseEntity<Object> unauthorized = controller.searchAvailableSlots("unauthorized-token", null, null, null, null, null, null, null);
+        assertEquals(401, unauthorized.getStatusCode().value());
+    }
+}
@@ -1,22 +1,34 @@
 package edu.psgv.healpointbackend.controller;
 
 import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.AppointmentPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSearchPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.dto.BulkCancelAppointmentsDto;
+import edu.psgv.healpointbackend.dto.BulkCancelResultDto;
+import edu.psgv.healpointbackend.dto.DoctorAgendaDto;
 import edu.psgv.healpointbackend.dto.ScheduleAppointmentDto;
+import edu.psgv.healpointbackend.dto.ScheduleFirstAvailableDto;
 import edu.psgv.healpointbackend.dto.UpdateAppointmentDto;
 import edu.psgv.healpointbackend.model.Appointment;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.AppointmentSearchService;
 import edu.psgv.healpointbackend.service.AppointmentService;
+import edu.psgv.healpointbackend.service.DoctorAgendaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +40,12 @@ class AppointmentControllerTest extends AbstractTestBase {
     @Mock
     private AppointmentService appointmentService;
 
+    @Mock
+    private DoctorAgendaService doctorAgendaService;
+
+    @Mock
+    private AppointmentSearchService appointmentSearchService;
+
     @InjectMocks
     private AppointmentController controller;
 
@@ -44,12 +62,135 @@ class AppointmentControllerTest extends AbstractTestBase {
         requestor = mockUser(TEST_EMAIL, Roles.DOCTOR, 5);
     }
 
+    @Test
+    void getMyAgenda_doctor_returnsAgenda() {
+        List<String> doctorOnly = List.of(Roles.DOCTOR);
+        LocalDate date = LocalDate.now();
+        DoctorAgendaDto agenda = new DoctorAgendaDto(date, List.of());
+        when(accessManager.getDoctorOnlyGroup()).thenReturn(doctorOnly);
+        when(accessManager.enforceRoleBasedAccess(doctorOnly, "validToken")).thenReturn(requestor);
+        when(doctorAgendaService.getAgenda(5, date)).thenReturn(agenda);
+
+        ResponseEntity<Object> response = controller.getMyAgenda("validToken", date);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(agenda, response.getBody());
+    }
+
+    @Test
+    void getMyAgenda_errors_mapToStatusCodes() {
+        List<String> doctorOnly = List.of(Roles.DOCTOR);
+        when(accessManager.getDoctorOnlyGroup()).thenReturn(doctorOnly);
+        when(accessManager.enforceRoleBasedAccess(doctorOnly, "patientToken")).thenThrow(new SecurityException("Access denied"));
+        when(accessManager.enforceRoleBasedAccess(doctorOnly, "validToken")).thenReturn(requestor);
+        when(doctorAgendaService.getAgenda(5, null)).thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(401, controller.getMyAgenda("patientToken", null).getStatusCode().value());
+        assertEquals(500, controller.getMyAgenda("validToken", null).getStatusCode().value());
+    }
+
+    @Test
+    void searchAppointments_staff_returnsPage() {
+        List<String> saGroup = List.of(Roles.ADMIN, Roles.SUPPORT_STAFF);
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        AppointmentSearchPageDto page = new AppointmentSearchPageDto(List.of(mock(AppointmentSummaryDto.class)), 0, 25, 1, 1);
+        when(accessManager.getSaGroup()).thenReturn(saGroup);
+        when(accessManager.enforceRoleBasedAccess(saGroup, "staffToken")).thenReturn(mockUser("staff@test.com", Roles.SUPPORT_STAFF, 3));
+        when(appointmentSearchService.search(5, null, "MISSED", from, to, null, "date", "desc", 0, 25)).thenReturn(page);
+
+        ResponseEntity<Object> response = controller.searchAppointments("staffToken", 5, null, "MISSED", from, to, null, "date", "desc", 0, 25);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void searchAppointments_errors_mapToStatusCodes() {
+        List<String> saGroup = List.of(Roles.ADMIN, Roles.SUPPORT_STAFF);
+        when(accessManager.getSaGroup()).thenReturn(saGroup);
+        when(accessManager.enforceRoleBasedAccess(saGroup, "patientToken")).thenThrow(new SecurityException("Access denied"));
+        when(accessManager.enforceRoleBasedAccess(saGroup, "staffToken")).thenReturn(mockUser("staff@test.com", Roles.SUPPORT_STAFF, 3));
+        when(appointmentSearchService.search(null, null, "UNKNOWN", null, null, null, null, null, null, null))
+                .thenThrow(new IllegalArgumentException("Invalid appointment status: UNKNOWN"));
+        when(appointmentSearchService.search(null, null, null, null, null, null, null, null, null, null)).thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(401, controller.searchAppointments("patientToken", null, null, null, null, null, null, null, null, null, null).getStatusCode().value());
+        ResponseEntity<Object> badRequest = controller.searchAppointments("staffToken", null, null, "UNKNOWN", null, null, null, null, null, null, null);
+        assertEquals(400, badRequest.getStatusCode().value());
+        assertEquals("Invalid appointment status: UNKNOWN", badRequest.getBody());
+        assertEquals(500, controller.searchAppointments("staffToken", null, null, null, null, null, null, null, null, null, null).getStatusCode().value());
+    }
+
+    @Test
+    void cancelDoctorAppointments_staff_returnsResult() {
+        List<String> saGroup = List.of(Roles.ADMIN, Roles.SUPPORT_STAFF);
+        BulkCancelAppointmentsDto dto = new BulkCancelAppointmentsDto();
+        dto.setToken("staffToken");
+        dto.setDoctorId(5);
+        BulkCancelResultDto result = new BulkCancelResultDto(2, 2, List.of(LocalDate.now()), List.of(7, 8));
+        when(accessManager.getSaGroup()).thenReturn(saGroup);
+        when(accessManager.enforceRoleBasedAccess(saGroup, "staffToken")).thenReturn(mockUser("staff@test.com", Roles.SUPPORT_STAFF, 3));
+        when(appointmentService.cancelDoctorAppointments(dto)).thenReturn(result);
+
+        ResponseEntity<Object> response = controller.cancelDoctorAppointments(dto);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(result, response.getBody());
+    }
+
+    @Test
+    void cancelDoctorAppointments_errors_mapToStatusCodes() {
+        List<String> saGroup = List.of(Roles.ADMIN, Roles.SUPPORT_STAFF);
+        BulkCancelAppointmentsDto dto = new BulkCancelAppointmentsDto();
+        dto.setToken("staffToken");
+        when(accessManager.getSaGroup()).thenReturn(saGroup);
+        when(accessManager.enforceRoleBasedAccess(saGroup, "staffToken")).thenReturn(mockUser("staff@test.com", Roles.SUPPORT_STAFF, 3));
+        when(appointmentService.cancelDoctorAppointments(dto))
+                .thenThrow(new IllegalArgumentException("Doctor with ID 0 not found"))
+                .thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(400, controller.cancelDoctorAppointments(dto).getStatusCode().value());
+        assertEquals(500, controller.cancelDoctorAppointments(dto).getStatusCode().value());
+
+        when(accessManager.enforceRoleBasedAccess(saGroup, "staffToken")).thenThrow(new SecurityException("Access denied"));
+        assertEquals(401, controller.cancelDoctorAppointments(dto).getStatusCode().value());
+    }
+
+    @Test
+    void getMyAppointmentsPage_validRequest_returnsPage() {
+        User user = mockUser(TEST_EMAIL, Roles.PATIENT, 10);
+        AppointmentPageDto page = new AppointmentPageDto(List.of(mock(AppointmentSummaryDto.class)), "next", true);
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(user);
+        when(appointmentService.getAppointmentPageByUser(user, "upcoming", null, 10)).thenReturn(page);
+
+        ResponseEntity<Object> response = controller.getMyAppointmentsPage("validToken", "upcoming", null, 10);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void getMyAppointmentsPage_errors_mapToStatusCodes() {
+        User user = mockUser(TEST_EMAIL, Roles.PATIENT, 10);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Unauthorized"));
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(user);
+        when(appointmentService.getAppointmentPageByUser(user, null, "bad", null)).thenThrow(new IllegalArgumentException("Invalid page cursor."));
+        when(appointmentService.getAppointmentPageByUser(user, null, null, null)).thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(401, controller.getMyAppointmentsPage("badToken", null, null, null).getStatusCode().value());
+        ResponseEntity<Object> badRequest = controller.getMyAppointmentsPage("validToken", null, "bad", null);
+        assertEquals(400, badRequest.getStatusCode().value());
+        assertEquals("Invalid page cursor.", badRequest.getBody());
+        assertEquals(500, controller.getMyAppointmentsPage("validToken", null, null, null).getStatusCode().value());
+    }
+
     @Test
     void getMyAppointments_validToken_returnsAppointments() {
         String token = "validToken";
         User user = mockUser(TEST_EMAIL, Roles.PATIENT, 10);
 
-        List<Appointment> expectedAppointments = Arrays.asList(mock(Appointment.class), mock(Appointment.class), mock(Appointment.class));
+        List<AppointmentSummaryDto> expectedAppointments = Arrays.asList(mock(AppointmentSummaryDto.class), mock(AppointmentSummaryDto.class), mock(AppointmentSummaryDto.class));
 
         when(accessManager.enforceOwnershipBasedAccess(token)).thenReturn(user);
         when(appointmentService.getAllAppointmentsByUser(user)).thenReturn(expectedAppointments);
@@ -125,6 +266,15 @@ class AppointmentControllerTest extends AbstractTestBase {
         assertEquals("Invalid data", badRequest.getBody());
         verify(appointmentService).scheduleAppointment(dto);
 
+        // --- RejectedExecutionException → 429 ---
+        dto.setToken("busy-token");
+        when(accessManager.enforceOwnershipBasedAccess("busy-token")).thenReturn(user);
+        doThrow(new RejectedExecutionException("Busy")).when(appointmentService).scheduleAppointment(dto);
+
+        ResponseEntity<Object> tooManyRequests = controller.scheduleAppointment(dto);
+        assertEquals(429, tooManyRequests.getStatusCode().value());
+        assertEquals("Busy", tooManyRequests.getBody());
+
         // --- Generic Exception → 500 ---
         dto.setToken("ok-token");
         when(accessManager.enforceOwnershipBasedAccess("ok-token")).thenReturn(user);
@@ -135,6 +285,60 @@ class AppointmentControllerTest extends AbstractTestBase {
         assertEquals("An unexpected error occurred.", serverError.getBody());
     }
 
+    @Test
+    void scheduleFirstAvailableAppointment_patient_bookedForSelf() {
+        User patientUser = mockUser(TEST_EMAIL, Roles.PATIENT, 10);
+        ScheduleFirstAvailableDto dto = new ScheduleFirstAvailableDto();
+        dto.setToken("validToken");
+        dto.setPatientId(99);
+        Appointment appointment = mock(Appointment.class, RETURNS_DEEP_STUBS);
+
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(patientUser);
+        when(appointmentService.scheduleFirstAvailableAppointment(dto)).thenReturn(appointment);
+
+        ResponseEntity<Object> response = controller.scheduleFirstAvailableAppointment(dto);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(appointment, response.getBody());
+        assertEquals(10, dto.getPatientId());
+    }
+
+    @Test
+    void scheduleFirstAvailableAppointment_doctor_restrictedToSelf() {
+        User doctorUser = mockUser(TEST_EMAIL, Roles.DOCTOR, 20);
+        ScheduleFirstAvailableDto dto = new ScheduleFirstAvailableDto();
+        dto.setToken("validToken");
+        dto.setPatientId(99);
+        dto.setDoctorId(21);
+        Appointment appointment = mock(Appointment.class, RETURNS_DEEP_STUBS);
+
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(doctorUser);
+        when(appointmentService.scheduleFirstAvailableAppointment(dto)).thenReturn(appointment);
+
+        ResponseEntity<Object> response = controller.scheduleFirstAvailableAppointment(dto);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(20, dto.getDoctorId());
+        assertEquals(99, dto.getPatientId());
+    }
+
+    @Test
+    void scheduleFirstAvailableAppointment_exceptions_returnProperResponses() {
+        ScheduleFirstAvailableDto dto = new ScheduleFirstAvailableDto();
+        dto.setToken("validToken");
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(requestor);
+
+        when(appointmentService.scheduleFirstAvailableAppointment(dto)).thenThrow(new IllegalArgumentException("No slots"));
+        assertEquals(400, controller.scheduleFirstAvailableAppointment(dto).getStatusCode().value());
+
+        reset(appointmentService);
+        when(appointmentService.scheduleFirstAvailableAppointment(dto)).thenThrow(new RejectedExecutionException("Busy"));
+        assertEquals(429, controller.scheduleFirstAvailableAppointment(dto).getStatusCode().value());
+
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenThrow(new SecurityException("Invalid token"));
+        assertEquals(401, controller.scheduleFirstAvailableAppointment(dto).getStatusCode().value());
+    }
+
     @Test
     void updateAppointment_validInput_successResponse() {
         when(accessManager.enforceOwnershipBasedAccess(updateAppointmentDto.getToken())).thenReturn(requestor);
@@ -164,6 +368,14 @@ class AppointmentControllerTest extends AbstractTestBase {
         assertEquals(400, illegalArgResponse.getStatusCode().value());
         assertEquals("Invalid data", illegalArgResponse.getBody());
 
+        // --- OptimisticLockingFailureException → 409 ---
+        reset(appointmentService);
+        when(accessManager.enforceOwnershipBasedAccess(updateAppointmentDto.getToken())).thenReturn(requestor);
+        doThrow(new ObjectOptimisticLockingFailureException(Appointment.class, 1)).when(appointmentService)
+                .updateAppointment(updateAppointmentDto, requestor);
+        ResponseEntity<Object> conflictResponse = controller.updateAppointment(updateAppointmentDto);
+        assertEquals(409, conflictResponse.getStatusCode().value());
+
         // Generic Exception path
         reset(appointmentService);
         when(accessManager.enforceOwnershipBasedAccess(updateAppointmentDto.getToken())).thenReturn(requestor);
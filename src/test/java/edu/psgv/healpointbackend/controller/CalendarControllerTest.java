@@ -0,0 +1,91 @@
+package edu.psgv.healpointbackend.controller;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.CalendarFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CalendarControllerTest extends AbstractTestBase {
+    private static final String ETAG = "\"calendar-48-1000\"";
+
+    @Mock
+    private AccessManager accessManager;
+
+    @Mock
+    private CalendarFeedService calendarFeedService;
+
+    @InjectMocks
+    private CalendarController controller;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = mockUser("user@test.com", Roles.PATIENT, 48);
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(user);
+        when(calendarFeedService.getLastModified(user)).thenReturn(1000L);
+        when(calendarFeedService.getETag(user, 1000L)).thenReturn(ETAG);
+    }
+
+    @Test
+    void getMyCalendar_changedCalendar_streamsFeed() throws IOException {
+        ServletWebRequest request = request(null);
+        ResponseEntity<StreamingResponseBody> response = controller.getMyCalendar("validToken", request);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(ETAG, request.getResponse().getHeader("ETag"));
+        assertEquals("text/calendar;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertNotNull(response.getBody());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        verify(calendarFeedService).writeFeed(user, output);
+    }
+
+    @Test
+    void getMyCalendar_matchingETag_returnsNotModifiedWithoutStreaming() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = controller.getMyCalendar("validToken", request(ETAG));
+
+        assertEquals(304, response.getStatusCode().value());
+        assertNull(response.getBody());
+        verify(calendarFeedService, never()).writeFeed(any(), any());
+    }
+
+    @Test
+    void getMyCalendar_invalidToken_returnsUnauthorized() throws IOException {
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Unauthorized"));
+
+        ResponseEntity<StreamingResponseBody> response = controller.getMyCalendar("badToken", request(null));
+
+        assertEquals(401, response.getStatusCode().value());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        assertEquals("Unauthorized", output.toString());
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/my-calendar.ics");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
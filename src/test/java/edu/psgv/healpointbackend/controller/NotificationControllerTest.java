@@ -1,23 +1,33 @@
 package edu.psgv.healpointbackend.controller;
 
 import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.MarkAllNotificationsReadDto;
+import edu.psgv.healpointbackend.dto.MarkNotificationReadDto;
+import edu.psgv.healpointbackend.dto.NotificationPageDto;
+import edu.psgv.healpointbackend.dto.UnreadCountDto;
 import edu.psgv.healpointbackend.model.Notification;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.NotificationPushService;
+import edu.psgv.healpointbackend.service.NotificationReadService;
 import edu.psgv.healpointbackend.service.NotificationService;
+import edu.psgv.healpointbackend.service.UnreadCountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class NotificationControllerTest extends AbstractTestBase {
@@ -27,6 +37,15 @@ class NotificationControllerTest extends AbstractTestBase {
     @Mock
     private NotificationService service;
 
+    @Mock
+    private NotificationPushService pushService;
+
+    @Mock
+    private NotificationReadService readService;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
     @InjectMocks
     private NotificationController controller;
 
@@ -74,4 +93,102 @@ class NotificationControllerTest extends AbstractTestBase {
         assertEquals(500, errorResponse.getStatusCode().value());
         assertEquals("An unexpected error occurred.", errorResponse.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMyNotificationsPage_validToken_returnsPage() {
+        String token = "validToken";
+        User testUser = mockUser("user@test.com", Roles.DOCTOR, 48);
+        NotificationPageDto page = new NotificationPageDto(List.of(mock(Notification.class)), "cursor", true);
+
+        when(accessManager.enforceOwnershipBasedAccess(token)).thenReturn(testUser);
+        when(service.getNotificationPageByUser(testUser, null, 1)).thenReturn(page);
+
+        ResponseEntity<Object> response = controller.getMyNotificationsPage(token, null, 1);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void getMyNotificationsPage_exceptions_handledProperly() {
+        User testUser = mockUser("user@test.com", Roles.PATIENT, 48);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Invalid token"));
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(testUser);
+        when(service.getNotificationPageByUser(testUser, "bad", null)).thenThrow(new IllegalArgumentException("Invalid page cursor."));
+        when(service.getNotificationPageByUser(testUser, null, null)).thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(401, controller.getMyNotificationsPage("badToken", null, null).getStatusCode().value());
+        ResponseEntity<Object> badRequest = controller.getMyNotificationsPage("validToken", "bad", null);
+        assertEquals(400, badRequest.getStatusCode().value());
+        assertEquals("Invalid page cursor.", badRequest.getBody());
+        assertEquals(500, controller.getMyNotificationsPage("validToken", null, null).getStatusCode().value());
+    }
+
+    @Test
+    void streamMyNotifications_validAndInvalidToken_handledProperly() {
+        User testUser = mockUser("user@test.com", Roles.DOCTOR, 48);
+        SseEmitter emitter = new SseEmitter();
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(testUser);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Invalid token"));
+        when(pushService.subscribe(testUser)).thenReturn(emitter);
+
+        ResponseEntity<SseEmitter> response = controller.streamMyNotifications("validToken");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(emitter, response.getBody());
+        assertEquals(401, controller.streamMyNotifications("badToken").getStatusCode().value());
+    }
+
+    @Test
+    void markNotificationRead_outcomes_mappedToStatusCodes() {
+        User testUser = mockUser("user@test.com", Roles.DOCTOR, 48);
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(testUser);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Invalid token"));
+        when(readService.markRead(testUser, 1)).thenReturn(true);
+        when(readService.markRead(testUser, 2)).thenThrow(new IllegalArgumentException("Notification with ID 2 not found"));
+        when(readService.markRead(testUser, 3)).thenThrow(new ObjectOptimisticLockingFailureException(Notification.class, 3));
+
+        assertEquals(200, controller.markNotificationRead(markReadDto("validToken", 1)).getStatusCode().value());
+        assertEquals(400, controller.markNotificationRead(markReadDto("validToken", 2)).getStatusCode().value());
+        assertEquals(409, controller.markNotificationRead(markReadDto("validToken", 3)).getStatusCode().value());
+        assertEquals(401, controller.markNotificationRead(markReadDto("badToken", 1)).getStatusCode().value());
+    }
+
+    @Test
+    void markAllNotificationsRead_outcomes_mappedToStatusCodes() {
+        User testUser = mockUser("user@test.com", Roles.DOCTOR, 48);
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(testUser);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Invalid token"));
+        when(readService.markAllRead(testUser, 3)).thenThrow(new ObjectOptimisticLockingFailureException(Notification.class, 3));
+
+        MarkAllNotificationsReadDto dto = new MarkAllNotificationsReadDto();
+        dto.setToken("validToken");
+        assertEquals(200, controller.markAllNotificationsRead(dto).getStatusCode().value());
+        verify(readService).markAllRead(testUser, null);
+        dto.setUpToNotificationId(3);
+        assertEquals(409, controller.markAllNotificationsRead(dto).getStatusCode().value());
+        dto.setToken("badToken");
+        assertEquals(401, controller.markAllNotificationsRead(dto).getStatusCode().value());
+    }
+
+    @Test
+    void getMyUnreadNotificationCount_validAndInvalidToken_handledProperly() {
+        User testUser = mockUser("user@test.com", Roles.PATIENT, 48);
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(testUser);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Invalid token"));
+        when(unreadCountService.getUnreadCount(testUser)).thenReturn(7L);
+
+        ResponseEntity<Object> response = controller.getMyUnreadNotificationCount("validToken");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(7L, ((UnreadCountDto) response.getBody()).getUnreadCount());
+        assertEquals(401, controller.getMyUnreadNotificationCount("badToken").getStatusCode().value());
+    }
+
+    private static MarkNotificationReadDto markReadDto(String token, int notificationId) {
+        MarkNotificationReadDto dto = new MarkNotificationReadDto();
+        dto.setToken(token);
+        dto.setNotificationId(notificationId);
+        return dto;
+    }
+}
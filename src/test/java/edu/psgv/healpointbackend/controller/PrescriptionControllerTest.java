@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -145,6 +146,17 @@ class PrescriptionControllerTest extends AbstractTestBase {
         assertEquals("Save failed", response.getBody());
     }
 
+    @Test
+    void upsertPrescription_concurrentModification_returnsConflict() {
+        when(accessManager.getDoctorOnlyGroup()).thenReturn(doctorOnlyRole);
+        when(accessManager.enforceRoleBasedAccess(doctorOnlyRole, "validToken")).thenReturn(mockUser("doctor@email.com"));
+        doThrow(new ObjectOptimisticLockingFailureException(Prescription.class, 1)).when(prescriptionService).upsertPrescription(dto);
+
+        ResponseEntity<Object> response = controller.upsertPrescription(dto);
+
+        assertEquals(409, response.getStatusCode().value());
+    }
+
     @Test // FR-10.2 UT-16
     void upsertPrescription_missingRequiredFields_returnsBadRequest() throws Exception {
         MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
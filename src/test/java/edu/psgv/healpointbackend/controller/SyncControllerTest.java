@@ -0,0 +1,66 @@
+package edu.psgv.healpointbackend.controller;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.SyncChangesDto;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.service.AccessManager;
+import edu.psgv.healpointbackend.service.SyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+class SyncControllerTest extends AbstractTestBase {
+    @Mock
+    private AccessManager accessManager;
+
+    @Mock
+    private SyncService syncService;
+
+    @InjectMocks
+    private SyncController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void syncMyChanges_validToken_returnsChanges() {
+        User user = mockUser("user@test.com", Roles.PATIENT, 48);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        SyncChangesDto changes = new SyncChangesDto(LocalDateTime.now(), false, List.of(), List.of(3), List.of());
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(user);
+        when(syncService.getChangesSince(user, since)).thenReturn(changes);
+
+        ResponseEntity<Object> response = controller.syncMyChanges("validToken", since);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(changes, response.getBody());
+    }
+
+    @Test
+    void syncMyChanges_errors_mapToStatusCodes() {
+        User user = mockUser("user@test.com", Roles.PATIENT, 48);
+        when(accessManager.enforceOwnershipBasedAccess("badToken")).thenThrow(new SecurityException("Unauthorized"));
+        when(accessManager.enforceOwnershipBasedAccess("validToken")).thenReturn(user);
+        when(syncService.getChangesSince(user, null)).thenThrow(new RuntimeException("DB down"));
+
+        ResponseEntity<Object> unauthorized = controller.syncMyChanges("badToken", null);
+        ResponseEntity<Object> failure = controller.syncMyChanges("validToken", null);
+
+        assertEquals(401, unauthorized.getStatusCode().value());
+        assertEquals("Unauthorized", unauthorized.getBody());
+        assertEquals(500, failure.getStatusCode().value());
+    }
+}
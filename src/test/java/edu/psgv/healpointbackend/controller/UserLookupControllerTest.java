@@ -225,4 +225,19 @@ class UserLookupControllerTest extends AbstractTestBase {
         assertEquals("Database error", response.getBody());
         verify(profileGetService).getAllDoctors();
     }
+
+    @Test
+    void searchDoctors_filters_returnsMatchesOrBadRequest() {
+        List<DoctorProfile> profiles = List.of(mockDoctorProfile("Alice", "alice@example.com"));
+        when(profileGetService.searchDoctors("Cardiology", "English", "al")).thenReturn(profiles);
+
+        ResponseEntity<Object> ok = controller.searchDoctors("Cardiology", "English", "al");
+        assertEquals(200, ok.getStatusCode().value());
+        assertEquals(profiles, ok.getBody());
+
+        when(profileGetService.searchDoctors(null, null, null)).thenThrow(new RuntimeException("Index failure"));
+        ResponseEntity<Object> badRequest = controller.searchDoctors(null, null, null);
+        assertEquals(400, badRequest.getStatusCode().value());
+        assertEquals("Index failure", badRequest.getBody());
+    }
 }
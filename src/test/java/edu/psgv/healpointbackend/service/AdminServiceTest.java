@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -30,6 +31,9 @@ class AdminServiceTest extends AbstractTestBase {
     @Mock
     private ProfileGetService profileGetService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -80,6 +84,7 @@ class AdminServiceTest extends AbstractTestBase {
 
         assertFalse(user.getIsActive());
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(new AccountStatusChangedEvent(userId, isActive));
     }
 
     @Test
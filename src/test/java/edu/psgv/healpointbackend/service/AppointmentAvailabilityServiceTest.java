@@ -100,6 +100,54 @@ class AppointmentAvailabilityServiceTest extends AbstractTestBase {
         assertEquals(slot2.getStartTime(), result.getAvailableSlots().get(0).getStartTime());
     }
 
+    @Test
+    void rankDoctorsBySpecialtyLoad_mixedLoads_leastLoadedFirst() throws JsonProcessingException {
+        LocalDate date = LocalDate.now().plusDays(2);
+        String dayName = date.getDayOfWeek().name().substring(0, 3);
+        Patient patient = mockPatient(7, "Test", "Patient");
+
+        Doctor busy = mockDoctor(1, "Test", "Busy");
+        busy.setSpecialty("Primary Care, Pediatrics");
+        Doctor idle = mockDoctor(2, "Test", "Idle");
+        idle.setSpecialty("Primary Care");
+        Doctor other = mockDoctor(3, "Test", "Other");
+        other.setSpecialty("Primary Care Research");
+
+        WorkDay busyDay = WorkDay.builder().doctor(busy).dayName(dayName).startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(10, 0)).slotCount(2).build();
+        WorkDay idleDay = WorkDay.builder().doctor(idle).dayName(dayName).startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(11, 0)).slotCount(2).build();
+        WorkDay otherDay = WorkDay.builder().doctor(other).dayName(dayName).startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(10, 0)).slotCount(2).build();
+        when(workDayRepository.findByDayNameAndDoctorSpecialtyContainingIgnoreCase(dayName, "primary care"))
+                .thenReturn(List.of(busyDay, idleDay, otherDay));
+
+        when(slotGenerator.generateSlots(LocalTime.of(8, 0), LocalTime.of(10, 0)))
+                .thenAnswer(invocation -> new ArrayList<>(List.of(new Slot(LocalTime.of(8, 0), LocalTime.of(9, 0)), new Slot(LocalTime.of(9, 0), LocalTime.of(10, 0)))));
+        when(slotGenerator.generateSlots(LocalTime.of(9, 0), LocalTime.of(11, 0)))
+                .thenAnswer(invocation -> new ArrayList<>(List.of(new Slot(LocalTime.of(9, 0), LocalTime.of(10, 0)), new Slot(LocalTime.of(10, 0), LocalTime.of(11, 0)))));
+
+        Appointment booked = new Appointment(busy, patient, date, LocalTime.of(8, 0), LocalTime.of(9, 0), "Follow-up");
+        Appointment canceled = new Appointment(idle, patient, date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Follow-up");
+        canceled.setStatus(AppointmentStatus.CANCELED);
+        when(appointmentRepository.findByAppointmentDateAndDoctorIdIn(eq(date), anyCollection())).thenReturn(List.of(booked, canceled));
+
+        List<AvailableAppointmentSlotsDto> ranked = service.rankDoctorsBySpecialtyLoad("primary care", date, null);
+
+        assertEquals(2, ranked.size());
+        assertEquals(idle, ranked.get(0).getDoctor());
+        assertEquals(2, ranked.get(0).getAvailableSlots().size());
+        assertEquals(busy, ranked.get(1).getDoctor());
+        assertEquals(LocalTime.of(9, 0), ranked.get(1).getAvailableSlots().get(0).getStartTime());
+
+        List<AvailableAppointmentSlotsDto> atTen = service.rankDoctorsBySpecialtyLoad("primary care", date, LocalTime.of(10, 0));
+        assertEquals(1, atTen.size());
+        assertEquals(idle, atTen.get(0).getDoctor());
+    }
+
+    @Test
+    void rankDoctorsBySpecialtyLoad_pastDate_returnsEmptyList() {
+        assertTrue(service.rankDoctorsBySpecialtyLoad("Primary Care", LocalDate.now(), null).isEmpty());
+        verifyNoInteractions(workDayRepository);
+    }
+
     @Test
     void getAvailableAppointmentDates_mixedDoctorSchedules_returnsAvailableDates() {
         Doctor doc1 = mockDoctor(1, "Test", "Doctor1");
@@ -0,0 +1,190 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.Appointment;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.model.Doctor;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Patient;
+import edu.psgv.healpointbackend.repository.AppointmentReminderClaimRepository.Claim;
+import edu.psgv.healpointbackend.repository.AppointmentReminderLogRepository;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AppointmentReminderServiceTest extends AbstractTestBase {
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentReminderLogRepository reminderLogRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AppointmentReminderService service;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 3, 2, 8, 0);
+    private Doctor doctor;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doctor = mockDoctor(1, "Greg", "House");
+        patient = mockPatient(2, "Jane", "Doe");
+        when(notificationService.sendAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        when(reminderLogRepository.claimAll(anyList())).thenAnswer(invocation -> {
+            boolean[] claimed = new boolean[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(claimed, true);
+            return claimed;
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void start_loadsWindow_andSendsBothRemindersWhenDue() {
+        AppointmentSummaryDto tomorrow = mockAppointmentSummary(7, doctor, patient, "2026-03-03", "10:00", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findSummariesByStatusAndDateRange(AppointmentStatus.SCHEDULED, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4)))
+                .thenReturn(List.of(tomorrow));
+        when(appointmentRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(tomorrow));
+
+        service.start(now);
+        assertEquals(2, service.size());
+
+        assertEquals(0, service.sendDueReminders(now.plusHours(1).plusMinutes(59)));
+        assertEquals(1, service.sendDueReminders(now.plusHours(2)));
+        assertEquals(0, service.sendDueReminders(now.plusHours(24).plusMinutes(59)));
+        assertEquals(1, service.sendDueReminders(now.plusHours(25)));
+        assertEquals(0, service.size());
+
+        ArgumentCaptor<List<Notification>> sent = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(2)).sendAll(sent.capture());
+        Notification reminder = sent.getAllValues().get(0).get(0);
+        assertEquals(2, reminder.getRecipientId());
+        assertEquals("Reminder: you have an appointment with Dr. Greg House on 2026-03-03 at 10:00.", reminder.getMessage());
+    }
+
+    @Test
+    void track_bookingRescheduleAndCancel_updatesWheel() {
+        when(appointmentRepository.findSummariesByStatusAndDateRange(anyString(), any(), any())).thenReturn(List.of());
+        service.start(now);
+
+        Appointment appointment = mockAppointment(doctor, patient, "2026-03-02", "12:00", AppointmentStatus.SCHEDULED);
+        appointment.setId(9);
+        service.track(appointment);
+        assertEquals(1, service.size());
+
+        appointment.setAppointmentDate(LocalDate.of(2026, 3, 3));
+        service.track(appointment);
+        assertEquals(2, service.size());
+
+        service.untrack(List.of(9));
+        assertEquals(0, service.size());
+
+        service.track(appointment);
+        appointment.setStatus(AppointmentStatus.CANCELED);
+        service.track(appointment);
+        assertEquals(0, service.size());
+
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setAppointmentDate(LocalDate.of(2026, 4, 1));
+        service.track(appointment);
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void sendDueReminders_appointmentChangedElsewhere_skipsReminder() {
+        AppointmentSummaryDto scheduled = mockAppointmentSummary(7, doctor, patient, "2026-03-02", "10:00", AppointmentStatus.SCHEDULED);
+        AppointmentSummaryDto canceled = mockAppointmentSummary(7, doctor, patient, "2026-03-02", "10:00", AppointmentStatus.CANCELED);
+        when(appointmentRepository.findSummariesByStatusAndDateRange(anyString(), any(), any())).thenReturn(List.of(scheduled));
+        when(appointmentRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(canceled));
+
+        service.start(now);
+
+        assertEquals(0, service.sendDueReminders(now.plusHours(1)));
+        verify(notificationService).sendAll(List.of());
+    }
+
+    @Test
+    void sendDueReminders_claimedByOtherNode_skipsReminder() {
+        AppointmentSummaryDto scheduled = mockAppointmentSummary(7, doctor, patient, "2026-03-02", "10:00", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findSummariesByStatusAndDateRange(anyString(), any(), any())).thenReturn(List.of(scheduled));
+        when(appointmentRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(scheduled));
+        when(reminderLogRepository.claimAll(List.of(new Claim(7, 60, LocalDateTime.of(2026, 3, 2, 10, 0)))))
+                .thenReturn(new boolean[]{false});
+
+        service.start(now);
+
+        assertEquals(0, service.sendDueReminders(now.plusHours(1)));
+        verify(reminderLogRepository).claimAll(List.of(new Claim(7, 60, LocalDateTime.of(2026, 3, 2, 10, 0))));
+        verify(notificationService).sendAll(List.of());
+    }
+
+    @Test
+    void sendDueReminders_sendFails_retriesOnNextTick() {
+        AppointmentSummaryDto scheduled = mockAppointmentSummary(7, doctor, patient, "2026-03-02", "10:00", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findSummariesByStatusAndDateRange(anyString(), any(), any())).thenReturn(List.of(scheduled));
+        when(appointmentRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(scheduled));
+        when(notificationService.sendAll(anyList())).thenThrow(new IllegalStateException("Database unavailable"))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        service.start(now);
+
+        assertThrows(IllegalStateException.class, () -> service.sendDueReminders(now.plusHours(1)));
+        assertEquals(1, service.size());
+        assertEquals(1, service.sendDueReminders(now.plusHours(1).plusMinutes(1)));
+        assertEquals(0, service.size());
+        verify(reminderLogRepository, times(2)).claimAll(List.of(new Claim(7, 60, LocalDateTime.of(2026, 3, 2, 10, 0))));
+    }
+
+    @Test
+    void sendDueReminders_claimRaceWithOtherNode_retriesBatchOnce() {
+        AppointmentSummaryDto scheduled = mockAppointmentSummary(7, doctor, patient, "2026-03-02", "10:00", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findSummariesByStatusAndDateRange(anyString(), any(), any())).thenReturn(List.of(scheduled));
+        when(appointmentRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(scheduled));
+        when(reminderLogRepository.claimAll(anyList())).thenThrow(new DuplicateKeyException("UQ_AppointmentReminderLog_Reminder"))
+                .thenReturn(new boolean[]{false});
+
+        service.start(now);
+
+        assertEquals(0, service.sendDueReminders(now.plusHours(1)));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(notificationService).sendAll(List.of());
+    }
+
+    @Test
+    void sendDueReminders_windowExhausted_loadsNextRange() {
+        when(appointmentRepository.findSummariesByStatusAndDateRange(anyString(), any(), any())).thenReturn(List.of());
+        service.start(now);
+
+        service.sendDueReminders(now.plusMinutes(59));
+        verify(appointmentRepository, times(1)).findSummariesByStatusAndDateRange(anyString(), any(), any());
+
+        service.sendDueReminders(now.plusHours(1));
+        verify(appointmentRepository).findSummariesByStatusAndDateRange(AppointmentStatus.SCHEDULED, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 4));
+        verify(reminderLogRepository).deleteStartedBefore(now.plusHours(1).minusDays(1));
+        verify(notificationService, never()).sendAll(anyList());
+    }
+}
@@ -0,0 +1,104 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.AppointmentSearchPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.Appointment;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.model.Doctor;
+import edu.psgv.healpointbackend.model.Patient;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AppointmentSearchServiceTest extends AbstractTestBase {
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @InjectMocks
+    private AppointmentSearchService service;
+
+    private Appointment appointment;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Doctor doctor = mockDoctor(1, "Greg", "House");
+        Patient patient = mockPatient(2, "Jane", "Doe");
+        appointment = mockAppointment(doctor, patient, "2025-03-12", "09:00", AppointmentStatus.MISSED);
+        appointment.setId(7);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_filters_returnsSummaryPage() {
+        when(appointmentRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(appointment), invocation.getArgument(1), 41));
+
+        AppointmentSearchPageDto result = service.search(1, null, " missed ", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+                "test", null, null, 1, 20);
+
+        assertEquals(1, result.getAppointments().size());
+        AppointmentSummaryDto summary = result.getAppointments().get(0);
+        assertEquals(7, summary.getId());
+        assertEquals("House", summary.getDoctor().getLastName());
+        assertEquals("Doe", summary.getPatient().getLastName());
+        assertEquals(1, result.getPage());
+        assertEquals(20, result.getSize());
+        assertEquals(41, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(appointmentRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(Sort.by(Sort.Direction.ASC, "appointmentDate", "startTime", "id"), pageable.getValue().getSort());
+        assertEquals(20, pageable.getValue().getOffset());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_sortAndSize_appliesTieBreakAndCapsSize() {
+        when(appointmentRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(), invocation.getArgument(1), 0));
+
+        AppointmentSearchPageDto result = service.search(null, null, null, null, null, null, "Doctor", "DESC", null, 5000);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(appointmentRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "doctor.lastName", "appointmentDate", "startTime", "id"), pageable.getValue().getSort());
+        assertEquals(100, pageable.getValue().getPageSize());
+        assertEquals(100, result.getSize());
+        assertTrue(result.getAppointments().isEmpty());
+    }
+
+    @Test
+    void search_invalidRequests_throwException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(null, null, "UNKNOWN", null, null, null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(null, null, null, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 3, 1), null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(null, null, null, null, null, null, "reason", null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(null, null, null, null, null, null, null, "sideways", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(null, null, null, null, null, null, null, null, -1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(null, null, null, null, null, null, null, null, 10, 100));
+        verifyNoInteractions(appointmentRepository);
+    }
+}
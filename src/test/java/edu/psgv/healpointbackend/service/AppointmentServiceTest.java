@@ -1,26 +1,52 @@
 package edu.psgv.healpointbackend.service;
 
 import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.common.concurrency.BookingAdmissionQueue;
+import edu.psgv.healpointbackend.dto.AppointmentPageDto;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
 import edu.psgv.healpointbackend.dto.AvailableAppointmentSlotsDto;
+import edu.psgv.healpointbackend.dto.BulkCancelAppointmentsDto;
+import edu.psgv.healpointbackend.dto.BulkCancelResultDto;
 import edu.psgv.healpointbackend.dto.ScheduleAppointmentDto;
+import edu.psgv.healpointbackend.dto.ScheduleFirstAvailableDto;
 import edu.psgv.healpointbackend.dto.UpdateAppointmentDto;
 import edu.psgv.healpointbackend.model.*;
 import edu.psgv.healpointbackend.repository.AppointmentRepository;
 import edu.psgv.healpointbackend.repository.DoctorRepository;
 import edu.psgv.healpointbackend.repository.PatientRepository;
+import edu.psgv.healpointbackend.utilities.AppointmentCursorCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class AppointmentServiceTest extends AbstractTestBase {
@@ -33,6 +59,14 @@ class AppointmentServiceTest extends AbstractTestBase {
     private AppointmentRepository appointmentRepository;
     @Mock
     private AppointmentAvailabilityService appointmentAvailabilityService;
+    @Spy
+    private BookingAdmissionQueue bookingAdmissionQueue = new BookingAdmissionQueue(new SimpleMeterRegistry());
+    @Mock
+    private AppointmentReminderService appointmentReminderService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -59,37 +93,108 @@ class AppointmentServiceTest extends AbstractTestBase {
         dto.setAppointmentDate(date);
         dto.setAppointmentTime(startTime);
         dto.setReason("Consultation");
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(patientRepository.lockById(2)).thenReturn(Optional.of(patient));
     }
 
     @Test
     void getAllAppointmentsByUser_nonEmptyRepository_returnsExpectedAppointments() {
         User mockPatientUser = mockUser("patient@example.com", Roles.PATIENT, 2);
 
-        Appointment a1 = mockAppointment(doctor, patient, "2025-07-05", "09:00", AppointmentStatus.COMPLETED);
-        Appointment a2 = mockAppointment(doctor, patient, "2025-08-12", "11:30", AppointmentStatus.COMPLETED);
-        Appointment a3 = mockAppointment(doctor, patient, "2025-12-22", "14:30", AppointmentStatus.SCHEDULED);
+        AppointmentSummaryDto a1 = mockAppointmentSummary(1, doctor, patient, "2025-07-05", "09:00", AppointmentStatus.COMPLETED);
+        AppointmentSummaryDto a2 = mockAppointmentSummary(2, doctor, patient, "2025-08-12", "11:30", AppointmentStatus.COMPLETED);
+        AppointmentSummaryDto a3 = mockAppointmentSummary(3, doctor, patient, "2025-12-22", "14:30", AppointmentStatus.SCHEDULED);
 
-        when(appointmentRepository.findByPatientId(2)).thenReturn(List.of(a1, a2, a3));
+        when(appointmentRepository.findSummariesByPatientId(2)).thenReturn(List.of(a1, a2, a3));
 
-        List<Appointment> appointments = appointmentService.getAllAppointmentsByUser(mockPatientUser);
+        List<AppointmentSummaryDto> appointments = appointmentService.getAllAppointmentsByUser(mockPatientUser);
 
         assertEquals(3, appointments.size());
         assertTrue(appointments.contains(a1));
         assertTrue(appointments.contains(a2));
         assertTrue(appointments.contains(a3));
-        verify(appointmentRepository).findByPatientId(2);
+        assertEquals("Smith", appointments.get(0).getDoctor().getLastName());
+        assertEquals(2, appointments.get(0).getPatient().getId());
+        verify(appointmentRepository).findSummariesByPatientId(2);
+        verify(appointmentRepository, never()).findByPatientId(anyInt());
+    }
+
+    @Test
+    void getAppointmentsChangedSince_watermark_queriesChangedRowsOnly() {
+        User mockPatientUser = mockUser("patient@example.com", Roles.PATIENT, 2);
+        User mockDoctorUser = mockUser("doctor@example.com", Roles.DOCTOR, 37);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(5);
+        AppointmentSummaryDto changed = mockAppointmentSummary(4, doctor, patient, "2025-07-05", "09:00", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findChangedSummariesByPatientId(2, since)).thenReturn(List.of(changed));
+        when(appointmentRepository.findSummariesByDoctorId(37)).thenReturn(List.of(changed));
+
+        assertEquals(List.of(changed), appointmentService.getAppointmentsChangedSince(mockPatientUser, since));
+        assertEquals(List.of(changed), appointmentService.getAppointmentsChangedSince(mockDoctorUser, null));
+        verify(appointmentRepository, never()).findSummariesByPatientId(anyInt());
+        verify(appointmentRepository, never()).findChangedSummariesByDoctorId(anyInt(), any());
+    }
+
+    @Test
+    void getAppointmentPageByUser_moreRowsThanPageSize_returnsPageWithCursor() {
+        User mockPatientUser = mockUser("patient@example.com", Roles.PATIENT, 2);
+        AppointmentSummaryDto a1 = mockAppointmentSummary(3, doctor, patient, "2025-07-05", "09:00", AppointmentStatus.SCHEDULED);
+        AppointmentSummaryDto a2 = mockAppointmentSummary(8, doctor, patient, "2025-07-05", "11:30", AppointmentStatus.SCHEDULED);
+        AppointmentSummaryDto a3 = mockAppointmentSummary(4, doctor, patient, "2025-08-12", "09:00", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findPatientPageAscending(2, null, null, null, null, Limit.of(3))).thenReturn(List.of(a1, a2, a3));
+
+        AppointmentPageDto page = appointmentService.getAppointmentPageByUser(mockPatientUser, null, null, 2);
+
+        assertEquals(List.of(a1, a2), page.getAppointments());
+        assertTrue(page.isHasMore());
+        AppointmentCursorCodec.Position position = AppointmentCursorCodec.decode(AppointmentService.SCOPE_ALL, page.getNextCursor());
+        assertEquals(LocalDate.parse("2025-07-05"), position.date());
+        assertEquals(LocalTime.of(11, 30), position.startTime());
+        assertEquals(8, position.id());
+    }
+
+    @Test
+    void getAppointmentPageByUser_scopeAndCursor_pushedDownToRepository() {
+        User mockDoctorUser = mockUser("doctor@example.com", Roles.DOCTOR, 37);
+        AppointmentSummaryDto last = mockAppointmentSummary(5, doctor, patient, "2025-07-05", "09:00", AppointmentStatus.COMPLETED);
+        String cursor = AppointmentCursorCodec.encode(AppointmentService.SCOPE_PAST, last.getAppointmentDate(), last.getStartTime(), 5);
+        LocalDate today = LocalDate.now();
+        when(appointmentRepository.findDoctorPageDescending(eq(37), eq(today), eq(last.getAppointmentDate()), eq(last.getStartTime()), eq(5), any(Limit.class)))
+                .thenReturn(List.of());
+        when(appointmentRepository.findDoctorPageAscending(eq(37), eq(today), isNull(), isNull(), isNull(), eq(Limit.of(101))))
+                .thenReturn(List.of(last));
+
+        AppointmentPageDto past = appointmentService.getAppointmentPageByUser(mockDoctorUser, "PAST", cursor, null);
+        AppointmentPageDto upcoming = appointmentService.getAppointmentPageByUser(mockDoctorUser, "upcoming", null, 500);
+
+        assertTrue(past.getAppointments().isEmpty());
+        assertFalse(past.isHasMore());
+        assertNull(past.getNextCursor());
+        assertEquals(List.of(last), upcoming.getAppointments());
+        verify(appointmentRepository, never()).findSummariesByDoctorId(anyInt());
+    }
+
+    @Test
+    void getAppointmentPageByUser_invalidScopeOrCursor_throwsException() {
+        User mockPatientUser = mockUser("patient@example.com", Roles.PATIENT, 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAppointmentPageByUser(mockPatientUser, "tomorrow", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAppointmentPageByUser(mockPatientUser, "upcoming", "garbage", null));
+        verifyNoInteractions(appointmentRepository);
     }
 
     @Test
     void getAllAppointmentsByUser_emptyRepository_returnsEmptyList() {
         User mockDoctorUser = mockUser("doctor@example.com", Roles.DOCTOR, 37);
 
-        when(appointmentRepository.findByDoctorId(37)).thenReturn(new ArrayList<>());
+        when(appointmentRepository.findSummariesByDoctorId(37)).thenReturn(new ArrayList<>());
 
-        List<Appointment> appointments = assertDoesNotThrow(() -> appointmentService.getAllAppointmentsByUser(mockDoctorUser));
+        List<AppointmentSummaryDto> appointments = assertDoesNotThrow(() -> appointmentService.getAllAppointmentsByUser(mockDoctorUser));
 
         assertTrue(appointments.isEmpty());
-        verify(appointmentRepository).findByDoctorId(37);
+        verify(appointmentRepository).findSummariesByDoctorId(37);
     }
 
     @Test
@@ -106,6 +211,176 @@ class AppointmentServiceTest extends AbstractTestBase {
 
         // Assert
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(bookingAdmissionQueue).admit(eq(1), eq(date), any(Runnable.class));
+        verify(appointmentReminderService).track(any(Appointment.class));
+    }
+
+    @Test
+    void scheduleAppointment_patientHasOverlappingAppointment_throwsException() {
+        when(patientRepository.findById(2)).thenReturn(Optional.of(patient));
+        when(doctorRepository.findById(1)).thenReturn(Optional.of(doctor));
+        when(appointmentAvailabilityService.createAvailableSlotsDto(date, 1))
+                .thenReturn(new AvailableAppointmentSlotsDto(doctor, date, List.of(slot)));
+        when(appointmentRepository.existsOverlappingPatientAppointment(2, date, slot.getStartTime(), slot.getEndTime(), null))
+                .thenReturn(true);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.scheduleAppointment(dto));
+        assertTrue(ex.getMessage().contains("overlaps"));
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void scheduleAppointment_samePatientWithTwoDoctorsConcurrently_onlyOneBooked() throws Exception {
+        Doctor second = mockDoctor(3, "Doctor", "Jones");
+        when(patientRepository.findById(2)).thenReturn(Optional.of(patient));
+        when(doctorRepository.findById(1)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(3)).thenReturn(Optional.of(second));
+        when(appointmentAvailabilityService.createAvailableSlotsDto(eq(date), anyInt()))
+                .thenAnswer(invocation -> new AvailableAppointmentSlotsDto(doctor, date, List.of(slot)));
+
+        // The patient row lock is held until the transaction of the booking ends
+        ReentrantLock patientRow = new ReentrantLock();
+        doAnswer(invocation -> {
+            patientRow.lock();
+            return Optional.of(patient);
+        }).when(patientRepository).lockById(2);
+        doAnswer(invocation -> {
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                if (patientRow.isHeldByCurrentThread()) {
+                    patientRow.unlock();
+                }
+            }
+        }).when(transactionTemplate).execute(any());
+        List<Appointment> saved = new CopyOnWriteArrayList<>();
+        when(appointmentRepository.existsOverlappingPatientAppointment(eq(2), eq(date), any(), any(), isNull()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(50);
+                    return !saved.isEmpty();
+                });
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        ScheduleAppointmentDto withSecond = new ScheduleAppointmentDto();
+        withSecond.setDoctorId(3);
+        withSecond.setPatientId(2);
+        withSecond.setAppointmentDate(date);
+        withSecond.setAppointmentTime(slot.getStartTime());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> bookings = new ArrayList<>();
+        for (ScheduleAppointmentDto booking : List.of(dto, withSecond)) {
+            bookings.add(executor.submit(() -> {
+                start.await();
+                appointmentService.scheduleAppointment(booking);
+                return null;
+            }));
+        }
+        start.countDown();
+
+        int rejected = 0;
+        for (Future<?> booking : bookings) {
+            try {
+                booking.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+        assertEquals(1, rejected);
+        assertEquals(1, saved.size());
+    }
+
+    @Test
+    void updateAppointment_rescheduleOverlapsOtherAppointment_throwsException() {
+        LocalDate newDate = LocalDate.now().plusDays(30);
+        LocalTime newTime = LocalTime.of(9, 0);
+        when(appointmentAvailabilityService.createAvailableSlotsDto(newDate, doctor.getId()))
+                .thenReturn(new AvailableAppointmentSlotsDto(doctor, newDate, List.of(new Slot(newTime, newTime.plusMinutes(30)))));
+
+        Appointment existingAppointment = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.SCHEDULED);
+        existingAppointment.setId(5);
+        when(appointmentRepository.findById(5)).thenReturn(Optional.of(existingAppointment));
+        when(appointmentRepository.existsOverlappingPatientAppointment(2, newDate, newTime, newTime.plusMinutes(30), 5))
+                .thenReturn(true);
+
+        User requestor = mockUser("patient@example.com", Roles.PATIENT, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.updateAppointment(mockUpdateAppointmentDto(5, newDate, newTime, null), requestor));
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+        verifyNoInteractions(appointmentReminderService);
+    }
+
+    @Test
+    void scheduleFirstAvailableAppointment_firstCandidateTaken_booksNextCandidate() {
+        Doctor second = mockDoctor(3, "Doctor", "Jones");
+        when(patientRepository.findById(2)).thenReturn(Optional.of(patient));
+        when(appointmentAvailabilityService.rankDoctorsBySpecialtyLoad("Cardiology", date, null)).thenReturn(List.of(
+                new AvailableAppointmentSlotsDto(doctor, date, List.of(slot)),
+                new AvailableAppointmentSlotsDto(second, date, List.of(slot))));
+        // The first doctor's last slot was taken by a concurrent booking
+        when(appointmentAvailabilityService.createAvailableSlotsDto(date, 1)).thenReturn(null);
+        when(appointmentAvailabilityService.createAvailableSlotsDto(date, 3)).thenReturn(new AvailableAppointmentSlotsDto(second, date, List.of(slot)));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ScheduleFirstAvailableDto firstAvailableDto = new ScheduleFirstAvailableDto();
+        firstAvailableDto.setPatientId(2);
+        firstAvailableDto.setSpecialty("Cardiology");
+        firstAvailableDto.setAppointmentDate(date);
+        firstAvailableDto.setReason("Consultation");
+
+        Appointment appointment = appointmentService.scheduleFirstAvailableAppointment(firstAvailableDto);
+
+        assertEquals(second, appointment.getDoctor());
+        assertEquals(slot.getStartTime(), appointment.getStartTime());
+        verify(bookingAdmissionQueue).admit(eq(1), eq(date), any(Supplier.class));
+        verify(bookingAdmissionQueue).admit(eq(3), eq(date), any(Supplier.class));
+        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(appointmentReminderService).track(appointment);
+    }
+
+    @Test
+    void scheduleFirstAvailableAppointment_doctorGiven_onlyThatDoctorConsidered() {
+        Doctor second = mockDoctor(3, "Doctor", "Jones");
+        when(patientRepository.findById(2)).thenReturn(Optional.of(patient));
+        when(appointmentAvailabilityService.rankDoctorsBySpecialtyLoad("Cardiology", date, null)).thenReturn(List.of(
+                new AvailableAppointmentSlotsDto(doctor, date, List.of(slot)),
+                new AvailableAppointmentSlotsDto(second, date, List.of(slot))));
+        when(appointmentAvailabilityService.createAvailableSlotsDto(date, 3)).thenReturn(new AvailableAppointmentSlotsDto(second, date, List.of(slot)));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ScheduleFirstAvailableDto firstAvailableDto = new ScheduleFirstAvailableDto();
+        firstAvailableDto.setPatientId(2);
+        firstAvailableDto.setDoctorId(3);
+        firstAvailableDto.setSpecialty("Cardiology");
+        firstAvailableDto.setAppointmentDate(date);
+        firstAvailableDto.setReason("Consultation");
+
+        Appointment appointment = appointmentService.scheduleFirstAvailableAppointment(firstAvailableDto);
+
+        assertEquals(second, appointment.getDoctor());
+        verify(bookingAdmissionQueue, never()).admit(eq(1), eq(date), any(Supplier.class));
+        verify(bookingAdmissionQueue).admit(eq(3), eq(date), any(Supplier.class));
+    }
+
+    @Test
+    void scheduleFirstAvailableAppointment_noCandidates_throwsException() {
+        when(patientRepository.findById(2)).thenReturn(Optional.of(patient));
+        when(appointmentAvailabilityService.rankDoctorsBySpecialtyLoad("Cardiology", date, null)).thenReturn(List.of());
+
+        ScheduleFirstAvailableDto firstAvailableDto = new ScheduleFirstAvailableDto();
+        firstAvailableDto.setPatientId(2);
+        firstAvailableDto.setSpecialty("Cardiology");
+        firstAvailableDto.setAppointmentDate(date);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.scheduleFirstAvailableAppointment(firstAvailableDto));
+        assertTrue(ex.getMessage().contains("No Cardiology doctor"));
     }
 
     @Test
@@ -146,9 +421,70 @@ class AppointmentServiceTest extends AbstractTestBase {
         assertTrue(ex2.getMessage().contains("does not have any available slots"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void cancelDoctorAppointments_validRange_cancelsNotifiesAndUntracks() {
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate to = from.plusDays(2);
+        Patient other = mockPatient(4, "Other", "Patient");
+        when(doctorRepository.findById(1)).thenReturn(Optional.of(doctor));
+        when(appointmentRepository.lockIdsByDoctorIdAndDateRange(1, from, to, AppointmentStatus.SCHEDULED)).thenReturn(List.of(7, 8));
+        when(appointmentRepository.transitionByIdIn(eq(List.of(7, 8)), eq(AppointmentStatus.SCHEDULED), eq(AppointmentStatus.CANCELED),
+                any(LocalDateTime.class))).thenReturn(2);
+        when(appointmentRepository.findSummariesByIdIn(List.of(7, 8)))
+                .thenReturn(List.of(mockAppointmentSummary(8, doctor, other, to.toString(), "10:00", AppointmentStatus.CANCELED),
+                        mockAppointmentSummary(7, doctor, patient, from.toString(), "09:00", AppointmentStatus.CANCELED)));
+        when(notificationService.sendAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        BulkCancelResultDto result = appointmentService.cancelDoctorAppointments(mockBulkCancelDto(1, from, to, "Doctor is ill"));
+
+        assertEquals(2, result.getCanceledCount());
+        assertEquals(2, result.getNotifiedPatientCount());
+        assertEquals(List.of(from, to), result.getAffectedDates());
+        assertEquals(List.of(7, 8), result.getAppointmentIds());
+
+        ArgumentCaptor<List<Notification>> sent = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).sendAll(sent.capture());
+        assertEquals(List.of(2, 4), sent.getValue().stream().map(Notification::getRecipientId).toList());
+        assertTrue(sent.getValue().get(0).getMessage().endsWith("has been canceled. Reason: Doctor is ill"));
+        verify(appointmentReminderService).untrack(List.of(7, 8));
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void cancelDoctorAppointments_invalidRequest_throwsException() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        when(doctorRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.cancelDoctorAppointments(mockBulkCancelDto(1, tomorrow.plusDays(1), tomorrow, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.cancelDoctorAppointments(mockBulkCancelDto(1, LocalDate.now().minusDays(1), tomorrow, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.cancelDoctorAppointments(mockBulkCancelDto(1, tomorrow, tomorrow.plusDays(31), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.cancelDoctorAppointments(mockBulkCancelDto(99, tomorrow, tomorrow, null)));
+        verify(appointmentRepository, never()).transitionByIdIn(any(), anyString(), anyString(), any());
+        verifyNoInteractions(notificationService, appointmentReminderService);
+    }
+
+    @Test
+    void cancelDoctorAppointments_nothingScheduled_returnsEmptyResult() {
+        LocalDate from = LocalDate.now().plusDays(1);
+        when(doctorRepository.findById(1)).thenReturn(Optional.of(doctor));
+        when(appointmentRepository.lockIdsByDoctorIdAndDateRange(1, from, from, AppointmentStatus.SCHEDULED)).thenReturn(List.of());
+
+        BulkCancelResultDto result = appointmentService.cancelDoctorAppointments(mockBulkCancelDto(1, from, from, null));
+
+        assertEquals(0, result.getCanceledCount());
+        assertTrue(result.getAppointmentIds().isEmpty());
+        verify(appointmentRepository, never()).transitionByIdIn(any(), anyString(), anyString(), any());
+        verifyNoInteractions(notificationService, appointmentReminderService);
+    }
+
     @Test
     void updateAppointment_validRequest_appointmentUpdated() {
-        LocalDate newDate = LocalDate.of(2025, 12, 20);
+        LocalDate newDate = LocalDate.now().plusDays(30);
         LocalTime newTime = LocalTime.of(9, 0);
 
         AvailableAppointmentSlotsDto slotsDto = new AvailableAppointmentSlotsDto(doctor, newDate, List.of(new Slot(newTime, newTime.plusMinutes(30))));
@@ -165,6 +501,69 @@ class AppointmentServiceTest extends AbstractTestBase {
         UpdateAppointmentDto updateDto2 = mockUpdateAppointmentDto(1, null, null, AppointmentStatus.CANCELED);
         appointmentService.updateAppointment(updateDto2, requestor);
         verifyAppointmentUpdate(existingAppointment, newDate, newTime, AppointmentStatus.CANCELED, 2);
+        verify(appointmentReminderService, times(2)).track(existingAppointment);
+    }
+
+    @Test
+    void updateAppointment_concurrentUnrelatedChange_retriesAndSucceeds() {
+        Appointment stale = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.SCHEDULED);
+        Appointment fresh = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findById(1)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(appointmentRepository.save(stale)).thenThrow(new ObjectOptimisticLockingFailureException(Appointment.class, 1));
+
+        User requestor = mockUser("patient@example.com", Roles.PATIENT, 2);
+        appointmentService.updateAppointment(mockUpdateAppointmentDto(1, null, null, AppointmentStatus.CANCELED), requestor);
+
+        assertEquals(AppointmentStatus.CANCELED, fresh.getStatus());
+        verify(appointmentRepository).save(fresh);
+        verify(appointmentReminderService).track(fresh);
+        verify(appointmentReminderService, never()).track(stale);
+    }
+
+    @Test
+    void updateAppointment_conflictingConcurrentChange_throwsException() {
+        Appointment stale = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.SCHEDULED);
+        Appointment fresh = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.COMPLETED);
+        when(appointmentRepository.findById(1)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(appointmentRepository.save(stale)).thenThrow(new ObjectOptimisticLockingFailureException(Appointment.class, 1));
+
+        User requestor = mockUser("patient@example.com", Roles.PATIENT, 2);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> appointmentService.updateAppointment(mockUpdateAppointmentDto(1, null, null, AppointmentStatus.CANCELED), requestor));
+        verify(appointmentRepository, never()).save(fresh);
+    }
+
+    @Test
+    void updateAppointment_rescheduleRacingCancellation_throwsException() {
+        LocalDate newDate = LocalDate.now().plusDays(30);
+        LocalTime newTime = LocalTime.of(9, 0);
+        when(appointmentAvailabilityService.createAvailableSlotsDto(newDate, doctor.getId()))
+                .thenReturn(new AvailableAppointmentSlotsDto(doctor, newDate, List.of(new Slot(newTime, newTime.plusMinutes(30)))));
+
+        Appointment stale = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.SCHEDULED);
+        Appointment fresh = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.CANCELED);
+        when(appointmentRepository.findById(1)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(appointmentRepository.save(stale)).thenThrow(new ObjectOptimisticLockingFailureException(Appointment.class, 1));
+
+        User requestor = mockUser("patient@example.com", Roles.PATIENT, 2);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> appointmentService.updateAppointment(mockUpdateAppointmentDto(1, newDate, newTime, null), requestor));
+        assertEquals(AppointmentStatus.CANCELED, fresh.getStatus());
+        verify(appointmentRepository, never()).save(fresh);
+        verify(appointmentReminderService, never()).track(fresh);
+    }
+
+    @Test
+    void updateAppointment_sameChangeAppliedConcurrently_succeedsWithoutWrite() {
+        Appointment stale = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.SCHEDULED);
+        Appointment fresh = mockAppointment(doctor, patient, "2025-12-16", "14:30", AppointmentStatus.CANCELED);
+        when(appointmentRepository.findById(1)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(appointmentRepository.save(stale)).thenThrow(new ObjectOptimisticLockingFailureException(Appointment.class, 1));
+
+        User requestor = mockUser("patient@example.com", Roles.PATIENT, 2);
+        appointmentService.updateAppointment(mockUpdateAppointmentDto(1, null, null, AppointmentStatus.CANCELED), requestor);
+
+        verify(appointmentRepository, never()).save(fresh);
     }
 
     @Test
@@ -238,4 +637,14 @@ class AppointmentServiceTest extends AbstractTestBase {
         assertEquals(newTime, updatedAppointment.getStartTime());
         assertEquals(status, updatedAppointment.getStatus());
     }
+
+    private BulkCancelAppointmentsDto mockBulkCancelDto(int doctorId, LocalDate fromDate, LocalDate toDate, String reason) {
+        BulkCancelAppointmentsDto bulkCancelDto = new BulkCancelAppointmentsDto();
+        bulkCancelDto.setToken("staffToken");
+        bulkCancelDto.setDoctorId(doctorId);
+        bulkCancelDto.setFromDate(fromDate);
+        bulkCancelDto.setToDate(toDate);
+        bulkCancelDto.setReason(reason);
+        return bulkCancelDto;
+    }
 }
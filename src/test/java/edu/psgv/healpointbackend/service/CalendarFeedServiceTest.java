@@ -0,0 +1,74 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.*;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class CalendarFeedServiceTest extends AbstractTestBase {
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @InjectMocks
+    private CalendarFeedService calendarFeedService;
+
+    private Doctor doctor;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doctor = mockDoctor(1, "Greg", "House");
+        patient = mockPatient(2, "Jane", "Doe");
+    }
+
+    @Test
+    void writeFeed_doctor_streamsEventsAndClosesStream() throws IOException {
+        User user = mockUser("doctor@test.com", Roles.DOCTOR, 1);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(appointmentRepository.streamSummariesByDoctorId(1)).thenReturn(Stream.of(
+                mockAppointmentSummary(3, doctor, patient, "2025-07-05", "09:00", AppointmentStatus.COMPLETED),
+                mockAppointmentSummary(4, doctor, patient, "2025-07-06", "10:00", AppointmentStatus.SCHEDULED)
+        ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        calendarFeedService.writeFeed(user, output);
+
+        String ics = output.toString(StandardCharsets.UTF_8);
+        assertEquals(2, ics.split("BEGIN:VEVENT").length - 1);
+        assertTrue(ics.contains("SUMMARY:Appointment with Jane Doe"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(closed.get());
+        verify(appointmentRepository, never()).streamSummariesByPatientId(anyInt());
+    }
+
+    @Test
+    void getLastModified_patient_usesLatestUpdate() {
+        User user = mockUser("patient@test.com", Roles.PATIENT, 2);
+        LocalDateTime updated = LocalDateTime.of(2025, 7, 5, 9, 30);
+        when(appointmentRepository.findLastUpdatedAtByPatientId(2)).thenReturn(updated);
+        when(appointmentRepository.findLastUpdatedAtByPatientId(3)).thenReturn(null);
+
+        long lastModified = calendarFeedService.getLastModified(user);
+
+        assertEquals(updated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), lastModified);
+        assertEquals(0, calendarFeedService.getLastModified(mockUser("other@test.com", Roles.PATIENT, 3)));
+        assertEquals("\"calendar-2-" + lastModified + "\"", calendarFeedService.getETag(user, lastModified));
+    }
+}
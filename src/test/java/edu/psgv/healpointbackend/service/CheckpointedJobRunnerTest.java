@@ -0,0 +1,98 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.JobCheckpoint;
+import edu.psgv.healpointbackend.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CheckpointedJobRunnerTest extends AbstractTestBase {
+    private static final String JOB_NAME = "TestJob";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CheckpointedJobRunner runner;
+
+    private JobCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        checkpoint = new JobCheckpoint(JOB_NAME);
+        when(jobCheckpointRepository.findById(JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(jobCheckpointRepository.claimLease(eq(JOB_NAME), anyString(), any(), any())).thenReturn(1);
+        when(jobCheckpointRepository.advance(eq(JOB_NAME), anyString(), anyInt(), anyLong(), any())).thenReturn(1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void run_interruptedBefore_resumesAfterCheckpointAndCompletes() {
+        checkpoint.setLastProcessedId(10);
+        List<String> ranges = new ArrayList<>();
+
+        long processed = runner.run(JOB_NAME, LEASE,
+                afterId -> afterId == 10 ? List.of(11, 20) : afterId == 20 ? List.of(25) : List.of(),
+                (afterId, upToId) -> {
+                    ranges.add(afterId + "-" + upToId);
+                    return upToId - afterId;
+                });
+
+        assertEquals(15, processed);
+        assertEquals(List.of("10-20", "20-25"), ranges);
+        verify(jobCheckpointRepository).advance(eq(JOB_NAME), anyString(), eq(20), eq(10L), any());
+        verify(jobCheckpointRepository).advance(eq(JOB_NAME), anyString(), eq(25), eq(5L), any());
+        verify(jobCheckpointRepository).complete(eq(JOB_NAME), anyString(), any(LocalDateTime.class));
+        verify(jobCheckpointRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void run_leaseHeldElsewhere_skipsRun() {
+        when(jobCheckpointRepository.claimLease(eq(JOB_NAME), anyString(), any(), any())).thenReturn(0);
+
+        assertEquals(0, runner.run(JOB_NAME, LEASE, afterId -> fail("No chunk may be read"), (afterId, upToId) -> 0));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void run_leaseLost_releasesAndKeepsCheckpoint() {
+        when(jobCheckpointRepository.advance(eq(JOB_NAME), anyString(), anyInt(), anyLong(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+                () -> runner.run(JOB_NAME, LEASE, afterId -> List.of(1, 2), (afterId, upToId) -> 2));
+        verify(jobCheckpointRepository).release(eq(JOB_NAME), anyString());
+        verify(jobCheckpointRepository, never()).complete(anyString(), anyString(), any());
+    }
+
+    @Test
+    void run_firstRunRacingAnotherNode_usesCheckpointCreatedByIt() {
+        when(jobCheckpointRepository.findById(JOB_NAME)).thenReturn(Optional.empty(), Optional.of(checkpoint));
+        when(jobCheckpointRepository.saveAndFlush(any(JobCheckpoint.class))).thenThrow(new DataIntegrityViolationException("PK_JobCheckpoint"));
+
+        assertEquals(0, runner.run(JOB_NAME, LEASE, afterId -> List.of(), (afterId, upToId) -> 0));
+        verify(jobCheckpointRepository).saveAndFlush(argThat(saved -> saved.getLastProcessedId() == 0));
+        verify(jobCheckpointRepository).complete(eq(JOB_NAME), anyString(), any(LocalDateTime.class));
+    }
+}
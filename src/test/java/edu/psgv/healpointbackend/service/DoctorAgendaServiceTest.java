@@ -0,0 +1,78 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.DoctorAgendaDto;
+import edu.psgv.healpointbackend.model.*;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.repository.PrescriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DoctorAgendaServiceTest extends AbstractTestBase {
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @InjectMocks
+    private DoctorAgendaService doctorAgendaService;
+
+    private Doctor doctor;
+    private Patient alice;
+    private Patient bob;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doctor = mockDoctor(1, "Doctor", "Smith");
+        alice = mockPatient(5, "Alice", "Jones");
+        bob = mockPatient(6, "Bob", "Brown");
+    }
+
+    @Test
+    void getAgenda_appointments_batchesPrescriptionLookup() {
+        LocalDate date = LocalDate.parse("2025-07-05");
+        Appointment first = mockAppointment(doctor, alice, "2025-07-05", "09:00", AppointmentStatus.SCHEDULED);
+        Appointment second = mockAppointment(doctor, bob, "2025-07-05", "10:00", AppointmentStatus.SCHEDULED);
+        Appointment third = mockAppointment(doctor, alice, "2025-07-05", "15:00", AppointmentStatus.SCHEDULED);
+        Prescription prescription = new Prescription();
+        prescription.setPatient(alice);
+        prescription.setInstruction("Take with food");
+        when(appointmentRepository.findAgendaByDoctorIdAndAppointmentDate(1, date)).thenReturn(List.of(first, second, third));
+        when(prescriptionRepository.findByPatientIdIn(Set.of(5, 6))).thenReturn(List.of(prescription));
+
+        DoctorAgendaDto agenda = doctorAgendaService.getAgenda(1, date);
+
+        assertEquals(date, agenda.getDate());
+        assertEquals(3, agenda.getEntries().size());
+        assertEquals("Alice", agenda.getEntries().get(0).getPatient().getFirstName());
+        assertEquals("Take with food", agenda.getEntries().get(0).getPrescription().getInstruction());
+        assertNull(agenda.getEntries().get(1).getPrescription());
+        assertSame(agenda.getEntries().get(0).getPrescription().getItems(), agenda.getEntries().get(2).getPrescription().getItems());
+        verify(prescriptionRepository, times(1)).findByPatientIdIn(any());
+        verify(prescriptionRepository, never()).findByPatientId(any());
+    }
+
+    @Test
+    void getAgenda_noAppointments_skipsPrescriptionQuery() {
+        when(appointmentRepository.findAgendaByDoctorIdAndAppointmentDate(1, LocalDate.now())).thenReturn(List.of());
+
+        DoctorAgendaDto agenda = doctorAgendaService.getAgenda(1, null);
+
+        assertEquals(LocalDate.now(), agenda.getDate());
+        assertTrue(agenda.getEntries().isEmpty());
+        verifyNoInteractions(prescriptionRepository);
+    }
+}
@@ -0,0 +1,137 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.NotificationDigestItem;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.repository.NotificationDigestItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationCoalescerTest extends AbstractTestBase {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 7, 5, 12, 0);
+
+    private NotificationOutbox notificationOutbox;
+    private NotificationDigestItemRepository digestItemRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        notificationOutbox = mock(NotificationOutbox.class);
+        digestItemRepository = mock(NotificationDigestItemRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new NotificationCoalescer(notificationOutbox, digestItemRepository, transactionTemplate, meterRegistry);
+        when(digestItemRepository.findGroupsOpenedBefore(NOW.minusSeconds(60))).thenReturn(List.of(Roles.DOCTOR));
+    }
+
+    @Test
+    void flushClosed_repeatedRequestsOfOnePatient_sendsOneMergedNotification() {
+        List<NotificationDigestItem> items = List.of(
+                item("refill:1", 1, "Doe, John (ID: 1) requested a refill for", List.of("MedA")),
+                item("refill:1", 1, "Doe, John (ID: 1) requested a refill for", List.of("meda ", "MedB")));
+        when(digestItemRepository.lockByRecipientGroup(Roles.DOCTOR)).thenReturn(items);
+
+        assertEquals(1, coalescer.flushClosed(NOW));
+
+        Notification sent = captureSent().get(0);
+        assertEquals("Doe, John (ID: 1) requested a refill for MedA, MedB (2 requests)", sent.getMessage());
+        assertEquals(Roles.DOCTOR, sent.getRecipientGroup());
+        assertEquals(1, sent.getUserId());
+        assertEquals(1, meterRegistry.get("healpoint.notifications.coalesced").counter().count());
+        verify(digestItemRepository).deleteAllInBatch(items);
+    }
+
+    @Test
+    void flushClosed_severalPatients_sendsOneDigest() {
+        when(digestItemRepository.lockByRecipientGroup(Roles.DOCTOR)).thenReturn(List.of(
+                item("refill:1", 1, "Doe, John (ID: 1) requested a refill for", List.of("MedA")),
+                item("refill:2", 2, "Roe, Jane (ID: 2) requested a refill for", List.of("MedC"))));
+
+        assertEquals(1, coalescer.flushClosed(NOW));
+
+        Notification sent = captureSent().get(0);
+        assertEquals("Digest of 2 notifications: Doe, John (ID: 1) requested a refill for MedA; "
+                + "Roe, Jane (ID: 2) requested a refill for MedC", sent.getMessage());
+        assertNull(sent.getUserId());
+    }
+
+    @Test
+    void flushClosed_longDigest_splitAtMessageLimit() {
+        List<NotificationDigestItem> items = new ArrayList<>();
+        for (int id = 1; id <= 20; id++) {
+            items.add(item("refill:" + id, id, "Patient " + id + " requested a refill for", List.of("Medication " + id)));
+        }
+        when(digestItemRepository.lockByRecipientGroup(Roles.DOCTOR)).thenReturn(items);
+
+        int sent = coalescer.flushClosed(NOW);
+
+        assertTrue(sent > 1);
+        List<Notification> notifications = captureSent();
+        assertTrue(notifications.stream().allMatch(n -> n.getMessage().length() <= 500 && n.getMessage().startsWith("Digest of 20")));
+        assertEquals(20, notifications.stream().mapToLong(n -> n.getMessage().split("; ").length).sum());
+    }
+
+    @Test
+    void flushClosed_oversizeFirstLine_truncatesItsMessage() {
+        List<String> medications = new ArrayList<>();
+        for (int i = 1; i <= 60; i++) {
+            medications.add("Medication " + i);
+        }
+        when(digestItemRepository.lockByRecipientGroup(Roles.DOCTOR)).thenReturn(List.of(
+                item("refill:1", 1, "Doe, John (ID: 1) requested a refill for", medications),
+                item("refill:2", 2, "Roe, Jane (ID: 2) requested a refill for", List.of("MedC"))));
+
+        assertEquals(2, coalescer.flushClosed(NOW));
+
+        List<Notification> notifications = captureSent();
+        assertEquals(500, notifications.get(0).getMessage().length());
+        assertTrue(notifications.get(0).getMessage().endsWith("..."));
+        assertEquals("Digest of 2 notifications: Roe, Jane (ID: 2) requested a refill for MedC", notifications.get(1).getMessage());
+    }
+
+    @Test
+    void flushClosed_itemsTakenByAnotherNode_sendsNothing() {
+        when(digestItemRepository.lockByRecipientGroup(Roles.DOCTOR)).thenReturn(List.of());
+
+        assertEquals(0, coalescer.flushClosed(NOW));
+
+        verifyNoInteractions(notificationOutbox);
+        verify(digestItemRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void submit_storesItemInsteadOfSending() {
+        coalescer.submit(Roles.DOCTOR, "refill:1", 1, "Summary", List.of(" MedA", "MedB"));
+
+        ArgumentCaptor<NotificationDigestItem> saved = ArgumentCaptor.forClass(NotificationDigestItem.class);
+        verify(digestItemRepository).save(saved.capture());
+        assertEquals("refill:1", saved.getValue().getMergeKey());
+        assertEquals(List.of("MedA", "MedB"), saved.getValue().getItemList());
+        verifyNoInteractions(notificationOutbox);
+    }
+
+    private static NotificationDigestItem item(String key, Integer userId, String summary, List<String> items) {
+        return new NotificationDigestItem(Roles.DOCTOR, key, userId, summary, items);
+    }
+
+    private List<Notification> captureSent() {
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationOutbox, atLeastOnce()).enqueue(captor.capture());
+        return captor.getAllValues();
+    }
+}
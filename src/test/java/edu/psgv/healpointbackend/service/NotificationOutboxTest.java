@@ -0,0 +1,122 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.NotificationOutboxEntry;
+import edu.psgv.healpointbackend.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxTest extends AbstractTestBase {
+    private NotificationService notificationService;
+    private NotificationOutboxRepository outboxRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = new NotificationOutbox(notificationService, outboxRepository, transactionTemplate, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void enqueue_insideTransaction_storesEntryInProducerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.enqueue(notification("Committed"));
+
+        ArgumentCaptor<NotificationOutboxEntry> saved = ArgumentCaptor.forClass(NotificationOutboxEntry.class);
+        verify(outboxRepository).save(saved.capture());
+        assertEquals("Committed", saved.getValue().getMessage());
+        assertEquals(1, saved.getValue().getRecipientId());
+        // The writer is only woken once the producer commits
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_pendingEntries_writesOneBatchAndDeletesThem() {
+        List<NotificationOutboxEntry> entries = List.of(entry("First"), entry("Second"));
+        when(outboxRepository.lockOldest(any(Limit.class))).thenReturn(entries);
+
+        assertEquals(2, outbox.flush());
+
+        ArgumentCaptor<List<Notification>> sent = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).sendAll(sent.capture());
+        assertEquals(List.of("First", "Second"), sent.getValue().stream().map(Notification::getMessage).toList());
+        verify(outboxRepository).deleteAllInBatch(entries);
+        assertEquals(1, meterRegistry.get("healpoint.notifications.outbox.flush").timer().count());
+    }
+
+    @Test
+    void drain_writeFails_leavesEntriesAndCountsFailure() {
+        when(outboxRepository.lockOldest(any(Limit.class))).thenReturn(List.of(entry("Kept")));
+        when(notificationService.sendAll(anyList())).thenThrow(new RuntimeException("DB down"));
+
+        assertThrows(RuntimeException.class, () -> outbox.drain());
+
+        verify(outboxRepository, never()).deleteAllInBatch(anyIterable());
+        assertEquals(1.0, meterRegistry.get("healpoint.notifications.outbox.failed").counter().count());
+    }
+
+    @Test
+    void getDepth_enqueuedAndFlushed_tracksEntriesWithoutCounting() {
+        outbox.enqueue(notification("First"));
+        outbox.enqueue(notification("Second"));
+        assertEquals(2, outbox.getDepth());
+
+        when(outboxRepository.lockOldest(any(Limit.class))).thenReturn(List.of(entry("First")));
+        outbox.flush();
+        assertEquals(1, outbox.getDepth());
+        verify(outboxRepository, never()).count();
+
+        when(outboxRepository.count()).thenReturn(5L);
+        outbox.refreshDepthIfDue();
+        outbox.refreshDepthIfDue();
+        assertEquals(5, outbox.getDepth());
+        verify(outboxRepository, times(1)).count();
+        assertEquals(5.0, meterRegistry.get("healpoint.notifications.outbox.depth").gauge().value());
+    }
+
+    @Test
+    void startStop_writerRunning_drainsPendingEntries() {
+        when(outboxRepository.lockOldest(any(Limit.class))).thenReturn(List.of(entry("Async")), List.of());
+
+        outbox.start();
+        outbox.stop();
+
+        verify(notificationService).sendAll(anyList());
+    }
+
+    private static Notification notification(String message) {
+        return Notification.builder().recipientId(1).message(message).build();
+    }
+
+    private static NotificationOutboxEntry entry(String message) {
+        return new NotificationOutboxEntry(notification(message));
+    }
+}
@@ -0,0 +1,120 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Roles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationPushServiceTest extends AbstractTestBase {
+    private final List<Runnable> tasks = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPushService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Executor executor = tasks::add;
+        service = new NotificationPushService(meterRegistry, executor) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                return mock(SseEmitter.class);
+            }
+        };
+    }
+
+    @Test
+    void onNotificationsCreated_directAndGroup_fansOutToRecipients() throws IOException {
+        SseEmitter patient = service.subscribe(mockUser("patient@test.com", Roles.PATIENT, 10));
+        SseEmitter doctor = service.subscribe(mockUser("doctor@test.com", Roles.DOCTOR, 20));
+        SseEmitter otherDoctor = service.subscribe(mockUser("other@test.com", Roles.DOCTOR, 21));
+        runTasks();
+        clearInvocations(patient, doctor, otherDoctor);
+
+        service.onNotificationsCreated(new NotificationsCreatedEvent(List.of(
+                Notification.builder().recipientId(10).message("Direct").build(),
+                Notification.builder().recipientGroup(Roles.DOCTOR).message("Group").build())));
+        runTasks();
+
+        verify(patient, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(doctor, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(otherDoctor, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(3, service.getConnectionCount());
+    }
+
+    @Test
+    void onNotificationsCreated_severalConnectionsOfOneUser_sendsOneWellFormedEventEach() throws IOException {
+        SseEmitter first = service.subscribe(mockUser("doctor@test.com", Roles.DOCTOR, 20));
+        SseEmitter second = service.subscribe(mockUser("doctor@test.com", Roles.DOCTOR, 20));
+        runTasks();
+        clearInvocations(first, second);
+
+        Notification notification = Notification.builder().recipientId(20).message("Direct").build();
+        notification.setId(5);
+        service.onNotificationsCreated(new NotificationsCreatedEvent(List.of(notification)));
+        runTasks();
+
+        for (SseEmitter emitter : List.of(first, second)) {
+            ArgumentCaptor<SseEmitter.SseEventBuilder> sent = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+            verify(emitter).send(sent.capture());
+            List<Object> parts = sent.getValue().build().stream().map(ResponseBodyEmitter.DataWithMediaType::getData).toList();
+            assertEquals(List.of("event:notification\ndata:", notification, "\nid:5\n\n"), parts);
+        }
+    }
+
+    @Test
+    void offer_slowClient_closesConnectionOnceQueueIsFull() {
+        SseEmitter emitter = service.subscribe(mockUser("patient@test.com", Roles.PATIENT, 10));
+
+        // Nothing is drained, so the connect comment and heartbeats pile up until the limit is exceeded
+        for (int i = 0; i < 100; i++) {
+            service.sendHeartbeats();
+        }
+
+        verify(emitter).complete();
+        assertEquals(0, service.getConnectionCount());
+        assertEquals(1.0, meterRegistry.get("healpoint.notifications.stream.dropped").counter().count());
+    }
+
+    @Test
+    void drain_sendFails_removesConnection() throws IOException {
+        SseEmitter emitter = service.subscribe(mockUser("patient@test.com", Roles.PATIENT, 10));
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        runTasks();
+
+        verify(emitter).completeWithError(any(IOException.class));
+        assertEquals(0, service.getConnectionCount());
+    }
+
+    @Test
+    void subscribe_tooManyConnections_closesOldest() {
+        List<SseEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            emitters.add(service.subscribe(mockUser("doctor@test.com", Roles.DOCTOR, 20)));
+        }
+
+        verify(emitters.get(0)).complete();
+        verify(emitters.get(1), never()).complete();
+        assertEquals(3, service.getConnectionCount());
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
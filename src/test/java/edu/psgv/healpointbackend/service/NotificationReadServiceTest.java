@@ -0,0 +1,195 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.NotificationReadState;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.NotificationReadStateRepository;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import edu.psgv.healpointbackend.utilities.ReadWatermark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationReadServiceTest extends AbstractTestBase {
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationReadStateRepository readStateRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private NotificationReadService service;
+
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+    }
+
+    @Test
+    void markRead_directNotification_setsSharedFlag() {
+        Notification notification = notification(5, 46, null);
+        when(notificationRepository.findById(5)).thenReturn(Optional.of(notification));
+
+        assertTrue(service.markRead(doctor, 5));
+
+        assertTrue(notification.getIsRead());
+        verify(notificationRepository).save(notification);
+        verifyNoInteractions(readStateRepository);
+        verify(eventPublisher).publishEvent(new NotificationsReadEvent(46));
+    }
+
+    @Test
+    void markRead_groupNotification_advancesUserWatermarkOnly() {
+        Notification notification = notification(14, null, Roles.DOCTOR);
+        when(notificationRepository.findById(14)).thenReturn(Optional.of(notification));
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.empty());
+        when(notificationRepository.findGroupIdsInRange(Roles.DOCTOR, 0, 14)).thenReturn(List.of(14));
+
+        assertTrue(service.markRead(doctor, 14));
+
+        ArgumentCaptor<NotificationReadState> saved = ArgumentCaptor.forClass(NotificationReadState.class);
+        verify(readStateRepository).save(saved.capture());
+        assertEquals(46, saved.getValue().getUserId());
+        assertEquals(14, saved.getValue().getReadUpTo());
+        assertNull(saved.getValue().getExceptions());
+        assertFalse(notification.getIsRead());
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void markRead_invisibleOrMissing_throwsException() {
+        when(notificationRepository.findById(7)).thenReturn(Optional.of(notification(7, 99, null)));
+        when(notificationRepository.findById(8)).thenReturn(Optional.empty());
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 47);
+        when(notificationRepository.findById(9)).thenReturn(Optional.of(notification(9, null, Roles.DOCTOR)));
+
+        assertThrows(IllegalArgumentException.class, () -> service.markRead(doctor, 7));
+        assertThrows(IllegalArgumentException.class, () -> service.markRead(doctor, 8));
+        assertThrows(IllegalArgumentException.class, () -> service.markRead(patient, 9));
+    }
+
+    @Test
+    void markRead_tooManyOutOfOrderReads_rejectedWithoutMarkingOlderNotifications() {
+        // Notification 11 stays unread while 200 later ones were read out of order
+        ReadWatermark watermark = new ReadWatermark(10, null, 200);
+        for (int id = 12; id < 412; id += 2) {
+            watermark.markRead(id);
+        }
+        NotificationReadState state = new NotificationReadState(46, Roles.DOCTOR);
+        state.setReadUpTo(watermark.getReadUpTo());
+        state.setExceptions(watermark.exceptionsToBytes());
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.of(state));
+        when(notificationRepository.findById(500)).thenReturn(Optional.of(notification(500, null, Roles.DOCTOR)));
+        when(notificationRepository.findGroupIdsInRange(Roles.DOCTOR, 10, 500)).thenReturn(List.of(11, 12, 500));
+
+        assertThrows(IllegalArgumentException.class, () -> service.markRead(doctor, 500));
+
+        verify(readStateRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(10, state.getReadUpTo());
+    }
+
+    @Test
+    void markRead_concurrentUpdate_retriesThenSucceeds() {
+        when(notificationRepository.findById(14)).thenReturn(Optional.of(notification(14, null, Roles.DOCTOR)));
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.empty());
+        when(notificationRepository.findGroupIdsInRange(Roles.DOCTOR, 0, 14)).thenReturn(List.of(12, 14));
+        when(readStateRepository.save(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(NotificationReadState.class, 1))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertTrue(service.markRead(doctor, 14));
+        verify(readStateRepository, times(2)).save(any());
+    }
+
+    @Test
+    void markAllRead_groupMember_marksDirectAndMovesWatermark() {
+        NotificationReadState state = new NotificationReadState(46, Roles.DOCTOR);
+        state.setReadUpTo(10);
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.of(state));
+        when(notificationRepository.markDirectReadUpTo(eq(46), eq(40), any())).thenReturn(3);
+        when(notificationRepository.findMaxGroupId(Roles.DOCTOR, 40)).thenReturn(38);
+
+        assertEquals(3, service.markAllRead(doctor, 40));
+
+        assertEquals(38, state.getReadUpTo());
+        assertNull(state.getExceptions());
+        verify(readStateRepository).save(state);
+        verify(eventPublisher).publishEvent(new NotificationsReadEvent(46));
+    }
+
+    @Test
+    void markAllRead_nothingNew_leavesStateAndPublishesNothing() {
+        NotificationReadState state = new NotificationReadState(46, Roles.DOCTOR);
+        state.setReadUpTo(50);
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.of(state));
+        when(notificationRepository.findMaxGroupId(Roles.DOCTOR, Integer.MAX_VALUE)).thenReturn(50);
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 47);
+
+        assertEquals(0, service.markAllRead(doctor, null));
+        assertEquals(0, service.markAllRead(patient, null));
+
+        verify(readStateRepository, never()).save(any());
+        verify(notificationRepository, never()).findMaxGroupId(eq(Roles.PATIENT), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void countUnread_groupMember_combinesDirectAndWatermarkCounts() {
+        ReadWatermark watermark = new ReadWatermark(20, null, 200);
+        watermark.markRead(25);
+        NotificationReadState state = new NotificationReadState(46, Roles.DOCTOR);
+        state.setReadUpTo(watermark.getReadUpTo());
+        state.setExceptions(watermark.exceptionsToBytes());
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.of(state));
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(46)).thenReturn(2L);
+        when(notificationRepository.countByRecipientGroupAndIdGreaterThan(Roles.DOCTOR, 20)).thenReturn(4L);
+
+        assertEquals(5, service.countUnread(doctor));
+        assertEquals(3, service.countGroupUnread(doctor));
+        assertEquals(0, service.countGroupUnread(mockUser("patient@test.com", Roles.PATIENT, 47)));
+    }
+
+    @Test
+    void applyReadState_groupNotifications_overlaysViewerState() {
+        NotificationReadState state = new NotificationReadState(46, Roles.DOCTOR);
+        state.setReadUpTo(20);
+        when(readStateRepository.findByUserIdAndChannel(46, Roles.DOCTOR)).thenReturn(Optional.of(state));
+        Notification read = notification(18, null, Roles.DOCTOR);
+        Notification unread = notification(22, null, Roles.DOCTOR);
+        Notification direct = notification(30, 46, null);
+        direct.setIsRead(true);
+
+        service.applyReadState(doctor, List.of(read, unread, direct));
+
+        assertTrue(read.getIsRead());
+        assertFalse(unread.getIsRead());
+        assertTrue(direct.getIsRead());
+    }
+
+    private static Notification notification(int id, Integer recipientId, String group) {
+        Notification notification = Notification.builder().recipientId(recipientId).recipientGroup(group).message("Message").build();
+        notification.setId(id);
+        return notification;
+    }
+}
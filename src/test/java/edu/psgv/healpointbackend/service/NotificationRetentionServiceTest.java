@@ -0,0 +1,109 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.JobCheckpoint;
+import edu.psgv.healpointbackend.repository.JobCheckpointRepository;
+import edu.psgv.healpointbackend.repository.NotificationArchiveRepository;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationRetentionServiceTest extends AbstractTestBase {
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationArchiveRepository notificationArchiveRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private RecentNotificationService recentNotificationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private NotificationRetentionService service;
+
+    private JobCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        checkpoint = new JobCheckpoint(NotificationRetentionService.JOB_NAME);
+        when(jobCheckpointRepository.findById(NotificationRetentionService.JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(jobCheckpointRepository.claimLease(eq(NotificationRetentionService.JOB_NAME), anyString(), any(), any())).thenReturn(1);
+        when(jobCheckpointRepository.advance(eq(NotificationRetentionService.JOB_NAME), anyString(), anyInt(), anyLong(), any())).thenReturn(1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new NotificationRetentionService(notificationRepository, notificationArchiveRepository,
+                new CheckpointedJobRunner(jobCheckpointRepository, transactionTemplate), unreadCountService, recentNotificationService);
+    }
+
+    @Test
+    void archiveOldNotifications_chunks_archivesAndDeletesEachRange() {
+        checkpoint.setLastProcessedId(100);
+        when(notificationRepository.findArchivableIds(any(LocalDateTime.class), eq(100), any(Limit.class))).thenReturn(List.of(101, 150));
+        when(notificationRepository.findArchivableIds(any(LocalDateTime.class), eq(150), any(Limit.class))).thenReturn(List.of(170));
+        when(notificationRepository.findArchivableIds(any(LocalDateTime.class), eq(170), any(Limit.class))).thenReturn(List.of());
+        when(notificationArchiveRepository.archiveRange(eq(100), eq(150), any(), any())).thenReturn(2);
+        when(notificationArchiveRepository.archiveRange(eq(150), eq(170), any(), any())).thenReturn(1);
+
+        assertEquals(3, service.archiveOldNotifications());
+
+        verify(notificationRepository).deleteArchived(100, 150);
+        verify(notificationRepository).deleteArchived(150, 170);
+        verify(jobCheckpointRepository).advance(eq(NotificationRetentionService.JOB_NAME), anyString(), eq(150), eq(2L), any());
+        verify(jobCheckpointRepository).advance(eq(NotificationRetentionService.JOB_NAME), anyString(), eq(170), eq(1L), any());
+        verify(jobCheckpointRepository).complete(eq(NotificationRetentionService.JOB_NAME), anyString(), any(LocalDateTime.class));
+        verify(unreadCountService).invalidateAll();
+        verify(recentNotificationService).invalidateAll();
+    }
+
+    @Test
+    void archiveOldNotifications_nothingToArchive_keepsCachedCounts() {
+        when(notificationRepository.findArchivableIds(any(LocalDateTime.class), anyInt(), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(0, service.archiveOldNotifications());
+
+        verifyNoInteractions(notificationArchiveRepository, unreadCountService, recentNotificationService);
+        verify(jobCheckpointRepository).complete(eq(NotificationRetentionService.JOB_NAME), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void archiveOldNotifications_leaseHeldElsewhere_skipsRun() {
+        when(jobCheckpointRepository.claimLease(eq(NotificationRetentionService.JOB_NAME), anyString(), any(), any())).thenReturn(0);
+
+        assertEquals(0, service.archiveOldNotifications());
+        verifyNoInteractions(notificationRepository, notificationArchiveRepository, transactionTemplate);
+    }
+
+    @Test
+    void archiveOldNotifications_leaseLost_releasesLease() {
+        when(notificationRepository.findArchivableIds(any(LocalDateTime.class), eq(0), any(Limit.class))).thenReturn(List.of(1, 2));
+        when(notificationArchiveRepository.archiveRange(eq(0), eq(2), any(), any())).thenReturn(2);
+        when(jobCheckpointRepository.advance(eq(NotificationRetentionService.JOB_NAME), anyString(), anyInt(), anyLong(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> service.archiveOldNotifications());
+        verify(jobCheckpointRepository).release(eq(NotificationRetentionService.JOB_NAME), anyString());
+        verify(jobCheckpointRepository, never()).complete(anyString(), anyString(), any());
+        verifyNoInteractions(unreadCountService);
+    }
+}
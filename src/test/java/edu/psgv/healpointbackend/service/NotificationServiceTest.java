@@ -1,27 +1,49 @@
 package edu.psgv.healpointbackend.service;
 
 import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.NotificationPageDto;
 import edu.psgv.healpointbackend.model.Notification;
 import edu.psgv.healpointbackend.model.Roles;
 import edu.psgv.healpointbackend.model.User;
 import edu.psgv.healpointbackend.repository.NotificationRepository;
+import edu.psgv.healpointbackend.utilities.NotificationCursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class NotificationServiceTest extends AbstractTestBase {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NotificationReadService notificationReadService;
+
+    @Mock
+    private RecentNotificationService recentNotificationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -31,26 +53,144 @@ class NotificationServiceTest extends AbstractTestBase {
     }
 
     @Test
-    void getAllNotificationsByUser_nonEmptyRepository_returnsExpectedNotifications() {
+    void getAllNotificationsByUser_nonPatient_queriesDirectAndGroupNotificationsOnce() {
         User testUser = mockUser("user@test.com", Roles.DOCTOR, 46);
-        List<Notification> mockNotificationById = new ArrayList<>(List.of(
-                mockNotification("Notification 1", LocalDateTime.now().minusDays(10)),
-                mockNotification("Notification 3", LocalDateTime.now().minusDays(5))
-        ));
-        List<Notification> mockNotificationByGroup = new ArrayList<>(List.of(
-                mockNotification("Notification 2", LocalDateTime.now().minusDays(8)),
-                mockNotification("Notification 4", LocalDateTime.now().minusDays(2))
-        ));
-
-        when(notificationRepository.findByRecipientId(testUser.getId())).thenReturn(mockNotificationById);
-        when(notificationRepository.findByRecipientGroup(testUser.getRole().getDescription())).thenReturn(mockNotificationByGroup);
+        List<Notification> inbox = List.of(
+                mockNotification("Notification 2", LocalDateTime.now().minusDays(2)),
+                mockNotification("Notification 1", LocalDateTime.now().minusDays(5)));
+        when(notificationRepository.findInbox(46, Roles.DOCTOR, null, null, Limit.unlimited())).thenReturn(inbox);
 
         List<Notification> result = notificationService.getAllNotificationsByUser(testUser);
-        assertEquals(4, result.size());
-        assertEquals("Notification 4", result.get(0).getMessage());
-        assertEquals("Notification 3", result.get(1).getMessage());
-        assertEquals("Notification 2", result.get(2).getMessage());
-        assertEquals("Notification 1", result.get(3).getMessage());
+
+        assertEquals(inbox, result);
+        verify(notificationRepository, times(1)).findInbox(anyInt(), any(), any(), any(), any());
+        verify(notificationReadService).applyReadState(testUser, inbox);
+    }
+
+    @Test
+    void getNotificationPageByUser_morePages_returnsCursorOfLastNotification() {
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 47);
+        LocalDateTime now = LocalDateTime.of(2025, 7, 5, 12, 0);
+        List<Notification> rows = List.of(
+                mockNotification(3, "Third", now),
+                mockNotification(2, "Second", now.minusHours(1)),
+                mockNotification(1, "First", now.minusHours(2)));
+        when(notificationRepository.findInbox(47, null, null, null, Limit.of(3))).thenReturn(rows);
+
+        NotificationPageDto page = notificationService.getNotificationPageByUser(patient, null, 2);
+
+        assertEquals(List.of("Third", "Second"), page.getNotifications().stream().map(Notification::getMessage).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(new NotificationCursorCodec.Position(now.minusHours(1), 2), NotificationCursorCodec.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getNotificationPageByUser_cursor_continuesAfterPosition() {
+        User doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 7, 5, 11, 0);
+        String cursor = NotificationCursorCodec.encode(createdAt, 2);
+        when(notificationRepository.findInbox(46, Roles.DOCTOR, createdAt, 2, Limit.of(21)))
+                .thenReturn(List.of(mockNotification(1, "First", createdAt.minusHours(1))));
+
+        NotificationPageDto page = notificationService.getNotificationPageByUser(doctor, cursor, null);
+
+        assertEquals(1, page.getNotifications().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getNotificationPageByUser(doctor, "not-a-cursor", null));
+    }
+
+    @Test
+    void getNotificationPageByUser_recentNotificationsCoverPage_servedFromMemory() {
+        User doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+        LocalDateTime now = LocalDateTime.of(2025, 7, 5, 12, 0);
+        List<Notification> recent = List.of(
+                mockNotification(3, "Third", now),
+                mockNotification(2, "Second", now.minusHours(1)),
+                mockNotification(1, "First", now.minusHours(2)));
+        when(recentNotificationService.getRecent(doctor)).thenReturn(new RecentNotificationService.RecentNotifications(recent, false));
+
+        NotificationPageDto page = notificationService.getNotificationPageByUser(doctor, null, 2);
+
+        assertEquals(List.of("Third", "Second"), page.getNotifications().stream().map(Notification::getMessage).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(new NotificationCursorCodec.Position(now.minusHours(1), 2), NotificationCursorCodec.decode(page.getNextCursor()));
+        verify(notificationRepository, never()).findInbox(anyInt(), any(), any(), any(), any());
+        verify(notificationReadService).applyReadState(doctor, page.getNotifications());
+    }
+
+    @Test
+    void getNotificationPageByUser_recentNotificationsTooFew_fallsBackToDatabase() {
+        User doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+        Notification only = mockNotification(3, "Third", LocalDateTime.now());
+        when(recentNotificationService.getRecent(doctor)).thenReturn(new RecentNotificationService.RecentNotifications(List.of(only), false));
+        when(notificationRepository.findInbox(46, Roles.DOCTOR, null, null, Limit.of(3))).thenReturn(List.of(only));
+
+        assertEquals(1, notificationService.getNotificationPageByUser(doctor, null, 2).getNotifications().size());
+        verify(notificationRepository).findInbox(46, Roles.DOCTOR, null, null, Limit.of(3));
+    }
+
+    @Test
+    void getAllNotificationsByUser_completeRecentNotifications_servedFromMemory() {
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 47);
+        List<Notification> recent = List.of(mockNotification(1, "Welcome", LocalDateTime.now()));
+        when(recentNotificationService.getRecent(patient)).thenReturn(new RecentNotificationService.RecentNotifications(recent, true));
+
+        assertEquals(recent, notificationService.getAllNotificationsByUser(patient));
+        verify(notificationRepository, never()).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getNotificationsChangedSince_watermark_queriesOnlyChangedRows() {
+        User doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 47);
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        when(notificationRepository.findChangedSince(46, Roles.DOCTOR, since)).thenReturn(List.of(
+                mockNotification("Group", LocalDateTime.now().minusMinutes(10)),
+                mockNotification("Direct", LocalDateTime.now().minusMinutes(30))));
+
+        List<Notification> result = notificationService.getNotificationsChangedSince(doctor, since);
+        List<Notification> patientResult = notificationService.getNotificationsChangedSince(patient, since);
+
+        assertEquals(List.of("Group", "Direct"), result.stream().map(Notification::getMessage).toList());
+        assertTrue(patientResult.isEmpty());
+        verify(notificationRepository).findChangedSince(47, null, since);
+        verify(notificationReadService).applyReadState(doctor, result);
+        verify(notificationRepository, never()).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getNotificationsChangedSince_noWatermark_returnsAllNotifications() {
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 47);
+        when(notificationRepository.findInbox(47, null, null, null, Limit.unlimited()))
+                .thenReturn(List.of(mockNotification("Welcome", LocalDateTime.now())));
+
+        List<Notification> result = notificationService.getNotificationsChangedSince(patient, null);
+
+        assertEquals(1, result.size());
+        verify(notificationRepository, never()).findChangedSince(anyInt(), any(), any());
+    }
+
+    @Test
+    void sendAll_notifications_insertsInOneBatch() {
+        List<Notification> notifications = List.of(mockNotification("First", null), mockNotification("Second", null));
+        when(notificationRepository.insertAll(notifications)).thenReturn(2);
+
+        assertEquals(2, notificationService.sendAll(notifications));
+        assertEquals(0, notificationService.sendAll(List.of()));
+        verify(notificationRepository).insertAll(notifications);
+        verify(notificationRepository, never()).insertAll(List.of());
+        verify(eventPublisher, times(1)).publishEvent(new NotificationsCreatedEvent(notifications));
+    }
+
+    @Test
+    void send_notification_savesAndPublishesEvent() {
+        Notification notification = mockNotification("Refill", null);
+        Notification saved = mockNotification(5, "Refill", LocalDateTime.now());
+        when(notificationRepository.save(notification)).thenReturn(saved);
+
+        assertEquals(saved, notificationService.send(notification));
+        verify(eventPublisher).publishEvent(new NotificationsCreatedEvent(List.of(saved)));
     }
 
     private Notification mockNotification(String message, LocalDateTime createdAt) {
@@ -58,4 +198,10 @@ class NotificationServiceTest extends AbstractTestBase {
         n.setCreatedAt(createdAt);
         return n;
     }
+
+    private Notification mockNotification(int id, String message, LocalDateTime createdAt) {
+        Notification n = mockNotification(message, createdAt);
+        n.setId(id);
+        return n;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.model.JobCheckpoint;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OverdueAppointmentServiceTest extends AbstractTestBase {
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OverdueAppointmentService service;
+
+    private JobCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        checkpoint = new JobCheckpoint(OverdueAppointmentService.JOB_NAME);
+        when(jobCheckpointRepository.findById(OverdueAppointmentService.JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(jobCheckpointRepository.claimLease(eq(OverdueAppointmentService.JOB_NAME), anyString(), any(), any())).thenReturn(1);
+        when(jobCheckpointRepository.advance(eq(OverdueAppointmentService.JOB_NAME), anyString(), anyInt(), anyLong(), any())).thenReturn(1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new OverdueAppointmentService(appointmentRepository, new CheckpointedJobRunner(jobCheckpointRepository, transactionTemplate));
+    }
+
+    @Test
+    void transitionOverdueAppointments_chunks_updatesEachRangeAndCompletes() {
+        checkpoint.setLastProcessedId(10);
+        when(appointmentRepository.findOverdueIds(eq(AppointmentStatus.SCHEDULED), any(LocalDate.class), any(LocalTime.class), eq(10), any(Limit.class)))
+                .thenReturn(List.of(11, 14, 20));
+        when(appointmentRepository.findOverdueIds(eq(AppointmentStatus.SCHEDULED), any(LocalDate.class), any(LocalTime.class), eq(20), any(Limit.class)))
+                .thenReturn(List.of(25));
+        when(appointmentRepository.findOverdueIds(eq(AppointmentStatus.SCHEDULED), any(LocalDate.class), any(LocalTime.class), eq(25), any(Limit.class)))
+                .thenReturn(List.of());
+        when(appointmentRepository.transitionOverdue(eq(AppointmentStatus.SCHEDULED), eq(AppointmentStatus.MISSED), eq(10), eq(20), any(), any(), any()))
+                .thenReturn(3);
+        when(appointmentRepository.transitionOverdue(eq(AppointmentStatus.SCHEDULED), eq(AppointmentStatus.MISSED), eq(20), eq(25), any(), any(), any()))
+                .thenReturn(0);
+
+        assertEquals(3, service.transitionOverdueAppointments());
+
+        verify(jobCheckpointRepository).advance(eq(OverdueAppointmentService.JOB_NAME), anyString(), eq(20), eq(3L), any());
+        verify(jobCheckpointRepository).advance(eq(OverdueAppointmentService.JOB_NAME), anyString(), eq(25), eq(0L), any());
+        verify(jobCheckpointRepository).complete(eq(OverdueAppointmentService.JOB_NAME), anyString(), any(LocalDateTime.class));
+        verify(jobCheckpointRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void transitionOverdueAppointments_leaseHeldElsewhere_skipsRun() {
+        when(jobCheckpointRepository.claimLease(eq(OverdueAppointmentService.JOB_NAME), anyString(), any(), any())).thenReturn(0);
+
+        assertEquals(0, service.transitionOverdueAppointments());
+        verifyNoInteractions(appointmentRepository, transactionTemplate);
+    }
+}
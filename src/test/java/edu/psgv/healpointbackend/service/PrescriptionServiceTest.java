@@ -5,13 +5,14 @@ import edu.psgv.healpointbackend.model.Patient;
 import edu.psgv.healpointbackend.model.Prescription;
 import edu.psgv.healpointbackend.model.PrescriptionItem;
 import edu.psgv.healpointbackend.model.Roles;
-import edu.psgv.healpointbackend.repository.NotificationRepository;
 import edu.psgv.healpointbackend.repository.PatientRepository;
 import edu.psgv.healpointbackend.repository.PrescriptionRepository;
 import edu.psgv.healpointbackend.utilities.PrescriptionDiffUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,7 +24,8 @@ import static org.mockito.Mockito.*;
 class PrescriptionServiceTest {
     private PrescriptionRepository prescriptionRepository;
     private PatientRepository patientRepository;
-    private NotificationRepository notificationRepository;
+    private NotificationOutbox notificationOutbox;
+    private NotificationCoalescer notificationCoalescer;
     private PrescriptionService prescriptionService;
     private PrescriptionDiffUtil prescriptionDiffUtil;
 
@@ -31,12 +33,11 @@ class PrescriptionServiceTest {
     void setUp() {
         prescriptionRepository = mock(PrescriptionRepository.class);
         patientRepository = mock(PatientRepository.class);
-        notificationRepository = mock(NotificationRepository.class);
-        prescriptionDiffUtil = mock(PrescriptionDiffUtil.class);
-        prescriptionService = new PrescriptionService(prescriptionRepository, patientRepository, notificationRepository, prescriptionDiffUtil);
-
-        when(prescriptionDiffUtil.diffReport(anyList(), anyList())).thenReturn("Mocked diff report");
-        when(notificationRepository.save(any())).thenReturn(null);
+        notificationOutbox = mock(NotificationOutbox.class);
+        notificationCoalescer = mock(NotificationCoalescer.class);
+        prescriptionDiffUtil = new PrescriptionDiffUtil();
+        prescriptionService = new PrescriptionService(prescriptionRepository, patientRepository, notificationOutbox,
+                notificationCoalescer, prescriptionDiffUtil);
 
     }
 
@@ -166,6 +167,60 @@ class PrescriptionServiceTest {
         assertEquals(mockPatient, saved.getPatient());
     }
 
+    @Test
+    void upsertPrescription_oneDosageChanged_mergesItemsInPlace() {
+        Patient mockPatient = Patient.builder().id(1).build();
+        PrescriptionItem kept = prescriptionItem(10, "Aspirin", 100);
+        PrescriptionItem changed = prescriptionItem(11, "Ibuprofen", 200);
+        PrescriptionItem dropped = prescriptionItem(12, "Codeine", 30);
+        Prescription existing = new Prescription();
+        ReflectionTestUtils.setField(existing, "id", 5);
+        existing.getPrescriptionItems().addAll(List.of(kept, changed, dropped));
+
+        PrescriptionItem added = prescriptionItem(99, "Naproxen", 250);
+        PrescriptionDto dto = new PrescriptionDto();
+        dto.setPatientId(1);
+        dto.setPrescriptionItems(List.of(prescriptionItem(null, "aspirin", 100), prescriptionItem(null, "Ibuprofen", 400), added));
+
+        when(patientRepository.findById(1)).thenReturn(Optional.of(mockPatient));
+        when(prescriptionRepository.findByPatientId(1)).thenReturn(Optional.of(existing));
+
+        prescriptionService.upsertPrescription(dto);
+
+        List<PrescriptionItem> items = existing.getPrescriptionItems();
+        assertEquals(3, items.size());
+        assertSame(kept, items.get(0));
+        assertEquals("aspirin", kept.getMedication());
+        assertSame(changed, items.get(1));
+        assertEquals(11, changed.getId());
+        assertEquals(400, changed.getDosage());
+        assertSame(added, items.get(2));
+        assertNull(added.getId());
+        assertNotNull(existing.getUpdatedAt());
+        verify(prescriptionRepository).save(existing);
+        verify(notificationOutbox).enqueue(argThat(n -> n.getMessage().equals("Doctors updated your prescription! "
+                + "Naproxen (250 mg) [added]; Codeine (30 mg) [removed]; Ibuprofen: dosage changed from 200 to 400")));
+    }
+
+    @Test
+    void upsertPrescription_staleVersion_throwsConflictWithoutSaving() {
+        Patient mockPatient = Patient.builder().id(1).build();
+        Prescription existing = new Prescription();
+        ReflectionTestUtils.setField(existing, "version", 4L);
+
+        PrescriptionDto dto = new PrescriptionDto();
+        dto.setPatientId(1);
+        dto.setPrescriptionItems(new ArrayList<>());
+        dto.setVersion(3L);
+
+        when(patientRepository.findById(1)).thenReturn(Optional.of(mockPatient));
+        when(prescriptionRepository.findByPatientId(1)).thenReturn(Optional.of(existing));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> prescriptionService.upsertPrescription(dto));
+        verify(prescriptionRepository, never()).save(any());
+        verify(notificationOutbox, never()).enqueue(any());
+    }
+
     @Test // FR-10.3 UT-17
     void upsertPrescription_duplicateMedications_throwsException() {
         Patient mockPatient = Patient.builder().id(1).build();
@@ -235,10 +290,9 @@ class PrescriptionServiceTest {
 
         prescriptionService.requestPrescriptionRefill(1, List.of("MedA"));
 
-        verify(notificationRepository).save(argThat(n ->
-                n.getMessage().contains("Doe, John") &&
-                        n.getMessage().contains("MedA") &&
-                        n.getRecipientGroup().equals(Roles.DOCTOR)));
+        verify(notificationCoalescer).submit(eq(Roles.DOCTOR), eq("refill:1"), eq(1),
+                argThat(summary -> summary.contains("Doe, John")), eq(List.of("MedA")));
+        verify(notificationOutbox, never()).enqueue(any());
 
         // Invalid case - medication not in prescription
         IllegalArgumentException e3 = assertThrows(IllegalArgumentException.class,
@@ -266,4 +320,15 @@ class PrescriptionServiceTest {
                 () -> prescriptionService.requestPrescriptionRefill(1, List.of("MedA")));
         assertEquals("No existing prescription found for patientId=1", e2.getMessage());
     }
-}
\ No newline at end of file
+
+    private static PrescriptionItem prescriptionItem(Integer id, String medication, int dosage) {
+        PrescriptionItem item = new PrescriptionItem();
+        item.setId(id);
+        item.setMedication(medication);
+        item.setDosage(dosage);
+        item.setFrequency(2);
+        item.setDuration(10);
+        item.setFillsLeft(3);
+        return item;
+    }
+}
@@ -1,6 +1,7 @@
 package edu.psgv.healpointbackend.service;
 
 import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.common.state.DoctorDirectoryIndex;
 import edu.psgv.healpointbackend.model.*;
 import edu.psgv.healpointbackend.repository.DoctorRepository;
 import edu.psgv.healpointbackend.repository.PatientRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
@@ -31,12 +33,14 @@ class ProfileGetServiceTest extends AbstractTestBase {
     private PatientRepository patientRepository;
     @Mock
     private DoctorRepository doctorRepository;
+    @Spy
+    private DoctorDirectoryIndex doctorDirectoryIndex = new DoctorDirectoryIndex();
     @InjectMocks
     private ProfileGetService profileGetService;
 
     @BeforeEach
     void setUp() {
-        profileGetService = new ProfileGetService(userRepository, patientRepository, doctorRepository);
+        profileGetService = new ProfileGetService(userRepository, patientRepository, doctorRepository, doctorDirectoryIndex);
     }
 
     @Test
@@ -206,4 +210,39 @@ class ProfileGetServiceTest extends AbstractTestBase {
         verify(doctorRepository).findAll();
         verifyNoInteractions(userRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void rebuildDoctorDirectory_batchLoadsUsers_indexesProfilesForSearch() {
+        Doctor d1 = mockDoctor(1, "John", "Doe");
+        d1.setSpecialty("Cardiology");
+        Doctor d2 = mockDoctor(2, "Alice", "Smith");
+        d2.setSpecialty("Primary Care, Pediatrics");
+        d2.setLanguages("English, Spanish");
+        Doctor d3 = mockDoctor(3, "Jane", "Roe");
+
+        when(doctorRepository.findAll()).thenReturn(List.of(d1, d2, d3));
+        when(userRepository.findAllById(List.of(1, 2, 3))).thenReturn(List.of(
+                mockUser("john@healpoint.com", Roles.DOCTOR, 1), mockUser("alice@healpoint.com", Roles.DOCTOR, 2)));
+
+        profileGetService.rebuildDoctorDirectory();
+
+        assertEquals(2, doctorDirectoryIndex.size());
+        verify(userRepository, never()).findById(anyInt());
+
+        List<DoctorProfile> result = profileGetService.searchDoctors("pediatrics", "spanish", null);
+        assertEquals(1, result.size());
+        assertEquals("alice@healpoint.com", result.get(0).getEmail());
+    }
+
+    @Test
+    void onDoctorEvents_committedChanges_appliedToDirectory() {
+        Doctor doctor = mockDoctor(4, "Dana", "White");
+        doctor.setSpecialty("Neurology");
+
+        profileGetService.onDoctorProfileChanged(new DoctorProfileChangedEvent(new DoctorProfile(doctor, "dana@healpoint.com", Roles.DOCTOR, true)));
+        assertEquals(1, profileGetService.searchDoctors("neurology", null, null).size());
+
+        profileGetService.onAccountStatusChanged(new AccountStatusChangedEvent(4, false));
+        assertTrue(profileGetService.searchDoctors("neurology", null, null).isEmpty());
+    }
+}
@@ -17,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -36,6 +37,8 @@ class ProfileUpdateServiceTest extends AbstractTestBase {
     private DoctorRepository doctorRepository;
     @Mock
     private Datastore datastore;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProfileUpdateService profileUpdateService;
@@ -43,7 +46,7 @@ class ProfileUpdateServiceTest extends AbstractTestBase {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        profileUpdateService = new ProfileUpdateService(userRepository, patientRepository, doctorRepository, datastore);
+        profileUpdateService = new ProfileUpdateService(userRepository, patientRepository, doctorRepository, datastore, eventPublisher);
     }
 
     @Test
@@ -144,6 +147,8 @@ class ProfileUpdateServiceTest extends AbstractTestBase {
         verify(userRepository).save(user);
         verify(doctorRepository).save(doctor);
         verify(datastore).updateUser(loggedUser);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof DoctorProfileChangedEvent changed
+                && changed.profile().getId() == 11 && "newDoctor@example.com".equals(changed.profile().getEmail())));
 
         assertEquals("newDoctor@example.com", updatedEmail);
     }
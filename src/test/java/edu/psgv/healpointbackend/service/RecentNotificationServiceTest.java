@@ -0,0 +1,143 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.common.state.Datastore;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class RecentNotificationServiceTest extends AbstractTestBase {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 7, 5, 12, 0);
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private Datastore datastore;
+
+    @InjectMocks
+    private RecentNotificationService service;
+
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+        when(datastore.isOnline(46)).thenReturn(true);
+        when(notificationRepository.findInbox(46, Roles.DOCTOR, null, null, Limit.of(51)))
+                .thenReturn(List.of(notification(2, 46, null, 2), notification(1, null, Roles.DOCTOR, 1)));
+    }
+
+    @Test
+    void getRecent_onlineUser_seedsOnceThenServesFromMemory() {
+        RecentNotificationService.RecentNotifications first = service.getRecent(doctor);
+        RecentNotificationService.RecentNotifications second = service.getRecent(doctor);
+
+        assertEquals(List.of(2, 1), ids(first));
+        assertTrue(first.complete());
+        assertEquals(List.of(2, 1), ids(second));
+        assertNotSame(first.notifications().get(0), second.notifications().get(0));
+        verify(notificationRepository, times(1)).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getRecent_offlineUser_returnsNull() {
+        assertNull(service.getRecent(mockUser("patient@test.com", Roles.PATIENT, 47)));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void onNotificationsCreated_directAndGroup_addedToRecipientBuffers() {
+        service.getRecent(doctor);
+
+        service.onNotificationsCreated(new NotificationsCreatedEvent(List.of(
+                notification(3, null, "doctor", 3), notification(4, 99, null, 4), notification(5, 46, null, 5))));
+
+        assertEquals(List.of(5, 3, 2, 1), ids(service.getRecent(doctor)));
+        verify(notificationRepository, times(1)).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void onNotificationsCreated_withoutId_dropsBufferForReseed() {
+        service.getRecent(doctor);
+
+        service.onNotificationsCreated(new NotificationsCreatedEvent(List.of(
+                Notification.builder().recipientGroup(Roles.DOCTOR).message("Batch").build())));
+        service.getRecent(doctor);
+
+        verify(notificationRepository, times(2)).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void onNotificationsRead_andInvalidateAll_dropBuffers() {
+        service.getRecent(doctor);
+        service.onNotificationsRead(new NotificationsReadEvent(46));
+        service.getRecent(doctor);
+        service.invalidateAll();
+        service.getRecent(doctor);
+
+        verify(notificationRepository, times(3)).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getRecent_bufferExpired_reseedsFromDatabase() {
+        // Another instance may have written notifications this buffer never saw
+        ReflectionTestUtils.setField(service, "timeToLiveNanos", 0L);
+        service.getRecent(doctor);
+        service.getRecent(doctor);
+
+        verify(notificationRepository, times(2)).findInbox(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getRecent_moreThanCapacity_reportsIncompleteInbox() {
+        List<Notification> rows = IntStream.rangeClosed(1, 51).map(i -> 52 - i)
+                .mapToObj(id -> notification(id, 46, null, id)).toList();
+        when(notificationRepository.findInbox(46, Roles.DOCTOR, null, null, Limit.of(51))).thenReturn(rows);
+
+        RecentNotificationService.RecentNotifications recent = service.getRecent(doctor);
+
+        assertEquals(50, recent.notifications().size());
+        assertEquals(51, recent.notifications().get(0).getId());
+        assertFalse(recent.complete());
+    }
+
+    @Test
+    void evictOffline_userLoggedOut_dropsBuffer() {
+        service.getRecent(doctor);
+        when(datastore.isOnline(46)).thenReturn(false);
+
+        service.evictOffline();
+
+        assertNull(service.getRecent(doctor));
+    }
+
+    private static Notification notification(int id, Integer recipientId, String group, int minutes) {
+        Notification notification = Notification.builder().recipientId(recipientId).recipientGroup(group).message("Message " + id).build();
+        notification.setId(id);
+        notification.setCreatedAt(NOW.plusMinutes(minutes));
+        return notification;
+    }
+
+    private static List<Integer> ids(RecentNotificationService.RecentNotifications recent) {
+        return recent.notifications().stream().map(Notification::getId).toList();
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
@@ -33,6 +34,9 @@ class RegistrationServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -137,6 +141,7 @@ class RegistrationServiceTest {
             assertEquals(200, response.getStatusCode().value());
             assertEquals("User registered successfully.", response.getBody());
             passwordUtilsMock.verify(() -> PasswordUtils.hashPassword("password123*"));
+            verify(eventPublisher).publishEvent(any(DoctorProfileChangedEvent.class));
         }
     }
 
@@ -0,0 +1,150 @@
+package edu.psgv.healpointbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.common.state.DoctorDirectoryIndex;
+import edu.psgv.healpointbackend.dto.SlotSearchResultDto;
+import edu.psgv.healpointbackend.model.*;
+import edu.psgv.healpointbackend.repository.AppointmentRepository;
+import edu.psgv.healpointbackend.repository.DoctorRepository;
+import edu.psgv.healpointbackend.repository.WorkDayRepository;
+import edu.psgv.healpointbackend.utilities.SlotGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlotSearchServiceTest extends AbstractTestBase {
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private WorkDayRepository workDayRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private SlotGenerator slotGenerator;
+
+    @Spy
+    private DoctorDirectoryIndex doctorDirectoryIndex = new DoctorDirectoryIndex();
+
+    @InjectMocks
+    private SlotSearchService service;
+
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+    private final LocalDate dayAfter = tomorrow.plusDays(1);
+    private Doctor english;
+    private Doctor spanish;
+
+    @BeforeEach
+    void setup() throws JsonProcessingException {
+        MockitoAnnotations.openMocks(this);
+
+        english = mockDoctor(1, "Test", "English");
+        english.setSpecialty("Primary Care");
+        english.setLanguages("English");
+        spanish = mockDoctor(2, "Test", "Spanish");
+        spanish.setSpecialty("Primary Care, Pediatrics");
+        spanish.setLanguages("English, Spanish");
+        when(doctorRepository.findAll()).thenReturn(List.of(english, spanish));
+        when(doctorRepository.findAllById(List.of(2))).thenReturn(List.of(spanish));
+        doctorDirectoryIndex.rebuild(List.of(
+                new DoctorProfile(english, "english@example.com", Roles.DOCTOR, true),
+                new DoctorProfile(spanish, "spanish@example.com", Roles.DOCTOR, true)));
+
+        // Doctor 1 works tomorrow 08-10, doctor 2 works tomorrow and the day after 09-11
+        when(workDayRepository.findByDoctorIdIn(anyCollection())).thenReturn(List.of(
+                workDay(english, tomorrow, 8),
+                workDay(spanish, tomorrow, 9),
+                workDay(spanish, dayAfter, 9)));
+        when(slotGenerator.generateSlots(any(LocalTime.class), any(LocalTime.class))).thenAnswer(invocation -> {
+            LocalTime start = invocation.getArgument(0);
+            return new ArrayList<>(List.of(new Slot(start, start.plusHours(1)), new Slot(start.plusHours(1), start.plusHours(2))));
+        });
+
+        Appointment booked = new Appointment(english, mockPatient(5, "Test", "Patient"), tomorrow, LocalTime.of(8, 0), LocalTime.of(9, 0), "Visit");
+        when(appointmentRepository.findByAppointmentDateAndDoctorIdIn(eq(tomorrow), anyCollection())).thenReturn(List.of(booked));
+        when(appointmentRepository.findByAppointmentDateAndDoctorIdIn(eq(dayAfter), anyCollection())).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void searchEarliestSlots_multipleDoctors_mergedInChronologicalOrder() {
+        List<SlotSearchResultDto> results = service.searchEarliestSlots(null, null, tomorrow, dayAfter, null, null, 10);
+
+        assertEquals(5, results.size());
+        assertResult(results.get(0), english, tomorrow, 9);
+        assertResult(results.get(1), spanish, tomorrow, 9);
+        assertResult(results.get(2), spanish, tomorrow, 10);
+        assertResult(results.get(3), spanish, dayAfter, 9);
+        assertResult(results.get(4), spanish, dayAfter, 10);
+    }
+
+    @Test
+    void searchEarliestSlots_limitReached_stopsBeforeLaterDates() {
+        List<SlotSearchResultDto> results = service.searchEarliestSlots(null, null, tomorrow, null, null, null, 2);
+
+        assertEquals(2, results.size());
+        verify(appointmentRepository, times(1)).findByAppointmentDateAndDoctorIdIn(eq(tomorrow), anyCollection());
+        verify(appointmentRepository, never()).findByAppointmentDateAndDoctorIdIn(eq(dayAfter), anyCollection());
+    }
+
+    @Test
+    void searchEarliestSlots_languageAndTimeWindow_filtersResults() {
+        List<SlotSearchResultDto> results = service.searchEarliestSlots("pediatrics", "spanish", tomorrow, dayAfter,
+                LocalTime.of(10, 0), LocalTime.of(11, 0), null);
+
+        assertEquals(2, results.size());
+        assertResult(results.get(0), spanish, tomorrow, 10);
+        assertResult(results.get(1), spanish, dayAfter, 10);
+    }
+
+    @Test
+    void searchEarliestSlots_appointmentOffSlotGrid_removesEveryOverlappingSlot() {
+        Appointment offGrid = new Appointment(spanish, mockPatient(6, "Test", "Patient"), dayAfter, LocalTime.of(9, 30), LocalTime.of(10, 30), "Visit");
+        when(appointmentRepository.findByAppointmentDateAndDoctorIdIn(eq(dayAfter), anyCollection())).thenReturn(List.of(offGrid));
+
+        List<SlotSearchResultDto> results = service.searchEarliestSlots(null, null, dayAfter, dayAfter, null, null, null);
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void searchEarliestSlots_invalidWindows_throwException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.searchEarliestSlots(null, null, dayAfter, tomorrow, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.searchEarliestSlots(null, null, null, null, LocalTime.of(12, 0), LocalTime.of(9, 0), null));
+    }
+
+    @Test
+    void searchEarliestSlots_noMatchingDoctors_returnsEmptyList() {
+        assertTrue(service.searchEarliestSlots("Cardiology", null, null, null, null, null, null).isEmpty());
+        verifyNoInteractions(workDayRepository, appointmentRepository);
+        verify(doctorRepository, never()).findAll();
+    }
+
+    private WorkDay workDay(Doctor doctor, LocalDate date, int startHour) {
+        return WorkDay.builder().doctor(doctor).dayName(date.getDayOfWeek().name().substring(0, 3))
+                .startTime(LocalTime.of(startHour, 0)).endTime(LocalTime.of(startHour + 2, 0)).slotCount(2).build();
+    }
+
+    private void assertResult(SlotSearchResultDto result, Doctor doctor, LocalDate date, int hour) {
+        assertEquals(doctor, result.getDoctor());
+        assertEquals(date, result.getAppointmentDate());
+        assertEquals(LocalTime.of(hour, 0), result.getSlot().getStartTime());
+    }
+}
@@ -0,0 +1,74 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.dto.SyncChangesDto;
+import edu.psgv.healpointbackend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class SyncServiceTest extends AbstractTestBase {
+    @Mock
+    private AppointmentService appointmentService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private SyncService syncService;
+
+    private User user;
+    private Doctor doctor;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = mockUser("patient@test.com", Roles.PATIENT, 2);
+        doctor = mockDoctor(1, "Doctor", "Smith");
+        patient = mockPatient(2, "Patient", "Johnson");
+    }
+
+    @Test
+    void getChangesSince_watermark_splitsCancellationsIntoTombstones() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        AppointmentSummaryDto rescheduled = mockAppointmentSummary(4, doctor, patient, "2025-07-05", "09:00", AppointmentStatus.SCHEDULED);
+        AppointmentSummaryDto canceled = mockAppointmentSummary(7, doctor, patient, "2025-07-06", "10:00", AppointmentStatus.CANCELED);
+        Notification notification = Notification.builder().recipientId(2).message("Appointment canceled").build();
+        when(appointmentService.getAppointmentsChangedSince(user, since)).thenReturn(List.of(rescheduled, canceled));
+        when(notificationService.getNotificationsChangedSince(user, since)).thenReturn(List.of(notification));
+
+        LocalDateTime before = LocalDateTime.now();
+        SyncChangesDto changes = syncService.getChangesSince(user, since);
+
+        assertFalse(changes.isFullSync());
+        assertEquals(List.of(rescheduled), changes.getAppointments());
+        assertEquals(List.of(7), changes.getCanceledAppointmentIds());
+        assertEquals(List.of(notification), changes.getNotifications());
+        // The watermark trails the query start by the configured overlap
+        assertTrue(changes.getWatermark().isBefore(before));
+        assertTrue(changes.getWatermark().isAfter(before.minusMinutes(1)));
+    }
+
+    @Test
+    void getChangesSince_noWatermark_returnsFullSync() {
+        when(appointmentService.getAppointmentsChangedSince(user, null)).thenReturn(List.of());
+        when(notificationService.getNotificationsChangedSince(user, null)).thenReturn(List.of());
+
+        SyncChangesDto changes = syncService.getChangesSince(user, null);
+
+        assertTrue(changes.isFullSync());
+        assertTrue(changes.getAppointments().isEmpty());
+        assertTrue(changes.getCanceledAppointmentIds().isEmpty());
+        assertNotNull(changes.getWatermark());
+    }
+}
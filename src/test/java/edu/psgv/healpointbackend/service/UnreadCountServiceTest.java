@@ -0,0 +1,98 @@
+package edu.psgv.healpointbackend.service;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.model.Notification;
+import edu.psgv.healpointbackend.model.Roles;
+import edu.psgv.healpointbackend.model.User;
+import edu.psgv.healpointbackend.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class UnreadCountServiceTest extends AbstractTestBase {
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationReadService notificationReadService;
+
+    @InjectMocks
+    private UnreadCountService service;
+
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doctor = mockUser("doctor@test.com", Roles.DOCTOR, 46);
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(46)).thenReturn(2L);
+        when(notificationRepository.countByRecipientGroup(Roles.DOCTOR)).thenReturn(10L);
+        when(notificationReadService.countGroupUnread(doctor)).thenReturn(3L);
+    }
+
+    @Test
+    void getUnreadCount_repeatedCalls_loadedFromDatabaseOnce() {
+        assertEquals(5, service.getUnreadCount(doctor));
+        assertEquals(5, service.getUnreadCount(doctor));
+
+        verify(notificationRepository, times(1)).countByRecipientIdAndIsReadFalse(46);
+        verify(notificationRepository, times(1)).countByRecipientGroup(Roles.DOCTOR);
+        verify(notificationReadService, times(1)).countGroupUnread(doctor);
+    }
+
+    @Test
+    void onNotificationsCreated_directAndGroup_incrementsCachedCounters() {
+        User otherDoctor = mockUser("other@test.com", Roles.DOCTOR, 47);
+        when(notificationReadService.countGroupUnread(otherDoctor)).thenReturn(10L);
+        service.getUnreadCount(doctor);
+        service.getUnreadCount(otherDoctor);
+
+        service.onNotificationsCreated(new NotificationsCreatedEvent(List.of(
+                Notification.builder().recipientId(46).message("Direct").build(),
+                Notification.builder().recipientGroup(Roles.DOCTOR).message("Group").build())));
+
+        assertEquals(7, service.getUnreadCount(doctor));
+        assertEquals(11, service.getUnreadCount(otherDoctor));
+        verify(notificationRepository, times(1)).countByRecipientGroup(Roles.DOCTOR);
+    }
+
+    @Test
+    void onNotificationsRead_cachedUser_reloadsCounters() {
+        service.getUnreadCount(doctor);
+        when(notificationReadService.countGroupUnread(doctor)).thenReturn(1L);
+
+        service.onNotificationsRead(new NotificationsReadEvent(46));
+
+        assertEquals(3, service.getUnreadCount(doctor));
+        verify(notificationReadService, times(2)).countGroupUnread(doctor);
+    }
+
+    @Test
+    void invalidateAll_groupNotificationsRemoved_reloadsUserAndGroupCounters() {
+        service.getUnreadCount(doctor);
+        // Archiving removed 6 group notifications, 2 of them unread by the doctor
+        when(notificationRepository.countByRecipientGroup(Roles.DOCTOR)).thenReturn(4L);
+        when(notificationReadService.countGroupUnread(doctor)).thenReturn(1L);
+
+        service.invalidateAll();
+
+        assertEquals(3, service.getUnreadCount(doctor));
+        verify(notificationReadService, times(2)).countGroupUnread(doctor);
+    }
+
+    @Test
+    void getUnreadCount_patient_countsDirectNotificationsOnly() {
+        User patient = mockUser("patient@test.com", Roles.PATIENT, 48);
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(48)).thenReturn(4L);
+
+        assertEquals(4, service.getUnreadCount(patient));
+        verify(notificationRepository, never()).countByRecipientGroup(Roles.PATIENT);
+    }
+}
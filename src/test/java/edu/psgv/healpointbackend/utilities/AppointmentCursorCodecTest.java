@@ -0,0 +1,33 @@
+package edu.psgv.healpointbackend.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentCursorCodecTest {
+    private final LocalDate date = LocalDate.of(2025, 9, 14);
+    private final LocalTime startTime = LocalTime.of(10, 30);
+
+    @Test
+    void encodeDecode_roundTrip_returnsSortKey() {
+        String cursor = AppointmentCursorCodec.encode("upcoming", date, startTime, 42);
+        AppointmentCursorCodec.Position position = AppointmentCursorCodec.decode("upcoming", cursor);
+
+        assertFalse(cursor.contains("2025"));
+        assertEquals(date, position.date());
+        assertEquals(startTime, position.startTime());
+        assertEquals(42, position.id());
+    }
+
+    @Test
+    void decode_otherScopeOrMalformed_throwsException() {
+        String cursor = AppointmentCursorCodec.encode("past", date, startTime, 42);
+
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursorCodec.decode("upcoming", cursor));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursorCodec.decode("past", "not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursorCodec.decode("past", "cGFzdHx4fHl8eg"));
+    }
+}
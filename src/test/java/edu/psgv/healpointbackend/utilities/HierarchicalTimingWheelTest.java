@@ -0,0 +1,68 @@
+package edu.psgv.healpointbackend.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class HierarchicalTimingWheelTest {
+    @Test
+    void advanceTo_timersOnEveryLevel_expireExactlyAtDeadline() {
+        HierarchicalTimingWheel<String, Long> wheel = new HierarchicalTimingWheel<>(4, 3, 10);
+        long[] deadlines = {11, 13, 14, 17, 29, 30, 73};
+        for (long deadline : deadlines) {
+            wheel.schedule("t" + deadline, deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long tick = 11; tick <= 73; tick++) {
+            List<Long> expired = wheel.advanceTo(tick);
+            for (Long deadline : expired) {
+                assertEquals(tick, deadline);
+            }
+            fired.addAll(expired);
+        }
+
+        assertEquals(List.of(11L, 13L, 14L, 17L, 29L, 30L, 73L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_largeJump_returnsExpiredInDeadlineOrder() {
+        HierarchicalTimingWheel<Integer, Integer> wheel = new HierarchicalTimingWheel<>(8, 2, 0);
+        wheel.schedule(1, 50, 50);
+        wheel.schedule(2, 5, 5);
+        wheel.schedule(3, 20, 20);
+
+        assertEquals(List.of(5, 20), wheel.advanceTo(30));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(50), wheel.advanceTo(60));
+    }
+
+    @Test
+    void schedule_existingKey_replacesTimerAndCancelRemovesIt() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(4, 2, 0);
+        wheel.schedule("a", 3, "first");
+        wheel.schedule("a", 9, "second");
+        wheel.schedule("b", 5, "other");
+
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+        assertTrue(wheel.advanceTo(8).isEmpty());
+        assertEquals(List.of("second"), wheel.advanceTo(9));
+    }
+
+    @Test
+    void schedule_pastOrOutOfRangeDeadline_handled() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(4, 2, 100);
+        wheel.schedule("late", 90, "late");
+
+        assertEquals(List.of("late"), wheel.advanceTo(100));
+        assertEquals(16, wheel.getRange());
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule("far", 116, "far"));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String, String>(1, 2, 0));
+    }
+}
@@ -0,0 +1,73 @@
+package edu.psgv.healpointbackend.utilities;
+
+import edu.psgv.healpointbackend.AbstractTestBase;
+import edu.psgv.healpointbackend.dto.AppointmentSummaryDto;
+import edu.psgv.healpointbackend.model.AppointmentStatus;
+import edu.psgv.healpointbackend.model.Doctor;
+import edu.psgv.healpointbackend.model.Patient;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ICalendarWriterTest extends AbstractTestBase {
+    private final Doctor doctor = mockDoctor(1, "Greg", "House");
+    private final Patient patient = mockPatient(2, "Jane", "Doe");
+
+    @Test
+    void event_patientView_writesEscapedEvent() throws IOException {
+        StringWriter out = new StringWriter();
+        ICalendarWriter writer = new ICalendarWriter(out, true);
+        AppointmentSummaryDto appointment = new AppointmentSummaryDto(7, LocalDate.of(2025, 7, 5), LocalTime.of(9, 0), LocalTime.of(9, 30),
+                AppointmentStatus.SCHEDULED, "Follow-up; labs, x-ray", 3L, 1, "Greg", "House", "Diagnostics", 2, "Jane", "Doe");
+
+        writer.begin("HealPoint");
+        writer.event(appointment);
+        writer.end();
+
+        String ics = out.toString();
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.contains("UID:appointment-7@healpoint\r\n"));
+        assertTrue(ics.contains("DTSTART:20250705T090000\r\nDTEND:20250705T093000\r\n"));
+        assertTrue(ics.contains("SEQUENCE:3\r\n"));
+        assertTrue(ics.contains("SUMMARY:Appointment with Dr. Greg House\r\n"));
+        assertTrue(ics.contains("DESCRIPTION:Follow-up\\; labs\\, x-ray (SCHEDULED)\r\n"));
+        assertTrue(ics.contains("STATUS:CONFIRMED\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void event_noReason_writesStatusOnly() throws IOException {
+        StringWriter out = new StringWriter();
+        ICalendarWriter writer = new ICalendarWriter(out, true);
+
+        writer.event(new AppointmentSummaryDto(8, LocalDate.of(2025, 7, 5), LocalTime.of(9, 0), LocalTime.of(9, 30),
+                AppointmentStatus.SCHEDULED, null, 0L, 1, "Greg", "House", null, 2, "Jane", "Doe"));
+
+        assertTrue(out.toString().contains("DESCRIPTION:SCHEDULED\r\n"));
+        assertFalse(out.toString().contains("null"));
+    }
+
+    @Test
+    void event_canceledLongReason_marksCancelledAndFoldsLines() throws IOException {
+        StringWriter out = new StringWriter();
+        ICalendarWriter writer = new ICalendarWriter(out, false);
+        AppointmentSummaryDto appointment = mockAppointmentSummary(9, doctor, patient, "2025-07-05", "10:00", AppointmentStatus.CANCELED);
+
+        writer.event(new AppointmentSummaryDto(appointment.getId(), appointment.getAppointmentDate(), appointment.getStartTime(),
+                appointment.getEndTime(), appointment.getStatus(), "é".repeat(60), 0L, 1, "Greg", "House", null, 2, "Jane", "Doe"));
+
+        String ics = out.toString();
+        assertTrue(ics.contains("SUMMARY:Appointment with Jane Doe\r\n"));
+        assertTrue(ics.contains("STATUS:CANCELLED\r\n"));
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        assertTrue(ics.contains("\r\n é"));
+    }
+}
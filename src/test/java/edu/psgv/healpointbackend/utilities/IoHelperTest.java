@@ -31,4 +31,13 @@ class IoHelperTest {
         assertFalse(IoHelper.isNullOrEmpty("test"));
         assertFalse(IoHelper.isNullOrEmpty("  text  "));
     }
-}
\ No newline at end of file
+
+    @Test
+    void containsListItem_commaSeparatedList_matchesWholeEntriesOnly() {
+        assertTrue(IoHelper.containsListItem("Internal Medicine, Primary Care", "primary care"));
+        assertTrue(IoHelper.containsListItem("English", " English "));
+        assertFalse(IoHelper.containsListItem("Primary Care Research", "Primary Care"));
+        assertFalse(IoHelper.containsListItem(null, "English"));
+        assertFalse(IoHelper.containsListItem("English", ""));
+    }
+}
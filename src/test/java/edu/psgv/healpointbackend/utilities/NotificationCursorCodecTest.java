@@ -0,0 +1,28 @@
+package edu.psgv.healpointbackend.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCursorCodecTest {
+    private final LocalDateTime createdAt = LocalDateTime.of(2025, 9, 14, 10, 30, 5, 123456000);
+
+    @Test
+    void encodeDecode_roundTrip_returnsSortKey() {
+        String cursor = NotificationCursorCodec.encode(createdAt, 42);
+        NotificationCursorCodec.Position position = NotificationCursorCodec.decode(cursor);
+
+        assertFalse(cursor.contains("2025"));
+        assertEquals(createdAt, position.createdAt());
+        assertEquals(42, position.id());
+    }
+
+    @Test
+    void decode_malformed_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> NotificationCursorCodec.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationCursorCodec.decode("eHx5fHo"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationCursorCodec.decode("eHx5"));
+    }
+}
@@ -0,0 +1,86 @@
+package edu.psgv.healpointbackend.utilities;
+
+import edu.psgv.healpointbackend.model.PrescriptionItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * JMH benchmark of {@link PrescriptionDiffUtil} on prescriptions of 10, 100 and 1,000 items.
+ * <p>
+ * The new version removes every tenth item, adds as many, changes the dosage of every fifth item and changes the
+ * case of every other medication name. Not part of the test suite; run {@link #main} from the test classpath,
+ * for example {@code mvn test-compile} and then the main method from an IDE.
+ * </p>
+ *
+ * @author Mahfuzur Rahman
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrescriptionDiffBenchmark {
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private final PrescriptionDiffUtil diffUtil = new PrescriptionDiffUtil();
+    private List<PrescriptionItem> oldList;
+    private List<PrescriptionItem> newList;
+
+    @Setup
+    public void setUp() {
+        oldList = new ArrayList<>(items);
+        newList = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            oldList.add(item("Medication " + i, 100));
+            if (i % 10 != 0) {
+                String name = i % 2 == 0 ? "Medication " + i : "MEDICATION " + i;
+                newList.add(item(name, i % 5 == 0 ? 200 : 100));
+            } else {
+                newList.add(item("New medication " + i, 100));
+            }
+        }
+    }
+
+    @Benchmark
+    public PrescriptionDiff diff() {
+        return diffUtil.diff(oldList, newList);
+    }
+
+    @Benchmark
+    public String diffReport() {
+        return diffUtil.diffReport(oldList, newList);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrescriptionDiffBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static PrescriptionItem item(String medication, int dosage) {
+        PrescriptionItem item = new PrescriptionItem();
+        item.setMedication(medication);
+        item.setDosage(dosage);
+        item.setFrequency(2);
+        item.setDuration(10);
+        item.setFillsLeft(3);
+        return item;
+    }
+}
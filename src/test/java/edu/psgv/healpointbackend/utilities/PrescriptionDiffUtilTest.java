@@ -34,6 +34,43 @@ class PrescriptionDiffUtilTest {
         assertEquals(expected, report);
     }
 
+    @Test
+    void diff_medicationCaseDiffers_matchedAsSameItem() {
+        PrescriptionItem oldItem = mockPrescriptionItem("Aspirin", 100, 2, 10, 3);
+        PrescriptionItem newItem = mockPrescriptionItem(" aspirin", 100, 2, 10, 2);
+
+        PrescriptionDiff diff = diffUtil.diff(List.of(oldItem), List.of(newItem));
+
+        assertTrue(diff.added().isEmpty());
+        assertTrue(diff.removed().isEmpty());
+        assertEquals(List.of(new PrescriptionDiff.ItemChange(oldItem, newItem,
+                List.of(new PrescriptionDiff.FieldChange(PrescriptionDiff.Field.FILLS_LEFT, 3, 2)))), diff.changed());
+        assertEquals("Doctors updated your prescription! Aspirin: fills left changed from 3 to 2", diffUtil.render(diff));
+    }
+
+    @Test
+    void diffReport_identicalLists_returnsEmptyReport() {
+        List<PrescriptionItem> items = List.of(mockPrescriptionItem("A", 100, 2, 10, 3), mockPrescriptionItem("B", 200, 1, 5, 1));
+
+        assertTrue(diffUtil.diff(items, List.of(items.get(1), items.get(0))).isEmpty());
+        assertEquals("", diffUtil.diffReport(items, items));
+        assertEquals("", diffUtil.diffReport(List.of(), List.of()));
+    }
+
+    @Test
+    void diff_onlyItemNumberOrSpellingChanged_changedButNotReported() {
+        PrescriptionItem oldItem = mockPrescriptionItem("Aspirin", 100, 2, 10, 3);
+        oldItem.setItemNumber(1);
+        PrescriptionItem newItem = mockPrescriptionItem("ASPIRIN", 100, 2, 10, 3);
+        newItem.setItemNumber(2);
+
+        PrescriptionDiff diff = diffUtil.diff(List.of(oldItem), List.of(newItem));
+
+        assertEquals(1, diff.changed().size());
+        assertFalse(diff.changed().get(0).isReported());
+        assertEquals("", diffUtil.render(diff));
+    }
+
     protected PrescriptionItem mockPrescriptionItem(String medication, int dosage, int frequency, int duration, int fillsLeft) {
         PrescriptionItem item = new PrescriptionItem();
         item.setMedication(medication);
@@ -0,0 +1,99 @@
+package edu.psgv.healpointbackend.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWatermarkTest {
+
+    @Test
+    void markRead_outOfOrder_keptAsExceptions() {
+        ReadWatermark watermark = new ReadWatermark(10, null, 64);
+
+        assertTrue(watermark.markRead(15));
+        assertFalse(watermark.markRead(15));
+        assertFalse(watermark.markRead(7));
+
+        assertTrue(watermark.isRead(9));
+        assertTrue(watermark.isRead(15));
+        assertFalse(watermark.isRead(12));
+        assertEquals(1, watermark.getExceptionCount());
+        assertEquals(15, watermark.getHighestException());
+    }
+
+    @Test
+    void compact_sparseChannelIds_advancesOverReadIds() {
+        ReadWatermark watermark = new ReadWatermark(10, null, 64);
+        watermark.markRead(14);
+        watermark.markRead(20);
+
+        // The channel holds 14, 20 and 25; the IDs in between belong to other channels
+        watermark.compact(List.of(14, 20));
+
+        assertEquals(20, watermark.getReadUpTo());
+        assertEquals(0, watermark.getExceptionCount());
+        assertNull(watermark.exceptionsToBytes());
+        assertFalse(watermark.isRead(25));
+    }
+
+    @Test
+    void compact_unreadGap_stopsBeforeIt() {
+        ReadWatermark watermark = new ReadWatermark(10, null, 64);
+        watermark.markRead(14);
+        watermark.markRead(30);
+
+        watermark.compact(List.of(14, 18, 30));
+
+        assertEquals(14, watermark.getReadUpTo());
+        assertEquals(1, watermark.getExceptionCount());
+        assertFalse(watermark.isRead(18));
+        assertTrue(watermark.isRead(30));
+    }
+
+    @Test
+    void markRead_farAheadId_keepsUnreadIdsBelowIt() {
+        ReadWatermark watermark = new ReadWatermark(0, null, 64);
+        watermark.markRead(5);
+
+        // IDs are shared by every channel, so a large gap says nothing about what this channel has read
+        watermark.markRead(100_000);
+
+        assertEquals(0, watermark.getReadUpTo());
+        assertEquals(2, watermark.getExceptionCount());
+        assertTrue(watermark.isRead(100_000));
+        assertFalse(watermark.isRead(150));
+    }
+
+    @Test
+    void markRead_beyondMaxExceptions_neverMovesWatermarkPastUnreadIds() {
+        ReadWatermark watermark = new ReadWatermark(0, null, 2);
+        watermark.markRead(5);
+        watermark.markRead(9);
+        assertFalse(watermark.exceedsLimit());
+
+        watermark.markRead(20);
+
+        assertTrue(watermark.exceedsLimit());
+        assertEquals(0, watermark.getReadUpTo());
+        assertFalse(watermark.isRead(3));
+        assertFalse(watermark.isRead(7));
+    }
+
+    @Test
+    void exceptionsToBytes_roundTrip_restoresState() {
+        ReadWatermark watermark = new ReadWatermark(100, null, 64);
+        watermark.markRead(103);
+        watermark.markRead(160);
+        watermark.markRead(1_000_000);
+
+        ReadWatermark restored = new ReadWatermark(watermark.getReadUpTo(), watermark.exceptionsToBytes(), 64);
+
+        assertTrue(restored.isRead(103));
+        assertTrue(restored.isRead(160));
+        assertTrue(restored.isRead(1_000_000));
+        assertFalse(restored.isRead(104));
+        assertEquals(3, restored.getExceptionCount());
+    }
+}